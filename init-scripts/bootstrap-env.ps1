@@ -19,18 +19,12 @@ if (-not (Test-Path $envExamplePath)) {
 
 Copy-Item -Path $envExamplePath -Destination $envPath -Force
 
-$bytes = New-Object byte[] 64
-[System.Security.Cryptography.RandomNumberGenerator]::Fill($bytes)
-$jwtSecret = [Convert]::ToBase64String($bytes)
-
-$content = Get-Content -Path $envPath -Raw
-if ($content -match '(?m)^JWT_SECRET=.*$') {
-    $content = [regex]::Replace($content, '(?m)^JWT_SECRET=.*$', "JWT_SECRET=$jwtSecret")
-} else {
-    $content = $content.TrimEnd() + "`r`nJWT_SECRET=$jwtSecret`r`n"
-}
-
-Set-Content -Path $envPath -Value $content -Encoding utf8
-
-Write-Host "Created .env with generated JWT_SECRET: $envPath"
-
+# JWT signing key pair (P-256); the key id is the file name, newer ids take over signing
+$keyDir = Join-Path $repoRoot "secrets/jwt"
+New-Item -ItemType Directory -Force -Path $keyDir | Out-Null
+$kid = Get-Date -Format "yyyy-MM-dd"
+$ecdsa = [System.Security.Cryptography.ECDsa]::Create([System.Security.Cryptography.ECCurve+NamedCurves]::nistP256)
+Set-Content -Path (Join-Path $keyDir "$kid.key") -Value $ecdsa.ExportPkcs8PrivateKeyPem() -Encoding ascii
+Set-Content -Path (Join-Path $keyDir "$kid.pub") -Value $ecdsa.ExportSubjectPublicKeyInfoPem() -Encoding ascii
+
+Write-Host "Created .env at $envPath and JWT signing key '$kid' in $keyDir"
@@ -3,17 +3,25 @@ package com.company.bikerent;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.boot.web.servlet.support.SpringBootServletInitializer;
 
 @SpringBootApplication
 public class BikeRentApplication extends SpringBootServletInitializer {
 
+  /** Startup steps kept for {@code /actuator/startup}; later steps are dropped. */
+  private static final int STARTUP_STEPS = 4096;
+
   public static void main(String[] args) {
-    SpringApplication.run(BikeRentApplication.class, args);
+    SpringApplication application = new SpringApplication(BikeRentApplication.class);
+    application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS));
+    application.run(args);
   }
 
   @Override
   protected SpringApplicationBuilder configure(SpringApplicationBuilder application) {
-    return application.sources(BikeRentApplication.class);
+    return application
+        .sources(BikeRentApplication.class)
+        .applicationStartup(new BufferingApplicationStartup(STARTUP_STEPS));
   }
 }
@@ -0,0 +1,72 @@
+package com.company.bikerent.analytics.controller;
+
+import java.time.YearMonth;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.company.bikerent.analytics.domain.TripDensityTable;
+import com.company.bikerent.analytics.service.HeatmapService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/v1/analytics")
+@RequiredArgsConstructor
+@Tag(name = "Analytics", description = "Trip analytics from in-memory aggregates (Admin only)")
+@Validated
+public class HeatmapController {
+
+  private final HeatmapService heatmapService;
+
+  @GetMapping(value = "/heatmap/{z}/{x}/{y}", produces = MediaType.IMAGE_PNG_VALUE)
+  @Operation(
+      summary = "Get an XYZ heatmap tile of where trips start or end",
+      description =
+          "Completed trips in the months from 'from' to 'to' (yyyy-MM, both optional), summed "
+              + "over a 64x64 grid and drawn as a 256 pixel tile for a map overlay.")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Tile rendered"),
+        @ApiResponse(responseCode = "400", description = "No such tile or invalid range"),
+        @ApiResponse(responseCode = "403", description = "Not an admin")
+      })
+  public ResponseEntity<byte[]> findTile(
+      @PathVariable @Min(0) @Max(TripDensityTable.MAX_ZOOM) int z,
+      @PathVariable @PositiveOrZero int x,
+      @PathVariable @PositiveOrZero int y,
+      @RequestParam(defaultValue = "DEPARTURES") TripDensityTable.Kind kind,
+      @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+      @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+    return ResponseEntity.ok(
+        heatmapService.findTile(HeatmapService.Format.PNG, kind, z, x, y, from, to));
+  }
+
+  @GetMapping(value = "/heatmap/{z}/{x}/{y}", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+  @Operation(summary = "Get a heatmap tile as sparse trip counts in its compact binary encoding")
+  public ResponseEntity<byte[]> findEncodedTile(
+      @PathVariable @Min(0) @Max(TripDensityTable.MAX_ZOOM) int z,
+      @PathVariable @PositiveOrZero int x,
+      @PathVariable @PositiveOrZero int y,
+      @RequestParam(defaultValue = "DEPARTURES") TripDensityTable.Kind kind,
+      @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+      @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+    return ResponseEntity.ok(
+        heatmapService.findTile(HeatmapService.Format.BINARY, kind, z, x, y, from, to));
+  }
+}
@@ -0,0 +1,120 @@
+package com.company.bikerent.analytics.domain;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Encodings of a heatmap tile grid.
+ *
+ * <p>Binary, for clients that draw the heatmap themselves:
+ *
+ * <pre>
+ * byte    format version
+ * varint  grid size (cells per side)
+ * varint  non-empty cell count
+ * per non-empty cell, row by row from the north-west corner:
+ *         varint empty cells skipped since the previous one, varint trip count
+ * </pre>
+ *
+ * Trips start and end at stations, so most cells of a tile are empty and a tile is a few bytes per
+ * station in it.
+ *
+ * <p>PNG, for overlaying on a map as is: each cell is a square of pixels, transparent when empty
+ * and from pale yellow to red on a logarithmic scale up to a reference count.
+ */
+public final class HeatmapTileCodec {
+
+  public static final int FORMAT_VERSION = 1;
+
+  private HeatmapTileCodec() {}
+
+  public static byte[] encode(long[] grid, int gridSize) {
+    checkGrid(grid, gridSize);
+    int nonEmpty = 0;
+    for (long count : grid) {
+      if (count != 0) {
+        nonEmpty++;
+      }
+    }
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream(4 + nonEmpty * 4);
+    out.write(FORMAT_VERSION);
+    writeVarLong(out, gridSize);
+    writeVarLong(out, nonEmpty);
+    int previous = -1;
+    for (int cell = 0; cell < grid.length; cell++) {
+      if (grid[cell] != 0) {
+        writeVarLong(out, cell - previous - 1);
+        writeVarLong(out, grid[cell]);
+        previous = cell;
+      }
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * Draw the grid as a square PNG image.
+   *
+   * @param tileSize image width and height in pixels, a multiple of the grid size
+   * @param reference count drawn at full intensity; larger counts are clamped to it
+   */
+  public static byte[] renderPng(long[] grid, int gridSize, int tileSize, long reference) {
+    checkGrid(grid, gridSize);
+    if (tileSize % gridSize != 0) {
+      throw new IllegalArgumentException("Tile size must be a multiple of the grid size");
+    }
+    int cellPixels = tileSize / gridSize;
+    double logReference = Math.log1p(Math.max(1L, reference));
+
+    BufferedImage image = new BufferedImage(tileSize, tileSize, BufferedImage.TYPE_INT_ARGB);
+    int[] row = new int[tileSize];
+    for (int gridY = 0; gridY < gridSize; gridY++) {
+      for (int gridX = 0; gridX < gridSize; gridX++) {
+        int color = color(grid[gridY * gridSize + gridX], logReference);
+        for (int px = 0; px < cellPixels; px++) {
+          row[gridX * cellPixels + px] = color;
+        }
+      }
+      for (int py = 0; py < cellPixels; py++) {
+        image.setRGB(0, gridY * cellPixels + py, tileSize, 1, row, 0, tileSize);
+      }
+    }
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try {
+      ImageIO.write(image, "png", out);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+
+  /** ARGB of a cell: alpha and red rise, green falls with the log of its count. */
+  private static int color(long count, double logReference) {
+    if (count <= 0) {
+      return 0;
+    }
+    double intensity = Math.min(1.0, Math.log1p(count) / logReference);
+    int alpha = (int) Math.round(96 + 159 * intensity);
+    int green = (int) Math.round(224 * (1 - intensity));
+    return alpha << 24 | 0xFF << 16 | green << 8;
+  }
+
+  private static void checkGrid(long[] grid, int gridSize) {
+    if (gridSize <= 0 || grid.length != gridSize * gridSize) {
+      throw new IllegalArgumentException("Grid must hold gridSize * gridSize cells");
+    }
+  }
+
+  private static void writeVarLong(ByteArrayOutputStream out, long value) {
+    while ((value & ~0x7FL) != 0L) {
+      out.write((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.write((int) value);
+  }
+}
@@ -0,0 +1,222 @@
+package com.company.bikerent.analytics.domain;
+
+import java.time.YearMonth;
+import java.util.Arrays;
+
+import com.company.bikerent.common.collection.LongIntHashMap;
+import com.company.bikerent.geo.domain.GeoMath;
+
+/**
+ * Completed trips per station and month, for drawing where trips start and end. Stations are rows
+ * of primitive arrays holding their Web Mercator position, and each station keeps running totals
+ * per month from {@code firstMonth}, so the trips over any range of months are one subtraction and
+ * a tile is one pass over the stations, however many years of trips there are.
+ *
+ * <p>New trips land in the latest month, the end of the running totals, so adding them is constant
+ * time. Trips before {@code firstMonth} are counted in it. Not thread-safe.
+ */
+public final class TripDensityTable {
+
+  public enum Kind {
+    /** Trips started at the station. */
+    DEPARTURES,
+    /** Trips ended at the station. */
+    ARRIVALS
+  }
+
+  public static final int MAX_ZOOM = 24;
+
+  private static final long[] NO_TRIPS = new long[0];
+  private static final int NONE = -1;
+
+  private final int firstMonth;
+  private final LongIntHashMap rowById = new LongIntHashMap();
+  private long[] ids = new long[16];
+  private double[] mercatorX = new double[16];
+  private double[] mercatorY = new double[16];
+  // Running totals: element m counts the trips of firstMonth up to firstMonth + m
+  private long[][] departures = new long[16][];
+  private long[][] arrivals = new long[16][];
+  private int size;
+
+  public TripDensityTable(YearMonth firstMonth) {
+    this.firstMonth = ordinal(firstMonth);
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /** Insert a station without trips, or move an existing one keeping its trips. */
+  public void putStation(long id, double latitude, double longitude) {
+    int row = rowById.get(id, NONE);
+    if (row == NONE) {
+      if (size == ids.length) {
+        grow();
+      }
+      row = size++;
+      ids[row] = id;
+      departures[row] = NO_TRIPS;
+      arrivals[row] = NO_TRIPS;
+      rowById.put(id, row, NONE);
+    }
+    mercatorX[row] = GeoMath.mercatorX(longitude);
+    mercatorY[row] = GeoMath.mercatorY(latitude);
+  }
+
+  /**
+   * @return whether the station was present
+   */
+  public boolean removeStation(long id) {
+    int row = rowById.remove(id, NONE);
+    if (row == NONE) {
+      return false;
+    }
+    int last = --size;
+    if (row != last) {
+      ids[row] = ids[last];
+      mercatorX[row] = mercatorX[last];
+      mercatorY[row] = mercatorY[last];
+      departures[row] = departures[last];
+      arrivals[row] = arrivals[last];
+      rowById.put(ids[row], row, NONE);
+    }
+    departures[last] = null;
+    arrivals[last] = null;
+    return true;
+  }
+
+  /**
+   * Count trips of a station in a month.
+   *
+   * @return whether the station was present
+   */
+  public boolean add(long stationId, YearMonth month, long departureCount, long arrivalCount) {
+    int row = rowById.get(stationId, NONE);
+    if (row == NONE) {
+      return false;
+    }
+    int offset = Math.max(0, ordinal(month) - firstMonth);
+    departures[row] = addFrom(departures[row], offset, departureCount);
+    arrivals[row] = addFrom(arrivals[row], offset, arrivalCount);
+    return true;
+  }
+
+  /**
+   * Trips of a station from {@code from} to {@code to}, both included; {@code null} leaves that end
+   * of the range open.
+   */
+  public long count(long stationId, Kind kind, YearMonth from, YearMonth to) {
+    int row = rowById.get(stationId, NONE);
+    if (row == NONE) {
+      return 0L;
+    }
+    return between(totals(kind)[row], fromOffset(from), toOffset(to));
+  }
+
+  /** The most trips any single station has in the range; a reference for scaling tiles. */
+  public long maxCount(Kind kind, YearMonth from, YearMonth to) {
+    long[][] totals = totals(kind);
+    int fromOffset = fromOffset(from);
+    int toOffset = toOffset(to);
+    long max = 0L;
+    for (int i = 0; i < size; i++) {
+      max = Math.max(max, between(totals[i], fromOffset, toOffset));
+    }
+    return max;
+  }
+
+  /**
+   * Trips in the range summed over a grid laid on XYZ map tile {@code (zoom, x, y)}.
+   *
+   * @return {@code gridSize * gridSize} counts, row by row from the north-west corner
+   * @throws IllegalArgumentException if the tile does not exist at that zoom
+   */
+  public long[] tile(
+      Kind kind, int zoom, int x, int y, YearMonth from, YearMonth to, int gridSize) {
+    if (zoom < 0 || zoom > MAX_ZOOM) {
+      throw new IllegalArgumentException("Zoom must be between 0 and " + MAX_ZOOM);
+    }
+    long tiles = 1L << zoom;
+    if (x < 0 || y < 0 || x >= tiles || y >= tiles) {
+      throw new IllegalArgumentException("No tile " + x + "/" + y + " at zoom " + zoom);
+    }
+    if (gridSize <= 0) {
+      throw new IllegalArgumentException("Grid size must be positive");
+    }
+
+    long[][] totals = totals(kind);
+    int fromOffset = fromOffset(from);
+    int toOffset = toOffset(to);
+    long[] grid = new long[gridSize * gridSize];
+    for (int i = 0; i < size; i++) {
+      double tileX = mercatorX[i] * tiles - x;
+      double tileY = mercatorY[i] * tiles - y;
+      if (tileX < 0 || tileX >= 1 || tileY < 0 || tileY >= 1) {
+        continue;
+      }
+      long trips = between(totals[i], fromOffset, toOffset);
+      if (trips != 0) {
+        grid[(int) (tileY * gridSize) * gridSize + (int) (tileX * gridSize)] += trips;
+      }
+    }
+    return grid;
+  }
+
+  private long[][] totals(Kind kind) {
+    return kind == Kind.DEPARTURES ? departures : arrivals;
+  }
+
+  private int fromOffset(YearMonth from) {
+    return from == null ? 0 : Math.max(0, ordinal(from) - firstMonth);
+  }
+
+  private int toOffset(YearMonth to) {
+    return to == null ? Integer.MAX_VALUE : ordinal(to) - firstMonth;
+  }
+
+  private void grow() {
+    int capacity = ids.length * 2;
+    ids = Arrays.copyOf(ids, capacity);
+    mercatorX = Arrays.copyOf(mercatorX, capacity);
+    mercatorY = Arrays.copyOf(mercatorY, capacity);
+    departures = Arrays.copyOf(departures, capacity);
+    arrivals = Arrays.copyOf(arrivals, capacity);
+  }
+
+  /** Trips from month offset {@code from} to {@code to}, both included. */
+  private static long between(long[] totals, int from, int to) {
+    if (to < from) {
+      return 0L;
+    }
+    return totalUpTo(totals, to) - totalUpTo(totals, from - 1);
+  }
+
+  private static long totalUpTo(long[] totals, int offset) {
+    if (offset < 0 || totals.length == 0) {
+      return 0L;
+    }
+    return totals[Math.min(offset, totals.length - 1)];
+  }
+
+  /** Add {@code count} to the running totals from {@code offset} on, extending them if needed. */
+  private static long[] addFrom(long[] totals, int offset, long count) {
+    if (count == 0) {
+      return totals;
+    }
+    if (offset >= totals.length) {
+      long last = totals.length == 0 ? 0L : totals[totals.length - 1];
+      int length = totals.length;
+      totals = Arrays.copyOf(totals, offset + 1);
+      Arrays.fill(totals, length, totals.length, last);
+    }
+    for (int m = offset; m < totals.length; m++) {
+      totals[m] += count;
+    }
+    return totals;
+  }
+
+  private static int ordinal(YearMonth month) {
+    return month.getYear() * 12 + month.getMonthValue() - 1;
+  }
+}
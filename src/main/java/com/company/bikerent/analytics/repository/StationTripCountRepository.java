@@ -0,0 +1,55 @@
+package com.company.bikerent.analytics.repository;
+
+import java.sql.Date;
+import java.time.YearMonth;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Station positions with their monthly trip counts, kept by the rental completion trigger (see
+ * V18). Stations without trips come back once, with a {@code null} month.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StationTripCountRepository {
+
+  private static final String SELECT_COUNTS =
+      "SELECT s.id, s.latitude, s.longitude, t.month, COALESCE(t.departures, 0), "
+          + "COALESCE(t.arrivals, 0) FROM station s "
+          + "LEFT JOIN station_trip_month t ON t.station_id = s.id ";
+
+  private static final RowMapper<StationTripCount> COUNT_MAPPER =
+      (rs, rowNum) -> {
+        Date month = rs.getDate(4);
+        return new StationTripCount(
+            rs.getLong(1),
+            rs.getDouble(2),
+            rs.getDouble(3),
+            month == null ? null : YearMonth.from(month.toLocalDate()),
+            rs.getLong(5),
+            rs.getLong(6));
+      };
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public List<StationTripCount> findAll() {
+    return jdbcTemplate.query(SELECT_COUNTS, COUNT_MAPPER);
+  }
+
+  public List<StationTripCount> findByStationId(long stationId) {
+    return jdbcTemplate.query(SELECT_COUNTS + "WHERE s.id = ?", COUNT_MAPPER, stationId);
+  }
+
+  public record StationTripCount(
+      long stationId,
+      double latitude,
+      double longitude,
+      YearMonth month,
+      long departures,
+      long arrivals) {}
+}
@@ -0,0 +1,271 @@
+package com.company.bikerent.analytics.service;
+
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.company.bikerent.analytics.domain.HeatmapTileCodec;
+import com.company.bikerent.analytics.domain.TripDensityTable;
+import com.company.bikerent.analytics.repository.StationTripCountRepository;
+import com.company.bikerent.analytics.repository.StationTripCountRepository.StationTripCount;
+import com.company.bikerent.rental.event.RentalCompletedEvent;
+import com.company.bikerent.station.event.StationChangedEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Heatmap tiles of where trips start and end. Trip counts per station and month are loaded from the
+ * rollup the completion trigger keeps (V18) and then kept current from completed rentals, so a tile
+ * is a pass over the stations in memory, never a query over the rental history.
+ *
+ * <p>Encoded tiles are kept in an LRU cache. A tile ending before the current month cannot change
+ * any more and stays until evicted; one that includes the current month is re-rendered after {@code
+ * analytics.heatmap.live-tile-ttl-ms}. Reloads and station changes empty the cache.
+ */
+@Slf4j
+@Service
+public class HeatmapService {
+
+  public enum Format {
+    PNG,
+    BINARY
+  }
+
+  /** Cells per tile side; a 256 pixel PNG tile draws each cell as 4 by 4 pixels. */
+  public static final int GRID_SIZE = 64;
+
+  public static final int TILE_PIXELS = 256;
+
+  private static final int RELOAD_ATTEMPTS = 3;
+
+  private final StationTripCountRepository stationTripCountRepository;
+  private final long liveTileTtlMs;
+  private final Counter cacheHits;
+  private final Counter cacheMisses;
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+  // Guarded by lock
+  private TripDensityTable table = new TripDensityTable(YearMonth.now());
+  private long modifications;
+
+  // Guarded by itself; iteration order is least recently used first
+  private final Map<TileKey, CachedTile> tiles;
+  // Guarded by tiles; bumped when the cache is emptied, so tiles rendered before are not stored
+  private long cacheGeneration;
+
+  public HeatmapService(
+      StationTripCountRepository stationTripCountRepository,
+      MeterRegistry meterRegistry,
+      @Value("${analytics.heatmap.cache-size:4096}") int cacheSize,
+      @Value("${analytics.heatmap.live-tile-ttl-ms:60000}") long liveTileTtlMs) {
+    this.stationTripCountRepository = stationTripCountRepository;
+    this.liveTileTtlMs = liveTileTtlMs;
+    this.tiles =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<TileKey, CachedTile> eldest) {
+            return size() > cacheSize;
+          }
+        };
+    this.cacheHits =
+        Counter.builder("analytics.heatmap.tiles")
+            .description("Heatmap tiles served")
+            .tag("cache", "hit")
+            .register(meterRegistry);
+    this.cacheMisses =
+        Counter.builder("analytics.heatmap.tiles")
+            .description("Heatmap tiles served")
+            .tag("cache", "miss")
+            .register(meterRegistry);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    reload();
+  }
+
+  /**
+   * Replace the counts with the committed ones. Trips applied while reading may or may not be in
+   * what was read, so the read is retried when any arrive.
+   */
+  @Scheduled(
+      fixedDelayString = "${analytics.heatmap.reload-interval-ms:3600000}",
+      initialDelayString = "${analytics.heatmap.reload-interval-ms:3600000}")
+  public void reload() {
+    TripDensityTable loaded = null;
+    for (int attempt = 1; attempt <= RELOAD_ATTEMPTS; attempt++) {
+      long seen = modificationCount();
+      List<StationTripCount> rows = stationTripCountRepository.findAll();
+      TripDensityTable candidate = new TripDensityTable(firstMonth(rows));
+      rows.forEach(row -> put(candidate, row));
+
+      lock.writeLock().lock();
+      try {
+        if (modifications != seen && attempt < RELOAD_ATTEMPTS) {
+          continue;
+        }
+        table = candidate;
+        modifications++;
+        loaded = candidate;
+        break;
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+    clearCache();
+    log.info("Heatmap trip counts loaded: stations={}", loaded.size());
+  }
+
+  /**
+   * Encoded tile {@code (zoom, x, y)} of the trips in a range of months.
+   *
+   * @param from first month, or {@code null} for all months before {@code to}
+   * @param to last month, or {@code null} for up to the current month
+   */
+  public byte[] findTile(
+      Format format,
+      TripDensityTable.Kind kind,
+      int zoom,
+      int x,
+      int y,
+      YearMonth from,
+      YearMonth to) {
+    if (from != null && to != null && from.isAfter(to)) {
+      throw new IllegalArgumentException("Range must not start after it ends");
+    }
+    TileKey key = new TileKey(format, kind, zoom, x, y, from, to);
+    long now = System.currentTimeMillis();
+    long generation;
+    synchronized (tiles) {
+      CachedTile cached = tiles.get(key);
+      if (cached != null && cached.expiresAt() > now) {
+        cacheHits.increment();
+        return cached.data();
+      }
+      generation = cacheGeneration;
+    }
+    cacheMisses.increment();
+
+    long[] grid;
+    long reference = 0L;
+    lock.readLock().lock();
+    try {
+      grid = table.tile(kind, zoom, x, y, from, to, GRID_SIZE);
+      if (format == Format.PNG) {
+        // The same for every tile of the range, so colors match across tile edges
+        reference = table.maxCount(kind, from, to);
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+    byte[] data =
+        format == Format.PNG
+            ? HeatmapTileCodec.renderPng(grid, GRID_SIZE, TILE_PIXELS, reference)
+            : HeatmapTileCodec.encode(grid, GRID_SIZE);
+
+    boolean closed = to != null && to.isBefore(YearMonth.now());
+    long expiresAt = closed ? Long.MAX_VALUE : now + liveTileTtlMs;
+    synchronized (tiles) {
+      if (cacheGeneration == generation) {
+        tiles.put(key, new CachedTile(data, expiresAt));
+      }
+    }
+    return data;
+  }
+
+  @TransactionalEventListener
+  public void onRentalCompleted(RentalCompletedEvent event) {
+    YearMonth month = YearMonth.from(event.completedAt());
+    boolean startKnown;
+    boolean endKnown;
+    lock.writeLock().lock();
+    try {
+      modifications++;
+      startKnown = table.add(event.startStationId(), month, 1, 0);
+      endKnown = event.endStationId() == null || table.add(event.endStationId(), month, 0, 1);
+    } finally {
+      lock.writeLock().unlock();
+    }
+    // Stations are added on StationChangedEvent; read back any that one has not reached yet
+    if (!startKnown) {
+      refresh(event.startStationId());
+    }
+    if (!endKnown) {
+      refresh(event.endStationId());
+    }
+  }
+
+  @TransactionalEventListener
+  public void onStationChanged(StationChangedEvent event) {
+    refresh(event.stationId());
+    clearCache();
+  }
+
+  /** Replace one station with its committed position and counts, or drop it if it is gone. */
+  private void refresh(Long stationId) {
+    List<StationTripCount> rows = stationTripCountRepository.findByStationId(stationId);
+    lock.writeLock().lock();
+    try {
+      modifications++;
+      table.removeStation(stationId);
+      rows.forEach(row -> put(table, row));
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private long modificationCount() {
+    lock.readLock().lock();
+    try {
+      return modifications;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private void clearCache() {
+    synchronized (tiles) {
+      tiles.clear();
+      cacheGeneration++;
+    }
+  }
+
+  private static YearMonth firstMonth(List<StationTripCount> rows) {
+    YearMonth first = YearMonth.now();
+    for (StationTripCount row : rows) {
+      if (row.month() != null && row.month().isBefore(first)) {
+        first = row.month();
+      }
+    }
+    return first;
+  }
+
+  private static void put(TripDensityTable table, StationTripCount row) {
+    table.putStation(row.stationId(), row.latitude(), row.longitude());
+    if (row.month() != null) {
+      table.add(row.stationId(), row.month(), row.departures(), row.arrivals());
+    }
+  }
+
+  private record TileKey(
+      Format format,
+      TripDensityTable.Kind kind,
+      int zoom,
+      int x,
+      int y,
+      YearMonth from,
+      YearMonth to) {}
+
+  private record CachedTile(byte[] data, long expiresAt) {}
+}
@@ -0,0 +1,159 @@
+package com.company.bikerent.auth.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.company.bikerent.common.exception.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * BCrypt password encoder that hashes on a small dedicated pool instead of the calling request
+ * thread. At most {@code threads} hashes run at once and at most {@code queueCapacity} wait; beyond
+ * that, or when a hash has waited longer than {@code maxWaitMs}, the call fails fast with a 503 so
+ * that a burst of logins cannot take the CPU away from every other endpoint.
+ *
+ * <p>{@link #upgradeEncoding} reports any hash whose cost differs from the configured one, so the
+ * cost factor can be tuned in either direction and stored hashes follow on the next login.
+ */
+public final class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+  private static final String METRIC = "auth.password.hash";
+  private static final String BUSY_MESSAGE = "Too many concurrent sign-ins, please retry shortly";
+
+  private final BCryptPasswordEncoder delegate;
+  private final int strength;
+  private final long maxWaitMs;
+  private final ThreadPoolExecutor executor;
+  private final Timer encodeTimer;
+  private final Timer matchTimer;
+  private final Counter rejected;
+
+  public BoundedPasswordEncoder(
+      int strength, int threads, int queueCapacity, long maxWaitMs, MeterRegistry registry) {
+    if (threads <= 0 || queueCapacity <= 0 || maxWaitMs <= 0) {
+      throw new IllegalArgumentException("Invalid password hashing configuration");
+    }
+    this.delegate = new BCryptPasswordEncoder(strength);
+    this.strength = strength;
+    this.maxWaitMs = maxWaitMs;
+    AtomicInteger threadIndex = new AtomicInteger();
+    this.executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+              Thread thread =
+                  new Thread(runnable, "password-hash-" + threadIndex.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+
+    Gauge.builder(METRIC + ".queue", executor, pool -> pool.getQueue().size())
+        .description("Password hashes waiting for a hashing thread")
+        .register(registry);
+    Gauge.builder(METRIC + ".active", executor, ThreadPoolExecutor::getActiveCount)
+        .description("Password hashes in progress")
+        .register(registry);
+    this.encodeTimer =
+        Timer.builder(METRIC)
+            .tag("operation", "encode")
+            .description("CPU time of one password hash")
+            .register(registry);
+    this.matchTimer =
+        Timer.builder(METRIC)
+            .tag("operation", "match")
+            .description("CPU time of one password hash")
+            .register(registry);
+    this.rejected =
+        Counter.builder(METRIC + ".rejected")
+            .description("Password hashes refused because the pool was saturated")
+            .register(registry);
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return run(encodeTimer, () -> delegate.encode(rawPassword));
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return run(matchTimer, () -> delegate.matches(rawPassword, encodedPassword));
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    int cost = costOf(encodedPassword);
+    return cost >= 0 && cost != strength;
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+
+  private <T> T run(Timer timer, Callable<T> hash) {
+    Future<T> future;
+    try {
+      future = executor.submit(() -> timer.recordCallable(hash));
+    } catch (RejectedExecutionException e) {
+      rejected.increment();
+      throw new ServiceUnavailableException(BUSY_MESSAGE, 1);
+    }
+    try {
+      return future.get(maxWaitMs, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      // A task still in the queue is skipped; one already hashing runs to completion
+      future.cancel(false);
+      rejected.increment();
+      throw new ServiceUnavailableException(BUSY_MESSAGE, 1);
+    } catch (InterruptedException e) {
+      future.cancel(false);
+      Thread.currentThread().interrupt();
+      throw new ServiceUnavailableException(BUSY_MESSAGE, 1);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (cause instanceof Error error) {
+        throw error;
+      }
+      throw new IllegalStateException("Password hashing failed", cause);
+    }
+  }
+
+  /** Cost factor of a {@code $2a$NN$...} hash, or -1 if it is not a BCrypt hash. */
+  static int costOf(String encodedPassword) {
+    if (encodedPassword == null
+        || encodedPassword.length() < 7
+        || encodedPassword.charAt(0) != '$'
+        || encodedPassword.charAt(3) != '$'
+        || encodedPassword.charAt(6) != '$') {
+      return -1;
+    }
+    char tens = encodedPassword.charAt(4);
+    char units = encodedPassword.charAt(5);
+    if (!Character.isDigit(tens) || !Character.isDigit(units)) {
+      return -1;
+    }
+    return (tens - '0') * 10 + (units - '0');
+  }
+}
@@ -18,6 +18,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.company.bikerent.auth.service.JwtService;
 
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 
 @Component
@@ -46,15 +47,15 @@ public class JwtFilter extends OncePerRequestFilter {
       return;
     }
 
-    final String username = jwtService.extractUsername(jwt);
-    if (username == null || SecurityContextHolder.getContext().getAuthentication() != null) {
+    // One signature check per request; the subject is trusted once it passes
+    final Claims claims = jwtService.verify(jwt).orElse(null);
+    if (claims == null
+        || claims.getSubject() == null
+        || SecurityContextHolder.getContext().getAuthentication() != null) {
       return;
     }
 
-    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-    if (!jwtService.isTokenValid(jwt, userDetails)) {
-      return;
-    }
+    UserDetails userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
 
     UsernamePasswordAuthenticationToken authToken =
         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
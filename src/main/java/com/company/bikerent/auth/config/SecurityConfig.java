@@ -1,5 +1,6 @@
 package com.company.bikerent.auth.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -7,13 +8,15 @@ import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import com.company.bikerent.user.domain.User;
 import com.company.bikerent.user.repository.UserRepository;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 
 /** Security configuration for authentication. */
@@ -23,6 +26,19 @@ import lombok.RequiredArgsConstructor;
 public class SecurityConfig {
 
   private final UserRepository userRepository;
+  private final MeterRegistry meterRegistry;
+
+  @Value("${auth.password.bcrypt-strength:12}")
+  private int bcryptStrength;
+
+  @Value("${auth.password.hashing-threads:2}")
+  private int hashingThreads;
+
+  @Value("${auth.password.queue-capacity:32}")
+  private int hashingQueueCapacity;
+
+  @Value("${auth.password.max-wait-ms:3000}")
+  private long hashingMaxWaitMs;
 
   @Bean
   public UserDetailsService userDetailsService() {
@@ -37,9 +53,20 @@ public class SecurityConfig {
     DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
     authProvider.setUserDetailsService(userDetailsService());
     authProvider.setPasswordEncoder(passwordEncoder());
+    authProvider.setUserDetailsPasswordService(userDetailsPasswordService());
     return authProvider;
   }
 
+  /** Stores the re-encoded password after a login whose hash used a different cost factor. */
+  @Bean
+  public UserDetailsPasswordService userDetailsPasswordService() {
+    return (userDetails, newPassword) -> {
+      User user = (User) userDetails;
+      user.setPassword(newPassword);
+      return userRepository.save(user);
+    };
+  }
+
   @Bean
   public AuthenticationManager authenticationManager(AuthenticationConfiguration config)
       throws Exception {
@@ -48,10 +75,12 @@ public class SecurityConfig {
 
   /**
    * Use BCrypt for password encoding (secure, with salt and adaptive cost). Strength 12 provides
-   * good security while maintaining acceptable performance.
+   * good security while maintaining acceptable performance. Hashing runs on a bounded pool so that
+   * login bursts are shed with a 503 instead of starving the request threads.
    */
-  @Bean
+  @Bean(destroyMethod = "close")
   public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder(12);
+    return new BoundedPasswordEncoder(
+        bcryptStrength, hashingThreads, hashingQueueCapacity, hashingMaxWaitMs, meterRegistry);
   }
 }
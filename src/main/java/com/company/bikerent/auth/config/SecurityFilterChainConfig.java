@@ -40,6 +40,7 @@ public class SecurityFilterChainConfig {
     "/api/v1/auth/login",
     "/api/v1/auth/refresh",
     "/api/v1/auth/logout",
+    "/.well-known/jwks.json",
     "/api/v1/api-docs/**",
     "/api/v1/api-docs",
     "/v3/api-docs/**",
@@ -53,10 +54,20 @@ public class SecurityFilterChainConfig {
   };
 
   /** Admin-only endpoints. */
-  private static final String[] ADMIN_URLS = {"/api/v1/admin-requests/**", "/api/v1/users/**"};
+  private static final String[] ADMIN_URLS = {
+    "/api/v1/admin-requests/**",
+    "/api/v1/users/**",
+    "/api/v1/diagnostics/**",
+    "/api/v1/fleet/**",
+    "/api/v1/analytics/**",
+    "/actuator/startup",
+    "/actuator/startup/**"
+  };
 
-  /** Technician and Admin endpoints (repair management). */
-  private static final String[] TECH_ADMIN_URLS = {"/api/v1/repairs/**", "/api/v1/technicians/**"};
+  /** Technician and Admin endpoints (repair management, device telemetry). */
+  private static final String[] TECH_ADMIN_URLS = {
+    "/api/v1/repairs/**", "/api/v1/technicians/**", "/api/v1/telemetry/**"
+  };
 
   /** WebSocket endpoints. */
   private static final String[] WEBSOCKET_URLS = {"/ws/**"};
@@ -146,6 +157,10 @@ public class SecurityFilterChainConfig {
                     .requestMatchers("/api/v1/payments/**")
                     .authenticated()
 
+                    // Bicycle reservations - any authenticated user
+                    .requestMatchers(HttpMethod.POST, "/api/v1/bicycles/*/reserve")
+                    .authenticated()
+
                     // Bicycle management - Admin only for write operations
                     .requestMatchers(HttpMethod.POST, "/api/v1/bicycles/**")
                     .hasRole("ADMIN")
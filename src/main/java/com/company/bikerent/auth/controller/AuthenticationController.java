@@ -130,7 +130,7 @@ public class AuthenticationController {
                       examples =
                           @ExampleObject(
                               value =
-                                  "{\"refresh_token\": \"550e8400-e29b-41d4-a716-446655440000\"}")))
+                                  "{\"refresh_token\": \"kX9vQ2n7sLr4TbW0yZ1aHcE5fJ8uD3gP6iM2oR7tVwY\"}")))
           @Valid
           @RequestBody
           RefreshTokenRequest request) {
@@ -0,0 +1,39 @@
+package com.company.bikerent.auth.controller;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.company.bikerent.auth.service.JwtKey;
+import com.company.bikerent.auth.service.JwtKeyRing;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+/** Publishes the public keys that verify access tokens, so other services need no secret. */
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Authentication", description = "Authentication management endpoints")
+public class JwksController {
+
+  /** Verifiers refetch on an unknown kid; this bounds how long a removed key is still trusted. */
+  private static final Duration MAX_AGE = Duration.ofMinutes(5);
+
+  private final JwtKeyRing keyRing;
+
+  @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+  @Operation(summary = "Get the JSON Web Key Set for verifying access tokens")
+  public ResponseEntity<Map<String, List<Map<String, Object>>>> jwks() {
+    List<Map<String, Object>> keys = keyRing.keys().stream().map(JwtKey::toJwk).toList();
+    return ResponseEntity.ok()
+        .cacheControl(CacheControl.maxAge(MAX_AGE).cachePublic())
+        .body(Map.of("keys", keys));
+  }
+}
@@ -1,10 +1,13 @@
 package com.company.bikerent.auth.domain;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.time.Instant;
-import java.util.UUID;
+import java.util.Base64;
 
 import jakarta.persistence.*;
-import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
 import org.hibernate.annotations.CreationTimestamp;
@@ -20,6 +23,9 @@ import lombok.Setter;
 /**
  * Entity representing a refresh token for JWT authentication. Refresh tokens allow users to obtain
  * new access tokens without re-authenticating.
+ *
+ * <p>Only the SHA-256 digest of the token is stored, so a leaked table cannot be replayed. The
+ * plaintext is known only when the token is issued.
  */
 @Entity
 @Table(
@@ -35,6 +41,9 @@ import lombok.Setter;
 @Builder
 public class RefreshToken {
 
+  private static final int TOKEN_BYTES = 32;
+  private static final SecureRandom RANDOM = new SecureRandom();
+
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Long id;
@@ -44,9 +53,12 @@ public class RefreshToken {
   @JoinColumn(name = "user_id", nullable = false)
   private User user;
 
-  @NotBlank(message = "Token is required")
-  @Column(name = "token", nullable = false, unique = true)
-  private String token;
+  @NotNull(message = "Token hash is required")
+  @Column(name = "token_hash", nullable = false, unique = true)
+  private byte[] tokenHash;
+
+  /** Plaintext token, set only on freshly issued tokens and never persisted. */
+  @Transient private String token;
 
   @NotNull(message = "Expiration date is required")
   @Column(name = "expires_at", nullable = false)
@@ -87,11 +99,24 @@ public class RefreshToken {
    * @return a new RefreshToken instance
    */
   public static RefreshToken create(User user, long expirationMs) {
+    byte[] secret = new byte[TOKEN_BYTES];
+    RANDOM.nextBytes(secret);
+    String token = Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
     return RefreshToken.builder()
         .user(user)
-        .token(UUID.randomUUID().toString())
+        .token(token)
+        .tokenHash(hash(token))
         .expiresAt(Instant.now().plusMillis(expirationMs))
         .revoked(false)
         .build();
   }
+
+  /** SHA-256 digest under which a token is stored and looked up. */
+  public static byte[] hash(String token) {
+    try {
+      return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
 }
@@ -11,7 +11,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 public record RefreshTokenRequest(
     @Schema(
             description = "Refresh token",
-            example = "550e8400-e29b-41d4-a716-446655440000",
+            example = "kX9vQ2n7sLr4TbW0yZ1aHcE5fJ8uD3gP6iM2oR7tVwY",
             required = true)
         @NotBlank(message = "Refresh token is required")
         @JsonProperty("refresh_token")
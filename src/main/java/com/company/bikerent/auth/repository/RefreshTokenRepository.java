@@ -1,6 +1,7 @@
 package com.company.bikerent.auth.repository;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,32 +9,75 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.company.bikerent.auth.domain.RefreshToken;
 
-/** Repository for RefreshToken entity operations. */
+/** Repository for RefreshToken entity operations. Tokens are looked up by their SHA-256 digest. */
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
 
-  /** Find a valid (non-revoked, non-expired) refresh token by token string. */
+  /**
+   * Revoke a valid token and issue its replacement for the same user in a single statement. Two
+   * concurrent rotations of the same token cannot both succeed: the second finds it revoked.
+   *
+   * @return the owner of the rotated token, empty if it was unknown, revoked or expired
+   */
   @Query(
-      "SELECT rt FROM RefreshToken rt WHERE rt.token = :token AND rt.revoked = false AND rt.expiresAt > :now")
-  Optional<RefreshToken> findValidToken(@Param("token") String token, @Param("now") Instant now);
+      value =
+          "WITH revoked AS ("
+              + " UPDATE refresh_token SET revoked = TRUE, revoked_at = :now"
+              + " WHERE token_hash = :tokenHash AND revoked = FALSE AND expires_at > :now"
+              + " RETURNING user_id),"
+              + " issued AS ("
+              + " INSERT INTO refresh_token (user_id, token_hash, expires_at, created_at, revoked)"
+              + " SELECT user_id, :newTokenHash, :expiresAt, :now, FALSE FROM revoked"
+              + " RETURNING user_id)"
+              + " SELECT u.id AS id, u.username AS username, u.role AS role"
+              + " FROM issued i JOIN users u ON u.id = i.user_id",
+      nativeQuery = true)
+  Optional<TokenOwner> rotate(
+      @Param("tokenHash") byte[] tokenHash,
+      @Param("newTokenHash") byte[] newTokenHash,
+      @Param("expiresAt") Instant expiresAt,
+      @Param("now") Instant now);
 
-  /** Find a refresh token by token string. */
-  Optional<RefreshToken> findByToken(String token);
-
-  /** Revoke all tokens for a specific user. */
+  /** Revoke a token by its digest. */
   @Modifying
   @Query(
-      "UPDATE RefreshToken rt SET rt.revoked = true, rt.revokedAt = :now WHERE rt.user.id = :userId AND rt.revoked = false")
-  int revokeAllUserTokens(@Param("userId") Long userId, @Param("now") Instant now);
+      "UPDATE RefreshToken rt SET rt.revoked = true, rt.revokedAt = :now"
+          + " WHERE rt.tokenHash = :tokenHash AND rt.revoked = false")
+  int revokeToken(@Param("tokenHash") byte[] tokenHash, @Param("now") Instant now);
+
+  /** Revoke all tokens for a specific user, returning the digests of the revoked tokens. */
+  @Query(
+      value =
+          "UPDATE refresh_token SET revoked = TRUE, revoked_at = :now"
+              + " WHERE user_id = :userId AND revoked = FALSE"
+              + " RETURNING token_hash",
+      nativeQuery = true)
+  List<byte[]> revokeAllUserTokens(@Param("userId") Long userId, @Param("now") Instant now);
 
-  /** Delete all expired or revoked tokens (cleanup). */
+  /** Delete up to {@code limit} expired or revoked tokens (cleanup), in its own transaction. */
+  @Transactional
   @Modifying
-  @Query("DELETE FROM RefreshToken rt WHERE rt.expiresAt < :now OR rt.revoked = true")
-  int deleteExpiredTokens(@Param("now") Instant now);
+  @Query(
+      value =
+          "DELETE FROM refresh_token WHERE id IN ("
+              + " SELECT id FROM refresh_token WHERE expires_at < :now OR revoked = TRUE"
+              + " LIMIT :limit)",
+      nativeQuery = true)
+  int deleteExpiredTokens(@Param("now") Instant now, @Param("limit") int limit);
 
   /** Check if a user has any active tokens. */
   boolean existsByUserIdAndRevokedFalseAndExpiresAtAfter(Long userId, Instant now);
+
+  /** User a rotated token belonged to, enough to sign the new access token. */
+  interface TokenOwner {
+    Long getId();
+
+    String getUsername();
+
+    String getRole();
+  }
 }
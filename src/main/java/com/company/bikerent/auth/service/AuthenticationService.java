@@ -14,8 +14,6 @@ import com.company.bikerent.auth.dto.RefreshTokenRequest;
 import com.company.bikerent.auth.dto.RegisterRequest;
 import com.company.bikerent.auth.dto.TokenResponse;
 import com.company.bikerent.common.exception.EntityNotFoundException;
-import com.company.bikerent.common.exception.UniqueConstraintViolationException;
-import com.company.bikerent.user.domain.Role;
 import com.company.bikerent.user.domain.User;
 import com.company.bikerent.user.dto.UserResponse;
 import com.company.bikerent.user.repository.UserRepository;
@@ -34,9 +32,12 @@ public class AuthenticationService {
   private final AuthenticationManager authenticationManager;
   private final JwtService jwtService;
   private final RefreshTokenService refreshTokenService;
+  private final UserRegistrationService userRegistrationService;
 
-  /** Authenticate user and return tokens. */
-  @Transactional
+  /**
+   * Authenticate user and return tokens. Deliberately not transactional: the password check waits
+   * for the hashing pool and must not hold a database connection meanwhile.
+   */
   public TokenResponse authenticate(LoginRequest request) {
     log.debug("Authenticating user: {}", maskUsername(request.username()));
 
@@ -61,19 +62,19 @@ public class AuthenticationService {
     return new UserResponse(username, user.getBalance(), user.getDebt());
   }
 
-  /** Register a new user. */
-  @Transactional
+  /**
+   * Register a new user. Not transactional for the same reason as {@link #authenticate}: the
+   * password is hashed first, and only then is the user inserted in a short transaction.
+   */
   public TokenResponse registerUser(RegisterRequest request) {
     log.info("Registering new user: {}", maskUsername(request.username()));
 
-    if (userRepository.existsByUsername(request.username())) {
-      throw new UniqueConstraintViolationException(User.class, "username");
-    }
-
-    User user = createUser(request);
+    String passwordHash = passwordEncoder.encode(request.password());
+    RefreshToken refreshToken = userRegistrationService.register(request.username(), passwordHash);
+    User user = refreshToken.getUser();
     log.info("User registered successfully: {}", maskUsername(user.getUsername()));
 
-    return generateTokens(user);
+    return tokenResponse(user, refreshToken);
   }
 
   /** Refresh access token using refresh token. */
@@ -81,14 +82,9 @@ public class AuthenticationService {
   public TokenResponse refreshToken(RefreshTokenRequest request) {
     log.debug("Refreshing token");
 
-    RefreshToken refreshToken = refreshTokenService.validateRefreshToken(request.refreshToken());
-    User user = refreshToken.getUser();
-
-    // Revoke old refresh token
-    refreshTokenService.revokeToken(request.refreshToken());
-
-    // Generate new tokens
-    return generateTokens(user);
+    // Revokes the presented token and issues its replacement atomically
+    RefreshToken refreshToken = refreshTokenService.rotate(request.refreshToken());
+    return tokenResponse(refreshToken.getUser(), refreshToken);
   }
 
   /** Logout user by revoking refresh token. */
@@ -113,25 +109,13 @@ public class AuthenticationService {
     log.info("User {} logged out from all devices", maskUsername(username));
   }
 
-  private User createUser(RegisterRequest request) {
-    User user =
-        User.builder()
-            .username(request.username())
-            .password(passwordEncoder.encode(request.password()))
-            .role(Role.USER)
-            .balance(0L)
-            .debt(0L)
-            .build();
-
-    return userRepository.save(user);
-  }
-
   private TokenResponse generateTokens(User user) {
-    String accessToken = jwtService.generateAccessToken(user);
-    RefreshToken refreshToken = refreshTokenService.createRefreshToken(user);
+    return tokenResponse(user, refreshTokenService.createRefreshToken(user));
+  }
 
+  private TokenResponse tokenResponse(User user, RefreshToken refreshToken) {
     return TokenResponse.of(
-        accessToken,
+        jwtService.generateAccessToken(user),
         refreshToken.getToken(),
         jwtService.getAccessTokenExpiration(),
         user.getId(),
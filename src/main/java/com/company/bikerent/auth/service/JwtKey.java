@@ -0,0 +1,148 @@
+package com.company.bikerent.auth.service;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.EdECPublicKey;
+import java.security.spec.KeySpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One key of the JWT signing ring: an Ed25519 (EdDSA) or P-256 (ES256) public key, plus its private
+ * half while the key may still sign. Retired keys keep only the public half and just verify.
+ */
+public record JwtKey(String kid, PublicKey publicKey, PrivateKey privateKey) {
+
+  private static final String[] KEY_ALGORITHMS = {"Ed25519", "EC"};
+  private static final int P256_FIELD_SIZE = 256;
+  private static final int ED25519_KEY_BYTES = 32;
+
+  public JwtKey {
+    if (kid == null || kid.isBlank()) {
+      throw new IllegalArgumentException("JWT key id is required");
+    }
+    if (algorithmOf(publicKey) == null) {
+      throw new IllegalArgumentException(
+          "JWT key " + kid + " must be an Ed25519 or P-256 key, got " + publicKey.getAlgorithm());
+    }
+    if (privateKey != null && !isPair(publicKey, privateKey)) {
+      throw new IllegalArgumentException("JWT key " + kid + " has mismatched key halves");
+    }
+  }
+
+  public boolean canSign() {
+    return privateKey != null;
+  }
+
+  /** JWS algorithm name: {@code EdDSA} or {@code ES256}. */
+  public String algorithm() {
+    return algorithmOf(publicKey);
+  }
+
+  /** Public half as a JSON Web Key (RFC 7517), ready to publish in a JWKS document. */
+  public Map<String, Object> toJwk() {
+    Map<String, Object> jwk = new LinkedHashMap<>();
+    jwk.put("kid", kid);
+    jwk.put("use", "sig");
+    jwk.put("alg", algorithm());
+    if (publicKey instanceof ECPublicKey ec) {
+      jwk.put("kty", "EC");
+      jwk.put("crv", "P-256");
+      jwk.put("x", base64Url(unsigned(ec.getW().getAffineX(), 32)));
+      jwk.put("y", base64Url(unsigned(ec.getW().getAffineY(), 32)));
+    } else {
+      // RFC 8410: the raw key is the tail of the SubjectPublicKeyInfo encoding
+      byte[] encoded = publicKey.getEncoded();
+      int offset = encoded.length - ED25519_KEY_BYTES;
+      jwk.put("kty", "OKP");
+      jwk.put("crv", "Ed25519");
+      jwk.put("x", base64Url(Arrays.copyOfRange(encoded, offset, encoded.length)));
+    }
+    return jwk;
+  }
+
+  /** Read an X.509 {@code PUBLIC KEY} PEM file. */
+  public static PublicKey readPublicKey(Path file) throws IOException {
+    return (PublicKey) decode(file, new X509EncodedKeySpec(readPem(file)), true);
+  }
+
+  /** Read a PKCS#8 {@code PRIVATE KEY} PEM file. */
+  public static PrivateKey readPrivateKey(Path file) throws IOException {
+    return (PrivateKey) decode(file, new PKCS8EncodedKeySpec(readPem(file)), false);
+  }
+
+  private static Object decode(Path file, KeySpec spec, boolean isPublic) {
+    for (String algorithm : KEY_ALGORITHMS) {
+      try {
+        KeyFactory factory = KeyFactory.getInstance(algorithm);
+        return isPublic ? factory.generatePublic(spec) : factory.generatePrivate(spec);
+      } catch (GeneralSecurityException e) {
+        // Not this key type; try the next one
+      }
+    }
+    throw new IllegalArgumentException("Unsupported key in " + file);
+  }
+
+  private static byte[] readPem(Path file) throws IOException {
+    StringBuilder base64 = new StringBuilder();
+    for (String line : Files.readAllLines(file, StandardCharsets.US_ASCII)) {
+      if (!line.startsWith("-----")) {
+        base64.append(line.trim());
+      }
+    }
+    return Base64.getDecoder().decode(base64.toString());
+  }
+
+  private static String algorithmOf(PublicKey key) {
+    if (key instanceof EdECPublicKey edEc && "Ed25519".equals(edEc.getParams().getName())) {
+      return "EdDSA";
+    }
+    if (key instanceof ECPublicKey ec
+        && ec.getParams().getCurve().getField().getFieldSize() == P256_FIELD_SIZE) {
+      return "ES256";
+    }
+    return null;
+  }
+
+  private static boolean isPair(PublicKey publicKey, PrivateKey privateKey) {
+    String algorithm = publicKey instanceof ECPublicKey ? "SHA256withECDSA" : "Ed25519";
+    byte[] probe = "bikerent-key-check".getBytes(StandardCharsets.US_ASCII);
+    try {
+      Signature signer = Signature.getInstance(algorithm);
+      signer.initSign(privateKey);
+      signer.update(probe);
+      byte[] signature = signer.sign();
+      Signature verifier = Signature.getInstance(algorithm);
+      verifier.initVerify(publicKey);
+      verifier.update(probe);
+      return verifier.verify(signature);
+    } catch (GeneralSecurityException e) {
+      return false;
+    }
+  }
+
+  private static byte[] unsigned(BigInteger value, int length) {
+    byte[] bytes = value.toByteArray();
+    byte[] result = new byte[length];
+    int copy = Math.min(bytes.length, length);
+    System.arraycopy(bytes, bytes.length - copy, result, length - copy, copy);
+    return result;
+  }
+
+  private static String base64Url(byte[] bytes) {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+  }
+}
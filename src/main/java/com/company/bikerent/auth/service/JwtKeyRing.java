@@ -0,0 +1,149 @@
+package com.company.bikerent.auth.service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Asymmetric keys for signing and verifying access tokens.
+ *
+ * <p>Keys are read from {@code jwt.keys.directory}: each key id {@code <kid>} has a {@code
+ * <kid>.pub} X.509 PEM file and, while it may still sign, a {@code <kid>.key} PKCS#8 PEM file. The
+ * greatest key id with a private key signs new tokens; every key verifies. To rotate, add a key
+ * with a greater id (e.g. a date), and delete the old {@code .key} file, then its {@code .pub} file
+ * once tokens signed with it have expired. The directory is re-read periodically, so rotation needs
+ * no restart.
+ *
+ * <pre>
+ * openssl genpkey -algorithm ed25519 -out 2026-10.key
+ * openssl pkey -in 2026-10.key -pubout -out 2026-10.pub
+ * </pre>
+ *
+ * <p>Without a directory a throwaway Ed25519 key is generated at startup; tokens then do not
+ * survive a restart and cannot be verified by other instances.
+ */
+@Slf4j
+@Component
+public class JwtKeyRing {
+
+  private static final String PUBLIC_SUFFIX = ".pub";
+  private static final String PRIVATE_SUFFIX = ".key";
+
+  private final String directory;
+  private volatile Ring ring;
+
+  public JwtKeyRing(@Value("${jwt.keys.directory:}") String directory) throws IOException {
+    this.directory = directory;
+    if (directory.isBlank()) {
+      log.warn("jwt.keys.directory is not set; signing access tokens with a throwaway key");
+      this.ring = ephemeral();
+    } else {
+      this.ring = load(Path.of(directory));
+    }
+    log.info("JWT key ring loaded: signing kid={}, keys={}", ring.signing().kid(), ring.keys());
+  }
+
+  /** Key that signs new tokens. */
+  public JwtKey signingKey() {
+    return ring.signing();
+  }
+
+  /** Public key for the given key id, or {@code null} if it is not (or no longer) in the ring. */
+  public PublicKey verificationKey(String kid) {
+    JwtKey key = kid == null ? null : ring.byKid().get(kid);
+    return key == null ? null : key.publicKey();
+  }
+
+  /** All keys that currently verify, for publishing. */
+  public List<JwtKey> keys() {
+    return List.copyOf(ring.byKid().values());
+  }
+
+  /** Pick up added, retired and removed keys. A broken directory keeps the current ring. */
+  @Scheduled(
+      fixedDelayString = "${jwt.keys.reload-interval-ms:60000}",
+      initialDelayString = "${jwt.keys.reload-interval-ms:60000}")
+  public void reload() {
+    if (directory.isBlank()) {
+      return;
+    }
+    try {
+      Ring loaded = load(Path.of(directory));
+      if (!loaded.keys().equals(ring.keys())) {
+        log.info(
+            "JWT key ring reloaded: signing kid={}, keys={}",
+            loaded.signing().kid(),
+            loaded.keys());
+      }
+      ring = loaded;
+    } catch (IOException | RuntimeException e) {
+      log.error("Failed to reload JWT keys from {}, keeping the current ones", directory, e);
+    }
+  }
+
+  private static Ring load(Path directory) throws IOException {
+    Map<String, JwtKey> byKid = new TreeMap<>();
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + PUBLIC_SUFFIX)) {
+      for (Path publicFile : files) {
+        String name = publicFile.getFileName().toString();
+        String kid = name.substring(0, name.length() - PUBLIC_SUFFIX.length());
+        Path privateFile = publicFile.resolveSibling(kid + PRIVATE_SUFFIX);
+        PrivateKey privateKey =
+            Files.exists(privateFile) ? JwtKey.readPrivateKey(privateFile) : null;
+        byKid.put(kid, new JwtKey(kid, JwtKey.readPublicKey(publicFile), privateKey));
+      }
+    }
+    JwtKey signing = null;
+    for (JwtKey key : byKid.values()) {
+      if (key.canSign()) {
+        signing = key;
+      }
+    }
+    if (signing == null) {
+      throw new IllegalStateException("No signing key (" + PRIVATE_SUFFIX + ") in " + directory);
+    }
+    return new Ring(signing, byKid);
+  }
+
+  private static Ring ephemeral() {
+    try {
+      KeyPair pair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+      String kid = "ephemeral-" + System.currentTimeMillis();
+      JwtKey key = new JwtKey(kid, pair.getPublic(), pair.getPrivate());
+      return new Ring(key, Map.of(kid, key));
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Ed25519 is not available", e);
+    }
+  }
+
+  private record Ring(JwtKey signing, Map<String, JwtKey> byKid) {
+
+    /** Key ids with their role, for logging and change detection. */
+    String keys() {
+      StringBuilder keys = new StringBuilder();
+      byKid
+          .values()
+          .forEach(
+              key ->
+                  keys.append(keys.isEmpty() ? "" : ",")
+                      .append(key.kid())
+                      .append(key.canSign() ? "(sign)" : "(verify)"));
+      return keys.toString();
+    }
+  }
+}
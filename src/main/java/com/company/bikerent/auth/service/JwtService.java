@@ -1,12 +1,12 @@
 package com.company.bikerent.auth.service;
 
+import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 
-import javax.crypto.SecretKey;
-
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -16,35 +16,34 @@ import com.company.bikerent.user.domain.User;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.Locator;
+import io.jsonwebtoken.ProtectedHeader;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Service for JWT token generation and validation. Supports short-lived access tokens and
  * long-lived refresh tokens.
+ *
+ * <p>Tokens are signed with the current key of the {@link JwtKeyRing} and carry its {@code kid};
+ * one parser, built once, verifies against whichever ring key the header names.
  */
 @Slf4j
 @Service
 public class JwtService {
 
-  private final SecretKey signingKey;
+  private final JwtKeyRing keyRing;
+  private final JwtParser parser;
   private final long accessTokenExpiration;
   private final long refreshTokenExpiration;
 
   public JwtService(
-      @Value("${jwt.secret}") String secretKey,
+      JwtKeyRing keyRing,
       @Value("${jwt.access-expiration:900000}") long accessTokenExpiration,
       @Value("${jwt.refresh-expiration:604800000}") long refreshTokenExpiration) {
-
-    if (secretKey == null || secretKey.isBlank()) {
-      throw new IllegalStateException(
-          "JWT secret key must be configured via JWT_SECRET environment variable");
-    }
-
-    byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-    this.signingKey = Keys.hmacShaKeyFor(keyBytes);
+    this.keyRing = keyRing;
+    this.parser = Jwts.parser().keyLocator(verificationKeyLocator(keyRing)).build();
     this.accessTokenExpiration = accessTokenExpiration;
     this.refreshTokenExpiration = refreshTokenExpiration;
 
@@ -54,6 +53,23 @@ public class JwtService {
         refreshTokenExpiration);
   }
 
+  /**
+   * Verify the signature and expiry of a token once and return its claims.
+   *
+   * @return the claims, or empty if the token is invalid or expired
+   */
+  public Optional<Claims> verify(String token) {
+    try {
+      return Optional.of(extractAllClaims(token));
+    } catch (ExpiredJwtException e) {
+      log.debug("Token is expired for user: {}", e.getClaims().getSubject());
+      return Optional.empty();
+    } catch (JwtException | IllegalArgumentException e) {
+      log.warn("Invalid JWT token: {}", e.getMessage());
+      return Optional.empty();
+    }
+  }
+
   /** Extract username from token. */
   public String extractUsername(String token) {
     return extractClaim(token, Claims::getSubject);
@@ -96,16 +112,9 @@ public class JwtService {
 
   /** Validate token against user details. */
   public boolean isTokenValid(String token, UserDetails userDetails) {
-    try {
-      final String username = extractUsername(token);
-      return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
-    } catch (ExpiredJwtException e) {
-      log.debug("Token is expired for user: {}", userDetails.getUsername());
-      return false;
-    } catch (JwtException e) {
-      log.warn("Invalid JWT token: {}", e.getMessage());
-      return false;
-    }
+    return verify(token)
+        .map(claims -> userDetails.getUsername().equals(claims.getSubject()))
+        .orElse(false);
   }
 
   /** Check if token is expired. */
@@ -132,16 +141,32 @@ public class JwtService {
   }
 
   private Claims extractAllClaims(String token) {
-    return Jwts.parser().verifyWith(signingKey).build().parseSignedClaims(token).getPayload();
+    return parser.parseSignedClaims(token).getPayload();
   }
 
   private String buildToken(Map<String, Object> claims, UserDetails userDetails, long expiration) {
+    JwtKey signingKey = keyRing.signingKey();
     return Jwts.builder()
+        .header()
+        .keyId(signingKey.kid())
+        .and()
         .claims(claims)
         .subject(userDetails.getUsername())
         .issuedAt(new Date(System.currentTimeMillis()))
         .expiration(new Date(System.currentTimeMillis() + expiration))
-        .signWith(signingKey)
+        .signWith(signingKey.privateKey())
         .compact();
   }
+
+  private static Locator<Key> verificationKeyLocator(JwtKeyRing keyRing) {
+    return header -> {
+      String kid =
+          header instanceof ProtectedHeader protectedHeader ? protectedHeader.getKeyId() : null;
+      Key key = keyRing.verificationKey(kid);
+      if (key == null) {
+        throw new JwtException("Unknown signing key: " + kid);
+      }
+      return key;
+    };
+  }
 }
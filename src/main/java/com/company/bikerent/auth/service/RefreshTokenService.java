@@ -1,14 +1,20 @@
 package com.company.bikerent.auth.service;
 
 import java.time.Instant;
+import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.company.bikerent.auth.domain.RefreshToken;
 import com.company.bikerent.auth.repository.RefreshTokenRepository;
+import com.company.bikerent.auth.repository.RefreshTokenRepository.TokenOwner;
 import com.company.bikerent.common.exception.BusinessException;
+import com.company.bikerent.user.domain.Role;
 import com.company.bikerent.user.domain.User;
 
 import lombok.RequiredArgsConstructor;
@@ -20,10 +26,16 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class RefreshTokenService {
 
+  private static final String INVALID_TOKEN = "Invalid or expired refresh token";
+
   private final RefreshTokenRepository refreshTokenRepository;
   private final JwtService jwtService;
+  private final RevokedTokenFilter revokedTokenFilter;
+
+  @Value("${auth.refresh-token.cleanup-chunk-size:1000}")
+  private int cleanupChunkSize;
 
-  /** Create a new refresh token for a user. */
+  /** Create a new refresh token for a user. The returned token carries its plaintext. */
   @Transactional
   public RefreshToken createRefreshToken(User user) {
     RefreshToken refreshToken = RefreshToken.create(user, jwtService.getRefreshTokenExpiration());
@@ -34,44 +46,86 @@ public class RefreshTokenService {
   }
 
   /**
-   * Validate a refresh token and return it if valid.
+   * Revoke a valid refresh token and issue its replacement in one round trip. Tokens this instance
+   * has already revoked are rejected without touching the database.
    *
-   * @throws BusinessException if token is invalid or expired
+   * @return the replacement token, carrying its plaintext and a detached owner with id, username
+   *     and role
+   * @throws BusinessException if the token is invalid, revoked or expired
    */
-  @Transactional(readOnly = true)
-  public RefreshToken validateRefreshToken(String token) {
-    return refreshTokenRepository
-        .findValidToken(token, Instant.now())
-        .orElseThrow(() -> new BusinessException("Invalid or expired refresh token"));
+  @Transactional
+  public RefreshToken rotate(String token) {
+    byte[] tokenHash = RefreshToken.hash(token);
+    if (revokedTokenFilter.isRevoked(tokenHash)) {
+      log.warn("Rejected reuse of a revoked refresh token");
+      throw new BusinessException(INVALID_TOKEN);
+    }
+
+    RefreshToken replacement = RefreshToken.create(null, jwtService.getRefreshTokenExpiration());
+    byte[] replacementHash = replacement.getTokenHash();
+    TokenOwner owner =
+        refreshTokenRepository
+            .rotate(tokenHash, replacementHash, replacement.getExpiresAt(), Instant.now())
+            .orElseThrow(() -> new BusinessException(INVALID_TOKEN));
+    afterCommit(() -> revokedTokenFilter.add(tokenHash));
+
+    replacement.setUser(
+        User.builder()
+            .id(owner.getId())
+            .username(owner.getUsername())
+            .role(Role.valueOf(owner.getRole()))
+            .build());
+    log.debug("Rotated refresh token for user: {}", owner.getUsername());
+    return replacement;
   }
 
   /** Revoke a specific refresh token. */
   @Transactional
   public void revokeToken(String token) {
-    refreshTokenRepository
-        .findByToken(token)
-        .ifPresent(
-            refreshToken -> {
-              refreshToken.revoke();
-              refreshTokenRepository.save(refreshToken);
-              log.debug("Revoked refresh token for user: {}", refreshToken.getUser().getUsername());
-            });
+    byte[] tokenHash = RefreshToken.hash(token);
+    if (refreshTokenRepository.revokeToken(tokenHash, Instant.now()) > 0) {
+      afterCommit(() -> revokedTokenFilter.add(tokenHash));
+      log.debug("Revoked refresh token");
+    }
   }
 
   /** Revoke all refresh tokens for a user (e.g., on logout from all devices). */
   @Transactional
   public void revokeAllUserTokens(Long userId) {
-    int revokedCount = refreshTokenRepository.revokeAllUserTokens(userId, Instant.now());
-    log.debug("Revoked {} refresh tokens for user ID: {}", revokedCount, userId);
+    List<byte[]> revoked = refreshTokenRepository.revokeAllUserTokens(userId, Instant.now());
+    afterCommit(() -> revoked.forEach(revokedTokenFilter::add));
+    log.debug("Revoked {} refresh tokens for user ID: {}", revoked.size(), userId);
   }
 
-  /** Scheduled task to clean up expired tokens. Runs every hour. */
+  /**
+   * Scheduled task to clean up expired tokens. Runs every hour and deletes in bounded chunks, one
+   * transaction each, so a large backlog never holds locks or a connection for long.
+   */
   @Scheduled(fixedRate = 3600000)
-  @Transactional
   public void cleanupExpiredTokens() {
-    int deletedCount = refreshTokenRepository.deleteExpiredTokens(Instant.now());
+    Instant now = Instant.now();
+    int deletedCount = 0;
+    int deleted;
+    do {
+      deleted = refreshTokenRepository.deleteExpiredTokens(now, cleanupChunkSize);
+      deletedCount += deleted;
+    } while (deleted == cleanupChunkSize);
     if (deletedCount > 0) {
       log.info("Cleaned up {} expired/revoked refresh tokens", deletedCount);
     }
   }
+
+  private static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            action.run();
+          }
+        });
+  }
 }
@@ -0,0 +1,95 @@
+package com.company.bikerent.auth.service;
+
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.company.bikerent.common.collection.BloomFilter;
+
+/**
+ * Local memory of refresh tokens revoked by this instance, so that replaying a rotated or
+ * logged-out token is rejected without a database round trip.
+ *
+ * <p>The Bloom filter answers the common case, a token that was never revoked, without taking a
+ * lock. Its positives are confirmed against a bounded cache of exact fingerprints, so a false
+ * positive falls through to the database instead of rejecting a valid token. Filters are kept for
+ * two generations of one refresh-token lifetime each; anything older has expired anyway.
+ */
+@Component
+public class RevokedTokenFilter {
+
+  private final int expectedPerGeneration;
+  private final double falsePositiveRate;
+  private final long generationMs;
+  private final Map<Long, Boolean> recent;
+
+  private volatile BloomFilter current;
+  private volatile BloomFilter previous;
+  private volatile long generationStartedAt;
+
+  public RevokedTokenFilter(
+      @Value("${jwt.refresh-expiration}") long refreshExpirationMs,
+      @Value("${auth.revoked-tokens.expected-per-generation:1000000}") int expectedPerGeneration,
+      @Value("${auth.revoked-tokens.false-positive-rate:0.001}") double falsePositiveRate,
+      @Value("${auth.revoked-tokens.cache-size:100000}") int cacheSize) {
+    this.expectedPerGeneration = expectedPerGeneration;
+    this.falsePositiveRate = falsePositiveRate;
+    this.generationMs = refreshExpirationMs;
+    this.current = new BloomFilter(expectedPerGeneration, falsePositiveRate);
+    this.previous = new BloomFilter(expectedPerGeneration, falsePositiveRate);
+    this.generationStartedAt = System.currentTimeMillis();
+    this.recent =
+        new LinkedHashMap<>(16, 0.75f, false) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+            return size() > cacheSize;
+          }
+        };
+  }
+
+  /** Remember a revoked token by its stored digest. */
+  public void add(byte[] tokenHash) {
+    long fingerprint = fingerprint(tokenHash);
+    rotateIfDue();
+    current.add(fingerprint);
+    synchronized (recent) {
+      recent.put(fingerprint, Boolean.TRUE);
+    }
+  }
+
+  /**
+   * Whether the token is known to be revoked. {@code false} means "not known here", not "valid":
+   * the database remains the authority.
+   */
+  public boolean isRevoked(byte[] tokenHash) {
+    long fingerprint = fingerprint(tokenHash);
+    if (!current.mightContain(fingerprint) && !previous.mightContain(fingerprint)) {
+      return false;
+    }
+    synchronized (recent) {
+      return recent.containsKey(fingerprint);
+    }
+  }
+
+  private void rotateIfDue() {
+    if (System.currentTimeMillis() - generationStartedAt < generationMs) {
+      return;
+    }
+    synchronized (this) {
+      long now = System.currentTimeMillis();
+      if (now - generationStartedAt >= generationMs) {
+        previous = current;
+        current = new BloomFilter(expectedPerGeneration, falsePositiveRate);
+        generationStartedAt = now;
+      }
+    }
+  }
+
+  /** Leading 64 bits of the SHA-256 digest; already uniformly distributed. */
+  private static long fingerprint(byte[] tokenHash) {
+    return ByteBuffer.wrap(tokenHash, 0, Long.BYTES).getLong();
+  }
+}
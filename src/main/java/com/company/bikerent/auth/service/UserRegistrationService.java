@@ -0,0 +1,48 @@
+package com.company.bikerent.auth.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.company.bikerent.auth.domain.RefreshToken;
+import com.company.bikerent.common.exception.UniqueConstraintViolationException;
+import com.company.bikerent.user.domain.Role;
+import com.company.bikerent.user.domain.User;
+import com.company.bikerent.user.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Creates user accounts. Separate from {@link AuthenticationService} so that the password is hashed
+ * before the transaction starts and takes a database connection.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserRegistrationService {
+
+  private final UserRepository userRepository;
+  private final RefreshTokenService refreshTokenService;
+
+  /**
+   * Create a user with an already hashed password, together with its first refresh token.
+   *
+   * @return the refresh token, carrying its plaintext and the new user
+   * @throws UniqueConstraintViolationException if the username is taken
+   */
+  @Transactional
+  public RefreshToken register(String username, String passwordHash) {
+    if (userRepository.existsByUsername(username)) {
+      throw new UniqueConstraintViolationException(User.class, "username");
+    }
+
+    User user =
+        userRepository.save(
+            User.builder()
+                .username(username)
+                .password(passwordHash)
+                .role(Role.USER)
+                .balance(0L)
+                .debt(0L)
+                .build());
+    return refreshTokenService.createRefreshToken(user);
+  }
+}
@@ -0,0 +1,48 @@
+package com.company.bikerent.batch.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.company.bikerent.batch.dto.BatchRequest;
+import com.company.bikerent.batch.dto.BatchResponse;
+import com.company.bikerent.batch.service.BatchService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/v1/batch")
+@RequiredArgsConstructor
+@Tag(name = "Batch", description = "Several read requests in one round trip")
+public class BatchController {
+
+  private final BatchService batchService;
+
+  @PostMapping
+  @Operation(
+      summary = "Run several GET requests in parallel and return all responses",
+      description =
+          "Each sub-request gets the status and JSON body it would get on its own. Authentication"
+              + " and rate limiting apply once to the whole batch.")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Batch executed, see per-request status"),
+        @ApiResponse(responseCode = "400", description = "Empty or oversized batch")
+      })
+  public ResponseEntity<BatchResponse> execute(
+      @Valid @RequestBody BatchRequest batch,
+      HttpServletRequest request,
+      HttpServletResponse response) {
+    return ResponseEntity.ok(batchService.execute(batch, request, response));
+  }
+}
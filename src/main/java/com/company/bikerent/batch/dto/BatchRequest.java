@@ -0,0 +1,26 @@
+package com.company.bikerent.batch.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record BatchRequest(
+    @JsonProperty("requests") @NotEmpty(message = "At least one request is required") @Valid
+        List<Operation> requests) {
+
+  /**
+   * One sub-request.
+   *
+   * @param id echoed in the matching response; defaults to the position in the batch
+   * @param method only {@code GET} is supported
+   * @param path API path with optional query string, e.g. {@code /api/v1/stations?size=5}
+   */
+  public record Operation(
+      @JsonProperty("id") String id,
+      @JsonProperty("method") String method,
+      @JsonProperty("path") @NotBlank(message = "Path is required") String path) {}
+}
@@ -0,0 +1,17 @@
+package com.company.bikerent.batch.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+
+public record BatchResponse(@JsonProperty("responses") List<Result> responses) {
+
+  /** Outcome of one sub-request, in the order of the batch. */
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public record Result(
+      @JsonProperty("id") String id,
+      @JsonProperty("status") int status,
+      @JsonProperty("body") JsonNode body) {}
+}
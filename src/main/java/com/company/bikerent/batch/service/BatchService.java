@@ -0,0 +1,227 @@
+package com.company.bikerent.batch.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.access.WebInvocationPrivilegeEvaluator;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import com.company.bikerent.batch.dto.BatchRequest;
+import com.company.bikerent.batch.dto.BatchResponse;
+import com.company.bikerent.common.config.RateLimitingFilter;
+import com.company.bikerent.common.dto.ErrorResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs the read-only sub-requests of a batch in parallel, each through the {@link
+ * DispatcherServlet} as if it were a request of its own, but without the servlet filter chain: the
+ * batch request was already authenticated once. URL authorization rules are still checked for every
+ * sub-request, and method security applies as usual since the caller's security context is carried
+ * over to the worker threads. Each sub-request is also charged to the rate limit of its own path,
+ * so that a batch of N reads costs what N separate reads would.
+ */
+@Slf4j
+@Service
+public class BatchService {
+
+  private static final String API_PREFIX = "/api/v1/";
+  private static final String BATCH_PATH = "/api/v1/batch";
+
+  private final DispatcherServlet dispatcherServlet;
+  private final WebInvocationPrivilegeEvaluator privilegeEvaluator;
+  private final ObjectMapper objectMapper;
+  @Nullable private final RateLimitingFilter rateLimitingFilter;
+  private final int maxRequests;
+  private final long timeoutMs;
+  private final ThreadPoolExecutor pool;
+  private final ExecutorService executor;
+
+  public BatchService(
+      DispatcherServlet dispatcherServlet,
+      WebInvocationPrivilegeEvaluator privilegeEvaluator,
+      ObjectMapper objectMapper,
+      @Nullable RateLimitingFilter rateLimitingFilter,
+      @Value("${batch.max-requests:10}") int maxRequests,
+      @Value("${batch.threads:8}") int threads,
+      @Value("${batch.queue-capacity:64}") int queueCapacity,
+      @Value("${batch.timeout-ms:10000}") long timeoutMs) {
+    this.dispatcherServlet = dispatcherServlet;
+    this.privilegeEvaluator = privilegeEvaluator;
+    this.objectMapper = objectMapper;
+    this.rateLimitingFilter = rateLimitingFilter;
+    this.maxRequests = maxRequests;
+    this.timeoutMs = timeoutMs;
+    AtomicInteger threadIndex = new AtomicInteger();
+    // A saturated pool runs sub-requests on the calling thread instead of rejecting them
+    this.pool =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+              Thread thread = new Thread(runnable, "batch-" + threadIndex.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    this.executor = new DelegatingSecurityContextExecutorService(pool);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    pool.shutdownNow();
+  }
+
+  public BatchResponse execute(
+      BatchRequest batch, HttpServletRequest request, HttpServletResponse response) {
+    List<BatchRequest.Operation> operations = batch.requests();
+    if (operations.size() > maxRequests) {
+      throw new IllegalArgumentException(
+          "A batch may contain at most " + maxRequests + " requests");
+    }
+
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    Object clientKey = rateLimitingFilter != null ? rateLimitingFilter.clientKey(request) : null;
+    Map<String, String> mdc = MDC.getCopyOfContextMap();
+    List<Future<BatchResponse.Result>> futures = new ArrayList<>(operations.size());
+    for (int i = 0; i < operations.size(); i++) {
+      BatchRequest.Operation operation = operations.get(i);
+      String id = operation.id() != null ? operation.id() : String.valueOf(i);
+      futures.add(
+          executor.submit(
+              () ->
+                  withMdc(
+                      mdc,
+                      () -> run(id, operation, authentication, clientKey, request, response))));
+    }
+
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+    List<BatchResponse.Result> results = new ArrayList<>(operations.size());
+    for (int i = 0; i < futures.size(); i++) {
+      String id = operations.get(i).id() != null ? operations.get(i).id() : String.valueOf(i);
+      String path = operations.get(i).path();
+      Future<BatchResponse.Result> future = futures.get(i);
+      try {
+        results.add(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+      } catch (TimeoutException e) {
+        future.cancel(true);
+        results.add(error(id, HttpStatus.GATEWAY_TIMEOUT, "Request timed out", path));
+      } catch (ExecutionException e) {
+        log.error("Batched request {} failed", path, e.getCause());
+        results.add(error(id, HttpStatus.INTERNAL_SERVER_ERROR, "Request failed", path));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        futures.forEach(pending -> pending.cancel(true));
+        throw new IllegalStateException("Interrupted while running batch", e);
+      }
+    }
+    return new BatchResponse(results);
+  }
+
+  private BatchResponse.Result run(
+      String id,
+      BatchRequest.Operation operation,
+      Authentication authentication,
+      @Nullable Object clientKey,
+      HttpServletRequest request,
+      HttpServletResponse response)
+      throws Exception {
+    String method = operation.method() != null ? operation.method().toUpperCase() : "GET";
+    if (!HttpMethod.GET.name().equals(method)) {
+      return error(
+          id, HttpStatus.METHOD_NOT_ALLOWED, "Only GET requests can be batched", operation.path());
+    }
+    int query = operation.path().indexOf('?');
+    String path = query < 0 ? operation.path() : operation.path().substring(0, query);
+    String queryString = query < 0 ? null : operation.path().substring(query + 1);
+    if (!path.startsWith(API_PREFIX) || path.contains("..") || path.startsWith(BATCH_PATH)) {
+      return error(id, HttpStatus.BAD_REQUEST, "Unsupported path", path);
+    }
+    if (!privilegeEvaluator.isAllowed(request.getContextPath(), path, method, authentication)) {
+      return error(id, HttpStatus.FORBIDDEN, "Access denied", path);
+    }
+
+    SubRequest subRequest = new SubRequest(request, method, path, queryString);
+    if (rateLimitingFilter != null && !rateLimitingFilter.tryAcquire(subRequest, clientKey)) {
+      return error(
+          id, HttpStatus.TOO_MANY_REQUESTS, "Too many requests. Please try again later.", path);
+    }
+    SubResponse subResponse = new SubResponse(response);
+    dispatcherServlet.service(subRequest, subResponse);
+    return new BatchResponse.Result(id, subResponse.getStatus(), bodyOf(subResponse));
+  }
+
+  private JsonNode bodyOf(SubResponse response) throws Exception {
+    byte[] body = response.body();
+    if (body.length == 0) {
+      return null;
+    }
+    String contentType = response.getContentType();
+    if (contentType != null && contentType.contains("json")) {
+      return objectMapper.readTree(body);
+    }
+    return TextNode.valueOf(new String(body, response.getCharacterEncoding()));
+  }
+
+  private BatchResponse.Result error(String id, HttpStatus status, String message, String path) {
+    ErrorResponse error =
+        ErrorResponse.builder()
+            .timestamp(LocalDateTime.now())
+            .status(status.value())
+            .error(status.getReasonPhrase())
+            .message(message)
+            .path(path)
+            .build();
+    return new BatchResponse.Result(id, status.value(), objectMapper.valueToTree(error));
+  }
+
+  private static <T> T withMdc(Map<String, String> mdc, Task<T> task) throws Exception {
+    Map<String, String> previous = MDC.getCopyOfContextMap();
+    if (mdc != null) {
+      MDC.setContextMap(mdc);
+    }
+    try {
+      return task.call();
+    } finally {
+      if (previous != null) {
+        MDC.setContextMap(previous);
+      } else {
+        MDC.clear();
+      }
+    }
+  }
+
+  @FunctionalInterface
+  private interface Task<T> {
+    T call() throws Exception;
+  }
+}
@@ -0,0 +1,232 @@
+package com.company.bikerent.batch.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Buffers the response of one batch operation in memory. Nothing reaches the batch response it
+ * wraps; the wrapper only exists to satisfy the servlet API.
+ */
+class SubResponse extends HttpServletResponseWrapper {
+
+  private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+  private final Map<String, List<String>> headers = new LinkedHashMap<>();
+  private int status = SC_OK;
+  private String contentType;
+  private boolean committed;
+  private ServletOutputStream outputStream;
+  private PrintWriter writer;
+
+  SubResponse(HttpServletResponse batch) {
+    super(batch);
+  }
+
+  byte[] body() {
+    if (writer != null) {
+      writer.flush();
+    }
+    return body.toByteArray();
+  }
+
+  @Override
+  public void setStatus(int status) {
+    this.status = status;
+  }
+
+  @Override
+  public int getStatus() {
+    return status;
+  }
+
+  @Override
+  public void sendError(int status) {
+    sendError(status, null);
+  }
+
+  @Override
+  public void sendError(int status, String message) {
+    this.status = status;
+    this.committed = true;
+  }
+
+  @Override
+  public void sendRedirect(String location) {
+    setStatus(SC_FOUND);
+    setHeader("Location", location);
+    this.committed = true;
+  }
+
+  @Override
+  public void setContentType(String contentType) {
+    this.contentType = contentType;
+  }
+
+  @Override
+  public String getContentType() {
+    return contentType;
+  }
+
+  @Override
+  public void setCharacterEncoding(String charset) {
+    // Always UTF-8
+  }
+
+  @Override
+  public String getCharacterEncoding() {
+    return StandardCharsets.UTF_8.name();
+  }
+
+  @Override
+  public void setContentLength(int length) {
+    // Known from the buffer
+  }
+
+  @Override
+  public void setContentLengthLong(long length) {
+    // Known from the buffer
+  }
+
+  @Override
+  public void setHeader(String name, String value) {
+    List<String> values = new ArrayList<>();
+    values.add(value);
+    headers.put(name.toLowerCase(), values);
+  }
+
+  @Override
+  public void addHeader(String name, String value) {
+    headers.computeIfAbsent(name.toLowerCase(), key -> new ArrayList<>()).add(value);
+  }
+
+  @Override
+  public void setIntHeader(String name, int value) {
+    setHeader(name, String.valueOf(value));
+  }
+
+  @Override
+  public void addIntHeader(String name, int value) {
+    addHeader(name, String.valueOf(value));
+  }
+
+  @Override
+  public void setDateHeader(String name, long date) {
+    setHeader(name, String.valueOf(date));
+  }
+
+  @Override
+  public void addDateHeader(String name, long date) {
+    addHeader(name, String.valueOf(date));
+  }
+
+  @Override
+  public boolean containsHeader(String name) {
+    return headers.containsKey(name.toLowerCase());
+  }
+
+  @Override
+  public String getHeader(String name) {
+    List<String> values = headers.get(name.toLowerCase());
+    return values == null || values.isEmpty() ? null : values.get(0);
+  }
+
+  @Override
+  public Collection<String> getHeaders(String name) {
+    return headers.getOrDefault(name.toLowerCase(), List.of());
+  }
+
+  @Override
+  public Collection<String> getHeaderNames() {
+    return headers.keySet();
+  }
+
+  @Override
+  public void addCookie(Cookie cookie) {
+    // Sub-requests do not set cookies
+  }
+
+  @Override
+  public ServletOutputStream getOutputStream() {
+    if (outputStream == null) {
+      outputStream =
+          new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+              return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+              throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void write(int b) {
+              body.write(b);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) {
+              body.write(bytes, offset, length);
+            }
+          };
+    }
+    return outputStream;
+  }
+
+  @Override
+  public PrintWriter getWriter() {
+    if (writer == null) {
+      writer = new PrintWriter(new OutputStreamWriter(body, StandardCharsets.UTF_8));
+    }
+    return writer;
+  }
+
+  @Override
+  public void flushBuffer() {
+    committed = true;
+  }
+
+  @Override
+  public boolean isCommitted() {
+    return committed;
+  }
+
+  @Override
+  public void setBufferSize(int size) {
+    // Unbounded buffer
+  }
+
+  @Override
+  public int getBufferSize() {
+    return Integer.MAX_VALUE;
+  }
+
+  @Override
+  public void reset() {
+    resetBuffer();
+    headers.clear();
+    status = SC_OK;
+    contentType = null;
+  }
+
+  @Override
+  public void resetBuffer() {
+    if (writer != null) {
+      writer.flush();
+    }
+    body.reset();
+  }
+}
@@ -1,19 +1,33 @@
 package com.company.bikerent.bicycle.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
 import com.company.bikerent.bicycle.dto.BicycleDto;
 import com.company.bikerent.bicycle.dto.CreateBicycleRequest;
+import com.company.bikerent.bicycle.service.BicycleImportService;
 import com.company.bikerent.bicycle.service.BicycleService;
+import com.company.bikerent.common.dto.ImportReport;
+import com.company.bikerent.common.etag.EntityTags;
+import com.company.bikerent.common.importer.ImportFormat;
+import com.company.bikerent.rental.dto.ReservationDto;
+import com.company.bikerent.rental.service.ReservationService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -29,6 +43,8 @@ import lombok.RequiredArgsConstructor;
 public class BicycleController {
 
   private final BicycleService bicycleService;
+  private final ReservationService reservationService;
+  private final BicycleImportService bicycleImportService;
 
   @GetMapping
   @Operation(summary = "Get all bicycles with optional filtering by model")
@@ -44,10 +60,17 @@ public class BicycleController {
   @ApiResponses(
       value = {
         @ApiResponse(responseCode = "200", description = "Bicycle found"),
+        @ApiResponse(responseCode = "304", description = "Bicycle unchanged since If-None-Match"),
         @ApiResponse(responseCode = "404", description = "Bicycle not found")
       })
-  public ResponseEntity<BicycleDto> findById(@PathVariable @Positive Long id) {
-    return ResponseEntity.ok(bicycleService.findById(id));
+  public ResponseEntity<BicycleDto> findById(@PathVariable @Positive Long id, WebRequest request) {
+    Optional<String> eTag = bicycleService.findVersion(id).map(EntityTags::of);
+    if (eTag.isPresent() && request.checkNotModified(eTag.get())) {
+      return null;
+    }
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+    eTag.ifPresent(response::eTag);
+    return response.body(bicycleService.findById(id));
   }
 
   @PostMapping
@@ -62,6 +85,50 @@ public class BicycleController {
     return ResponseEntity.status(HttpStatus.CREATED).body(bicycleService.create(request));
   }
 
+  @PostMapping(
+      value = "/import",
+      consumes = {ImportFormat.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+  @Operation(summary = "Import bicycles from a streamed CSV or NDJSON body")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Import finished, see per-row errors"),
+        @ApiResponse(responseCode = "400", description = "Unsupported format")
+      })
+  public ResponseEntity<ImportReport> importBicycles(
+      @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body)
+      throws IOException {
+    return ResponseEntity.ok(
+        bicycleImportService.importBicycles(body, ImportFormat.fromContentType(contentType)));
+  }
+
+  @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+  @Operation(summary = "Import bicycles from an uploaded .csv or .ndjson file")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Import finished, see per-row errors"),
+        @ApiResponse(responseCode = "400", description = "Unsupported format")
+      })
+  public ResponseEntity<ImportReport> importBicycleFile(@RequestPart("file") MultipartFile file)
+      throws IOException {
+    ImportFormat format = ImportFormat.fromFile(file.getContentType(), file.getOriginalFilename());
+    try (InputStream body = file.getInputStream()) {
+      return ResponseEntity.ok(bicycleImportService.importBicycles(body, format));
+    }
+  }
+
+  @PostMapping("/{id}/reserve")
+  @Operation(summary = "Hold a bicycle for the current user until the reservation expires")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "201", description = "Bicycle reserved"),
+        @ApiResponse(responseCode = "404", description = "Bicycle not found"),
+        @ApiResponse(responseCode = "409", description = "User cannot rent a bicycle"),
+        @ApiResponse(responseCode = "422", description = "Bicycle not available for reservation")
+      })
+  public ResponseEntity<ReservationDto> reserve(@PathVariable @Positive Long id) {
+    return ResponseEntity.status(HttpStatus.CREATED).body(reservationService.reserve(id));
+  }
+
   @DeleteMapping("/{id}")
   @Operation(summary = "Delete a bicycle")
   @ApiResponses(
@@ -0,0 +1,78 @@
+package com.company.bikerent.bicycle.controller;
+
+import java.util.List;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.company.bikerent.bicycle.domain.BicycleStatus;
+import com.company.bikerent.bicycle.domain.BicycleType;
+import com.company.bikerent.bicycle.domain.FleetTable;
+import com.company.bikerent.bicycle.dto.FleetStationCountDto;
+import com.company.bikerent.bicycle.dto.FleetSummaryDto;
+import com.company.bikerent.bicycle.service.FleetSnapshotService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/v1/fleet")
+@RequiredArgsConstructor
+@Tag(name = "Fleet", description = "Fleet-wide aggregates from the in-memory snapshot (Admin only)")
+@Validated
+public class FleetController {
+
+  private final FleetSnapshotService fleetSnapshotService;
+
+  @GetMapping("/summary")
+  @Operation(
+      summary = "Count bicycles by status and type, with mileage totals",
+      description = "Every filter is optional; the counts cover the bicycles matching all of them.")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Summary computed"),
+        @ApiResponse(responseCode = "400", description = "Invalid filter"),
+        @ApiResponse(responseCode = "403", description = "Not an admin")
+      })
+  public ResponseEntity<FleetSummaryDto> summary(
+      @RequestParam(required = false) BicycleStatus status,
+      @RequestParam(required = false) BicycleType type,
+      @RequestParam(required = false) @Positive Long stationId,
+      @RequestParam(required = false) @PositiveOrZero Long minMileage,
+      @RequestParam(required = false) @PositiveOrZero Long maxMileage) {
+    return ResponseEntity.ok(
+        fleetSnapshotService.summarize(
+            new FleetTable.Filter(status, type, stationId, minMileage, maxMileage)));
+  }
+
+  @GetMapping("/stations")
+  @Operation(summary = "Get the stations with the most bicycles matching the filter")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Stations counted"),
+        @ApiResponse(responseCode = "400", description = "Invalid filter or limit"),
+        @ApiResponse(responseCode = "403", description = "Not an admin")
+      })
+  public ResponseEntity<List<FleetStationCountDto>> stations(
+      @RequestParam(required = false) BicycleStatus status,
+      @RequestParam(required = false) BicycleType type,
+      @RequestParam(required = false) @PositiveOrZero Long minMileage,
+      @RequestParam(required = false) @PositiveOrZero Long maxMileage,
+      @RequestParam(defaultValue = "20") @Min(1) @Max(1000) int limit) {
+    return ResponseEntity.ok(
+        fleetSnapshotService.topStations(
+            new FleetTable.Filter(status, type, null, minMileage, maxMileage), limit));
+  }
+}
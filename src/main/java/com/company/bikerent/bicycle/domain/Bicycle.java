@@ -11,7 +11,9 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
 import org.hibernate.annotations.CreationTimestamp;
+import org.springframework.data.domain.AbstractAggregateRoot;
 
+import com.company.bikerent.bicycle.event.BicycleMovedEvent;
 import com.company.bikerent.maintenance.domain.Repair;
 import com.company.bikerent.station.domain.Station;
 
@@ -26,7 +28,7 @@ import lombok.Setter;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-public class Bicycle {
+public class Bicycle extends AbstractAggregateRoot<Bicycle> {
 
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -72,6 +74,10 @@ public class Bicycle {
     return status == BicycleStatus.RENTED;
   }
 
+  public boolean isReserved() {
+    return status == BicycleStatus.RESERVED;
+  }
+
   public boolean isUnderMaintenance() {
     return status == BicycleStatus.UNAVAILABLE;
   }
@@ -80,37 +86,53 @@ public class Bicycle {
     return isAvailable();
   }
 
-  public boolean needsService() {
-    return mileage != null && mileage > 50L;
-  }
-
   public void startRental() {
     if (!canBeRented()) {
       throw new IllegalStateException("Bicycle is not available for rental");
     }
-    this.status = BicycleStatus.RENTED;
+    moveTo(station, BicycleStatus.RENTED);
   }
 
   public void endRental(Station endStation) {
     if (!isRented()) {
       throw new IllegalStateException("Bicycle is not currently rented");
     }
-    this.status = BicycleStatus.AVAILABLE;
-    this.station = endStation;
+    moveTo(endStation, BicycleStatus.AVAILABLE);
+  }
+
+  public void reportMissing() {
+    if (!isRented()) {
+      throw new IllegalStateException("Bicycle is not currently rented");
+    }
+    moveTo(station, BicycleStatus.UNAVAILABLE);
+  }
+
+  public void reserve() {
+    if (!isAvailable()) {
+      throw new IllegalStateException("Bicycle is not available for reservation");
+    }
+    moveTo(station, BicycleStatus.RESERVED);
+  }
+
+  public void releaseReservation() {
+    if (!isReserved()) {
+      throw new IllegalStateException("Bicycle is not reserved");
+    }
+    moveTo(station, BicycleStatus.AVAILABLE);
   }
 
   public void startMaintenance() {
     if (!isAvailable()) {
       throw new IllegalStateException("Bicycle is not available for maintenance");
     }
-    this.status = BicycleStatus.UNAVAILABLE;
+    moveTo(station, BicycleStatus.UNAVAILABLE);
   }
 
   public void completeMaintenance() {
     if (!isUnderMaintenance()) {
       throw new IllegalStateException("Bicycle is not under maintenance");
     }
-    this.status = BicycleStatus.AVAILABLE;
+    moveTo(station, BicycleStatus.AVAILABLE);
     this.mileage = 0L;
     this.lastServiceDate = new Date();
   }
@@ -121,4 +143,16 @@ public class Bicycle {
     }
     this.mileage = (this.mileage != null ? this.mileage : 0L) + additionalMileage;
   }
+
+  /** Change status and station, registering the move for publication when the bicycle is saved. */
+  private void moveTo(Station newStation, BicycleStatus newStatus) {
+    registerEvent(
+        new BicycleMovedEvent(id, stationId(station), status, stationId(newStation), newStatus));
+    this.station = newStation;
+    this.status = newStatus;
+  }
+
+  private static Long stationId(Station station) {
+    return station != null ? station.getId() : null;
+  }
 }
@@ -3,5 +3,6 @@ package com.company.bikerent.bicycle.domain;
 public enum BicycleStatus {
   AVAILABLE,
   RENTED,
+  RESERVED,
   UNAVAILABLE
 }
@@ -0,0 +1,219 @@
+package com.company.bikerent.bicycle.domain;
+
+import java.util.Arrays;
+
+import com.company.bikerent.common.collection.LongIntHashMap;
+
+/**
+ * The state of every bicycle, stored column-wise in primitive arrays. Rows are kept dense, a
+ * removed row being replaced by the last one, so scans are plain loops over the columns without
+ * boxing, pointer chasing or data-dependent branches. Not thread-safe.
+ */
+public final class FleetTable {
+
+  /** Station id of a bicycle without a station. */
+  public static final long NO_STATION = 0L;
+
+  private static final BicycleStatus[] STATUSES = BicycleStatus.values();
+  private static final BicycleType[] TYPES = BicycleType.values();
+  private static final int NONE = -1;
+
+  private final LongIntHashMap rowById;
+  private long[] ids;
+  private long[] stationIds;
+  private byte[] statuses;
+  private byte[] types;
+  private int[] mileages;
+  private int size;
+
+  public FleetTable(int expectedSize) {
+    int capacity = Math.max(16, expectedSize);
+    this.rowById = new LongIntHashMap(capacity);
+    this.ids = new long[capacity];
+    this.stationIds = new long[capacity];
+    this.statuses = new byte[capacity];
+    this.types = new byte[capacity];
+    this.mileages = new int[capacity];
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /** Insert or replace a bicycle. */
+  public void put(long id, long stationId, BicycleStatus status, BicycleType type, long mileage) {
+    int row = rowById.get(id, NONE);
+    if (row == NONE) {
+      if (size == ids.length) {
+        grow();
+      }
+      row = size++;
+      ids[row] = id;
+      rowById.put(id, row, NONE);
+    }
+    stationIds[row] = stationId;
+    statuses[row] = (byte) status.ordinal();
+    types[row] = (byte) type.ordinal();
+    mileages[row] = saturate(mileage);
+  }
+
+  /**
+   * @return whether the bicycle was present
+   */
+  public boolean remove(long id) {
+    int row = rowById.remove(id, NONE);
+    if (row == NONE) {
+      return false;
+    }
+    int last = --size;
+    if (row != last) {
+      ids[row] = ids[last];
+      stationIds[row] = stationIds[last];
+      statuses[row] = statuses[last];
+      types[row] = types[last];
+      mileages[row] = mileages[last];
+      rowById.put(ids[row], row, NONE);
+    }
+    return true;
+  }
+
+  /**
+   * @return whether the bicycle was present
+   */
+  public boolean setStatus(long id, BicycleStatus status) {
+    int row = rowById.get(id, NONE);
+    if (row == NONE) {
+      return false;
+    }
+    statuses[row] = (byte) status.ordinal();
+    return true;
+  }
+
+  /**
+   * @return whether the bicycle was present
+   */
+  public boolean setStationAndMileage(long id, long stationId, long mileage) {
+    int row = rowById.get(id, NONE);
+    if (row == NONE) {
+      return false;
+    }
+    stationIds[row] = stationId;
+    mileages[row] = saturate(mileage);
+    return true;
+  }
+
+  /** Counts by status and type and mileage totals over the bicycles matching the filter. */
+  public Summary summarize(Filter filter) {
+    int status = filter.status() == null ? NONE : filter.status().ordinal();
+    int type = filter.type() == null ? NONE : filter.type().ordinal();
+    boolean anyStation = filter.stationId() == null;
+    long stationId = anyStation ? NO_STATION : filter.stationId();
+    int minMileage = filter.minMileage() == null ? 0 : saturate(filter.minMileage());
+    int maxMileage =
+        filter.maxMileage() == null ? Integer.MAX_VALUE : saturate(filter.maxMileage());
+
+    long[] byStatus = new long[STATUSES.length];
+    long[] byType = new long[TYPES.length];
+    long mileageSum = 0;
+    int mileageMax = 0;
+    for (int i = 0; i < size; i++) {
+      int match =
+          (status == NONE | statuses[i] == status)
+                  & (type == NONE | types[i] == type)
+                  & (anyStation | stationIds[i] == stationId)
+                  & mileages[i] >= minMileage
+                  & mileages[i] <= maxMileage
+              ? 1
+              : 0;
+      byStatus[statuses[i]] += match;
+      byType[types[i]] += match;
+      mileageSum += (long) mileages[i] * match;
+      mileageMax = Math.max(mileageMax, mileages[i] * match);
+    }
+
+    long count = 0;
+    for (long statusCount : byStatus) {
+      count += statusCount;
+    }
+    return new Summary(count, byStatus, byType, mileageSum, mileageMax);
+  }
+
+  /**
+   * Bicycles matching the filter per station, as parallel arrays of station ids and counts in no
+   * particular order. Bicycles without a station are not counted; the station filter is ignored.
+   */
+  public StationCounts countByStation(Filter filter) {
+    int status = filter.status() == null ? NONE : filter.status().ordinal();
+    int type = filter.type() == null ? NONE : filter.type().ordinal();
+    int minMileage = filter.minMileage() == null ? 0 : saturate(filter.minMileage());
+    int maxMileage =
+        filter.maxMileage() == null ? Integer.MAX_VALUE : saturate(filter.maxMileage());
+
+    LongIntHashMap slotByStation = new LongIntHashMap();
+    long[] stations = new long[16];
+    long[] counts = new long[16];
+    int stationCount = 0;
+    for (int i = 0; i < size; i++) {
+      if (stationIds[i] == NO_STATION
+          || (status != NONE && statuses[i] != status)
+          || (type != NONE && types[i] != type)
+          || mileages[i] < minMileage
+          || mileages[i] > maxMileage) {
+        continue;
+      }
+      int slot = slotByStation.get(stationIds[i], NONE);
+      if (slot == NONE) {
+        if (stationCount == stations.length) {
+          stations = Arrays.copyOf(stations, stationCount * 2);
+          counts = Arrays.copyOf(counts, stationCount * 2);
+        }
+        slot = stationCount++;
+        stations[slot] = stationIds[i];
+        slotByStation.put(stationIds[i], slot, NONE);
+      }
+      counts[slot]++;
+    }
+    return new StationCounts(
+        Arrays.copyOf(stations, stationCount), Arrays.copyOf(counts, stationCount));
+  }
+
+  private void grow() {
+    int capacity = ids.length * 2;
+    ids = Arrays.copyOf(ids, capacity);
+    stationIds = Arrays.copyOf(stationIds, capacity);
+    statuses = Arrays.copyOf(statuses, capacity);
+    types = Arrays.copyOf(types, capacity);
+    mileages = Arrays.copyOf(mileages, capacity);
+  }
+
+  private static int saturate(long value) {
+    return (int) Math.max(0, Math.min(Integer.MAX_VALUE, value));
+  }
+
+  /** Conditions on the bicycles to include; {@code null} matches anything. */
+  public record Filter(
+      BicycleStatus status, BicycleType type, Long stationId, Long minMileage, Long maxMileage) {
+
+    public static final Filter ALL = new Filter(null, null, null, null, null);
+  }
+
+  /**
+   * Totals over the matching bicycles.
+   *
+   * @param byStatus counts indexed by {@link BicycleStatus#ordinal()}
+   * @param byType counts indexed by {@link BicycleType#ordinal()}
+   */
+  public record Summary(
+      long count, long[] byStatus, long[] byType, long mileageSum, long mileageMax) {
+
+    public long count(BicycleStatus status) {
+      return byStatus[status.ordinal()];
+    }
+
+    public long count(BicycleType type) {
+      return byType[type.ordinal()];
+    }
+  }
+
+  public record StationCounts(long[] stationIds, long[] counts) {}
+}
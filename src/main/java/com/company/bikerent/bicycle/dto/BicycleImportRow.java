@@ -0,0 +1,28 @@
+package com.company.bikerent.bicycle.dto;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/** One bicycle of a bulk import. The station is given by ID or, for new cities, by name. */
+public record BicycleImportRow(
+    @NotBlank(message = "Model is required")
+        @Size(max = 100, message = "Model cannot exceed 100 characters")
+        @JsonProperty("model")
+        String model,
+    @NotBlank(message = "Type is required") @JsonProperty("type") String type,
+    @JsonProperty("status") String status,
+    @Positive(message = "Station ID must be positive") @JsonProperty("stationId") Long stationId,
+    @Size(max = 100, message = "Station name cannot exceed 100 characters") @JsonProperty("station")
+        String stationName) {
+
+  @JsonIgnore
+  @AssertTrue(message = "Station ID or station name is required")
+  public boolean isStationGiven() {
+    return stationId != null || stationName != null;
+  }
+}
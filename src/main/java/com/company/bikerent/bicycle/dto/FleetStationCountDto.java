@@ -0,0 +1,7 @@
+package com.company.bikerent.bicycle.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/** Number of bicycles matching a filter at one station. */
+public record FleetStationCountDto(
+    @JsonProperty("station_id") long stationId, @JsonProperty("bicycles") long bicycles) {}
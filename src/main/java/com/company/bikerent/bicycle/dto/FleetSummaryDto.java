@@ -0,0 +1,15 @@
+package com.company.bikerent.bicycle.dto;
+
+import java.util.Map;
+
+import com.company.bikerent.bicycle.domain.BicycleStatus;
+import com.company.bikerent.bicycle.domain.BicycleType;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/** Fleet-wide totals over the bicycles matching a filter. */
+public record FleetSummaryDto(
+    @JsonProperty("bicycles") long bicycles,
+    @JsonProperty("by_status") Map<BicycleStatus, Long> byStatus,
+    @JsonProperty("by_type") Map<BicycleType, Long> byType,
+    @JsonProperty("mean_mileage") double meanMileage,
+    @JsonProperty("max_mileage") long maxMileage) {}
@@ -0,0 +1,7 @@
+package com.company.bikerent.bicycle.event;
+
+/**
+ * Published when a bicycle is created, deleted or reserved, or its reservation lapses. Rentals and
+ * repairs publish events of their own.
+ */
+public record BicycleChangedEvent(Long bicycleId) {}
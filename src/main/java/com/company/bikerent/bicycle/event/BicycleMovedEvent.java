@@ -0,0 +1,14 @@
+package com.company.bikerent.bicycle.event;
+
+import com.company.bikerent.bicycle.domain.BicycleStatus;
+
+/**
+ * Published whenever a bicycle changes status or station, with the state before and after. The
+ * {@code from} side is {@code null} for a new bicycle and the {@code to} side for a deleted one.
+ */
+public record BicycleMovedEvent(
+    Long bicycleId,
+    Long fromStationId,
+    BicycleStatus fromStatus,
+    Long toStationId,
+    BicycleStatus toStatus) {}
@@ -0,0 +1,78 @@
+package com.company.bikerent.bicycle.repository;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.company.bikerent.bicycle.domain.BicycleStatus;
+import com.company.bikerent.bicycle.domain.BicycleType;
+import com.company.bikerent.common.config.DataSourceConfig;
+
+/**
+ * JDBC batch inserts of bicycles for bulk imports. The per-row trigger that recounts a station's
+ * available bicycles is switched off for these inserts; callers recount each touched station once
+ * with {@link #recountStations}.
+ */
+@Repository
+public class BicycleBulkWriter {
+
+  private static final int BATCH_SIZE = 500;
+
+  // Transaction-local, read by update_station_bicycle_count()
+  private static final String SKIP_STATION_COUNT_TRIGGER =
+      "SELECT set_config('bikerent.skip_station_count', 'on', true)";
+
+  private static final String INSERT_BICYCLE =
+      "INSERT INTO bicycle (model, type, status, station_id, mileage, version) "
+          + "VALUES (?, ?, ?, ?, 0, 0)";
+
+  // Bumps the version of changed stations, which their ETags are derived from
+  private static final String RECOUNT_STATIONS =
+      "UPDATE station s SET available_bicycles = c.available, docked_bicycles = c.docked, "
+          + "version = COALESCE(s.version, 0) + 1 "
+          + "FROM (SELECT s2.id, "
+          + "COUNT(*) FILTER (WHERE b.status = 'AVAILABLE') AS available, "
+          + "COUNT(*) FILTER (WHERE b.status IN ('AVAILABLE', 'RESERVED')) AS docked "
+          + "FROM station s2 LEFT JOIN bicycle b ON b.station_id = s2.id "
+          + "WHERE s2.id = ANY(?) GROUP BY s2.id) c "
+          + "WHERE s.id = c.id AND (s.available_bicycles IS DISTINCT FROM c.available "
+          + "OR s.docked_bicycles IS DISTINCT FROM c.docked)";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public BicycleBulkWriter(@Qualifier("bulkJdbcTemplate") JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Transactional(DataSourceConfig.BULK_TRANSACTION_MANAGER)
+  public void insert(List<NewBicycle> bicycles) {
+    jdbcTemplate.queryForObject(SKIP_STATION_COUNT_TRIGGER, String.class);
+    jdbcTemplate.batchUpdate(
+        INSERT_BICYCLE,
+        bicycles,
+        BATCH_SIZE,
+        (statement, bicycle) -> {
+          statement.setString(1, bicycle.model());
+          statement.setString(2, bicycle.type().name());
+          statement.setString(3, bicycle.status().name());
+          statement.setLong(4, bicycle.stationId());
+        });
+  }
+
+  @Transactional(DataSourceConfig.BULK_TRANSACTION_MANAGER)
+  public void recountStations(Collection<Long> stationIds) {
+    jdbcTemplate.update(
+        connection -> {
+          PreparedStatement statement = connection.prepareStatement(RECOUNT_STATIONS);
+          statement.setArray(1, connection.createArrayOf("bigint", stationIds.toArray()));
+          return statement;
+        });
+  }
+
+  public record NewBicycle(String model, BicycleType type, BicycleStatus status, long stationId) {}
+}
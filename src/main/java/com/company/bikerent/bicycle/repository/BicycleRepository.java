@@ -1,5 +1,7 @@
 package com.company.bikerent.bicycle.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import jakarta.persistence.LockModeType;
@@ -31,6 +33,19 @@ public interface BicycleRepository extends JpaRepository<Bicycle, Long> {
   @Query("SELECT b FROM Bicycle b WHERE b.id = :id")
   Optional<Bicycle> findByIdWithLock(@Param("id") Long id);
 
-  @Query("SELECT b FROM Bicycle b WHERE b.mileage > :threshold AND b.status = 'AVAILABLE'")
-  Page<Bicycle> findBicyclesNeedingService(@Param("threshold") Long threshold, Pageable pageable);
+  /** Lock bicycles in ascending id order. */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT b FROM Bicycle b WHERE b.id IN :ids ORDER BY b.id")
+  List<Bicycle> findAllByIdWithLock(@Param("ids") Collection<Long> ids);
+
+  @Query("SELECT b.version FROM Bicycle b WHERE b.id = :id")
+  Optional<Long> findVersionById(@Param("id") Long id);
+
+  /** Bicycles written by transactions at or after the given one, for delta sync (see V13). */
+  @Query(
+      value =
+          "SELECT * FROM bicycle WHERE change_txid >= CAST(CAST(:since AS text) AS xid8) "
+              + "ORDER BY id",
+      nativeQuery = true)
+  List<Bicycle> findChangedSince(@Param("since") long since);
 }
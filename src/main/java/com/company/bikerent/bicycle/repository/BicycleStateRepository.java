@@ -0,0 +1,51 @@
+package com.company.bikerent.bicycle.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import com.company.bikerent.bicycle.domain.BicycleStatus;
+import com.company.bikerent.bicycle.domain.BicycleType;
+import com.company.bikerent.bicycle.domain.FleetTable;
+
+import lombok.RequiredArgsConstructor;
+
+/** Read-only status, station and mileage per bicycle for the fleet snapshot. */
+@Repository
+@RequiredArgsConstructor
+public class BicycleStateRepository {
+
+  private static final String SELECT_STATE =
+      "SELECT b.id, COALESCE(b.station_id, "
+          + FleetTable.NO_STATION
+          + "), b.status, b.type, "
+          + "COALESCE(b.mileage, 0) FROM bicycle b ";
+
+  private static final RowMapper<BicycleState> STATE_MAPPER =
+      (rs, rowNum) ->
+          new BicycleState(
+              rs.getLong(1),
+              rs.getLong(2),
+              BicycleStatus.valueOf(rs.getString(3)),
+              BicycleType.valueOf(rs.getString(4)),
+              rs.getLong(5));
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /** Next chunk of bicycles in id order, for loading the whole fleet without a long query. */
+  public List<BicycleState> findChunk(long afterId, int limit) {
+    return jdbcTemplate.query(
+        SELECT_STATE + "WHERE b.id > ? ORDER BY b.id LIMIT ?", STATE_MAPPER, afterId, limit);
+  }
+
+  public Optional<BicycleState> findByBicycleId(long bicycleId) {
+    return jdbcTemplate.query(SELECT_STATE + "WHERE b.id = ?", STATE_MAPPER, bicycleId).stream()
+        .findFirst();
+  }
+
+  public record BicycleState(
+      long bicycleId, long stationId, BicycleStatus status, BicycleType type, long mileage) {}
+}
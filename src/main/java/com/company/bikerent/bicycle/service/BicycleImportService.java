@@ -0,0 +1,139 @@
+package com.company.bikerent.bicycle.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+
+import com.company.bikerent.bicycle.domain.BicycleStatus;
+import com.company.bikerent.bicycle.domain.BicycleType;
+import com.company.bikerent.bicycle.dto.BicycleImportRow;
+import com.company.bikerent.bicycle.repository.BicycleBulkWriter;
+import com.company.bikerent.bicycle.repository.BicycleBulkWriter.NewBicycle;
+import com.company.bikerent.common.dto.ImportReport;
+import com.company.bikerent.common.importer.BulkImporter;
+import com.company.bikerent.common.importer.CsvValues;
+import com.company.bikerent.common.importer.ImportFormat;
+import com.company.bikerent.common.importer.ImportRow;
+import com.company.bikerent.common.importer.ImportRowReader;
+import com.company.bikerent.station.repository.StationRepository;
+import com.company.bikerent.station.repository.StationRepository.StationName;
+import com.company.bikerent.station.service.StationOccupancyMonitor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bulk import of bicycles. CSV files have the columns {@code model, type, status} and either {@code
+ * station_id} or {@code station} (the station name); NDJSON lines have the shape of {@link
+ * BicycleImportRow}. Stations are resolved from a map loaded once per import.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BicycleImportService {
+
+  private final BulkImporter bulkImporter;
+  private final BicycleBulkWriter bicycleBulkWriter;
+  private final StationRepository stationRepository;
+  private final ObjectMapper objectMapper;
+  private final FleetSnapshotService fleetSnapshotService;
+  private final StationOccupancyMonitor stationOccupancyMonitor;
+
+  public ImportReport importBicycles(InputStream body, ImportFormat format) throws IOException {
+    Map<String, Long> stationIdsByName = new HashMap<>();
+    for (StationName station : stationRepository.findAllNames()) {
+      stationIdsByName.put(station.getName(), station.getId());
+    }
+    Set<Long> stationIds = new HashSet<>(stationIdsByName.values());
+    Set<Long> touchedStations = new HashSet<>();
+
+    try (ImportRowReader<BicycleImportRow> reader =
+        ImportRowReader.open(
+            format,
+            body,
+            BicycleImportService::fromCsv,
+            objectMapper.readerFor(BicycleImportRow.class))) {
+      ImportReport report =
+          bulkImporter.run(
+              reader,
+              (rows, rejected) -> {
+                List<NewBicycle> bicycles = new ArrayList<>(rows.size());
+                for (ImportRow<BicycleImportRow> row : rows) {
+                  try {
+                    bicycles.add(toNewBicycle(row.value(), stationIdsByName, stationIds));
+                  } catch (IllegalArgumentException e) {
+                    rejected.reject(row.line(), e.getMessage());
+                  }
+                }
+                if (!bicycles.isEmpty()) {
+                  bicycleBulkWriter.insert(bicycles);
+                  bicycles.forEach(bicycle -> touchedStations.add(bicycle.stationId()));
+                }
+                return bicycles.size();
+              });
+      log.info(
+          "Bicycles imported: received={}, imported={}, failed={}, stations={}",
+          report.received(),
+          report.imported(),
+          report.failed(),
+          touchedStations.size());
+      return report;
+    } finally {
+      // Committed chunks count even if a later one failed
+      if (!touchedStations.isEmpty()) {
+        bicycleBulkWriter.recountStations(touchedStations);
+        fleetSnapshotService.reload();
+        stationOccupancyMonitor.reload();
+      }
+    }
+  }
+
+  private static NewBicycle toNewBicycle(
+      BicycleImportRow row, Map<String, Long> stationIdsByName, Set<Long> stationIds) {
+    Long stationId = row.stationId();
+    if (stationId == null) {
+      stationId = stationIdsByName.get(row.stationName());
+      if (stationId == null) {
+        throw new IllegalArgumentException("Unknown station '" + row.stationName() + "'");
+      }
+    } else if (!stationIds.contains(stationId)) {
+      throw new IllegalArgumentException("Unknown station ID " + stationId);
+    }
+
+    BicycleType type = parse(BicycleType.class, row.type(), "bicycle type");
+    BicycleStatus status =
+        row.status() == null
+            ? BicycleStatus.AVAILABLE
+            : parse(BicycleStatus.class, row.status(), "bicycle status");
+    if (status != BicycleStatus.AVAILABLE && status != BicycleStatus.UNAVAILABLE) {
+      throw new IllegalArgumentException("Imported bicycles must be AVAILABLE or UNAVAILABLE");
+    }
+    return new NewBicycle(row.model(), type, status, stationId);
+  }
+
+  private static <E extends Enum<E>> E parse(Class<E> type, String value, String label) {
+    try {
+      return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unknown " + label + ": " + value);
+    }
+  }
+
+  private static BicycleImportRow fromCsv(Map<String, String> fields) {
+    return new BicycleImportRow(
+        fields.get("model"),
+        fields.get("type"),
+        fields.get("status"),
+        CsvValues.toLong(fields, "station_id", "stationid"),
+        fields.get("station"));
+  }
+}
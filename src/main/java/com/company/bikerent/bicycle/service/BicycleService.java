@@ -1,5 +1,8 @@
 package com.company.bikerent.bicycle.service;
 
+import java.util.Optional;
+
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -8,9 +11,13 @@ import org.springframework.transaction.annotation.Transactional;
 import com.company.bikerent.bicycle.domain.Bicycle;
 import com.company.bikerent.bicycle.dto.BicycleDto;
 import com.company.bikerent.bicycle.dto.CreateBicycleRequest;
+import com.company.bikerent.bicycle.event.BicycleChangedEvent;
+import com.company.bikerent.bicycle.event.BicycleMovedEvent;
 import com.company.bikerent.bicycle.mapper.BicycleMapper;
 import com.company.bikerent.bicycle.repository.BicycleRepository;
+import com.company.bikerent.common.exception.BusinessException;
 import com.company.bikerent.common.exception.EntityNotFoundException;
+import com.company.bikerent.maintenance.service.MaintenanceQueueService;
 import com.company.bikerent.station.domain.Station;
 import com.company.bikerent.station.repository.StationRepository;
 
@@ -25,6 +32,8 @@ public class BicycleService {
   private final BicycleRepository bicycleRepository;
   private final StationRepository stationRepository;
   private final BicycleMapper bicycleMapper;
+  private final MaintenanceQueueService maintenanceQueueService;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Transactional(readOnly = true)
   public Page<BicycleDto> findAllWithFilters(String model, Pageable pageable) {
@@ -48,20 +57,32 @@ public class BicycleService {
     return bicycleMapper.toDto(bicycle);
   }
 
+  /** Version of the bicycle, without loading it; empty if it does not exist. */
+  @Transactional(readOnly = true)
+  public Optional<Long> findVersion(Long id) {
+    return bicycleRepository.findVersionById(id);
+  }
+
   @Transactional
   public BicycleDto create(CreateBicycleRequest request) {
     log.info("Creating new bicycle: model={}, station={}", request.model(), request.stationId());
 
     Station station =
         stationRepository
-            .findById(request.stationId())
+            .findByIdWithLock(request.stationId())
             .orElseThrow(() -> new EntityNotFoundException(Station.class, request.stationId()));
 
     Bicycle bicycle = bicycleMapper.toEntity(request);
+    if ((bicycle.isAvailable() || bicycle.isReserved()) && !station.hasFreeDock()) {
+      throw new BusinessException("Station has no free dock");
+    }
     bicycle.setStation(station);
     bicycle.setMileage(0L);
 
     Bicycle saved = bicycleRepository.save(bicycle);
+    eventPublisher.publishEvent(new BicycleChangedEvent(saved.getId()));
+    eventPublisher.publishEvent(
+        new BicycleMovedEvent(saved.getId(), null, null, station.getId(), saved.getStatus()));
     log.info("Bicycle created with ID: {}", saved.getId());
 
     return bicycleMapper.toDto(saved);
@@ -80,12 +101,19 @@ public class BicycleService {
       throw new IllegalStateException("Cannot delete a rented bicycle");
     }
 
+    // Leave the station first: the trigger that counts its bicycles does not fire on deletes
+    Long stationId = bicycle.getStation() != null ? bicycle.getStation().getId() : null;
+    bicycle.setStation(null);
+    bicycleRepository.saveAndFlush(bicycle);
     bicycleRepository.delete(bicycle);
+    eventPublisher.publishEvent(new BicycleChangedEvent(id));
+    eventPublisher.publishEvent(
+        new BicycleMovedEvent(id, stationId, bicycle.getStatus(), null, null));
     log.info("Bicycle deleted: {}", id);
   }
 
   @Transactional(readOnly = true)
   public Page<BicycleDto> findBicyclesNeedingService(Pageable pageable) {
-    return bicycleRepository.findBicyclesNeedingService(50L, pageable).map(bicycleMapper::toDto);
+    return maintenanceQueueService.findDue(pageable);
   }
 }
@@ -0,0 +1,253 @@
+package com.company.bikerent.bicycle.service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.company.bikerent.bicycle.domain.BicycleStatus;
+import com.company.bikerent.bicycle.domain.BicycleType;
+import com.company.bikerent.bicycle.domain.FleetTable;
+import com.company.bikerent.bicycle.dto.FleetStationCountDto;
+import com.company.bikerent.bicycle.dto.FleetSummaryDto;
+import com.company.bikerent.bicycle.event.BicycleChangedEvent;
+import com.company.bikerent.bicycle.repository.BicycleStateRepository;
+import com.company.bikerent.bicycle.repository.BicycleStateRepository.BicycleState;
+import com.company.bikerent.maintenance.event.RepairCompletedEvent;
+import com.company.bikerent.maintenance.event.RepairStartedEvent;
+import com.company.bikerent.rental.event.RentalAbandonedEvent;
+import com.company.bikerent.rental.event.RentalCancelledEvent;
+import com.company.bikerent.rental.event.RentalCompletedEvent;
+import com.company.bikerent.rental.event.RentalStartedEvent;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory snapshot of the fleet for dashboards. Loaded at startup and kept current from rental,
+ * repair and bicycle events, so fleet-wide counts are a scan over a few primitive arrays instead of
+ * paging through bicycle entities.
+ *
+ * <p>Set-based changes without events (bulk imports, overdue reservation sweeps) are picked up by a
+ * full reload, run after each import and periodically. Bicycles touched by events while a reload is
+ * reading are read again once it is swapped in.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FleetSnapshotService {
+
+  private static final int LOAD_CHUNK_SIZE = 5000;
+
+  private final BicycleStateRepository bicycleStateRepository;
+
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  // Guarded by lock
+  private FleetTable table = new FleetTable(0);
+  private Set<Long> touchedDuringReload;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    reload();
+  }
+
+  /** Replace the snapshot with the committed state of every bicycle. */
+  @Scheduled(
+      fixedDelayString = "${fleet.snapshot.reload-interval-ms:3600000}",
+      initialDelayString = "${fleet.snapshot.reload-interval-ms:3600000}")
+  public void reload() {
+    lock.writeLock().lock();
+    try {
+      if (touchedDuringReload != null) {
+        return;
+      }
+      touchedDuringReload = new HashSet<>();
+    } finally {
+      lock.writeLock().unlock();
+    }
+
+    FleetTable loaded = new FleetTable(size());
+    boolean complete = false;
+    Set<Long> touched;
+    try {
+      long afterId = 0L;
+      List<BicycleState> chunk;
+      do {
+        chunk = bicycleStateRepository.findChunk(afterId, LOAD_CHUNK_SIZE);
+        chunk.forEach(state -> put(loaded, state));
+        if (!chunk.isEmpty()) {
+          afterId = chunk.get(chunk.size() - 1).bicycleId();
+        }
+      } while (chunk.size() == LOAD_CHUNK_SIZE);
+      complete = true;
+    } finally {
+      lock.writeLock().lock();
+      try {
+        if (complete) {
+          table = loaded;
+        }
+        touched = touchedDuringReload;
+        touchedDuringReload = null;
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+    touched.forEach(this::refresh);
+    log.info("Fleet snapshot loaded: bicycles={}", loaded.size());
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return table.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public FleetSummaryDto summarize(FleetTable.Filter filter) {
+    FleetTable.Summary summary;
+    lock.readLock().lock();
+    try {
+      summary = table.summarize(filter);
+    } finally {
+      lock.readLock().unlock();
+    }
+
+    Map<BicycleStatus, Long> byStatus = new EnumMap<>(BicycleStatus.class);
+    for (BicycleStatus status : BicycleStatus.values()) {
+      byStatus.put(status, summary.count(status));
+    }
+    Map<BicycleType, Long> byType = new EnumMap<>(BicycleType.class);
+    for (BicycleType type : BicycleType.values()) {
+      byType.put(type, summary.count(type));
+    }
+    return new FleetSummaryDto(
+        summary.count(),
+        byStatus,
+        byType,
+        summary.count() == 0 ? 0.0 : (double) summary.mileageSum() / summary.count(),
+        summary.mileageMax());
+  }
+
+  /** Stations with the most bicycles matching the filter, most first. */
+  public List<FleetStationCountDto> topStations(FleetTable.Filter filter, int limit) {
+    FleetTable.StationCounts counts;
+    lock.readLock().lock();
+    try {
+      counts = table.countByStation(filter);
+    } finally {
+      lock.readLock().unlock();
+    }
+
+    List<FleetStationCountDto> stations = new ArrayList<>(counts.stationIds().length);
+    for (int i = 0; i < counts.stationIds().length; i++) {
+      stations.add(new FleetStationCountDto(counts.stationIds()[i], counts.counts()[i]));
+    }
+    stations.sort(
+        (a, b) ->
+            a.bicycles() != b.bicycles()
+                ? Long.compare(b.bicycles(), a.bicycles())
+                : Long.compare(a.stationId(), b.stationId()));
+    return stations.subList(0, Math.min(limit, stations.size()));
+  }
+
+  @TransactionalEventListener
+  public void onRentalStarted(RentalStartedEvent event) {
+    setStatus(event.bicycleId(), BicycleStatus.RENTED);
+  }
+
+  @TransactionalEventListener
+  public void onRentalCompleted(RentalCompletedEvent event) {
+    boolean present;
+    lock.writeLock().lock();
+    try {
+      touch(event.bicycleId());
+      present =
+          table.setStatus(event.bicycleId(), BicycleStatus.AVAILABLE)
+              && table.setStationAndMileage(
+                  event.bicycleId(), event.endStationId(), event.bicycleMileage());
+    } finally {
+      lock.writeLock().unlock();
+    }
+    if (!present) {
+      refresh(event.bicycleId());
+    }
+  }
+
+  @TransactionalEventListener
+  public void onRentalCancelled(RentalCancelledEvent event) {
+    // The bicycle never left its start station
+    setStatus(event.bicycleId(), BicycleStatus.AVAILABLE);
+  }
+
+  @TransactionalEventListener
+  public void onRentalAbandoned(RentalAbandonedEvent event) {
+    setStatus(event.bicycleId(), BicycleStatus.UNAVAILABLE);
+  }
+
+  @TransactionalEventListener
+  public void onRepairStarted(RepairStartedEvent event) {
+    setStatus(event.bicycleId(), BicycleStatus.UNAVAILABLE);
+  }
+
+  @TransactionalEventListener
+  public void onRepairCompleted(RepairCompletedEvent event) {
+    // Repairs are rare; read back the reset mileage and service date with the row
+    refresh(event.bicycleId());
+  }
+
+  @TransactionalEventListener
+  public void onBicycleChanged(BicycleChangedEvent event) {
+    refresh(event.bicycleId());
+  }
+
+  private void setStatus(Long bicycleId, BicycleStatus status) {
+    boolean present;
+    lock.writeLock().lock();
+    try {
+      touch(bicycleId);
+      present = table.setStatus(bicycleId, status);
+    } finally {
+      lock.writeLock().unlock();
+    }
+    if (!present) {
+      refresh(bicycleId);
+    }
+  }
+
+  /** Replace one bicycle with its committed state, or drop it if it no longer exists. */
+  private void refresh(Long bicycleId) {
+    BicycleState state = bicycleStateRepository.findByBicycleId(bicycleId).orElse(null);
+    lock.writeLock().lock();
+    try {
+      touch(bicycleId);
+      if (state == null) {
+        table.remove(bicycleId);
+      } else {
+        put(table, state);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void touch(Long bicycleId) {
+    if (touchedDuringReload != null) {
+      touchedDuringReload.add(bicycleId);
+    }
+  }
+
+  private static void put(FleetTable table, BicycleState state) {
+    table.put(state.bicycleId(), state.stationId(), state.status(), state.type(), state.mileage());
+  }
+}
@@ -13,6 +13,7 @@ import com.company.bikerent.billing.dto.PaymentDto;
 import com.company.bikerent.billing.mapper.PaymentMapper;
 import com.company.bikerent.billing.repository.PaymentRepository;
 import com.company.bikerent.common.exception.EntityNotFoundException;
+import com.company.bikerent.common.transaction.RetryableTransaction;
 import com.company.bikerent.user.domain.User;
 import com.company.bikerent.user.repository.UserRepository;
 
@@ -51,6 +52,7 @@ public class PaymentService {
   }
 
   /** Create a payment and add balance to user account */
+  @RetryableTransaction
   @Transactional
   public PaymentDto create(CreatePaymentRequest request) {
     Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -0,0 +1,329 @@
+package com.company.bikerent.common.assignment;
+
+import java.util.Arrays;
+
+/**
+ * Maximum-benefit assignment of objects to agents where each agent may take several objects. This
+ * is the Hungarian method generalised to capacities: successive shortest augmenting paths with
+ * Dijkstra and node potentials on the flow network source &rarr; object &rarr; agent &rarr; sink.
+ * Augmentation stops as soon as the next path would lower the total benefit, so unattractive pairs
+ * are left unassigned instead of being forced in.
+ *
+ * <p>Each agent lists its own candidate objects, so the work per augmentation is proportional to
+ * the number of candidate pairs rather than agents &times; objects. Every later object an agent
+ * takes can cost more than the previous one through its slot penalties, which spreads work across
+ * agents instead of filling the best one first.
+ */
+public final class CapacitatedAssignment {
+
+  private static final long UNREACHABLE = Long.MAX_VALUE / 4;
+
+  private final int objectCount;
+  private final int agentCount;
+  private final int source;
+  private final int sink;
+
+  // Residual graph as adjacency lists over parallel arrays; arc ^ 1 is the reverse arc
+  private final int[] firstArc;
+  private int[] nextArc;
+  private int[] arcTarget;
+  private int[] arcCapacity;
+  private long[] arcCost;
+  private int arcCount;
+
+  private CapacitatedAssignment(int objectCount, int agentCount, int estimatedArcs) {
+    this.objectCount = objectCount;
+    this.agentCount = agentCount;
+    this.source = 0;
+    this.sink = objectCount + agentCount + 1;
+    this.firstArc = new int[sink + 1];
+    Arrays.fill(firstArc, -1);
+    this.nextArc = new int[estimatedArcs];
+    this.arcTarget = new int[estimatedArcs];
+    this.arcCapacity = new int[estimatedArcs];
+    this.arcCost = new long[estimatedArcs];
+  }
+
+  /**
+   * @param objectCount number of objects, indexed from zero
+   * @param candidates objects each agent may take, without duplicates
+   * @param benefits benefit of each candidate, parallel to {@code candidates}
+   * @param slotPenalties per agent, the non-decreasing cost of taking its first, second, ...
+   *     object; the array length is the agent's capacity
+   * @return the agent assigned to each object, or -1 if the object stays unassigned
+   */
+  public static int[] solve(
+      int objectCount, int[][] candidates, long[][] benefits, long[][] slotPenalties) {
+    int agentCount = candidates.length;
+    int pairs = 0;
+    int slots = 0;
+    for (int a = 0; a < agentCount; a++) {
+      pairs += candidates[a].length;
+      slots += slotPenalties[a].length;
+    }
+    CapacitatedAssignment network =
+        new CapacitatedAssignment(objectCount, agentCount, 2 * (objectCount + pairs + slots));
+    network.build(candidates, benefits, slotPenalties);
+    network.augmentWhileProfitable(Math.min(objectCount, slots));
+    return network.assignment();
+  }
+
+  private int objectNode(int object) {
+    return 1 + object;
+  }
+
+  private int agentNode(int agent) {
+    return 1 + objectCount + agent;
+  }
+
+  private void build(int[][] candidates, long[][] benefits, long[][] slotPenalties) {
+    for (int o = 0; o < objectCount; o++) {
+      addArc(source, objectNode(o), 0L);
+    }
+    for (int a = 0; a < agentCount; a++) {
+      for (int k = 0; k < candidates[a].length; k++) {
+        addArc(objectNode(candidates[a][k]), agentNode(a), -benefits[a][k]);
+      }
+      for (long penalty : slotPenalties[a]) {
+        addArc(agentNode(a), sink, penalty);
+      }
+    }
+  }
+
+  private void addArc(int from, int to, long cost) {
+    if (arcCount + 2 > arcTarget.length) {
+      int capacity = arcTarget.length * 2 + 2;
+      nextArc = Arrays.copyOf(nextArc, capacity);
+      arcTarget = Arrays.copyOf(arcTarget, capacity);
+      arcCapacity = Arrays.copyOf(arcCapacity, capacity);
+      arcCost = Arrays.copyOf(arcCost, capacity);
+    }
+    link(from, to, 1, cost);
+    link(to, from, 0, -cost);
+  }
+
+  private void link(int from, int to, int capacity, long cost) {
+    arcTarget[arcCount] = to;
+    arcCapacity[arcCount] = capacity;
+    arcCost[arcCount] = cost;
+    nextArc[arcCount] = firstArc[from];
+    firstArc[from] = arcCount++;
+  }
+
+  private void augmentWhileProfitable(int maxPaths) {
+    int nodes = sink + 1;
+    long[] potential = initialPotentials();
+    long[] distance = new long[nodes];
+    boolean[] settled = new boolean[nodes];
+    MinQueue queue = new MinQueue(nodes);
+
+    int remaining = maxPaths;
+    while (remaining > 0) {
+      Arrays.fill(distance, UNREACHABLE);
+      Arrays.fill(settled, false);
+      distance[source] = 0L;
+      queue.clear();
+      queue.push(source, 0L);
+
+      while (!queue.isEmpty()) {
+        int node = queue.popNode();
+        if (settled[node]) {
+          continue;
+        }
+        settled[node] = true;
+        if (node == sink) {
+          break;
+        }
+        for (int arc = firstArc[node]; arc >= 0; arc = nextArc[arc]) {
+          int target = arcTarget[arc];
+          if (arcCapacity[arc] == 0 || settled[target]) {
+            continue;
+          }
+          long candidate = distance[node] + arcCost[arc] + potential[node] - potential[target];
+          if (candidate < distance[target]) {
+            distance[target] = candidate;
+            queue.push(target, candidate);
+          }
+        }
+      }
+      if (!settled[sink]) {
+        return;
+      }
+
+      // Nodes not settled before the sink are at least as far away as the sink
+      long sinkDistance = distance[sink];
+      for (int node = 0; node < nodes; node++) {
+        potential[node] += settled[node] ? distance[node] : sinkDistance;
+      }
+      if (potential[sink] - potential[source] >= 0L) {
+        return;
+      }
+      int augmented = augmentShortestPaths(potential, remaining);
+      if (augmented == 0) {
+        return;
+      }
+      remaining -= augmented;
+    }
+  }
+
+  /**
+   * Augment along as many shortest paths as the current potentials admit, so one Dijkstra pass
+   * usually serves many assignments. A path is shortest iff all its arcs have zero reduced cost.
+   */
+  private int augmentShortestPaths(long[] potential, int maxPaths) {
+    int[] currentArc = firstArc.clone();
+    boolean[] dead = new boolean[sink + 1];
+    boolean[] onPath = new boolean[sink + 1];
+    int[] pathArcs = new int[sink + 1];
+    int depth = 0;
+    int node = source;
+    int augmented = 0;
+    onPath[source] = true;
+
+    while (augmented < maxPaths) {
+      if (node == sink) {
+        for (int i = 0; i < depth; i++) {
+          arcCapacity[pathArcs[i]]--;
+          arcCapacity[pathArcs[i] ^ 1]++;
+          onPath[arcTarget[pathArcs[i]]] = false;
+        }
+        augmented++;
+        depth = 0;
+        node = source;
+        continue;
+      }
+      int arc = currentArc[node];
+      while (arc >= 0) {
+        int target = arcTarget[arc];
+        if (arcCapacity[arc] > 0
+            && !dead[target]
+            && !onPath[target]
+            && arcCost[arc] + potential[node] - potential[target] == 0L) {
+          break;
+        }
+        arc = nextArc[arc];
+      }
+      currentArc[node] = arc;
+      if (arc >= 0) {
+        pathArcs[depth++] = arc;
+        node = arcTarget[arc];
+        onPath[node] = true;
+        continue;
+      }
+      dead[node] = true;
+      if (node == source) {
+        break;
+      }
+      onPath[node] = false;
+      node = arcTarget[pathArcs[--depth] ^ 1];
+      currentArc[node] = nextArc[currentArc[node]];
+    }
+    return augmented;
+  }
+
+  /** Shortest distances on the initial network, which is acyclic: source, objects, agents, sink. */
+  private long[] initialPotentials() {
+    long[] potential = new long[sink + 1];
+    long sinkPotential = 0L;
+    for (int a = 0; a < agentCount; a++) {
+      int agent = agentNode(a);
+      long best = 0L;
+      for (int arc = firstArc[agent]; arc >= 0; arc = nextArc[arc]) {
+        if (arcTarget[arc] != sink) {
+          // Reverse of an object -> agent arc
+          best = Math.min(best, -arcCost[arc]);
+        }
+      }
+      potential[agent] = best;
+      for (int arc = firstArc[agent]; arc >= 0; arc = nextArc[arc]) {
+        if (arcTarget[arc] == sink) {
+          sinkPotential = Math.min(sinkPotential, best + arcCost[arc]);
+        }
+      }
+    }
+    potential[sink] = sinkPotential;
+    return potential;
+  }
+
+  private int[] assignment() {
+    int[] result = new int[objectCount];
+    Arrays.fill(result, -1);
+    for (int o = 0; o < objectCount; o++) {
+      for (int arc = firstArc[objectNode(o)]; arc >= 0; arc = nextArc[arc]) {
+        int target = arcTarget[arc];
+        if (target != source && (arc & 1) == 0 && arcCapacity[arc] == 0) {
+          result[o] = target - 1 - objectCount;
+        }
+      }
+    }
+    return result;
+  }
+
+  /** Binary heap of (distance, node) with lazy deletion. */
+  private static final class MinQueue {
+
+    private long[] keys;
+    private int[] nodes;
+    private int size;
+
+    MinQueue(int capacity) {
+      this.keys = new long[capacity];
+      this.nodes = new int[capacity];
+    }
+
+    void clear() {
+      size = 0;
+    }
+
+    boolean isEmpty() {
+      return size == 0;
+    }
+
+    void push(int node, long key) {
+      if (size == keys.length) {
+        keys = Arrays.copyOf(keys, size * 2);
+        nodes = Arrays.copyOf(nodes, size * 2);
+      }
+      int i = size++;
+      while (i > 0) {
+        int parent = (i - 1) >>> 1;
+        if (keys[parent] <= key) {
+          break;
+        }
+        keys[i] = keys[parent];
+        nodes[i] = nodes[parent];
+        i = parent;
+      }
+      keys[i] = key;
+      nodes[i] = node;
+    }
+
+    int popNode() {
+      int top = nodes[0];
+      size--;
+      if (size > 0) {
+        long key = keys[size];
+        int node = nodes[size];
+        int i = 0;
+        while (true) {
+          int child = 2 * i + 1;
+          if (child >= size) {
+            break;
+          }
+          if (child + 1 < size && keys[child + 1] < keys[child]) {
+            child++;
+          }
+          if (keys[child] >= key) {
+            break;
+          }
+          keys[i] = keys[child];
+          nodes[i] = nodes[child];
+          i = child;
+        }
+        keys[i] = key;
+        nodes[i] = node;
+      }
+      return top;
+    }
+  }
+}
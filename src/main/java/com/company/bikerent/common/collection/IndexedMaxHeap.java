@@ -0,0 +1,213 @@
+package com.company.bikerent.common.collection;
+
+import java.util.Arrays;
+
+/**
+ * Binary max-heap of {@code long} keys with {@code double} priorities that supports changing or
+ * removing any key in O(log n) through a key-to-position index. Not thread-safe.
+ */
+public final class IndexedMaxHeap {
+
+  private static final int ABSENT = -1;
+
+  private long[] keys;
+  private double[] priorities;
+  private int size;
+  private final LongIntHashMap positions;
+  // A depth-first walk keeps at most one pending sibling per level, and int sizes bound the depth
+  private final int[] walkStack = new int[Integer.SIZE + 1];
+
+  public IndexedMaxHeap() {
+    this(64);
+  }
+
+  public IndexedMaxHeap(int initialCapacity) {
+    int capacity = Math.max(1, initialCapacity);
+    this.keys = new long[capacity];
+    this.priorities = new double[capacity];
+    this.positions = new LongIntHashMap(capacity);
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean contains(long key) {
+    return positions.containsKey(key);
+  }
+
+  /** Priority of the key, or {@code NaN} if absent. */
+  public double priorityOf(long key) {
+    int position = positions.get(key, ABSENT);
+    return position == ABSENT ? Double.NaN : priorities[position];
+  }
+
+  /** Insert the key or change its priority. */
+  public void put(long key, double priority) {
+    int position = positions.get(key, ABSENT);
+    if (position == ABSENT) {
+      if (size == keys.length) {
+        keys = Arrays.copyOf(keys, size * 2);
+        priorities = Arrays.copyOf(priorities, size * 2);
+      }
+      position = size++;
+      keys[position] = key;
+      priorities[position] = priority;
+      positions.put(key, position, ABSENT);
+      siftUp(position);
+      return;
+    }
+    double previous = priorities[position];
+    priorities[position] = priority;
+    if (priority > previous) {
+      siftUp(position);
+    } else if (priority < previous) {
+      siftDown(position);
+    }
+  }
+
+  /** Remove the key; returns {@code false} if it was absent. */
+  public boolean remove(long key) {
+    int position = positions.remove(key, ABSENT);
+    if (position == ABSENT) {
+      return false;
+    }
+    int last = --size;
+    if (position != last) {
+      move(last, position);
+      siftDown(position);
+      siftUp(position);
+    }
+    return true;
+  }
+
+  /**
+   * Keys of the {@code n} highest priorities in descending order, without modifying the heap.
+   * Explores the heap best-first, so it costs O(n log n) regardless of the heap size.
+   */
+  public long[] top(int n) {
+    int limit = Math.min(n, size);
+    long[] result = new long[limit];
+    if (limit == 0) {
+      return result;
+    }
+    // Frontier of heap positions ordered by priority; each pop adds at most two children
+    int[] frontier = new int[2 * limit + 1];
+    int frontierSize = 0;
+    frontier[frontierSize++] = 0;
+    for (int found = 0; found < limit; found++) {
+      int best = frontier[0];
+      result[found] = keys[best];
+      frontier[0] = frontier[--frontierSize];
+      frontierSiftDown(frontier, frontierSize, 0);
+      for (int child = 2 * best + 1; child <= 2 * best + 2 && child < size; child++) {
+        frontier[frontierSize] = child;
+        frontierSiftUp(frontier, frontierSize++);
+      }
+    }
+    return result;
+  }
+
+  /** Number of keys with a priority of at least the threshold, visiting only those keys. */
+  public int countAtLeast(double threshold) {
+    if (size == 0) {
+      return 0;
+    }
+    int[] stack = walkStack;
+    int top = 0;
+    int count = 0;
+    stack[top++] = 0;
+    while (top > 0) {
+      int position = stack[--top];
+      if (priorities[position] < threshold) {
+        continue;
+      }
+      count++;
+      for (int child = 2 * position + 1; child <= 2 * position + 2 && child < size; child++) {
+        stack[top++] = child;
+      }
+    }
+    return count;
+  }
+
+  private void siftUp(int position) {
+    while (position > 0) {
+      int parent = (position - 1) / 2;
+      if (priorities[parent] >= priorities[position]) {
+        return;
+      }
+      swap(position, parent);
+      position = parent;
+    }
+  }
+
+  private void siftDown(int position) {
+    while (true) {
+      int largest = position;
+      int left = 2 * position + 1;
+      int right = left + 1;
+      if (left < size && priorities[left] > priorities[largest]) {
+        largest = left;
+      }
+      if (right < size && priorities[right] > priorities[largest]) {
+        largest = right;
+      }
+      if (largest == position) {
+        return;
+      }
+      swap(position, largest);
+      position = largest;
+    }
+  }
+
+  private void swap(int a, int b) {
+    long key = keys[a];
+    double priority = priorities[a];
+    keys[a] = keys[b];
+    priorities[a] = priorities[b];
+    keys[b] = key;
+    priorities[b] = priority;
+    positions.put(keys[a], a, ABSENT);
+    positions.put(keys[b], b, ABSENT);
+  }
+
+  private void move(int from, int to) {
+    keys[to] = keys[from];
+    priorities[to] = priorities[from];
+    positions.put(keys[to], to, ABSENT);
+  }
+
+  private void frontierSiftUp(int[] frontier, int index) {
+    while (index > 0) {
+      int parent = (index - 1) / 2;
+      if (priorities[frontier[parent]] >= priorities[frontier[index]]) {
+        return;
+      }
+      int tmp = frontier[parent];
+      frontier[parent] = frontier[index];
+      frontier[index] = tmp;
+      index = parent;
+    }
+  }
+
+  private void frontierSiftDown(int[] frontier, int frontierSize, int index) {
+    while (true) {
+      int largest = index;
+      int left = 2 * index + 1;
+      int right = left + 1;
+      if (left < frontierSize && priorities[frontier[left]] > priorities[frontier[largest]]) {
+        largest = left;
+      }
+      if (right < frontierSize && priorities[frontier[right]] > priorities[frontier[largest]]) {
+        largest = right;
+      }
+      if (largest == index) {
+        return;
+      }
+      int tmp = frontier[largest];
+      frontier[largest] = frontier[index];
+      frontier[index] = tmp;
+      index = largest;
+    }
+  }
+}
@@ -0,0 +1,145 @@
+package com.company.bikerent.common.collection;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from {@code long} to {@code int} without boxing. Uses linear probing and
+ * backward-shift deletion, so there are no tombstones. {@link Long#MIN_VALUE} is reserved as the
+ * empty-slot marker and cannot be used as a key. Not thread-safe.
+ */
+public final class LongIntHashMap {
+
+  private static final long EMPTY = Long.MIN_VALUE;
+  private static final float LOAD_FACTOR = 0.6f;
+
+  private long[] keys;
+  private int[] values;
+  private int mask;
+  private int size;
+  private int resizeAt;
+
+  public LongIntHashMap() {
+    this(16);
+  }
+
+  public LongIntHashMap(int expectedSize) {
+    allocate(tableSizeFor(expectedSize));
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public boolean containsKey(long key) {
+    return indexOf(key) >= 0;
+  }
+
+  /** Value for the key, or {@code missingValue} if absent. */
+  public int get(long key, int missingValue) {
+    int index = indexOf(key);
+    return index >= 0 ? values[index] : missingValue;
+  }
+
+  /** Associate the value with the key, returning the previous value or {@code missingValue}. */
+  public int put(long key, int value, int missingValue) {
+    if (key == EMPTY) {
+      throw new IllegalArgumentException("Reserved key");
+    }
+    int index = slot(key);
+    while (keys[index] != EMPTY) {
+      if (keys[index] == key) {
+        int previous = values[index];
+        values[index] = value;
+        return previous;
+      }
+      index = (index + 1) & mask;
+    }
+    keys[index] = key;
+    values[index] = value;
+    if (++size >= resizeAt) {
+      rehash(keys.length * 2);
+    }
+    return missingValue;
+  }
+
+  /** Remove the key, returning its value or {@code missingValue} if absent. */
+  public int remove(long key, int missingValue) {
+    int index = indexOf(key);
+    if (index < 0) {
+      return missingValue;
+    }
+    int previous = values[index];
+    // Shift back following entries of the probe chain into the freed slot
+    int gap = index;
+    int next = (gap + 1) & mask;
+    while (keys[next] != EMPTY) {
+      int home = slot(keys[next]);
+      if (((next - home) & mask) >= ((next - gap) & mask)) {
+        keys[gap] = keys[next];
+        values[gap] = values[next];
+        gap = next;
+      }
+      next = (next + 1) & mask;
+    }
+    keys[gap] = EMPTY;
+    size--;
+    return previous;
+  }
+
+  public void clear() {
+    Arrays.fill(keys, EMPTY);
+    size = 0;
+  }
+
+  private int indexOf(long key) {
+    if (key == EMPTY) {
+      return -1;
+    }
+    int index = slot(key);
+    while (keys[index] != EMPTY) {
+      if (keys[index] == key) {
+        return index;
+      }
+      index = (index + 1) & mask;
+    }
+    return -1;
+  }
+
+  private int slot(long key) {
+    long hash = key * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32)) & mask;
+  }
+
+  private void rehash(int capacity) {
+    long[] oldKeys = keys;
+    int[] oldValues = values;
+    allocate(capacity);
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != EMPTY) {
+        int index = slot(oldKeys[i]);
+        while (keys[index] != EMPTY) {
+          index = (index + 1) & mask;
+        }
+        keys[index] = oldKeys[i];
+        values[index] = oldValues[i];
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    Arrays.fill(keys, EMPTY);
+    values = new int[capacity];
+    mask = capacity - 1;
+    resizeAt = (int) (capacity * LOAD_FACTOR);
+  }
+
+  private static int tableSizeFor(int expectedSize) {
+    int needed = (int) Math.ceil(Math.max(4, expectedSize) / LOAD_FACTOR);
+    return Integer.highestOneBit(needed - 1) << 1;
+  }
+}
@@ -0,0 +1,26 @@
+package com.company.bikerent.common.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Marks handler responses as varying by {@code Accept}, which picks between JSON, CBOR and Smile,
+ * so that shared caches never serve one encoding to a client that asked for another. Added before
+ * the handler runs, so that {@code 304 Not Modified} responses carry it too.
+ */
+class AcceptVaryInterceptor implements HandlerInterceptor {
+
+  @Override
+  public boolean preHandle(
+      @NonNull HttpServletRequest request,
+      @NonNull HttpServletResponse response,
+      @NonNull Object handler) {
+    // Added, not set: compression and CORS add their own Vary values
+    response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    return true;
+  }
+}
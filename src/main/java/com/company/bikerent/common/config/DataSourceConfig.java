@@ -0,0 +1,62 @@
+package com.company.bikerent.common.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.company.bikerent.diagnostics.service.ConnectionHoldTracker;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Connection pools for the same database. Request paths use the primary pool ({@code
+ * spring.datasource.hikari.*}). Bulk imports and telemetry flushes use the bulk pool ({@code
+ * datasource.bulk.hikari.*}) through {@link #BULK_TRANSACTION_MANAGER} and {@code
+ * bulkJdbcTemplate}, so long-running batch work cannot take the connections rentals are waiting
+ * for.
+ */
+@Configuration
+public class DataSourceConfig {
+
+  public static final String BULK_TRANSACTION_MANAGER = "bulkTransactionManager";
+
+  @Bean
+  @Primary
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource dataSource(DataSourceProperties properties) {
+    return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+  }
+
+  @Bean
+  @ConfigurationProperties("datasource.bulk.hikari")
+  public HikariDataSource bulkDataSource(DataSourceProperties properties) {
+    return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+  }
+
+  @Bean
+  @Primary
+  public JdbcTemplate jdbcTemplate(DataSource dataSource) {
+    return new JdbcTemplate(dataSource);
+  }
+
+  @Bean
+  public JdbcTemplate bulkJdbcTemplate(@Qualifier("bulkDataSource") DataSource dataSource) {
+    return new JdbcTemplate(dataSource);
+  }
+
+  @Bean(BULK_TRANSACTION_MANAGER)
+  public PlatformTransactionManager bulkTransactionManager(
+      @Qualifier("bulkDataSource") DataSource dataSource,
+      ConnectionHoldTracker connectionHoldTracker) {
+    JdbcTransactionManager transactionManager = new JdbcTransactionManager(dataSource);
+    transactionManager.addListener(connectionHoldTracker.listener("bulk"));
+    return transactionManager;
+  }
+}
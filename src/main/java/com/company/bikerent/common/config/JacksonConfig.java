@@ -1,20 +1,69 @@
 package com.company.bikerent.common.config;
 
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.util.BufferRecycler;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.core.util.RecyclerPool;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
+/**
+ * JSON, CBOR and Smile serialization. Binary encodings are offered after JSON, so they are only
+ * used when the client asks for them in {@code Accept}; responses therefore carry {@code Vary:
+ * Accept}.
+ */
 @Configuration
-public class JacksonConfig {
+public class JacksonConfig implements WebMvcConfigurer {
+
+  /** Read/write buffers shared by all generators and parsers instead of one set per thread. */
+  private final RecyclerPool<BufferRecycler> buffers;
+
+  public JacksonConfig(@Value("${jackson.buffer-pool-size:256}") int bufferPoolSize) {
+    this.buffers = JsonRecyclerPools.newBoundedPool(bufferPoolSize);
+  }
 
   @Bean
   public ObjectMapper objectMapper() {
-    ObjectMapper objectMapper = new ObjectMapper();
+    ObjectMapper objectMapper =
+        new ObjectMapper(JsonFactory.builder().recyclerPool(buffers).build());
     objectMapper.registerModule(new JavaTimeModule());
     objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
     return objectMapper;
   }
+
+  @Override
+  public void extendMessageConverters(@NonNull List<HttpMessageConverter<?>> converters) {
+    // Replace the defaults so that binary encodings share the JSON mapper's configuration
+    ObjectMapper json = objectMapper();
+    converters.removeIf(
+        converter ->
+            converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+    converters.add(
+        new MappingJackson2CborHttpMessageConverter(
+            json.copyWith(CBORFactory.builder().recyclerPool(buffers).build())));
+    converters.add(
+        new MappingJackson2SmileHttpMessageConverter(
+            json.copyWith(SmileFactory.builder().recyclerPool(buffers).build())));
+  }
+
+  @Override
+  public void addInterceptors(@NonNull InterceptorRegistry registry) {
+    registry.addInterceptor(new AcceptVaryInterceptor());
+  }
 }
@@ -7,6 +7,7 @@ import java.util.Map;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
 import com.company.bikerent.common.dto.ErrorResponse;
 
@@ -32,7 +33,9 @@ public class OpenApiConfig {
   @Value("${server.servlet.context-path:}")
   private String contextPath;
 
+  /** Built when the API docs are first requested, like the rest of springdoc. */
   @Bean
+  @Lazy
   public OpenAPI customOpenAPI() {
     final String bearerAuthScheme = "bearerAuth";
 
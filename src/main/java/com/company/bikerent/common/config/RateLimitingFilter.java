@@ -3,8 +3,8 @@ package com.company.bikerent.common.config;
 import java.io.IOException;
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -13,43 +13,75 @@ import jakarta.servlet.http.HttpServletResponse;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
 
 import com.company.bikerent.common.dto.ErrorResponse;
+import com.company.bikerent.common.logging.RequestContext;
+import com.company.bikerent.common.ratelimit.GcraRateLimiter;
+import com.company.bikerent.common.ratelimit.RouteTrie;
+import com.company.bikerent.user.domain.User;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 
-/** Rate limiting filter using Bucket4j. Limits requests per IP address for sensitive endpoints. */
+/**
+ * Rate limiting filter. Limits requests per authenticated user, or per client address for anonymous
+ * requests, with a separate tier for sensitive endpoints.
+ *
+ * <p>Runs after the security filter chain, so the authenticated user is known. Tiers are chosen by
+ * the decoded path within the application, without path parameters, as the MVC and security
+ * matchers see it, so {@code /api/v1/auth/%6Cogin} is limited like {@code /api/v1/auth/login}.
+ *
+ * <p>The client address is {@link HttpServletRequest#getRemoteAddr()}, which reflects {@code
+ * X-Forwarded-For} only from proxies on private networks: Tomcat's {@code RemoteIpValve}, set up by
+ * {@code server.forward-headers-strategy} for the embedded server and in {@code server.xml} by the
+ * Docker image. Every limited response carries {@code RateLimit-*} headers so that clients can back
+ * off.
+ */
 @Slf4j
 @Component
 @ConditionalOnProperty(name = "rate-limit.enabled", havingValue = "true", matchIfMissing = true)
 public class RateLimitingFilter extends OncePerRequestFilter {
 
-  private final ObjectMapper objectMapper;
-  private final Map<String, Bucket> authBuckets = new ConcurrentHashMap<>();
-  private final Map<String, Bucket> paymentBuckets = new ConcurrentHashMap<>();
-  private final Map<String, Bucket> generalBuckets = new ConcurrentHashMap<>();
+  private static final Duration WINDOW = Duration.ofMinutes(1);
 
-  private final int authRequestsPerMinute;
-  private final int paymentRequestsPerMinute;
-  private final int generalRequestsPerMinute;
+  private final ObjectMapper objectMapper;
+  private final List<Tier> tiers;
+  private final RouteTrie<Tier> routes;
 
   public RateLimitingFilter(
       ObjectMapper objectMapper,
+      MeterRegistry meterRegistry,
       @Value("${rate-limit.auth.requests-per-minute:10}") int authRequestsPerMinute,
+      @Value("${rate-limit.auth.burst:0}") int authBurst,
       @Value("${rate-limit.payment.requests-per-minute:30}") int paymentRequestsPerMinute,
-      @Value("${rate-limit.general.requests-per-minute:100}") int generalRequestsPerMinute) {
+      @Value("${rate-limit.payment.burst:0}") int paymentBurst,
+      @Value("${rate-limit.general.requests-per-minute:100}") int generalRequestsPerMinute,
+      @Value("${rate-limit.general.burst:0}") int generalBurst) {
     this.objectMapper = objectMapper;
-    this.authRequestsPerMinute = authRequestsPerMinute;
-    this.paymentRequestsPerMinute = paymentRequestsPerMinute;
-    this.generalRequestsPerMinute = generalRequestsPerMinute;
+
+    Tier auth = new Tier("auth", authRequestsPerMinute, authBurst, meterRegistry);
+    Tier payment = new Tier("payment", paymentRequestsPerMinute, paymentBurst, meterRegistry);
+    Tier general = new Tier("general", generalRequestsPerMinute, generalBurst, meterRegistry);
+    this.tiers = List.of(auth, payment, general);
+    // Paths outside /api/v1 are not limited
+    this.routes =
+        new RouteTrie<Tier>()
+            .add("/api/v1", general)
+            .add("/api/v1/auth/login", auth)
+            .add("/api/v1/auth/register", auth)
+            .add("/api/v1/auth/refresh", auth)
+            .add("/api/v1/payments", payment);
 
     log.info(
         "Rate limiting enabled: auth={}/min, payment={}/min, general={}/min",
@@ -65,21 +97,70 @@ public class RateLimitingFilter extends OncePerRequestFilter {
       @NonNull FilterChain filterChain)
       throws ServletException, IOException {
 
-    String clientIp = getClientIp(request);
-    String path = request.getRequestURI();
-
-    Bucket bucket = resolveBucket(clientIp, path);
+    Tier tier = tierOf(request);
+    if (tier == null) {
+      filterChain.doFilter(request, response);
+      return;
+    }
 
-    if (bucket != null && !bucket.tryConsume(1)) {
-      log.warn("Rate limit exceeded for IP: {} on path: {}", maskIp(clientIp), path);
-      writeErrorResponse(request, response);
+    RequestContext context = RequestContext.of(request);
+    Long userId = authenticatedUserId();
+    Object clientKey = userId != null ? userId : context.clientIp();
+    GcraRateLimiter.Decision decision = tier.limiter.tryAcquire(clientKey, System.nanoTime());
+    writeRateLimitHeaders(response, tier, decision);
+
+    if (!decision.allowed()) {
+      tier.rejected.increment();
+      log.warn(
+          "Rate limit exceeded for {} on path: {}",
+          userId != null ? "user " + userId : "IP " + context.maskedClientIp(),
+          request.getRequestURI());
+      writeErrorResponse(request, response, decision);
       return;
     }
 
     filterChain.doFilter(request, response);
   }
 
-  private void writeErrorResponse(HttpServletRequest request, HttpServletResponse response)
+  /** Key the request is limited under: the authenticated user, or else the client address. */
+  public Object clientKey(HttpServletRequest request) {
+    Long userId = authenticatedUserId();
+    return userId != null ? userId : RequestContext.of(request).clientIp();
+  }
+
+  /**
+   * Charge a request that is dispatched without passing through this filter, such as a batched
+   * sub-request, to the tier of its path.
+   *
+   * @param clientKey {@link #clientKey key} of the request it is made on behalf of
+   * @return {@code false} if the client is over the limit of that tier
+   */
+  public boolean tryAcquire(HttpServletRequest request, Object clientKey) {
+    Tier tier = tierOf(request);
+    if (tier == null || tier.limiter.tryAcquire(clientKey, System.nanoTime()).allowed()) {
+      return true;
+    }
+    tier.rejected.increment();
+    return false;
+  }
+
+  /** Forget clients whose allowance has fully recovered. */
+  @Scheduled(fixedDelay = 60000)
+  public void evictIdleClients() {
+    long now = System.nanoTime();
+    tiers.forEach(tier -> tier.limiter.evictIdle(now));
+  }
+
+  private void writeRateLimitHeaders(
+      HttpServletResponse response, Tier tier, GcraRateLimiter.Decision decision) {
+    response.setHeader("RateLimit-Policy", tier.policy);
+    response.setHeader("RateLimit-Limit", String.valueOf(tier.limiter.burst()));
+    response.setHeader("RateLimit-Remaining", String.valueOf(decision.remaining()));
+    response.setHeader("RateLimit-Reset", String.valueOf(toSecondsCeil(decision.resetNanos())));
+  }
+
+  private void writeErrorResponse(
+      HttpServletRequest request, HttpServletResponse response, GcraRateLimiter.Decision decision)
       throws IOException {
     ErrorResponse errorResponse =
         ErrorResponse.builder()
@@ -91,80 +172,46 @@ public class RateLimitingFilter extends OncePerRequestFilter {
             .build();
 
     response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+    response.setHeader(
+        HttpHeaders.RETRY_AFTER, String.valueOf(toSecondsCeil(decision.retryAfterNanos())));
     response.setContentType("application/json");
     response.setCharacterEncoding("UTF-8");
     response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
   }
 
-  private Bucket resolveBucket(String clientIp, String path) {
-    if (path.startsWith("/api/v1/auth/login")
-        || path.startsWith("/api/v1/auth/register")
-        || path.startsWith("/api/v1/auth/refresh")) {
-      return authBuckets.computeIfAbsent(clientIp, this::createAuthBucket);
-    }
-
-    if (path.startsWith("/api/v1/payments")) {
-      return paymentBuckets.computeIfAbsent(clientIp, this::createPaymentBucket);
-    }
-
-    if (path.startsWith("/api/v1/")) {
-      return generalBuckets.computeIfAbsent(clientIp, this::createGeneralBucket);
-    }
-
-    return null; // No rate limiting for non-API endpoints
-  }
-
-  private Bucket createAuthBucket(String key) {
-    return Bucket.builder()
-        .addLimit(
-            Bandwidth.classic(
-                authRequestsPerMinute,
-                Refill.intervally(authRequestsPerMinute, Duration.ofMinutes(1))))
-        .build();
+  private Tier tierOf(HttpServletRequest request) {
+    return routes.match(UrlPathHelper.defaultInstance.getPathWithinApplication(request));
   }
 
-  private Bucket createPaymentBucket(String key) {
-    return Bucket.builder()
-        .addLimit(
-            Bandwidth.classic(
-                paymentRequestsPerMinute,
-                Refill.intervally(paymentRequestsPerMinute, Duration.ofMinutes(1))))
-        .build();
-  }
-
-  private Bucket createGeneralBucket(String key) {
-    return Bucket.builder()
-        .addLimit(
-            Bandwidth.classic(
-                generalRequestsPerMinute,
-                Refill.intervally(generalRequestsPerMinute, Duration.ofMinutes(1))))
-        .build();
-  }
-
-  /** Get client IP address, considering proxy headers. */
-  private String getClientIp(HttpServletRequest request) {
-    String xForwardedFor = request.getHeader("X-Forwarded-For");
-    if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-      return xForwardedFor.split(",")[0].trim();
-    }
-
-    String xRealIp = request.getHeader("X-Real-IP");
-    if (xRealIp != null && !xRealIp.isEmpty()) {
-      return xRealIp;
+  /** Id of the authenticated user, or {@code null} for anonymous requests. */
+  private static Long authenticatedUserId() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication != null && authentication.getPrincipal() instanceof User user) {
+      return user.getId();
     }
+    return null;
+  }
 
-    return request.getRemoteAddr();
+  private static long toSecondsCeil(long nanos) {
+    return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
   }
 
-  /** Mask IP for logging (privacy). */
-  private String maskIp(String ip) {
-    if (ip == null) {
-      return "unknown";
-    }
-    int lastDot = ip.lastIndexOf('.');
-    if (lastDot > 0) {
-      return ip.substring(0, lastDot) + ".***";
+  /** One rate limit tier; a burst of 0 allows the whole per-minute limit at once. */
+  private static final class Tier {
+
+    private final GcraRateLimiter limiter;
+    private final String policy;
+    private final Counter rejected;
+
+    Tier(String name, int requestsPerMinute, int burst, MeterRegistry meterRegistry) {
+      this.limiter =
+          new GcraRateLimiter(requestsPerMinute, WINDOW, burst > 0 ? burst : requestsPerMinute);
+      this.policy = requestsPerMinute + ";w=" + WINDOW.toSeconds() + ";burst=" + limiter.burst();
+      this.rejected =
+          Counter.builder("http.server.requests.throttled")
+              .tag("tier", name)
+              .description("Requests rejected by the rate limiter")
+              .register(meterRegistry);
     }
-    return "***";
   }
 }
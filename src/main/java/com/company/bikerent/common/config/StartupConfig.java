@@ -0,0 +1,56 @@
+package com.company.bikerent.common.config;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Startup tuning. Beans declared in the packages listed in {@code startup.lazy-packages} are
+ * created on first use instead of during startup; they must not be needed to serve regular traffic
+ * (API documentation, for instance).
+ */
+@Configuration(proxyBeanMethods = false)
+public class StartupConfig {
+
+  @Bean
+  static BeanFactoryPostProcessor lazyPackagesPostProcessor(Environment environment) {
+    String[] packages = environment.getProperty("startup.lazy-packages", String[].class);
+    return beanFactory -> {
+      if (packages == null || packages.length == 0) {
+        return;
+      }
+      for (String name : beanFactory.getBeanDefinitionNames()) {
+        BeanDefinition definition = beanFactory.getBeanDefinition(name);
+        if (definition.getRole() == BeanDefinition.ROLE_INFRASTRUCTURE) {
+          continue;
+        }
+        String className = declaringClassName(beanFactory, definition);
+        if (className != null && inPackages(className, packages)) {
+          definition.setLazyInit(true);
+        }
+      }
+    };
+  }
+
+  /** Class of the bean, or of its configuration class when declared by a factory method. */
+  private static String declaringClassName(
+      ConfigurableListableBeanFactory beanFactory, BeanDefinition definition) {
+    String factoryBeanName = definition.getFactoryBeanName();
+    if (factoryBeanName != null && beanFactory.containsBeanDefinition(factoryBeanName)) {
+      return beanFactory.getBeanDefinition(factoryBeanName).getBeanClassName();
+    }
+    return definition.getBeanClassName();
+  }
+
+  private static boolean inPackages(String className, String[] packages) {
+    for (String prefix : packages) {
+      if (className.startsWith(prefix.trim() + ".")) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,19 @@
+package com.company.bikerent.common.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.company.bikerent.common.timer.HierarchicalTimer;
+
+/** In-process timers for short-lived timeouts that should not be polled from the database. */
+@Configuration
+public class TimerConfig {
+
+  @Bean(destroyMethod = "close")
+  public HierarchicalTimer reservationTimer(
+      @Value("${reservation.timer.tick-ms:1000}") long tickMs,
+      @Value("${reservation.timer.wheel-size:60}") int wheelSize) {
+    return new HierarchicalTimer("reservation-timer", tickMs, wheelSize, 1);
+  }
+}
@@ -4,16 +4,23 @@ import jakarta.persistence.EntityManagerFactory;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
+import com.company.bikerent.diagnostics.service.ConnectionHoldTracker;
+
 @Configuration
 @EnableTransactionManagement
 public class TransactionConfig {
 
   @Bean
-  public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
-    return new JpaTransactionManager(entityManagerFactory);
+  @Primary
+  public PlatformTransactionManager transactionManager(
+      EntityManagerFactory entityManagerFactory, ConnectionHoldTracker connectionHoldTracker) {
+    JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+    transactionManager.addListener(connectionHoldTracker.listener("primary"));
+    return transactionManager;
   }
 }
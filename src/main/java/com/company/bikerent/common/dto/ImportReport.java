@@ -0,0 +1,17 @@
+package com.company.bikerent.common.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Outcome of a bulk import. Only the first errors are listed; {@code failed} counts all of them.
+ */
+public record ImportReport(
+    @JsonProperty("received") int received,
+    @JsonProperty("imported") int imported,
+    @JsonProperty("failed") int failed,
+    @JsonProperty("errors") List<RowError> errors) {
+
+  public record RowError(@JsonProperty("line") int line, @JsonProperty("message") String message) {}
+}
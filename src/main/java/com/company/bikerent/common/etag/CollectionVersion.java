@@ -0,0 +1,8 @@
+package com.company.bikerent.common.etag;
+
+/**
+ * Fingerprint of a whole table of versioned entities: row count, sum of versions and greatest id.
+ * Any update bumps a version, a delete lowers the count, and an insert takes a new greatest id, so
+ * every committed change yields a different fingerprint.
+ */
+public record CollectionVersion(Long count, Long versionSum, Long maxId) {}
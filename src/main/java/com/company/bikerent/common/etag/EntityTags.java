@@ -0,0 +1,30 @@
+package com.company.bikerent.common.etag;
+
+/**
+ * Weak entity tags for conditional GETs, derived from JPA {@code @Version} values so that they can
+ * be checked with a version lookup instead of loading and serializing the resource.
+ *
+ * <p>Weak because one version is served as JSON, CBOR or Smile depending on {@code Accept}: the
+ * encodings are equivalent but not byte-identical, so a strong tag shared between them would be
+ * wrong. Caches keep the encodings apart through {@code Vary: Accept}.
+ */
+public final class EntityTags {
+
+  private EntityTags() {}
+
+  /** Tag of a single entity. */
+  public static String of(long version) {
+    return "W/\"v" + version + '"';
+  }
+
+  /** Tag of a list of entities, valid for every page and filter of the list. */
+  public static String of(CollectionVersion version) {
+    return "W/\"c"
+        + Long.toString(version.count(), 36)
+        + '.'
+        + Long.toString(version.versionSum(), 36)
+        + '.'
+        + Long.toString(version.maxId(), 36)
+        + '"';
+  }
+}
@@ -1,12 +1,30 @@
 package com.company.bikerent.common.exception;
 
+import java.util.Map;
+
 public class BusinessException extends RuntimeException {
 
+  private final Map<String, Object> details;
+
   public BusinessException(String message) {
     super(message);
+    this.details = null;
   }
 
   public BusinessException(String message, Throwable cause) {
     super(message, cause);
+    this.details = null;
+  }
+
+  /**
+   * @param details returned to the client with the message, e.g. alternatives to retry with
+   */
+  public BusinessException(String message, Map<String, Object> details) {
+    super(message);
+    this.details = details;
+  }
+
+  public Map<String, Object> getDetails() {
+    return details;
   }
 }
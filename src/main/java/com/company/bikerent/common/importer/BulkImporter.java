@@ -0,0 +1,128 @@
+package com.company.bikerent.common.importer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.company.bikerent.common.dto.ImportReport;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Drives a bulk import: reads the upload chunk by chunk, validates each chunk in parallel with the
+ * bean validation constraints of the row type and hands the valid rows to a writer. A bad row is
+ * reported with its line number and never stops the rest of the file.
+ */
+@Component
+@RequiredArgsConstructor
+public class BulkImporter {
+
+  private final Validator validator;
+
+  @Value("${import.chunk-size:1000}")
+  private int chunkSize;
+
+  @Value("${import.max-rows:200000}")
+  private int maxRows;
+
+  @Value("${import.max-reported-errors:1000}")
+  private int maxReportedErrors;
+
+  public <T> ImportReport run(ImportRowReader<T> reader, ChunkWriter<T> writer) throws IOException {
+    Tally tally = new Tally();
+    List<ImportRow<T>> chunk;
+    while (!(chunk = reader.nextChunk(Math.min(chunkSize, maxRows - tally.received))).isEmpty()) {
+      tally.received += chunk.size();
+
+      List<ImportRow<T>> valid = new ArrayList<>(chunk.size());
+      String[] violations = validate(chunk);
+      for (int i = 0; i < chunk.size(); i++) {
+        ImportRow<T> row = chunk.get(i);
+        if (!row.isValid()) {
+          tally.reject(row.line(), row.error());
+        } else if (violations[i] != null) {
+          tally.reject(row.line(), violations[i]);
+        } else {
+          valid.add(row);
+        }
+      }
+      if (!valid.isEmpty()) {
+        tally.imported += writer.write(valid, tally::reject);
+      }
+
+      if (tally.received >= maxRows) {
+        if (!reader.nextChunk(1).isEmpty()) {
+          tally.errors.add(
+              new ImportReport.RowError(
+                  0, "Row limit of " + maxRows + " reached, the rest of the file was ignored"));
+        }
+        break;
+      }
+    }
+    return new ImportReport(tally.received, tally.imported, tally.failed, tally.errors);
+  }
+
+  private <T> String[] validate(List<ImportRow<T>> chunk) {
+    String[] violations = new String[chunk.size()];
+    IntStream.range(0, chunk.size())
+        .parallel()
+        .forEach(
+            i -> {
+              ImportRow<T> row = chunk.get(i);
+              if (row.isValid()) {
+                Set<ConstraintViolation<T>> found = validator.validate(row.value());
+                if (!found.isEmpty()) {
+                  violations[i] =
+                      found.stream()
+                          .sorted(Comparator.comparing(v -> v.getPropertyPath().toString()))
+                          .map(ConstraintViolation::getMessage)
+                          .collect(Collectors.joining("; "));
+                }
+              }
+            });
+    return violations;
+  }
+
+  /** Persists valid rows of one chunk. */
+  @FunctionalInterface
+  public interface ChunkWriter<T> {
+
+    /**
+     * @param rejected receives rows that fail checks only the writer can make, such as references
+     *     to unknown entities or duplicates
+     * @return the number of rows written
+     */
+    int write(List<ImportRow<T>> rows, RowRejection rejected);
+  }
+
+  @FunctionalInterface
+  public interface RowRejection {
+
+    void reject(int line, String message);
+  }
+
+  private final class Tally {
+
+    private final List<ImportReport.RowError> errors = new ArrayList<>();
+    private int received;
+    private int imported;
+    private int failed;
+
+    void reject(int line, String message) {
+      failed++;
+      if (errors.size() < maxReportedErrors) {
+        errors.add(new ImportReport.RowError(line, message));
+      }
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package com.company.bikerent.common.importer;
+
+import java.util.Map;
+
+/** Typed access to the fields of a CSV import row, with row-level error messages. */
+public final class CsvValues {
+
+  private CsvValues() {}
+
+  /** First non-null of the given columns, for headers that have more than one accepted name. */
+  public static String text(Map<String, String> fields, String... columns) {
+    for (String column : columns) {
+      String value = fields.get(column);
+      if (value != null) {
+        return value;
+      }
+    }
+    return null;
+  }
+
+  public static Long toLong(Map<String, String> fields, String... columns) {
+    String value = text(fields, columns);
+    try {
+      return value != null ? Long.valueOf(value) : null;
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid " + columns[0] + ": " + value);
+    }
+  }
+
+  public static Integer toInteger(Map<String, String> fields, String... columns) {
+    String value = text(fields, columns);
+    try {
+      return value != null ? Integer.valueOf(value) : null;
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid " + columns[0] + ": " + value);
+    }
+  }
+
+  public static Float toFloat(Map<String, String> fields, String... columns) {
+    String value = text(fields, columns);
+    try {
+      return value != null ? Float.valueOf(value) : null;
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid " + columns[0] + ": " + value);
+    }
+  }
+}
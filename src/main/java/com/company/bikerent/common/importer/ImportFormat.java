@@ -0,0 +1,56 @@
+package com.company.bikerent.common.importer;
+
+import java.util.Locale;
+
+import org.springframework.http.MediaType;
+
+/** Line-oriented file formats accepted by the bulk import endpoints. */
+public enum ImportFormat {
+  /** Comma-separated values with a header row naming the columns. */
+  CSV,
+  /** One JSON object per line, shaped like the single-item create request. */
+  NDJSON;
+
+  public static final String TEXT_CSV_VALUE = "text/csv";
+
+  public static ImportFormat fromContentType(String contentType) {
+    ImportFormat format = detect(contentType, null);
+    if (format == null) {
+      throw new IllegalArgumentException("Unsupported import content type: " + contentType);
+    }
+    return format;
+  }
+
+  /** Format of an uploaded file, by content type or else by file extension. */
+  public static ImportFormat fromFile(String contentType, String filename) {
+    ImportFormat format = detect(contentType, filename);
+    if (format == null) {
+      throw new IllegalArgumentException(
+          "Cannot tell the format of " + filename + "; upload a .csv or .ndjson file");
+    }
+    return format;
+  }
+
+  private static ImportFormat detect(String contentType, String filename) {
+    if (contentType != null) {
+      MediaType mediaType = MediaType.parseMediaType(contentType);
+      if (mediaType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV_VALUE))) {
+        return CSV;
+      }
+      if (mediaType.isCompatibleWith(MediaType.APPLICATION_NDJSON)
+          || "ndjson".equals(mediaType.getSubtype())) {
+        return NDJSON;
+      }
+    }
+    if (filename != null) {
+      String name = filename.toLowerCase(Locale.ROOT);
+      if (name.endsWith(".csv")) {
+        return CSV;
+      }
+      if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+        return NDJSON;
+      }
+    }
+    return null;
+  }
+}
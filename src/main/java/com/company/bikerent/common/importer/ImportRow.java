@@ -0,0 +1,21 @@
+package com.company.bikerent.common.importer;
+
+/**
+ * One input row of a bulk import. Exactly one of {@code value} and {@code error} is set.
+ *
+ * @param line 1-based line number in the uploaded file
+ */
+public record ImportRow<T>(int line, T value, String error) {
+
+  public static <T> ImportRow<T> valid(int line, T value) {
+    return new ImportRow<>(line, value, null);
+  }
+
+  public static <T> ImportRow<T> invalid(int line, String error) {
+    return new ImportRow<>(line, null, error);
+  }
+
+  public boolean isValid() {
+    return error == null;
+  }
+}
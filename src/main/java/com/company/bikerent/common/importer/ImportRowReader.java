@@ -0,0 +1,180 @@
+package com.company.bikerent.common.importer;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Reads an upload in chunks of rows without buffering the whole file. Rows that cannot be parsed
+ * come back as invalid rows rather than failing the import.
+ *
+ * <p>CSV input starts with a header row; column names are matched case-insensitively. Fields may be
+ * quoted with {@code "} (doubled to escape), but a field cannot span lines.
+ */
+public final class ImportRowReader<T> implements Closeable {
+
+  private final BufferedReader reader;
+  private final LineParser<T> parser;
+  private int lineNumber;
+
+  private ImportRowReader(InputStream input, LineParser<T> parser) {
+    this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    this.parser = parser;
+  }
+
+  /**
+   * @param csvMapper converts the named fields of a CSV row; blank fields are {@code null}. It may
+   *     throw {@link IllegalArgumentException} for values it cannot convert.
+   * @param jsonReader reads one NDJSON line
+   */
+  public static <T> ImportRowReader<T> open(
+      ImportFormat format,
+      InputStream input,
+      Function<Map<String, String>, T> csvMapper,
+      ObjectReader jsonReader) {
+    LineParser<T> parser =
+        format == ImportFormat.CSV ? new CsvParser<>(csvMapper) : new JsonParser<>(jsonReader);
+    return new ImportRowReader<>(input, parser);
+  }
+
+  /**
+   * Next rows of the file, skipping blank lines.
+   *
+   * @return up to {@code maxRows} rows, empty at the end of the input
+   */
+  public List<ImportRow<T>> nextChunk(int maxRows) throws IOException {
+    List<ImportRow<T>> rows = new ArrayList<>(maxRows);
+    String line;
+    while (rows.size() < maxRows && (line = reader.readLine()) != null) {
+      lineNumber++;
+      if (line.isBlank() || parser.header(line)) {
+        continue;
+      }
+      try {
+        rows.add(ImportRow.valid(lineNumber, parser.parse(line)));
+      } catch (IllegalArgumentException e) {
+        rows.add(ImportRow.invalid(lineNumber, e.getMessage()));
+      }
+    }
+    return rows;
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+  private interface LineParser<T> {
+
+    /** Take the line as the header row, if the format has one that was not read yet. */
+    boolean header(String line);
+
+    T parse(String line);
+  }
+
+  private static final class JsonParser<T> implements LineParser<T> {
+
+    private final ObjectReader jsonReader;
+
+    JsonParser(ObjectReader jsonReader) {
+      this.jsonReader = jsonReader;
+    }
+
+    @Override
+    public boolean header(String line) {
+      return false;
+    }
+
+    @Override
+    public T parse(String line) {
+      try {
+        return jsonReader.readValue(line);
+      } catch (JsonProcessingException e) {
+        throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+      }
+    }
+  }
+
+  private static final class CsvParser<T> implements LineParser<T> {
+
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+
+    private final Function<Map<String, String>, T> mapper;
+    private String[] columns;
+
+    CsvParser(Function<Map<String, String>, T> mapper) {
+      this.mapper = mapper;
+    }
+
+    @Override
+    public boolean header(String line) {
+      if (columns != null) {
+        return false;
+      }
+      List<String> names = split(line.startsWith(BYTE_ORDER_MARK) ? line.substring(1) : line);
+      columns = new String[names.size()];
+      for (int i = 0; i < columns.length; i++) {
+        columns[i] = names.get(i).trim().toLowerCase(Locale.ROOT);
+      }
+      return true;
+    }
+
+    @Override
+    public T parse(String line) {
+      List<String> values = split(line);
+      if (values.size() > columns.length) {
+        throw new IllegalArgumentException(
+            "Expected at most " + columns.length + " columns but found " + values.size());
+      }
+      Map<String, String> fields = new HashMap<>();
+      for (int i = 0; i < values.size(); i++) {
+        String value = values.get(i).trim();
+        fields.put(columns[i], value.isEmpty() ? null : value);
+      }
+      return mapper.apply(fields);
+    }
+
+    private static List<String> split(String line) {
+      List<String> fields = new ArrayList<>();
+      StringBuilder field = new StringBuilder();
+      boolean quoted = false;
+      for (int i = 0; i < line.length(); i++) {
+        char c = line.charAt(i);
+        if (quoted) {
+          if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+            field.append('"');
+            i++;
+          } else if (c == '"') {
+            quoted = false;
+          } else {
+            field.append(c);
+          }
+        } else if (c == '"') {
+          quoted = true;
+        } else if (c == ',') {
+          fields.add(field.toString());
+          field.setLength(0);
+        } else {
+          field.append(c);
+        }
+      }
+      if (quoted) {
+        throw new IllegalArgumentException("Unterminated quoted field");
+      }
+      fields.add(field.toString());
+      return fields;
+    }
+  }
+}
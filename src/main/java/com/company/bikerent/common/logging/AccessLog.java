@@ -0,0 +1,176 @@
+package com.company.bikerent.common.logging;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Asynchronous access log. Request threads only enqueue the raw facts of a finished request; a
+ * background thread masks the query string, formats and writes the entry. When the buffer is full
+ * the entry is dropped and counted ({@code access.log.dropped}) rather than slowing requests down.
+ *
+ * <p>Server errors are logged at ERROR, client errors at WARN and everything else at DEBUG, as
+ * before. With {@code logging.access.file.directory} set, every request is also written to a
+ * structured {@link AccessLogFile} for later analysis with {@link AccessLogStats}.
+ */
+@Slf4j
+@Component
+public class AccessLog {
+
+  private static final int DRAIN_BATCH = 256;
+  private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+  private static final long SHUTDOWN_WAIT_MS = 2000;
+
+  private final AccessLogBuffer buffer;
+  private final AccessLogFile file;
+  private final Counter dropped;
+  private final AccessLogEntry entry = new AccessLogEntry();
+  private final Consumer<AccessLogEntry> writer = this::write;
+
+  private volatile boolean running;
+  private Thread drainer;
+  private boolean fileFailing;
+
+  public AccessLog(
+      @Value("${logging.access.buffer-capacity:8192}") int capacity,
+      @Value("${logging.access.file.directory:}") String directory,
+      @Value("${logging.access.file.segment-bytes:67108864}") int segmentBytes,
+      @Value("${logging.access.file.max-segment-age-ms:3600000}") long maxSegmentAgeMs,
+      @Value("${logging.access.file.retention-ms:1209600000}") long retentionMs,
+      @Value("${logging.access.file.total-size-cap-bytes:1073741824}") long totalSizeCapBytes,
+      MeterRegistry meterRegistry)
+      throws IOException {
+    this.buffer = new AccessLogBuffer(capacity);
+    this.file =
+        directory.isBlank()
+            ? null
+            : new AccessLogFile(
+                Path.of(directory), segmentBytes, maxSegmentAgeMs, retentionMs, totalSizeCapBytes);
+    this.dropped =
+        Counter.builder("access.log.dropped")
+            .description("Access log entries dropped because the buffer was full")
+            .register(meterRegistry);
+    Gauge.builder("access.log.queue", buffer, AccessLogBuffer::size)
+        .description("Access log entries waiting to be written")
+        .register(meterRegistry);
+    if (file != null) {
+      log.info("Writing structured access log to {}", directory);
+    }
+  }
+
+  @PostConstruct
+  void start() {
+    running = true;
+    drainer = new Thread(this::run, "access-log-1");
+    drainer.setDaemon(true);
+    drainer.start();
+  }
+
+  @PreDestroy
+  void stop() throws InterruptedException, IOException {
+    running = false;
+    LockSupport.unpark(drainer);
+    drainer.join(SHUTDOWN_WAIT_MS);
+    if (file != null) {
+      file.close();
+    }
+  }
+
+  /**
+   * Record a finished request. Never blocks.
+   *
+   * @param route matched handler pattern, or {@code null} if no handler matched
+   */
+  public void record(
+      RequestContext context, String method, String route, String uri, String query, int status) {
+    if (file == null && !isLogged(status)) {
+      return;
+    }
+    long duration = System.nanoTime() - context.startNanos();
+    if (!buffer.offer(
+        System.currentTimeMillis(),
+        context.requestId(),
+        context.maskedClientIp(),
+        method,
+        route,
+        uri,
+        query,
+        status,
+        duration)) {
+      dropped.increment();
+    }
+  }
+
+  private void run() {
+    while (running) {
+      if (buffer.drainTo(entry, writer, DRAIN_BATCH) == 0) {
+        LockSupport.parkNanos(IDLE_PARK_NANOS);
+      }
+    }
+    // Flush what was queued before shutdown
+    while (buffer.drainTo(entry, writer, DRAIN_BATCH) > 0) {
+      // keep draining
+    }
+  }
+
+  private void write(AccessLogEntry entry) {
+    if (isLogged(entry.status)) {
+      writeLine(entry);
+    }
+    if (file != null) {
+      writeFile(entry);
+    }
+  }
+
+  private void writeFile(AccessLogEntry entry) {
+    try {
+      if (!file.append(entry)) {
+        dropped.increment();
+      }
+      fileFailing = false;
+    } catch (IOException e) {
+      dropped.increment();
+      if (!fileFailing) {
+        log.warn("Failed to write access log file, dropping entries until it recovers", e);
+        fileFailing = true;
+      }
+    }
+  }
+
+  private static boolean isLogged(int status) {
+    if (status >= 500) {
+      return log.isErrorEnabled();
+    }
+    return status >= 400 ? log.isWarnEnabled() : log.isDebugEnabled();
+  }
+
+  private static void writeLine(AccessLogEntry entry) {
+    String path =
+        entry.query == null ? entry.uri : entry.uri + '?' + QueryStringMasker.mask(entry.query);
+    long durationMs = TimeUnit.NANOSECONDS.toMillis(entry.durationNanos);
+    String format = "[{}] <-- {} {} {} ({}ms) client={}";
+    Object[] arguments = {
+      entry.requestId, entry.method, path, entry.status, durationMs, entry.clientIp
+    };
+    if (entry.status >= 500) {
+      log.error(format, arguments);
+    } else if (entry.status >= 400) {
+      log.warn(format, arguments);
+    } else {
+      log.debug(format, arguments);
+    }
+  }
+}
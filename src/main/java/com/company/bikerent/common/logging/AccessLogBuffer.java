@@ -0,0 +1,132 @@
+package com.company.bikerent.common.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free queue of access log entries for many producers and a single consumer, stored
+ * column-wise like the telemetry buffer. Producers claim a slot by CAS on the tail and publish it
+ * through a per-slot sequence number (Vyukov's bounded queue); a full buffer rejects the entry
+ * instead of blocking the request thread.
+ */
+class AccessLogBuffer {
+
+  private final int mask;
+  private final AtomicLongArray sequences;
+  private final long[] timestamps;
+  private final String[] requestIds;
+  private final String[] clientIps;
+  private final String[] methods;
+  private final String[] routes;
+  private final String[] uris;
+  private final String[] queries;
+  private final int[] statuses;
+  private final long[] durations;
+  private final AtomicLong tail = new AtomicLong();
+
+  // Only touched by the consumer
+  private long head;
+
+  AccessLogBuffer(int capacity) {
+    if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+      throw new IllegalArgumentException("Access log buffer capacity must be a power of two");
+    }
+    this.mask = capacity - 1;
+    this.sequences = new AtomicLongArray(capacity);
+    for (int i = 0; i < capacity; i++) {
+      sequences.set(i, i);
+    }
+    this.timestamps = new long[capacity];
+    this.requestIds = new String[capacity];
+    this.clientIps = new String[capacity];
+    this.methods = new String[capacity];
+    this.routes = new String[capacity];
+    this.uris = new String[capacity];
+    this.queries = new String[capacity];
+    this.statuses = new int[capacity];
+    this.durations = new long[capacity];
+  }
+
+  /**
+   * Enqueue an entry.
+   *
+   * @return {@code false} if the buffer is full
+   */
+  boolean offer(
+      long timestampMs,
+      String requestId,
+      String clientIp,
+      String method,
+      String route,
+      String uri,
+      String query,
+      int status,
+      long durationNanos) {
+    long position = tail.get();
+    while (true) {
+      int index = (int) (position & mask);
+      long difference = sequences.get(index) - position;
+      if (difference == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          timestamps[index] = timestampMs;
+          requestIds[index] = requestId;
+          clientIps[index] = clientIp;
+          methods[index] = method;
+          routes[index] = route;
+          uris[index] = uri;
+          queries[index] = query;
+          statuses[index] = status;
+          durations[index] = durationNanos;
+          sequences.set(index, position + 1);
+          return true;
+        }
+        position = tail.get();
+      } else if (difference < 0) {
+        return false;
+      } else {
+        position = tail.get();
+      }
+    }
+  }
+
+  /**
+   * Pass up to {@code limit} published entries to the sink, one at a time through {@code entry}.
+   * Consumer thread only.
+   */
+  int drainTo(AccessLogEntry entry, Consumer<AccessLogEntry> sink, int limit) {
+    int drained = 0;
+    while (drained < limit) {
+      int index = (int) (head & mask);
+      if (sequences.get(index) != head + 1) {
+        break;
+      }
+      entry.timestampMs = timestamps[index];
+      entry.requestId = requestIds[index];
+      entry.clientIp = clientIps[index];
+      entry.method = methods[index];
+      entry.route = routes[index];
+      entry.uri = uris[index];
+      entry.query = queries[index];
+      entry.status = statuses[index];
+      entry.durationNanos = durations[index];
+      // Release the strings before the slot is reused
+      requestIds[index] = null;
+      clientIps[index] = null;
+      methods[index] = null;
+      routes[index] = null;
+      uris[index] = null;
+      queries[index] = null;
+      sequences.set(index, head + mask + 1);
+      head++;
+      drained++;
+      sink.accept(entry);
+    }
+    return drained;
+  }
+
+  /** Approximate number of queued entries. */
+  int size() {
+    return (int) Math.max(0L, tail.get() - head);
+  }
+}
@@ -0,0 +1,18 @@
+package com.company.bikerent.common.logging;
+
+/** One finished request, as drained from the access log buffer. Reused between entries. */
+final class AccessLogEntry {
+
+  long timestampMs;
+  String requestId;
+  String clientIp;
+  String method;
+
+  /** Matched handler pattern such as {@code /api/v1/bicycles/{id}}, or {@code null}. */
+  String route;
+
+  String uri;
+  String query;
+  int status;
+  long durationNanos;
+}
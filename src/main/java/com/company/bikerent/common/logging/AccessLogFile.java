@@ -0,0 +1,276 @@
+package com.company.bikerent.common.logging;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only access log on disk, one JSON object per line (NDJSON).
+ *
+ * <p>The active segment is a memory-mapped file of fixed size, so appending is a copy into the page
+ * cache and space not yet written stays zero; readers stop at the first zero byte. A segment is
+ * rolled when full or older than the maximum age, then gzip-compressed on a background thread, and
+ * compressed segments are deleted by age and by total size. Segments left uncompressed by a crash
+ * or shutdown are compressed at the next start.
+ *
+ * <p>Not thread-safe: only the access log thread appends.
+ */
+@Slf4j
+final class AccessLogFile implements Closeable {
+
+  static final String ACTIVE_SUFFIX = ".ndjson";
+  static final String ROLLED_SUFFIX = ".ndjson.gz";
+
+  private static final DateTimeFormatter FILE_NAME =
+      DateTimeFormatter.ofPattern("'access-'yyyyMMdd-HHmmss-SSS").withZone(ZoneOffset.UTC);
+  private static final int MAX_LINE_BYTES = 64 * 1024;
+  private static final int COPY_BUFFER_BYTES = 64 * 1024;
+
+  private final Path directory;
+  private final int segmentBytes;
+  private final long maxSegmentAgeMs;
+  private final long retentionMs;
+  private final long totalSizeCapBytes;
+  private final ExecutorService compressor;
+
+  private final StringBuilder line = new StringBuilder(512);
+  private final ByteBuffer lineBytes = ByteBuffer.allocate(MAX_LINE_BYTES);
+  private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+
+  private Path activePath;
+  private FileChannel channel;
+  private MappedByteBuffer segment;
+  private long openedAtMs;
+  private long lastNameMs;
+
+  AccessLogFile(
+      Path directory,
+      int segmentBytes,
+      long maxSegmentAgeMs,
+      long retentionMs,
+      long totalSizeCapBytes)
+      throws IOException {
+    this.directory = directory;
+    this.segmentBytes = segmentBytes;
+    this.maxSegmentAgeMs = maxSegmentAgeMs;
+    this.retentionMs = retentionMs;
+    this.totalSizeCapBytes = totalSizeCapBytes;
+    this.compressor =
+        Executors.newSingleThreadExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "access-log-compress-1");
+              thread.setDaemon(true);
+              return thread;
+            });
+
+    Files.createDirectories(directory);
+    for (Path leftover : list(directory, "*" + ACTIVE_SUFFIX)) {
+      compressor.execute(() -> compress(leftover));
+    }
+    open(System.currentTimeMillis());
+  }
+
+  /**
+   * Append one entry, rolling the segment first if needed.
+   *
+   * @return {@code false} if the entry does not fit in a segment and was skipped
+   */
+  boolean append(AccessLogEntry entry) throws IOException {
+    line.setLength(0);
+    format(entry, line);
+    line.append('\n');
+    lineBytes.clear();
+    encoder.reset();
+    CoderResult result = encoder.encode(CharBuffer.wrap(line), lineBytes, true);
+    if (result.isOverflow() || lineBytes.position() > segmentBytes) {
+      return false;
+    }
+    lineBytes.flip();
+
+    if (lineBytes.remaining() > segment.remaining()
+        || entry.timestampMs - openedAtMs >= maxSegmentAgeMs) {
+      roll(entry.timestampMs);
+    }
+    segment.put(lineBytes);
+    return true;
+  }
+
+  /** Write the active segment through to disk; it is compressed at the next start. */
+  @Override
+  public void close() throws IOException {
+    segment.force();
+    channel.close();
+    compressor.shutdown();
+    try {
+      compressor.awaitTermination(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void roll(long nowMs) throws IOException {
+    Path rolled = activePath;
+    segment.force();
+    channel.close();
+    compressor.execute(() -> compress(rolled));
+    open(nowMs);
+  }
+
+  private void open(long nowMs) throws IOException {
+    // Names must stay unique and ordered, even when rolling twice within a millisecond
+    long nameMs = Math.max(nowMs, lastNameMs + 1);
+    while (true) {
+      String baseName = FILE_NAME.format(Instant.ofEpochMilli(nameMs));
+      Path path = directory.resolve(baseName + ACTIVE_SUFFIX);
+      if (!Files.exists(directory.resolve(baseName + ROLLED_SUFFIX))) {
+        try {
+          channel =
+              FileChannel.open(
+                  path,
+                  StandardOpenOption.CREATE_NEW,
+                  StandardOpenOption.READ,
+                  StandardOpenOption.WRITE);
+          activePath = path;
+          break;
+        } catch (FileAlreadyExistsException e) {
+          // Taken by an earlier run; try the next name
+        }
+      }
+      nameMs++;
+    }
+    // The mapping extends the file to the full segment size, filled with zeros
+    segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+    lastNameMs = nameMs;
+    openedAtMs = nowMs;
+  }
+
+  /** Compress a finished segment up to its first zero byte, then apply retention. */
+  private void compress(Path raw) {
+    String name = raw.getFileName().toString();
+    String baseName = name.substring(0, name.length() - ACTIVE_SUFFIX.length());
+    Path compressed = raw.resolveSibling(baseName + ROLLED_SUFFIX);
+    Path partial = raw.resolveSibling(baseName + ROLLED_SUFFIX + ".tmp");
+    try {
+      try (InputStream in = Files.newInputStream(raw);
+          OutputStream out =
+              new GZIPOutputStream(Files.newOutputStream(partial), COPY_BUFFER_BYTES)) {
+        copyUntilZero(in, out);
+      }
+      Files.move(partial, compressed, StandardCopyOption.ATOMIC_MOVE);
+      Files.delete(raw);
+      prune();
+    } catch (IOException e) {
+      log.warn("Failed to compress access log segment {}", raw, e);
+    }
+  }
+
+  private void prune() throws IOException {
+    List<Path> segments = list(directory, "*" + ROLLED_SUFFIX);
+    // File names start with the UTC time the segment was opened, so they sort oldest first
+    segments.sort(null);
+    long cutoffMs = System.currentTimeMillis() - retentionMs;
+    long totalBytes = 0;
+    for (Path file : segments) {
+      totalBytes += Files.size(file);
+    }
+    for (Path file : segments) {
+      long size = Files.size(file);
+      if (totalBytes <= totalSizeCapBytes
+          && Files.getLastModifiedTime(file).toMillis() >= cutoffMs) {
+        break;
+      }
+      Files.delete(file);
+      totalBytes -= size;
+      log.debug("Deleted access log segment {}", file);
+    }
+  }
+
+  static List<Path> list(Path directory, String glob) throws IOException {
+    List<Path> paths = new ArrayList<>();
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, glob)) {
+      stream.forEach(paths::add);
+    }
+    return paths;
+  }
+
+  /** Copy an NDJSON stream up to the zero padding of a memory-mapped segment. */
+  static void copyUntilZero(InputStream in, OutputStream out) throws IOException {
+    byte[] buffer = new byte[COPY_BUFFER_BYTES];
+    int read;
+    while ((read = in.read(buffer)) > 0) {
+      for (int i = 0; i < read; i++) {
+        if (buffer[i] == 0) {
+          out.write(buffer, 0, i);
+          return;
+        }
+      }
+      out.write(buffer, 0, read);
+    }
+  }
+
+  private static void format(AccessLogEntry entry, StringBuilder json) {
+    json.append("{\"ts\":\"");
+    DateTimeFormatter.ISO_INSTANT.formatTo(Instant.ofEpochMilli(entry.timestampMs), json);
+    json.append("\",\"id\":");
+    appendString(json, entry.requestId);
+    json.append(",\"method\":");
+    appendString(json, entry.method);
+    json.append(",\"route\":");
+    appendString(json, entry.route);
+    json.append(",\"uri\":");
+    appendString(json, entry.uri);
+    if (entry.query != null) {
+      json.append(",\"query\":");
+      appendString(json, QueryStringMasker.mask(entry.query));
+    }
+    json.append(",\"status\":").append(entry.status);
+    json.append(",\"us\":").append(TimeUnit.NANOSECONDS.toMicros(entry.durationNanos));
+    json.append(",\"client\":");
+    appendString(json, entry.clientIp);
+    json.append('}');
+  }
+
+  private static void appendString(StringBuilder json, String value) {
+    if (value == null) {
+      json.append("null");
+      return;
+    }
+    json.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"' || c == '\\') {
+        json.append('\\').append(c);
+      } else if (c < 0x20) {
+        json.append(String.format("\\u%04x", (int) c));
+      } else {
+        json.append(c);
+      }
+    }
+    json.append('"');
+  }
+}
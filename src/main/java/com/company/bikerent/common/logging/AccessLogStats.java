@@ -0,0 +1,220 @@
+package com.company.bikerent.common.logging;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Offline latency report over access log files written by {@link AccessLogFile}: request count,
+ * server errors and latency percentiles per endpoint (method and route pattern).
+ *
+ * <pre>
+ * java -cp 'WEB-INF/classes:WEB-INF/lib/*' com.company.bikerent.common.logging.AccessLogStats \
+ *     [--from 2026-10-19T08:00:00Z] [--to 2026-10-19T09:00:00Z] logs/access [more files...]
+ * </pre>
+ *
+ * <p>Directories are scanned for compressed and active segments. Uses only the JDK, so it runs
+ * without starting the application.
+ */
+public final class AccessLogStats {
+
+  private static final String UNMATCHED = "(unmatched)";
+  private static final double[] PERCENTILES = {50, 90, 99};
+
+  private final Instant from;
+  private final Instant to;
+  private final Map<String, Samples> byEndpoint = new HashMap<>();
+
+  AccessLogStats(Instant from, Instant to) {
+    this.from = from;
+    this.to = to;
+  }
+
+  public static void main(String[] args) throws IOException {
+    Instant from = null;
+    Instant to = null;
+    List<Path> inputs = new ArrayList<>();
+    for (int i = 0; i < args.length; i++) {
+      switch (args[i]) {
+        case "--from" -> from = Instant.parse(args[++i]);
+        case "--to" -> to = Instant.parse(args[++i]);
+        default -> inputs.add(Path.of(args[i]));
+      }
+    }
+    if (inputs.isEmpty()) {
+      System.err.println(
+          "Usage: AccessLogStats [--from <instant>] [--to <instant>] <file-or-directory>...");
+      System.exit(2);
+    }
+
+    AccessLogStats stats = new AccessLogStats(from, to);
+    for (Path input : inputs) {
+      if (Files.isDirectory(input)) {
+        List<Path> files = AccessLogFile.list(input, "*" + AccessLogFile.ROLLED_SUFFIX);
+        files.addAll(AccessLogFile.list(input, "*" + AccessLogFile.ACTIVE_SUFFIX));
+        files.sort(null);
+        for (Path file : files) {
+          stats.read(file);
+        }
+      } else {
+        stats.read(input);
+      }
+    }
+    stats.print(System.out);
+  }
+
+  /** Add the entries of one segment, compressed or not. */
+  void read(Path file) throws IOException {
+    try (InputStream raw = Files.newInputStream(file)) {
+      InputStream in;
+      if (file.getFileName().toString().endsWith(".gz")) {
+        in = new GZIPInputStream(raw);
+      } else {
+        // Active segments are zero-padded up to their mapped size
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        AccessLogFile.copyUntilZero(raw, content);
+        in = new ByteArrayInputStream(content.toByteArray());
+      }
+      BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+      String line;
+      while ((line = reader.readLine()) != null) {
+        add(line);
+      }
+    }
+  }
+
+  void add(String line) {
+    String timestamp = stringField(line, "ts");
+    String method = stringField(line, "method");
+    String status = rawField(line, "status");
+    String micros = rawField(line, "us");
+    if (timestamp == null || method == null || status == null || micros == null) {
+      return;
+    }
+    Instant at = Instant.parse(timestamp);
+    if ((from != null && at.isBefore(from)) || (to != null && !at.isBefore(to))) {
+      return;
+    }
+    String route = stringField(line, "route");
+    String endpoint = method + " " + (route != null ? route : UNMATCHED);
+    byEndpoint
+        .computeIfAbsent(endpoint, key -> new Samples())
+        .add(Long.parseLong(micros), Integer.parseInt(status) >= 500);
+  }
+
+  /** Endpoints by request count, with p50/p90/p99 and max latency in milliseconds. */
+  void print(PrintStream out) {
+    out.printf(
+        "%-50s %8s %6s %9s %9s %9s %9s%n", "endpoint", "count", "5xx", "p50", "p90", "p99", "max");
+    byEndpoint.entrySet().stream()
+        .sorted(
+            Comparator.comparingInt((Map.Entry<String, Samples> e) -> e.getValue().size).reversed())
+        .forEach(
+            e -> {
+              Samples samples = e.getValue();
+              long[] sorted = samples.sorted();
+              out.printf("%-50s %8d %6d", e.getKey(), samples.size, samples.serverErrors);
+              for (double percentile : PERCENTILES) {
+                out.printf(" %9.1f", percentile(sorted, percentile) / 1000.0);
+              }
+              out.printf(" %9.1f%n", sorted[sorted.length - 1] / 1000.0);
+            });
+  }
+
+  Map<String, long[]> latencies() {
+    Map<String, long[]> latencies = new HashMap<>();
+    byEndpoint.forEach((key, samples) -> latencies.put(key, samples.sorted()));
+    return latencies;
+  }
+
+  /** Nearest-rank percentile of a sorted, non-empty array. */
+  static long percentile(long[] sorted, double percentile) {
+    int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+    return sorted[Math.max(0, rank - 1)];
+  }
+
+  /** Value of a string field written by {@link AccessLogFile}, or {@code null}. */
+  static String stringField(String line, String name) {
+    String raw = rawField(line, name);
+    if (raw == null || !raw.startsWith("\"")) {
+      return null;
+    }
+    StringBuilder value = new StringBuilder(raw.length());
+    for (int i = 1; i < raw.length() - 1; i++) {
+      char c = raw.charAt(i);
+      if (c == '\\') {
+        char escaped = raw.charAt(++i);
+        if (escaped == 'u') {
+          value.append((char) Integer.parseInt(raw.substring(i + 1, i + 5), 16));
+          i += 4;
+        } else {
+          value.append(escaped);
+        }
+      } else {
+        value.append(c);
+      }
+    }
+    return value.toString();
+  }
+
+  /** Undecoded value of a top-level field: a quoted string or a bare literal. */
+  static String rawField(String line, String name) {
+    String key = "\"" + name + "\":";
+    int start = line.indexOf(key);
+    if (start < 0) {
+      return null;
+    }
+    start += key.length();
+    int end = start;
+    if (end < line.length() && line.charAt(end) == '"') {
+      end++;
+      while (end < line.length() && line.charAt(end) != '"') {
+        end += line.charAt(end) == '\\' ? 2 : 1;
+      }
+      end++;
+    } else {
+      while (end < line.length() && line.charAt(end) != ',' && line.charAt(end) != '}') {
+        end++;
+      }
+    }
+    return end <= line.length() ? line.substring(start, end) : null;
+  }
+
+  private static final class Samples {
+
+    private long[] micros = new long[16];
+    private int size;
+    private int serverErrors;
+
+    void add(long value, boolean serverError) {
+      if (size == micros.length) {
+        micros = Arrays.copyOf(micros, size * 2);
+      }
+      micros[size++] = value;
+      if (serverError) {
+        serverErrors++;
+      }
+    }
+
+    long[] sorted() {
+      long[] sorted = Arrays.copyOf(micros, size);
+      Arrays.sort(sorted);
+      return sorted;
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package com.company.bikerent.common.logging;
+
+/**
+ * Hides sensitive values in a query string in one pass. A parameter is sensitive when its name ends
+ * with one of the {@link #SENSITIVE_SUFFIXES} (so {@code refresh_token} and {@code apiKey} are
+ * covered), ignoring case; e-mail addresses keep only their shape. Strings without anything to hide
+ * are returned as is.
+ */
+final class QueryStringMasker {
+
+  private static final String[] SENSITIVE_SUFFIXES = {
+    "password", "token", "secret", "key", "authorization"
+  };
+  private static final String EMAIL_SUFFIX = "email";
+  private static final String MASK = "***";
+  private static final String EMAIL_MASK = "***@***";
+
+  private QueryStringMasker() {}
+
+  static String mask(String queryString) {
+    if (queryString == null) {
+      return null;
+    }
+    StringBuilder masked = null;
+    int length = queryString.length();
+    int start = 0;
+    while (start <= length) {
+      int end = queryString.indexOf('&', start);
+      if (end < 0) {
+        end = length;
+      }
+      int equals = queryString.indexOf('=', start);
+      String replacement = null;
+      if (equals >= 0 && equals < end) {
+        replacement = replacementFor(queryString, start, equals, end);
+      }
+      if (replacement != null && masked == null) {
+        masked = new StringBuilder(length).append(queryString, 0, start);
+      }
+      if (masked != null) {
+        if (replacement != null) {
+          masked.append(queryString, start, equals + 1).append(replacement);
+        } else {
+          masked.append(queryString, start, end);
+        }
+        if (end < length) {
+          masked.append('&');
+        }
+      }
+      start = end + 1;
+    }
+    return masked == null ? queryString : masked.toString();
+  }
+
+  private static String replacementFor(String query, int nameStart, int equals, int valueEnd) {
+    for (String suffix : SENSITIVE_SUFFIXES) {
+      if (endsWithIgnoreCase(query, nameStart, equals, suffix)) {
+        return MASK;
+      }
+    }
+    if (endsWithIgnoreCase(query, nameStart, equals, EMAIL_SUFFIX)) {
+      int at = query.indexOf('@', equals + 1);
+      if (at >= 0 && at < valueEnd) {
+        return EMAIL_MASK;
+      }
+    }
+    return null;
+  }
+
+  private static boolean endsWithIgnoreCase(String query, int start, int end, String suffix) {
+    int offset = end - suffix.length();
+    return offset >= start && query.regionMatches(true, offset, suffix, 0, suffix.length());
+  }
+}
@@ -0,0 +1,98 @@
+package com.company.bikerent.common.logging;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Facts about the current request computed once, when the request enters the application, and
+ * shared with later filters and the access log through a request attribute.
+ *
+ * <p>The client address is {@link HttpServletRequest#getRemoteAddr()}, which already reflects
+ * {@code X-Forwarded-For} from trusted proxies ({@code server.forward-headers-strategy}).
+ */
+public final class RequestContext {
+
+  private static final String ATTRIBUTE = RequestContext.class.getName();
+  private static final int MAX_REQUEST_ID_LENGTH = 64;
+
+  /** Random per process, so that ids from different instances do not collide. */
+  private static final String ID_PREFIX =
+      Long.toString(ThreadLocalRandom.current().nextLong(36L * 36 * 36, 36L * 36 * 36 * 36), 36)
+          + '-';
+
+  private static final AtomicLong SEQUENCE = new AtomicLong();
+
+  private final String requestId;
+  private final String clientIp;
+  private final String maskedClientIp;
+  private final long startNanos;
+
+  private RequestContext(String requestId, String clientIp, long startNanos) {
+    this.requestId = requestId;
+    this.clientIp = clientIp;
+    this.maskedClientIp = maskIp(clientIp);
+    this.startNanos = startNanos;
+  }
+
+  /** Context of the request, created on first use. */
+  public static RequestContext of(HttpServletRequest request) {
+    Object existing = request.getAttribute(ATTRIBUTE);
+    if (existing instanceof RequestContext context) {
+      return context;
+    }
+    RequestContext context =
+        new RequestContext(
+            requestIdOf(request.getHeader(RequestLoggingFilter.REQUEST_ID_HEADER)),
+            request.getRemoteAddr(),
+            System.nanoTime());
+    request.setAttribute(ATTRIBUTE, context);
+    return context;
+  }
+
+  public String requestId() {
+    return requestId;
+  }
+
+  public String clientIp() {
+    return clientIp;
+  }
+
+  /** Client address with the last octet hidden, for logs. */
+  public String maskedClientIp() {
+    return maskedClientIp;
+  }
+
+  /** {@link System#nanoTime()} when the request entered the application. */
+  public long startNanos() {
+    return startNanos;
+  }
+
+  /** Caller-supplied id if it is safe to echo into logs and headers, otherwise a new one. */
+  static String requestIdOf(String supplied) {
+    if (supplied != null && !supplied.isEmpty() && supplied.length() <= MAX_REQUEST_ID_LENGTH) {
+      boolean safe = true;
+      for (int i = 0; i < supplied.length() && safe; i++) {
+        char c = supplied.charAt(i);
+        safe = Character.isLetterOrDigit(c) || c == '-' || c == '_' || c == '.';
+      }
+      if (safe) {
+        return supplied;
+      }
+    }
+    return ID_PREFIX + Long.toString(SEQUENCE.incrementAndGet(), 36);
+  }
+
+  /** Mask IP address for privacy. */
+  static String maskIp(String ip) {
+    if (ip == null) {
+      return "unknown";
+    }
+    int lastDot = ip.lastIndexOf('.');
+    if (lastDot > 0) {
+      return ip.substring(0, lastDot) + ".***";
+    }
+    return "***";
+  }
+}
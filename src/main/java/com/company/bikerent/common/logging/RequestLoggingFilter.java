@@ -1,7 +1,6 @@
 package com.company.bikerent.common.logging;
 
 import java.io.IOException;
-import java.util.UUID;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -14,22 +13,26 @@ import org.springframework.core.annotation.Order;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
 
-import lombok.extern.slf4j.Slf4j;
+import lombok.RequiredArgsConstructor;
 
 /**
- * Filter for request logging with correlation ID support. Adds a unique request ID to MDC for
- * tracing requests across logs.
+ * Filter for request logging with correlation ID support. Creates the {@link RequestContext}, adds
+ * the request ID to MDC for tracing requests across logs and hands the finished request to the
+ * {@link AccessLog}, which writes it off the request thread.
  */
-@Slf4j
 @Component
 @Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
 public class RequestLoggingFilter extends OncePerRequestFilter {
 
-  private static final String REQUEST_ID_HEADER = "X-Request-ID";
+  static final String REQUEST_ID_HEADER = "X-Request-ID";
   private static final String REQUEST_ID_MDC_KEY = "requestId";
   private static final String CLIENT_IP_MDC_KEY = "clientIp";
 
+  private final AccessLog accessLog;
+
   @Override
   protected void doFilterInternal(
       @NonNull HttpServletRequest request,
@@ -37,104 +40,29 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
       @NonNull FilterChain filterChain)
       throws ServletException, IOException {
 
-    long startTime = System.currentTimeMillis();
-    String requestId = getOrGenerateRequestId(request);
-    String clientIp = getClientIp(request);
-
+    RequestContext context = RequestContext.of(request);
     try {
       // Add context to MDC for logging
-      MDC.put(REQUEST_ID_MDC_KEY, requestId);
-      MDC.put(CLIENT_IP_MDC_KEY, maskIp(clientIp));
+      MDC.put(REQUEST_ID_MDC_KEY, context.requestId());
+      MDC.put(CLIENT_IP_MDC_KEY, context.maskedClientIp());
 
       // Add request ID to response header
-      response.setHeader(REQUEST_ID_HEADER, requestId);
+      response.setHeader(REQUEST_ID_HEADER, context.requestId());
 
-      // Log incoming request
-      logRequest(request, requestId);
-
-      // Continue filter chain
       filterChain.doFilter(request, response);
 
     } finally {
-      // Log response
-      logResponse(request, response, startTime, requestId);
+      accessLog.record(
+          context,
+          request.getMethod(),
+          (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE),
+          request.getRequestURI(),
+          request.getQueryString(),
+          response.getStatus());
 
       // Clean up MDC
       MDC.remove(REQUEST_ID_MDC_KEY);
       MDC.remove(CLIENT_IP_MDC_KEY);
     }
   }
-
-  private String getOrGenerateRequestId(HttpServletRequest request) {
-    String requestId = request.getHeader(REQUEST_ID_HEADER);
-    if (requestId == null || requestId.isBlank()) {
-      requestId = UUID.randomUUID().toString().substring(0, 8);
-    }
-    return requestId;
-  }
-
-  private String getClientIp(HttpServletRequest request) {
-    String xForwardedFor = request.getHeader("X-Forwarded-For");
-    if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-      return xForwardedFor.split(",")[0].trim();
-    }
-
-    String xRealIp = request.getHeader("X-Real-IP");
-    if (xRealIp != null && !xRealIp.isEmpty()) {
-      return xRealIp;
-    }
-
-    return request.getRemoteAddr();
-  }
-
-  private void logRequest(HttpServletRequest request, String requestId) {
-    if (log.isDebugEnabled()) {
-      String method = request.getMethod();
-      String uri = request.getRequestURI();
-      String queryString = request.getQueryString();
-
-      String fullPath = uri + (queryString != null ? "?" + maskSensitiveParams(queryString) : "");
-
-      log.debug("[{}] --> {} {}", requestId, method, fullPath);
-    }
-  }
-
-  private void logResponse(
-      HttpServletRequest request, HttpServletResponse response, long startTime, String requestId) {
-    long duration = System.currentTimeMillis() - startTime;
-    int status = response.getStatus();
-    String method = request.getMethod();
-    String uri = request.getRequestURI();
-
-    if (status >= 500) {
-      log.error("[{}] <-- {} {} {} ({}ms)", requestId, method, uri, status, duration);
-    } else if (status >= 400) {
-      log.warn("[{}] <-- {} {} {} ({}ms)", requestId, method, uri, status, duration);
-    } else if (log.isDebugEnabled()) {
-      log.debug("[{}] <-- {} {} {} ({}ms)", requestId, method, uri, status, duration);
-    }
-  }
-
-  /** Mask sensitive parameters in query string. */
-  private String maskSensitiveParams(String queryString) {
-    if (queryString == null) {
-      return null;
-    }
-
-    return queryString
-        .replaceAll("(?i)(password|token|secret|key|authorization)=[^&]*", "$1=***")
-        .replaceAll("(?i)(email)=[^&]*@[^&]*", "$1=***@***");
-  }
-
-  /** Mask IP address for privacy. */
-  private String maskIp(String ip) {
-    if (ip == null) {
-      return "unknown";
-    }
-    int lastDot = ip.lastIndexOf('.');
-    if (lastDot > 0) {
-      return ip.substring(0, lastDot) + ".***";
-    }
-    return "***";
-  }
 }
@@ -0,0 +1,78 @@
+package com.company.bikerent.common.ratelimit;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-key rate limit using the generic cell rate algorithm. Each key holds a single theoretical
+ * arrival time, advanced by one emission interval per permitted request with a compare-and-set, so
+ * there are no window edges to burst across and no locks. Behaves like a token bucket of {@code
+ * burst} tokens refilled continuously at {@code limit} per {@code period}.
+ */
+public final class GcraRateLimiter {
+
+  private final int limit;
+  private final int burst;
+  private final long emissionIntervalNanos;
+  private final long burstNanos;
+  private final Map<Object, AtomicLong> arrivals = new ConcurrentHashMap<>();
+
+  public GcraRateLimiter(int limit, Duration period, int burst) {
+    if (limit <= 0 || burst <= 0 || period.isZero() || period.isNegative()) {
+      throw new IllegalArgumentException("Invalid rate limit configuration");
+    }
+    this.limit = limit;
+    this.burst = burst;
+    this.emissionIntervalNanos = period.toNanos() / limit;
+    this.burstNanos = emissionIntervalNanos * burst;
+  }
+
+  public int limit() {
+    return limit;
+  }
+
+  public int burst() {
+    return burst;
+  }
+
+  /** Take one request for the key at the given {@link System#nanoTime()} instant. */
+  public Decision tryAcquire(Object key, long nowNanos) {
+    AtomicLong arrival = arrivals.computeIfAbsent(key, ignored -> new AtomicLong(nowNanos));
+    while (true) {
+      long current = arrival.get();
+      long start = current - nowNanos > 0 ? current : nowNanos;
+      long next = start + emissionIntervalNanos;
+      long backlog = next - nowNanos;
+      if (backlog > burstNanos) {
+        return new Decision(false, 0, backlog - burstNanos, current - nowNanos);
+      }
+      if (arrival.compareAndSet(current, next)) {
+        int remaining = (int) ((burstNanos - backlog) / emissionIntervalNanos);
+        return new Decision(true, remaining, 0L, backlog);
+      }
+    }
+  }
+
+  /**
+   * Forget keys whose allowance is full again; they behave exactly like keys never seen. A request
+   * racing with its own eviction may be admitted once more than the limit allows.
+   */
+  public void evictIdle(long nowNanos) {
+    arrivals.values().removeIf(arrival -> arrival.get() - nowNanos <= 0);
+  }
+
+  public int size() {
+    return arrivals.size();
+  }
+
+  /**
+   * Outcome of one request.
+   *
+   * @param remaining requests still allowed right now
+   * @param retryAfterNanos wait before the next request can succeed; 0 when allowed
+   * @param resetNanos time until the full burst is available again
+   */
+  public record Decision(boolean allowed, int remaining, long retryAfterNanos, long resetNanos) {}
+}
@@ -0,0 +1,89 @@
+package com.company.bikerent.common.ratelimit;
+
+import java.util.Arrays;
+
+/**
+ * Longest-prefix lookup of request paths against path prefixes, compared segment by segment so that
+ * {@code /api/v1/auth} matches {@code /api/v1/auth/login} but not {@code /api/v1/authors}. Built
+ * once at startup; lookups compare segments in place and allocate nothing.
+ */
+public final class RouteTrie<T> {
+
+  private final Node<T> root = new Node<>(null);
+
+  /** Map every path under the prefix to the value, unless a longer prefix says otherwise. */
+  public RouteTrie<T> add(String prefix, T value) {
+    Node<T> node = root;
+    int start = skipSlashes(prefix, 0);
+    while (start < prefix.length()) {
+      int end = segmentEnd(prefix, start);
+      node = node.childOrCreate(prefix.substring(start, end));
+      start = skipSlashes(prefix, end);
+    }
+    node.value = value;
+    return this;
+  }
+
+  /** Value of the longest registered prefix of the path, or {@code null} if none matches. */
+  public T match(String path) {
+    Node<T> node = root;
+    T best = root.value;
+    int start = skipSlashes(path, 0);
+    while (start < path.length() && node != null) {
+      int end = segmentEnd(path, start);
+      node = node.child(path, start, end);
+      if (node != null && node.value != null) {
+        best = node.value;
+      }
+      start = skipSlashes(path, end);
+    }
+    return best;
+  }
+
+  private static int skipSlashes(String path, int from) {
+    while (from < path.length() && path.charAt(from) == '/') {
+      from++;
+    }
+    return from;
+  }
+
+  private static int segmentEnd(String path, int start) {
+    int slash = path.indexOf('/', start);
+    return slash < 0 ? path.length() : slash;
+  }
+
+  private static final class Node<T> {
+
+    private final String segment;
+
+    @SuppressWarnings("unchecked")
+    private Node<T>[] children = new Node[0];
+
+    private T value;
+
+    Node(String segment) {
+      this.segment = segment;
+    }
+
+    Node<T> child(String path, int start, int end) {
+      int length = end - start;
+      for (Node<T> child : children) {
+        if (child.segment.length() == length && path.startsWith(child.segment, start)) {
+          return child;
+        }
+      }
+      return null;
+    }
+
+    Node<T> childOrCreate(String label) {
+      Node<T> existing = child(label, 0, label.length());
+      if (existing != null) {
+        return existing;
+      }
+      Node<T> created = new Node<>(label);
+      children = Arrays.copyOf(children, children.length + 1);
+      children[children.length - 1] = created;
+      return created;
+    }
+  }
+}
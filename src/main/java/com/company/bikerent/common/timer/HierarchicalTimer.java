@@ -0,0 +1,336 @@
+package com.company.bikerent.common.timer;
+
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hierarchical timing wheel for large numbers of short-lived timeouts. Scheduling and cancellation
+ * are O(1); only buckets that actually hold entries are tracked by the backing {@link DelayQueue},
+ * so an idle timer costs nothing. Timeouts beyond the range of the lowest wheel cascade into lazily
+ * created overflow wheels whose ticks are {@code wheelSize} times coarser.
+ *
+ * <p>Expired tasks are handed to a small worker pool so that slow tasks never delay the clock.
+ */
+@Slf4j
+public final class HierarchicalTimer implements AutoCloseable {
+
+  private static final long POLL_TIMEOUT_MS = 200L;
+
+  private final DelayQueue<Bucket> delayQueue = new DelayQueue<>();
+  private final AtomicInteger pending = new AtomicInteger();
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  private final ExecutorService workers;
+  private final Thread reaper;
+  private final Wheel wheel;
+
+  private volatile boolean running = true;
+
+  public HierarchicalTimer(String name, long tickMs, int wheelSize, int workerThreads) {
+    if (tickMs <= 0 || wheelSize <= 1 || workerThreads <= 0) {
+      throw new IllegalArgumentException("Invalid timer configuration");
+    }
+    AtomicInteger workerIndex = new AtomicInteger();
+    this.workers =
+        Executors.newFixedThreadPool(
+            workerThreads,
+            runnable -> {
+              Thread thread =
+                  new Thread(runnable, name + "-worker-" + workerIndex.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+    this.wheel = new Wheel(tickMs, wheelSize, nowMs());
+    this.reaper = new Thread(this::runReaper, name + "-reaper");
+    this.reaper.setDaemon(true);
+    this.reaper.start();
+  }
+
+  /**
+   * Schedule a task to run once after the given delay. The task runs on the first tick at or after
+   * its deadline, never before it; a delay of zero or less runs it right away.
+   *
+   * @return a handle that can be used to cancel the task before it fires
+   */
+  public Timeout schedule(long delayMs, Runnable task) {
+    long expirationMs = nowMs() + Math.max(0L, delayMs);
+    if (delayMs > 0) {
+      // Buckets fire at the start of their tick: round up so the task cannot fire early
+      long tickMs = wheel.tickMs;
+      expirationMs = -Math.floorDiv(-expirationMs, tickMs) * tickMs;
+    }
+    Entry entry = new Entry(task, expirationMs);
+    lock.readLock().lock();
+    try {
+      add(entry);
+    } finally {
+      lock.readLock().unlock();
+    }
+    return entry;
+  }
+
+  /** Number of tasks waiting in the wheels (not yet due and not cancelled). */
+  public int size() {
+    return pending.get();
+  }
+
+  @Override
+  public void close() {
+    running = false;
+    reaper.interrupt();
+    workers.shutdownNow();
+  }
+
+  private void add(Entry entry) {
+    if (entry.isCancelled()) {
+      return;
+    }
+    if (!wheel.add(entry)) {
+      // Already due: run it now
+      workers.execute(entry::run);
+    }
+  }
+
+  private void runReaper() {
+    while (running) {
+      try {
+        advance();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException e) {
+        log.error("Timing wheel reaper failed to advance", e);
+      }
+    }
+  }
+
+  private void advance() throws InterruptedException {
+    Bucket bucket = delayQueue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+    if (bucket == null) {
+      return;
+    }
+    lock.writeLock().lock();
+    try {
+      while (bucket != null) {
+        wheel.advanceClock(bucket.getExpiration());
+        bucket.flush(this::add);
+        bucket = delayQueue.poll();
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private static long nowMs() {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+  }
+
+  /** Handle for a scheduled task. */
+  public interface Timeout {
+
+    /**
+     * Cancel the task.
+     *
+     * @return {@code true} if the task had not fired yet
+     */
+    boolean cancel();
+
+    boolean isCancelled();
+  }
+
+  /** One level of the hierarchy. Level n has a tick of {@code tickMs * wheelSize^n}. */
+  private final class Wheel {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final long interval;
+    private final Bucket[] buckets;
+    private long currentTime;
+    private volatile Wheel overflow;
+
+    Wheel(long tickMs, int wheelSize, long startMs) {
+      this.tickMs = tickMs;
+      this.wheelSize = wheelSize;
+      this.interval = tickMs * wheelSize;
+      this.buckets = new Bucket[wheelSize];
+      for (int i = 0; i < wheelSize; i++) {
+        buckets[i] = new Bucket();
+      }
+      this.currentTime = startMs - Math.floorMod(startMs, tickMs);
+    }
+
+    boolean add(Entry entry) {
+      long expiration = entry.expirationMs;
+      if (expiration < currentTime + tickMs) {
+        return false;
+      }
+      if (expiration < currentTime + interval) {
+        // Floored, as System.nanoTime() may be negative
+        long virtualId = Math.floorDiv(expiration, tickMs);
+        Bucket bucket = buckets[(int) Math.floorMod(virtualId, wheelSize)];
+        bucket.add(entry);
+        if (bucket.setExpiration(virtualId * tickMs)) {
+          delayQueue.offer(bucket);
+        }
+        return true;
+      }
+      return overflowWheel().add(entry);
+    }
+
+    void advanceClock(long timeMs) {
+      if (timeMs >= currentTime + tickMs) {
+        currentTime = timeMs - Math.floorMod(timeMs, tickMs);
+        Wheel next = overflow;
+        if (next != null) {
+          next.advanceClock(currentTime);
+        }
+      }
+    }
+
+    private Wheel overflowWheel() {
+      Wheel next = overflow;
+      if (next == null) {
+        synchronized (this) {
+          next = overflow;
+          if (next == null) {
+            next = new Wheel(interval, wheelSize, currentTime);
+            overflow = next;
+          }
+        }
+      }
+      return next;
+    }
+  }
+
+  /** Doubly linked list of entries sharing one wheel slot. */
+  private final class Bucket implements Delayed {
+
+    private final AtomicLong expiration = new AtomicLong(-1L);
+    private final Entry root = new Entry(null, -1L);
+
+    Bucket() {
+      root.next = root;
+      root.prev = root;
+    }
+
+    boolean setExpiration(long expirationMs) {
+      return expiration.getAndSet(expirationMs) != expirationMs;
+    }
+
+    long getExpiration() {
+      return expiration.get();
+    }
+
+    void add(Entry entry) {
+      boolean done = false;
+      while (!done) {
+        entry.unlink();
+        synchronized (this) {
+          synchronized (entry) {
+            if (entry.bucket == null) {
+              Entry tail = root.prev;
+              entry.next = root;
+              entry.prev = tail;
+              entry.bucket = this;
+              tail.next = entry;
+              root.prev = entry;
+              pending.incrementAndGet();
+              done = true;
+            }
+          }
+        }
+      }
+    }
+
+    synchronized void remove(Entry entry) {
+      synchronized (entry) {
+        if (entry.bucket == this) {
+          entry.next.prev = entry.prev;
+          entry.prev.next = entry.next;
+          entry.next = null;
+          entry.prev = null;
+          entry.bucket = null;
+          pending.decrementAndGet();
+        }
+      }
+    }
+
+    synchronized void flush(Consumer<Entry> consumer) {
+      Entry head = root.next;
+      while (head != root) {
+        remove(head);
+        consumer.accept(head);
+        head = root.next;
+      }
+      expiration.set(-1L);
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+      return unit.convert(Math.max(getExpiration() - nowMs(), 0L), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+      return Long.compare(getExpiration(), ((Bucket) other).getExpiration());
+    }
+  }
+
+  private final class Entry implements Timeout {
+
+    private final Runnable task;
+    private final long expirationMs;
+    private volatile boolean cancelled;
+    private volatile Bucket bucket;
+    private Entry next;
+    private Entry prev;
+
+    Entry(Runnable task, long expirationMs) {
+      this.task = task;
+      this.expirationMs = expirationMs;
+    }
+
+    @Override
+    public boolean cancel() {
+      if (cancelled) {
+        return false;
+      }
+      cancelled = true;
+      boolean queued = bucket != null;
+      unlink();
+      return queued;
+    }
+
+    @Override
+    public boolean isCancelled() {
+      return cancelled;
+    }
+
+    void unlink() {
+      Bucket current = bucket;
+      while (current != null) {
+        current.remove(this);
+        current = bucket;
+      }
+    }
+
+    void run() {
+      if (cancelled) {
+        return;
+      }
+      try {
+        task.run();
+      } catch (RuntimeException e) {
+        log.error("Scheduled timer task failed", e);
+      }
+    }
+  }
+}
@@ -0,0 +1,28 @@
+package com.company.bikerent.common.transaction;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the method in a transaction of its own with a lock timeout, and runs it again when the
+ * database aborts it over a lock conflict (see {@link TransactionRetryAspect}). The method must be
+ * safe to repeat from the start, so side effects belong in after-commit callbacks.
+ *
+ * <p>Mutations lock rows in one global order: bicycle, rental, repair, user, reservation, station.
+ * Rows of one type are locked in ascending id order. Station rows are only locked by the
+ * availability trigger, which runs last, at flush.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RetryableTransaction {
+
+  /** Attempts including the first; 0 uses {@code transaction.retry.max-attempts}. */
+  int maxAttempts() default 0;
+
+  /** Lock timeout in milliseconds; -1 uses {@code transaction.lock-timeout-ms}, 0 waits forever. */
+  long lockTimeoutMs() default -1;
+}
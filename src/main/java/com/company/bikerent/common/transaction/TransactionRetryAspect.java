@@ -0,0 +1,187 @@
+package com.company.bikerent.common.transaction;
+
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ClassUtils;
+
+import com.company.bikerent.common.exception.ConcurrentModificationException;
+import com.company.bikerent.common.exception.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs {@link RetryableTransaction} methods in a transaction with {@code lock_timeout} set, and
+ * retries them when PostgreSQL aborts the transaction with a deadlock, a serialization failure or a
+ * lock timeout. Backoff is exponential with full jitter, so transactions that collided do not
+ * collide again in lockstep. Retries are counted in {@code transaction.retries}, and conflicts that
+ * outlast every attempt in {@code transaction.retries.exhausted}.
+ *
+ * <p>Only the outermost transaction can be rolled back and run again: a call made inside an
+ * existing transaction joins it and is not retried. Runs outside the transaction interceptor, so
+ * the method's own {@code @Transactional} joins the transaction started here.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class TransactionRetryAspect {
+
+  // Transaction-local, like SET LOCAL
+  private static final String SET_LOCK_TIMEOUT = "SELECT set_config('lock_timeout', ?, true)";
+
+  private final PlatformTransactionManager transactionManager;
+  private final JdbcTemplate jdbcTemplate;
+  private final MeterRegistry meterRegistry;
+  private final long lockTimeoutMs;
+  private final int maxAttempts;
+  private final long backoffMs;
+  private final long maxBackoffMs;
+
+  public TransactionRetryAspect(
+      PlatformTransactionManager transactionManager,
+      JdbcTemplate jdbcTemplate,
+      MeterRegistry meterRegistry,
+      @Value("${transaction.lock-timeout-ms:2000}") long lockTimeoutMs,
+      @Value("${transaction.retry.max-attempts:3}") int maxAttempts,
+      @Value("${transaction.retry.backoff-ms:20}") long backoffMs,
+      @Value("${transaction.retry.max-backoff-ms:400}") long maxBackoffMs) {
+    this.transactionManager = transactionManager;
+    this.jdbcTemplate = jdbcTemplate;
+    this.meterRegistry = meterRegistry;
+    this.lockTimeoutMs = lockTimeoutMs;
+    this.maxAttempts = maxAttempts;
+    this.backoffMs = backoffMs;
+    this.maxBackoffMs = maxBackoffMs;
+  }
+
+  @Around("@annotation(retryable)")
+  public Object retry(ProceedingJoinPoint joinPoint, RetryableTransaction retryable)
+      throws Throwable {
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      return joinPoint.proceed();
+    }
+
+    Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+    Class<?> targetClass = joinPoint.getTarget().getClass();
+    DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+    // Named like @Transactional names it, for the connection hold metrics
+    definition.setName(ClassUtils.getQualifiedMethodName(method, targetClass));
+    int attempts = retryable.maxAttempts() > 0 ? retryable.maxAttempts() : maxAttempts;
+    long timeoutMs = retryable.lockTimeoutMs() >= 0 ? retryable.lockTimeoutMs() : lockTimeoutMs;
+
+    for (int attempt = 1; ; attempt++) {
+      try {
+        return runOnce(joinPoint, definition, timeoutMs);
+      } catch (Throwable ex) {
+        Conflict conflict = Conflict.of(ex);
+        if (conflict == null) {
+          throw ex;
+        }
+        String methodName = ClassUtils.getShortName(targetClass) + "." + method.getName();
+        if (attempt >= attempts) {
+          meterRegistry
+              .counter(
+                  "transaction.retries.exhausted", "method", methodName, "reason", conflict.tag)
+              .increment();
+          log.warn("{} failed after {} attempts: {}", methodName, attempt, conflict.tag, ex);
+          throw conflict.toException();
+        }
+        meterRegistry
+            .counter("transaction.retries", "method", methodName, "reason", conflict.tag)
+            .increment();
+        log.debug("Retrying {} after {} (attempt {})", methodName, conflict.tag, attempt);
+        backoff(attempt, ex);
+      }
+    }
+  }
+
+  private Object runOnce(
+      ProceedingJoinPoint joinPoint, DefaultTransactionDefinition definition, long timeoutMs)
+      throws Throwable {
+    TransactionStatus status = transactionManager.getTransaction(definition);
+    Object result;
+    try {
+      if (timeoutMs > 0) {
+        jdbcTemplate.queryForObject(SET_LOCK_TIMEOUT, String.class, timeoutMs + "ms");
+      }
+      result = joinPoint.proceed();
+    } catch (Throwable ex) {
+      try {
+        transactionManager.rollback(status);
+      } catch (RuntimeException | Error rollbackFailure) {
+        rollbackFailure.addSuppressed(ex);
+        throw rollbackFailure;
+      }
+      throw ex;
+    }
+    // Most locks are taken here, when the changes are flushed
+    transactionManager.commit(status);
+    return result;
+  }
+
+  private void backoff(int attempt, Throwable conflict) throws Throwable {
+    long cap = Math.min(maxBackoffMs, backoffMs << Math.min(attempt - 1, 20));
+    try {
+      Thread.sleep(ThreadLocalRandom.current().nextLong(cap + 1));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw conflict;
+    }
+  }
+
+  /** Lock conflicts worth retrying, by PostgreSQL SQLSTATE. */
+  enum Conflict {
+    DEADLOCK("40P01", "deadlock"),
+    SERIALIZATION("40001", "serialization"),
+    LOCK_TIMEOUT("55P03", "lock_timeout");
+
+    private final String sqlState;
+    private final String tag;
+
+    Conflict(String sqlState, String tag) {
+      this.sqlState = sqlState;
+      this.tag = tag;
+    }
+
+    /** The conflict behind an exception, or {@code null} if it was not a lock conflict. */
+    static Conflict of(Throwable ex) {
+      for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+        if (cause instanceof SQLException sql && sql.getSQLState() != null) {
+          for (Conflict conflict : values()) {
+            if (conflict.sqlState.equals(sql.getSQLState())) {
+              return conflict;
+            }
+          }
+        }
+        if (cause.getCause() == cause) {
+          break;
+        }
+      }
+      return null;
+    }
+
+    RuntimeException toException() {
+      if (this == LOCK_TIMEOUT) {
+        return new ServiceUnavailableException("The resource is busy. Please retry.", 1);
+      }
+      return new ConcurrentModificationException(
+          "The request conflicted with a concurrent update. Please retry.");
+    }
+  }
+}
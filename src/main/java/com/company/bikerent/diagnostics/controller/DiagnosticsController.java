@@ -0,0 +1,43 @@
+package com.company.bikerent.diagnostics.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.company.bikerent.diagnostics.dto.ConnectionReport;
+import com.company.bikerent.diagnostics.service.ConnectionDiagnosticsService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/v1/diagnostics")
+@RequiredArgsConstructor
+@Tag(name = "Diagnostics", description = "Runtime diagnostics (Admin only)")
+public class DiagnosticsController {
+
+  private final ConnectionDiagnosticsService connectionDiagnosticsService;
+
+  @GetMapping("/connections")
+  @Operation(
+      summary = "Get connection pool usage and the transactions holding connections longest",
+      description =
+          "Hold time runs from transaction begin to commit or rollback; lock wait is the time"
+              + " spent in locking reads. Suspected leaks are transactions seen open past the leak"
+              + " threshold.")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Report retrieved"),
+        @ApiResponse(responseCode = "400", description = "Invalid limit"),
+        @ApiResponse(responseCode = "403", description = "Not an admin")
+      })
+  public ResponseEntity<ConnectionReport> connections(
+      @RequestParam(defaultValue = "10") int limit) {
+    return ResponseEntity.ok(connectionDiagnosticsService.report(limit));
+  }
+}
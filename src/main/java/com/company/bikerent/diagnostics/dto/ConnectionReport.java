@@ -0,0 +1,42 @@
+package com.company.bikerent.diagnostics.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Connection pool state, the transactions holding connections longest in total, and recent
+ * suspected leaks. Hold times run from transaction begin to commit or rollback.
+ */
+public record ConnectionReport(
+    @JsonProperty("pools") List<Pool> pools,
+    @JsonProperty("offenders") List<Offender> offenders,
+    @JsonProperty("leaks") List<Leak> leaks) {
+
+  public record Pool(
+      @JsonProperty("name") String name,
+      @JsonProperty("active") int active,
+      @JsonProperty("idle") int idle,
+      @JsonProperty("waiting") int waiting,
+      @JsonProperty("maximum") int maximum) {}
+
+  /** Totals since startup; maxima cover the last few minutes only. */
+  public record Offender(
+      @JsonProperty("pool") String pool,
+      @JsonProperty("method") String method,
+      @JsonProperty("transactions") long transactions,
+      @JsonProperty("total_hold_ms") double totalHoldMs,
+      @JsonProperty("mean_hold_ms") double meanHoldMs,
+      @JsonProperty("max_hold_ms") double maxHoldMs,
+      @JsonProperty("locking_transactions") long lockingTransactions,
+      @JsonProperty("total_lock_wait_ms") double totalLockWaitMs,
+      @JsonProperty("max_lock_wait_ms") double maxLockWaitMs) {}
+
+  /** A transaction seen holding its connection past the leak threshold. */
+  public record Leak(
+      @JsonProperty("pool") String pool,
+      @JsonProperty("method") String method,
+      @JsonProperty("thread") String thread,
+      @JsonProperty("held_ms") long heldMs,
+      @JsonProperty("stack") List<String> stack) {}
+}
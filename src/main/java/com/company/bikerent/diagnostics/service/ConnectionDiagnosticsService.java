@@ -0,0 +1,41 @@
+package com.company.bikerent.diagnostics.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.company.bikerent.diagnostics.dto.ConnectionReport;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class ConnectionDiagnosticsService {
+
+  private final List<HikariDataSource> dataSources;
+  private final ConnectionHoldTracker connectionHoldTracker;
+
+  public ConnectionReport report(int limit) {
+    if (limit < 1) {
+      throw new IllegalArgumentException("Limit must be positive");
+    }
+    List<ConnectionReport.Pool> pools = new ArrayList<>();
+    for (HikariDataSource dataSource : dataSources) {
+      HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+      if (pool != null) {
+        pools.add(
+            new ConnectionReport.Pool(
+                dataSource.getPoolName(),
+                pool.getActiveConnections(),
+                pool.getIdleConnections(),
+                pool.getThreadsAwaitingConnection(),
+                dataSource.getMaximumPoolSize()));
+      }
+    }
+    return new ConnectionReport(
+        pools, connectionHoldTracker.topOffenders(limit), connectionHoldTracker.recentLeaks());
+  }
+}
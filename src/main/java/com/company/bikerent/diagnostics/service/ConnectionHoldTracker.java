@@ -0,0 +1,310 @@
+package com.company.bikerent.diagnostics.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import com.company.bikerent.diagnostics.dto.ConnectionReport.Leak;
+import com.company.bikerent.diagnostics.dto.ConnectionReport.Offender;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Measures how long each transaction holds its connection and how much of that it spends in locking
+ * reads, tagged by the transactional method ({@code db.connection.hold} and {@code db.lock.wait}
+ * timers). Transaction managers register a {@link #listener(String) listener} per pool.
+ *
+ * <p>Transactions still open past {@code db.diagnostics.leak-threshold-ms} are reported as leaks.
+ * Capturing a stack trace on every begin would cost more than the transactions being watched, so
+ * only one in {@code db.diagnostics.stack-sample-every} records where it began. Time is read from
+ * the meter registry's clock.
+ */
+@Slf4j
+@Component
+public class ConnectionHoldTracker {
+
+  private static final int RECENT_LEAKS = 20;
+
+  private final MeterRegistry meterRegistry;
+  private final long leakThresholdNanos;
+  private final int stackSampleEvery;
+  private final Counter leakCounter;
+
+  private final List<PoolListener> listeners = new CopyOnWriteArrayList<>();
+  // Physical transactions open on this thread, innermost first (REQUIRES_NEW nests them)
+  private final ThreadLocal<ArrayDeque<Hold>> active = new ThreadLocal<>();
+  private final Set<Hold> open = ConcurrentHashMap.newKeySet();
+  private final ArrayDeque<Leak> recentLeaks = new ArrayDeque<>();
+
+  public ConnectionHoldTracker(
+      MeterRegistry meterRegistry,
+      @Value("${db.diagnostics.leak-threshold-ms:10000}") long leakThresholdMs,
+      @Value("${db.diagnostics.stack-sample-every:100}") int stackSampleEvery) {
+    this.meterRegistry = meterRegistry;
+    this.leakThresholdNanos = TimeUnit.MILLISECONDS.toNanos(leakThresholdMs);
+    this.stackSampleEvery = stackSampleEvery;
+    this.leakCounter =
+        Counter.builder("db.connection.leaks")
+            .description("Transactions seen holding a connection past the leak threshold")
+            .register(meterRegistry);
+  }
+
+  /** Listener to register on the transaction manager of the named pool. */
+  public TransactionExecutionListener listener(String pool) {
+    PoolListener listener = new PoolListener(pool);
+    listeners.add(listener);
+    return listener;
+  }
+
+  /** Add time spent in a locking read to the innermost transaction on this thread. */
+  public void recordLockWait(long nanos) {
+    ArrayDeque<Hold> holds = active.get();
+    if (holds != null && !holds.isEmpty()) {
+      Hold hold = holds.peekFirst();
+      hold.lockWaitNanos += nanos;
+      hold.lockWaits++;
+    }
+  }
+
+  /** Methods with the most connection hold time since startup, longest first. */
+  public List<Offender> topOffenders(int limit) {
+    List<MethodMeters> all = new ArrayList<>();
+    for (PoolListener listener : listeners) {
+      all.addAll(listener.meters.values());
+    }
+    return all.stream()
+        .sorted(
+            Comparator.comparingDouble((MethodMeters m) -> m.hold.totalTime(TimeUnit.NANOSECONDS))
+                .reversed())
+        .limit(limit)
+        .map(MethodMeters::toOffender)
+        .toList();
+  }
+
+  /** Most recent suspected leaks, newest first. */
+  public List<Leak> recentLeaks() {
+    synchronized (recentLeaks) {
+      return List.copyOf(recentLeaks);
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${db.diagnostics.leak-check-interval-ms:5000}")
+  public void detectLeaks() {
+    long now = nanoTime();
+    for (Hold hold : open) {
+      long held = now - hold.startNanos;
+      if (hold.reported || held < leakThresholdNanos) {
+        continue;
+      }
+      hold.reported = true;
+      long heldMs = TimeUnit.NANOSECONDS.toMillis(held);
+      leakCounter.increment();
+      if (hold.origin != null) {
+        log.warn(
+            "Connection held for {}ms by {} on {} ({})",
+            heldMs,
+            hold.meters.method,
+            hold.thread,
+            hold.meters.pool,
+            hold.origin);
+      } else {
+        log.warn(
+            "Connection held for {}ms by {} on {} ({}, stack not sampled)",
+            heldMs,
+            hold.meters.method,
+            hold.thread,
+            hold.meters.pool);
+      }
+
+      Leak leak =
+          new Leak(hold.meters.pool, hold.meters.method, hold.thread, heldMs, stackOf(hold.origin));
+      synchronized (recentLeaks) {
+        if (recentLeaks.size() == RECENT_LEAKS) {
+          recentLeaks.removeLast();
+        }
+        recentLeaks.addFirst(leak);
+      }
+    }
+  }
+
+  private long nanoTime() {
+    return meterRegistry.config().clock().monotonicTime();
+  }
+
+  private static List<String> stackOf(@Nullable Throwable origin) {
+    if (origin == null) {
+      return List.of();
+    }
+    return Arrays.stream(origin.getStackTrace()).map(StackTraceElement::toString).toList();
+  }
+
+  /** {@code com.company.x.RentalService.startRental} becomes {@code RentalService.startRental}. */
+  private static String shortName(@Nullable String transactionName) {
+    if (transactionName == null || transactionName.isEmpty()) {
+      return "unnamed";
+    }
+    int method = transactionName.lastIndexOf('.');
+    int type = method > 0 ? transactionName.lastIndexOf('.', method - 1) : -1;
+    return transactionName.substring(type + 1);
+  }
+
+  private final class PoolListener implements TransactionExecutionListener {
+
+    private final String pool;
+    private final ConcurrentMap<String, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    PoolListener(String pool) {
+      this.pool = pool;
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, @Nullable Throwable beginFailure) {
+      if (beginFailure != null) {
+        return;
+      }
+      String name = transaction.getTransactionName();
+      MethodMeters methodMeters =
+          meters.computeIfAbsent(
+              name == null ? "" : name, key -> new MethodMeters(pool, shortName(key)));
+      Throwable origin =
+          stackSampleEvery > 0 && ThreadLocalRandom.current().nextInt(stackSampleEvery) == 0
+              ? new Throwable("Transaction began here")
+              : null;
+      Hold hold =
+          new Hold(transaction, methodMeters, Thread.currentThread().getName(), nanoTime(), origin);
+
+      ArrayDeque<Hold> holds = active.get();
+      if (holds == null) {
+        holds = new ArrayDeque<>();
+        active.set(holds);
+      }
+      holds.addFirst(hold);
+      open.add(hold);
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, @Nullable Throwable commitFailure) {
+      end(transaction);
+    }
+
+    @Override
+    public void afterRollback(
+        TransactionExecution transaction, @Nullable Throwable rollbackFailure) {
+      end(transaction);
+    }
+
+    private void end(TransactionExecution transaction) {
+      ArrayDeque<Hold> holds = active.get();
+      if (holds == null) {
+        return;
+      }
+      Hold hold = null;
+      for (Iterator<Hold> it = holds.iterator(); it.hasNext(); ) {
+        Hold candidate = it.next();
+        if (candidate.transaction == transaction) {
+          it.remove();
+          hold = candidate;
+          break;
+        }
+      }
+      if (holds.isEmpty()) {
+        // Pooled threads outlive the application when deployed as a WAR
+        active.remove();
+      }
+      if (hold == null) {
+        return;
+      }
+
+      open.remove(hold);
+      hold.meters.hold.record(nanoTime() - hold.startNanos, TimeUnit.NANOSECONDS);
+      if (hold.lockWaits > 0) {
+        hold.meters.lockWait.record(hold.lockWaitNanos, TimeUnit.NANOSECONDS);
+      }
+    }
+  }
+
+  private final class MethodMeters {
+
+    private final String pool;
+    private final String method;
+    private final Timer hold;
+    private final Timer lockWait;
+
+    MethodMeters(String pool, String method) {
+      this.pool = pool;
+      this.method = method;
+      this.hold =
+          Timer.builder("db.connection.hold")
+              .tag("pool", pool)
+              .tag("method", method)
+              .description("Time from transaction begin to commit or rollback")
+              .register(meterRegistry);
+      this.lockWait =
+          Timer.builder("db.lock.wait")
+              .tag("pool", pool)
+              .tag("method", method)
+              .description("Time per transaction spent in locking reads")
+              .register(meterRegistry);
+    }
+
+    Offender toOffender() {
+      long transactions = hold.count();
+      double totalHoldMs = hold.totalTime(TimeUnit.MILLISECONDS);
+      return new Offender(
+          pool,
+          method,
+          transactions,
+          totalHoldMs,
+          transactions == 0 ? 0 : totalHoldMs / transactions,
+          hold.max(TimeUnit.MILLISECONDS),
+          lockWait.count(),
+          lockWait.totalTime(TimeUnit.MILLISECONDS),
+          lockWait.max(TimeUnit.MILLISECONDS));
+    }
+  }
+
+  /** One open physical transaction; lock waits are only touched by the owning thread. */
+  private static final class Hold {
+
+    private final TransactionExecution transaction;
+    private final MethodMeters meters;
+    private final String thread;
+    private final long startNanos;
+    @Nullable private final Throwable origin;
+    private long lockWaitNanos;
+    private int lockWaits;
+    private volatile boolean reported;
+
+    Hold(
+        TransactionExecution transaction,
+        MethodMeters meters,
+        String thread,
+        long startNanos,
+        @Nullable Throwable origin) {
+      this.transaction = transaction;
+      this.meters = meters;
+      this.thread = thread;
+      this.startNanos = startNanos;
+      this.origin = origin;
+    }
+  }
+}
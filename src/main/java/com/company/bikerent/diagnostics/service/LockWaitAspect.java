@@ -0,0 +1,31 @@
+package com.company.bikerent.diagnostics.service;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Times repository methods annotated with {@code @Lock}. A locking read returns in well under a
+ * millisecond unless it has to wait for another transaction's row lock, so its duration is
+ * attributed to lock waiting.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class LockWaitAspect {
+
+  private final ConnectionHoldTracker connectionHoldTracker;
+
+  @Around("@annotation(org.springframework.data.jpa.repository.Lock)")
+  public Object timeLockingRead(ProceedingJoinPoint joinPoint) throws Throwable {
+    long start = System.nanoTime();
+    try {
+      return joinPoint.proceed();
+    } finally {
+      connectionHoldTracker.recordLockWait(System.nanoTime() - start);
+    }
+  }
+}
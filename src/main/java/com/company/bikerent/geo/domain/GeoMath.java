@@ -0,0 +1,36 @@
+package com.company.bikerent.geo.domain;
+
+/** Distance and map projection helpers on raw degrees, so hot loops avoid allocating objects. */
+public final class GeoMath {
+
+  public static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+  /** Web Mercator cuts the map off here, making the world square. */
+  public static final double MAX_MERCATOR_LATITUDE = 85.05112878;
+
+  private GeoMath() {}
+
+  /** Haversine distance in meters between two points given in degrees. */
+  public static double haversineMeters(double lat1, double lon1, double lat2, double lon2) {
+    double phi1 = Math.toRadians(lat1);
+    double phi2 = Math.toRadians(lat2);
+    double sinHalfDeltaPhi = Math.sin((phi2 - phi1) / 2);
+    double sinHalfDeltaLambda = Math.sin(Math.toRadians(lon2 - lon1) / 2);
+    double a =
+        sinHalfDeltaPhi * sinHalfDeltaPhi
+            + Math.cos(phi1) * Math.cos(phi2) * sinHalfDeltaLambda * sinHalfDeltaLambda;
+    return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1.0, Math.sqrt(a)));
+  }
+
+  /** Web Mercator x in [0, 1] from west to east, as used by XYZ map tiles. */
+  public static double mercatorX(double longitude) {
+    return (longitude + 180.0) / 360.0;
+  }
+
+  /** Web Mercator y in [0, 1] from north to south, as used by XYZ map tiles. */
+  public static double mercatorY(double latitude) {
+    double clamped = Math.max(-MAX_MERCATOR_LATITUDE, Math.min(MAX_MERCATOR_LATITUDE, latitude));
+    double sinPhi = Math.sin(Math.toRadians(clamped));
+    return 0.5 - Math.log((1 + sinPhi) / (1 - sinPhi)) / (4 * Math.PI);
+  }
+}
@@ -0,0 +1,232 @@
+package com.company.bikerent.geo.domain;
+
+import java.util.Arrays;
+
+/**
+ * Point-in-polygon lookups over a fixed set of polygons. Vertices of all polygons are packed into
+ * two flat coordinate arrays, and a uniform grid over their extent lists for each cell the polygons
+ * whose bounding box overlaps it. A lookup finds its cell, then tests the few polygons listed
+ * there: bounding box first, then ray casting.
+ *
+ * <p>Coordinates are treated as planar, which is accurate for zones a few kilometers across away
+ * from the poles and the antimeridian. Immutable once built, so it can be shared between threads
+ * and replaced as a whole when the polygons change.
+ */
+public final class PolygonIndex {
+
+  public static final PolygonIndex EMPTY = builder().build();
+
+  // Enough cells for a handful of polygons per cell; the grid is columns * rows ints
+  private static final int MAX_CELLS_PER_AXIS = 512;
+
+  private final long[] ids;
+  // Polygon p has vertices vertexStart[p] until vertexStart[p + 1]
+  private final int[] vertexStart;
+  private final double[] latitudes;
+  private final double[] longitudes;
+  private final double[] minLatitudes;
+  private final double[] maxLatitudes;
+  private final double[] minLongitudes;
+  private final double[] maxLongitudes;
+  private final double[] areas;
+
+  private final double gridMinLatitude;
+  private final double gridMinLongitude;
+  private final double cellHeight;
+  private final double cellWidth;
+  private final int rows;
+  private final int columns;
+  // Polygons of cell c are cellPolygons[cellStart[c]] until cellPolygons[cellStart[c + 1]]
+  private final int[] cellStart;
+  private final int[] cellPolygons;
+
+  private PolygonIndex(Builder builder) {
+    int count = builder.count;
+    this.ids = Arrays.copyOf(builder.ids, count);
+    this.vertexStart = Arrays.copyOf(builder.vertexStart, count + 1);
+    this.latitudes = Arrays.copyOf(builder.latitudes, builder.vertexCount);
+    this.longitudes = Arrays.copyOf(builder.longitudes, builder.vertexCount);
+    this.minLatitudes = new double[count];
+    this.maxLatitudes = new double[count];
+    this.minLongitudes = new double[count];
+    this.maxLongitudes = new double[count];
+    this.areas = new double[count];
+
+    double minLat = Double.POSITIVE_INFINITY;
+    double maxLat = Double.NEGATIVE_INFINITY;
+    double minLon = Double.POSITIVE_INFINITY;
+    double maxLon = Double.NEGATIVE_INFINITY;
+    for (int p = 0; p < count; p++) {
+      computeBounds(p);
+      minLat = Math.min(minLat, minLatitudes[p]);
+      maxLat = Math.max(maxLat, maxLatitudes[p]);
+      minLon = Math.min(minLon, minLongitudes[p]);
+      maxLon = Math.max(maxLon, maxLongitudes[p]);
+    }
+
+    int cellsPerAxis = Math.max(1, Math.min(MAX_CELLS_PER_AXIS, (int) Math.ceil(Math.sqrt(count))));
+    this.rows = cellsPerAxis;
+    this.columns = cellsPerAxis;
+    this.gridMinLatitude = count == 0 ? 0 : minLat;
+    this.gridMinLongitude = count == 0 ? 0 : minLon;
+    this.cellHeight = count == 0 || maxLat == minLat ? 1 : (maxLat - minLat) / rows;
+    this.cellWidth = count == 0 || maxLon == minLon ? 1 : (maxLon - minLon) / columns;
+
+    // Count the polygons of each cell, turn the counts into offsets, then fill the cells in
+    this.cellStart = new int[rows * columns + 1];
+    for (int p = 0; p < count; p++) {
+      for (int row = row(minLatitudes[p]); row <= row(maxLatitudes[p]); row++) {
+        for (int column = column(minLongitudes[p]); column <= column(maxLongitudes[p]); column++) {
+          cellStart[row * columns + column + 1]++;
+        }
+      }
+    }
+    for (int c = 0; c < rows * columns; c++) {
+      cellStart[c + 1] += cellStart[c];
+    }
+    this.cellPolygons = new int[cellStart[rows * columns]];
+    int[] filled = Arrays.copyOf(cellStart, rows * columns);
+    for (int p = 0; p < count; p++) {
+      for (int row = row(minLatitudes[p]); row <= row(maxLatitudes[p]); row++) {
+        for (int column = column(minLongitudes[p]); column <= column(maxLongitudes[p]); column++) {
+          cellPolygons[filled[row * columns + column]++] = p;
+        }
+      }
+    }
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public int size() {
+    return ids.length;
+  }
+
+  /**
+   * Id of the polygon containing the point; the smallest one where polygons overlap.
+   *
+   * @return the id, or {@code missing} if no polygon contains the point
+   */
+  public long find(double latitude, double longitude, long missing) {
+    if (ids.length == 0) {
+      return missing;
+    }
+    double rowOffset = (latitude - gridMinLatitude) / cellHeight;
+    double columnOffset = (longitude - gridMinLongitude) / cellWidth;
+    if (rowOffset < 0 || columnOffset < 0 || rowOffset > rows || columnOffset > columns) {
+      return missing;
+    }
+    int cell = row(latitude) * columns + column(longitude);
+
+    int found = -1;
+    for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+      int p = cellPolygons[i];
+      if (latitude < minLatitudes[p]
+          || latitude > maxLatitudes[p]
+          || longitude < minLongitudes[p]
+          || longitude > maxLongitudes[p]
+          || (found >= 0 && areas[p] >= areas[found])) {
+        continue;
+      }
+      if (contains(p, latitude, longitude)) {
+        found = p;
+      }
+    }
+    return found >= 0 ? ids[found] : missing;
+  }
+
+  /** Even-odd ray casting along the latitude of the point. */
+  private boolean contains(int p, double latitude, double longitude) {
+    boolean inside = false;
+    int end = vertexStart[p + 1];
+    for (int i = vertexStart[p], j = end - 1; i < end; j = i++) {
+      if ((latitudes[i] > latitude) != (latitudes[j] > latitude)
+          && longitude
+              < (longitudes[j] - longitudes[i])
+                      * (latitude - latitudes[i])
+                      / (latitudes[j] - latitudes[i])
+                  + longitudes[i]) {
+        inside = !inside;
+      }
+    }
+    return inside;
+  }
+
+  private void computeBounds(int p) {
+    int start = vertexStart[p];
+    int end = vertexStart[p + 1];
+    double minLat = Double.POSITIVE_INFINITY;
+    double maxLat = Double.NEGATIVE_INFINITY;
+    double minLon = Double.POSITIVE_INFINITY;
+    double maxLon = Double.NEGATIVE_INFINITY;
+    double doubleArea = 0;
+    for (int i = start, j = end - 1; i < end; j = i++) {
+      minLat = Math.min(minLat, latitudes[i]);
+      maxLat = Math.max(maxLat, latitudes[i]);
+      minLon = Math.min(minLon, longitudes[i]);
+      maxLon = Math.max(maxLon, longitudes[i]);
+      doubleArea += longitudes[j] * latitudes[i] - longitudes[i] * latitudes[j];
+    }
+    minLatitudes[p] = minLat;
+    maxLatitudes[p] = maxLat;
+    minLongitudes[p] = minLon;
+    maxLongitudes[p] = maxLon;
+    areas[p] = Math.abs(doubleArea) / 2;
+  }
+
+  private int row(double latitude) {
+    return Math.min(rows - 1, Math.max(0, (int) ((latitude - gridMinLatitude) / cellHeight)));
+  }
+
+  private int column(double longitude) {
+    return Math.min(columns - 1, Math.max(0, (int) ((longitude - gridMinLongitude) / cellWidth)));
+  }
+
+  /** Collects polygons; not thread-safe. */
+  public static final class Builder {
+
+    private long[] ids = new long[16];
+    private int[] vertexStart = new int[17];
+    private double[] latitudes = new double[64];
+    private double[] longitudes = new double[64];
+    private int count;
+    private int vertexCount;
+
+    private Builder() {}
+
+    /**
+     * Add a polygon given by its vertices in order; the last vertex connects back to the first.
+     *
+     * @throws IllegalArgumentException if it has fewer than three vertices
+     */
+    public Builder add(long id, double[] polygonLatitudes, double[] polygonLongitudes) {
+      if (polygonLatitudes.length != polygonLongitudes.length) {
+        throw new IllegalArgumentException("Every vertex needs a latitude and a longitude");
+      }
+      if (polygonLatitudes.length < 3) {
+        throw new IllegalArgumentException("A polygon needs at least three vertices");
+      }
+      if (count == ids.length) {
+        ids = Arrays.copyOf(ids, count * 2);
+        vertexStart = Arrays.copyOf(vertexStart, count * 2 + 1);
+      }
+      int needed = vertexCount + polygonLatitudes.length;
+      if (needed > latitudes.length) {
+        int capacity = Math.max(needed, latitudes.length * 2);
+        latitudes = Arrays.copyOf(latitudes, capacity);
+        longitudes = Arrays.copyOf(longitudes, capacity);
+      }
+      System.arraycopy(polygonLatitudes, 0, latitudes, vertexCount, polygonLatitudes.length);
+      System.arraycopy(polygonLongitudes, 0, longitudes, vertexCount, polygonLongitudes.length);
+      vertexCount = needed;
+      ids[count++] = id;
+      vertexStart[count] = vertexCount;
+      return this;
+    }
+
+    public PolygonIndex build() {
+      return new PolygonIndex(this);
+    }
+  }
+}
@@ -1,6 +1,9 @@
 package com.company.bikerent.maintenance.controller;
 
+import java.util.List;
+
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Positive;
 
 import org.springframework.data.domain.Page;
@@ -13,7 +16,9 @@ import org.springframework.web.bind.annotation.*;
 
 import com.company.bikerent.bicycle.dto.BicycleDto;
 import com.company.bikerent.maintenance.dto.CreateRepairRequest;
+import com.company.bikerent.maintenance.dto.MaintenancePriorityDto;
 import com.company.bikerent.maintenance.dto.RepairDto;
+import com.company.bikerent.maintenance.service.RepairDispatchService;
 import com.company.bikerent.maintenance.service.RepairService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -30,6 +35,7 @@ import lombok.RequiredArgsConstructor;
 public class RepairController {
 
   private final RepairService repairService;
+  private final RepairDispatchService repairDispatchService;
 
   @GetMapping
   @Operation(summary = "Get all repairs")
@@ -56,6 +62,13 @@ public class RepairController {
     return ResponseEntity.ok(repairService.findScheduledForMaintenance(pageable));
   }
 
+  @GetMapping("/priority")
+  @Operation(summary = "Get bicycles ranked by predicted maintenance need")
+  public ResponseEntity<List<MaintenancePriorityDto>> findPriorities(
+      @RequestParam(defaultValue = "20") @Positive @Max(500) int limit) {
+    return ResponseEntity.ok(repairService.findPriorities(limit));
+  }
+
   @PostMapping
   @Operation(summary = "Start a new repair")
   @ApiResponses(
@@ -70,6 +83,18 @@ public class RepairController {
     return ResponseEntity.status(HttpStatus.CREATED).body(repairService.create(request));
   }
 
+  @PostMapping("/auto-assign")
+  @Operation(summary = "Start repairs for due bicycles with automatically chosen technicians")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Repairs started, possibly none"),
+        @ApiResponse(responseCode = "400", description = "Invalid limit")
+      })
+  public ResponseEntity<List<RepairDto>> autoAssign(
+      @RequestParam(defaultValue = "1000") @Positive @Max(10000) int limit) {
+    return ResponseEntity.ok(repairDispatchService.autoAssign(limit));
+  }
+
   @PutMapping("/{id}/complete")
   @Operation(summary = "Complete a repair")
   @ApiResponses(
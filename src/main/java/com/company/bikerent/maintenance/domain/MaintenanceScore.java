@@ -0,0 +1,37 @@
+package com.company.bikerent.maintenance.domain;
+
+import com.company.bikerent.bicycle.domain.BicycleType;
+
+/**
+ * Maintenance priority of a bicycle. A score of {@link #DUE} or more means the bicycle should be
+ * serviced; mileage alone reaches it at the old fixed 50 km threshold, while frequent short rides,
+ * a long repair history and harsher bicycle types bring it forward.
+ */
+public final class MaintenanceScore {
+
+  public static final double DUE = 1.0;
+
+  private static final double MILEAGE_INTERVAL_KM = 50.0;
+  private static final double RIDES_INTERVAL = 100.0;
+  private static final double REPAIR_WEIGHT = 0.05;
+  private static final int REPAIR_HISTORY_CAP = 10;
+
+  private MaintenanceScore() {}
+
+  public static double of(BicycleType type, long mileageKm, long ridesSinceService, long repairs) {
+    double wear = mileageKm / MILEAGE_INTERVAL_KM + ridesSinceService / RIDES_INTERVAL;
+    double fragility = 1.0 + REPAIR_WEIGHT * Math.min(repairs, REPAIR_HISTORY_CAP);
+    return typeFactor(type) * wear * fragility;
+  }
+
+  private static double typeFactor(BicycleType type) {
+    if (type == null) {
+      return 1.0;
+    }
+    return switch (type) {
+      case MOUNTAIN -> 1.3;
+      case UNIVERSAL -> 1.1;
+      case HIGHWAY -> 1.0;
+    };
+  }
+}
@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
+import com.company.bikerent.station.domain.Station;
+
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -35,4 +37,9 @@ public class Technician {
   @Size(max = 100, message = "Specialization cannot exceed 100 characters")
   @Column(name = "specialization", nullable = false, length = 100)
   private String specialization;
+
+  /** Station the technician works from; repairs are dispatched to technicians nearby. */
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "station_id")
+  private Station station;
 }
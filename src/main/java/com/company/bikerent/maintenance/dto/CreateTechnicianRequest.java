@@ -1,6 +1,7 @@
 package com.company.bikerent.maintenance.dto;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -17,4 +18,6 @@ public record CreateTechnicianRequest(
     @NotBlank(message = "Specialization is required")
         @Size(max = 100, message = "Specialization cannot exceed 100 characters")
         @JsonProperty("specialization")
-        String specialization) {}
+        String specialization,
+    @Positive(message = "Station ID must be positive") @JsonProperty("station_id")
+        Long stationId) {}
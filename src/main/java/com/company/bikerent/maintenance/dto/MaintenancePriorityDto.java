@@ -0,0 +1,10 @@
+package com.company.bikerent.maintenance.dto;
+
+import com.company.bikerent.bicycle.dto.BicycleDto;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record MaintenancePriorityDto(
+    @JsonProperty("bicycle") BicycleDto bicycle,
+    @JsonProperty("score") double score,
+    @JsonProperty("rides_since_service") long ridesSinceService,
+    @JsonProperty("repairs") long repairs) {}
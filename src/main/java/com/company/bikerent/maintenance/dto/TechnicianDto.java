@@ -6,4 +6,5 @@ public record TechnicianDto(
     @JsonProperty("id") Long id,
     @JsonProperty("name") String name,
     @JsonProperty("phone") String phone,
-    @JsonProperty("specialization") String specialization) {}
+    @JsonProperty("specialization") String specialization,
+    @JsonProperty("station_id") Long stationId) {}
@@ -0,0 +1,4 @@
+package com.company.bikerent.maintenance.event;
+
+/** Published when a repair is completed and the bicycle is back in service. */
+public record RepairCompletedEvent(Long repairId, Long bicycleId) {}
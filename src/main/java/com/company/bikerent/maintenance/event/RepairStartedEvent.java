@@ -0,0 +1,4 @@
+package com.company.bikerent.maintenance.event;
+
+/** Published when a bicycle is taken in for repair. */
+public record RepairStartedEvent(Long repairId, Long bicycleId) {}
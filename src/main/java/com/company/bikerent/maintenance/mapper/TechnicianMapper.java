@@ -11,8 +11,10 @@ import com.company.bikerent.maintenance.dto.TechnicianDto;
 @Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
 public interface TechnicianMapper {
 
+  @Mapping(source = "station.id", target = "stationId")
   TechnicianDto toDto(Technician entity);
 
   @Mapping(target = "id", ignore = true)
+  @Mapping(target = "station", ignore = true)
   Technician toEntity(CreateTechnicianRequest request);
 }
@@ -0,0 +1,57 @@
+package com.company.bikerent.maintenance.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import com.company.bikerent.bicycle.domain.BicycleStatus;
+import com.company.bikerent.bicycle.domain.BicycleType;
+
+import lombok.RequiredArgsConstructor;
+
+/** Read-only wear statistics per bicycle for maintenance scoring. */
+@Repository
+@RequiredArgsConstructor
+public class BicycleWearRepository {
+
+  private static final String SELECT_WEAR =
+      "SELECT b.id, b.type, b.status, COALESCE(b.mileage, 0), "
+          + "(SELECT COUNT(*) FROM rental r WHERE r.bicycle_id = b.id "
+          + "AND (b.last_service_date IS NULL OR r.rental_started_at >= b.last_service_date)), "
+          + "(SELECT COUNT(*) FROM repair p WHERE p.bicycle_id = b.id) "
+          + "FROM bicycle b ";
+
+  private static final RowMapper<BicycleWear> WEAR_MAPPER =
+      (rs, rowNum) ->
+          new BicycleWear(
+              rs.getLong(1),
+              BicycleType.valueOf(rs.getString(2)),
+              BicycleStatus.valueOf(rs.getString(3)),
+              rs.getLong(4),
+              rs.getLong(5),
+              rs.getLong(6));
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /** Next chunk of bicycles in id order, for loading the whole fleet without a long query. */
+  public List<BicycleWear> findChunk(long afterId, int limit) {
+    return jdbcTemplate.query(
+        SELECT_WEAR + "WHERE b.id > ? ORDER BY b.id LIMIT ?", WEAR_MAPPER, afterId, limit);
+  }
+
+  public Optional<BicycleWear> findByBicycleId(long bicycleId) {
+    return jdbcTemplate.query(SELECT_WEAR + "WHERE b.id = ?", WEAR_MAPPER, bicycleId).stream()
+        .findFirst();
+  }
+
+  public record BicycleWear(
+      long bicycleId,
+      BicycleType type,
+      BicycleStatus status,
+      long mileage,
+      long ridesSinceService,
+      long repairs) {}
+}
@@ -0,0 +1,67 @@
+package com.company.bikerent.maintenance.repository;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.company.bikerent.bicycle.domain.BicycleType;
+
+import lombok.RequiredArgsConstructor;
+
+/** Flat, read-only views of technicians and bicycles for planning repair dispatch. */
+@Repository
+@RequiredArgsConstructor
+public class RepairDispatchRepository {
+
+  private static final String SELECT_TECHNICIANS =
+      "SELECT t.id, t.specialization, s.latitude, s.longitude, "
+          + "(SELECT COUNT(*) FROM repair r "
+          + "WHERE r.technician_id = t.id AND r.status = 'IN_PROGRESS') "
+          + "FROM technician t LEFT JOIN station s ON s.id = t.station_id";
+
+  private static final String SELECT_AVAILABLE_BICYCLES =
+      "SELECT b.id, b.type, s.latitude, s.longitude "
+          + "FROM bicycle b LEFT JOIN station s ON s.id = b.station_id "
+          + "WHERE b.status = 'AVAILABLE' AND b.id = ANY(?)";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /** All technicians with their home station position and number of repairs in progress. */
+  public List<TechnicianSite> findTechnicians() {
+    return jdbcTemplate.query(
+        SELECT_TECHNICIANS,
+        (rs, rowNum) ->
+            new TechnicianSite(
+                rs.getLong(1),
+                rs.getString(2),
+                rs.getObject(3, Double.class),
+                rs.getObject(4, Double.class),
+                rs.getInt(5)));
+  }
+
+  /** The given bicycles that are still available, with the position of their station. */
+  public List<BicycleSite> findAvailableBicycles(Collection<Long> bicycleIds) {
+    return jdbcTemplate.query(
+        connection -> {
+          PreparedStatement statement = connection.prepareStatement(SELECT_AVAILABLE_BICYCLES);
+          statement.setArray(1, connection.createArrayOf("bigint", bicycleIds.toArray()));
+          return statement;
+        },
+        (rs, rowNum) ->
+            new BicycleSite(
+                rs.getLong(1),
+                BicycleType.valueOf(rs.getString(2)),
+                rs.getObject(3, Double.class),
+                rs.getObject(4, Double.class)));
+  }
+
+  /** Latitude and longitude are {@code null} when the technician has no home station. */
+  public record TechnicianSite(
+      long id, String specialization, Double latitude, Double longitude, int openRepairs) {}
+
+  /** Latitude and longitude are {@code null} for bicycles not parked at a station. */
+  public record BicycleSite(long id, BicycleType type, Double latitude, Double longitude) {}
+}
@@ -26,5 +26,9 @@ public interface RepairRepository extends JpaRepository<Repair, Long> {
   @Query("SELECT r FROM Repair r WHERE r.id = :id")
   Optional<Repair> findByIdWithLock(@Param("id") Long id);
 
+  /** The bicycle, which is locked before its repair; read without loading the repair. */
+  @Query("SELECT r.bicycle.id FROM Repair r WHERE r.id = :id")
+  Optional<Long> findBicycleIdById(@Param("id") Long id);
+
   boolean existsByBicycleIdAndStatus(Long bicycleId, RepairStatus status);
 }
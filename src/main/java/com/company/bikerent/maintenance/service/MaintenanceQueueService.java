@@ -0,0 +1,257 @@
+package com.company.bikerent.maintenance.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.company.bikerent.bicycle.domain.Bicycle;
+import com.company.bikerent.bicycle.domain.BicycleStatus;
+import com.company.bikerent.bicycle.domain.BicycleType;
+import com.company.bikerent.bicycle.dto.BicycleDto;
+import com.company.bikerent.bicycle.mapper.BicycleMapper;
+import com.company.bikerent.bicycle.repository.BicycleRepository;
+import com.company.bikerent.common.collection.IndexedMaxHeap;
+import com.company.bikerent.maintenance.domain.MaintenanceScore;
+import com.company.bikerent.maintenance.dto.MaintenancePriorityDto;
+import com.company.bikerent.maintenance.event.RepairCompletedEvent;
+import com.company.bikerent.maintenance.event.RepairStartedEvent;
+import com.company.bikerent.maintenance.repository.BicycleWearRepository;
+import com.company.bikerent.maintenance.repository.BicycleWearRepository.BicycleWear;
+import com.company.bikerent.rental.event.RentalAbandonedEvent;
+import com.company.bikerent.rental.event.RentalCompletedEvent;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory maintenance priority queue. Loaded once at startup and then kept current from rental
+ * and repair events, so technicians get the most worn bicycles without scanning the fleet. Bicycles
+ * under maintenance or missing are kept out of the queue until they return to service.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MaintenanceQueueService {
+
+  private static final int LOAD_CHUNK_SIZE = 1000;
+
+  private final BicycleWearRepository wearRepository;
+  private final BicycleRepository bicycleRepository;
+  private final BicycleMapper bicycleMapper;
+
+  // Guarded by this
+  private final IndexedMaxHeap queue = new IndexedMaxHeap(1024);
+  private final Map<Long, Wear> wearByBicycle = new HashMap<>();
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    long afterId = 0L;
+    List<BicycleWear> chunk;
+    do {
+      chunk = wearRepository.findChunk(afterId, LOAD_CHUNK_SIZE);
+      synchronized (this) {
+        chunk.forEach(this::track);
+      }
+      if (!chunk.isEmpty()) {
+        afterId = chunk.get(chunk.size() - 1).bicycleId();
+      }
+    } while (chunk.size() == LOAD_CHUNK_SIZE);
+
+    synchronized (this) {
+      log.info(
+          "Maintenance queue loaded: bicycles={}, queued={}", wearByBicycle.size(), queue.size());
+    }
+  }
+
+  @TransactionalEventListener
+  public void onRentalCompleted(RentalCompletedEvent event) {
+    synchronized (this) {
+      Wear wear = wearByBicycle.get(event.bicycleId());
+      if (wear != null) {
+        wear.mileage = event.bicycleMileage();
+        wear.ridesSinceService++;
+        rescore(event.bicycleId(), wear);
+        return;
+      }
+    }
+    reload(event.bicycleId());
+  }
+
+  @TransactionalEventListener
+  public void onRentalAbandoned(RentalAbandonedEvent event) {
+    setInService(event.bicycleId(), false);
+  }
+
+  @TransactionalEventListener
+  public void onRepairStarted(RepairStartedEvent event) {
+    setInService(event.bicycleId(), false);
+  }
+
+  @TransactionalEventListener
+  public void onRepairCompleted(RepairCompletedEvent event) {
+    synchronized (this) {
+      Wear wear = wearByBicycle.get(event.bicycleId());
+      if (wear != null) {
+        wear.mileage = 0L;
+        wear.ridesSinceService = 0L;
+        wear.repairs++;
+        wear.inService = true;
+        rescore(event.bicycleId(), wear);
+        return;
+      }
+    }
+    reload(event.bicycleId());
+  }
+
+  /** The {@code limit} bicycles most in need of maintenance, highest priority first. */
+  @Transactional(readOnly = true)
+  public List<MaintenancePriorityDto> findTopPriorities(int limit) {
+    long[] ids;
+    synchronized (this) {
+      ids = queue.top(limit);
+    }
+    Map<Long, BicycleDto> bicycles = loadBicycles(ids);
+
+    List<MaintenancePriorityDto> result = new ArrayList<>(bicycles.size());
+    synchronized (this) {
+      for (long id : ids) {
+        Wear wear = wearByBicycle.get(id);
+        BicycleDto bicycle = bicycles.get(id);
+        if (wear != null && bicycle != null) {
+          result.add(
+              new MaintenancePriorityDto(
+                  bicycle, queue.priorityOf(id), wear.ridesSinceService, wear.repairs));
+        }
+      }
+    }
+    return result;
+  }
+
+  /** Bicycles whose score has reached {@link MaintenanceScore#DUE}, highest priority first. */
+  @Transactional(readOnly = true)
+  public Page<BicycleDto> findDue(Pageable pageable) {
+    long[] ids;
+    int total;
+    synchronized (this) {
+      total = queue.countAtLeast(MaintenanceScore.DUE);
+      int end = (int) Math.min(total, pageable.getOffset() + pageable.getPageSize());
+      long[] top = queue.top(end);
+      ids = Arrays.copyOfRange(top, (int) Math.min(pageable.getOffset(), end), end);
+    }
+    Map<Long, BicycleDto> bicycles = loadBicycles(ids);
+
+    List<BicycleDto> content = new ArrayList<>(ids.length);
+    for (long id : ids) {
+      BicycleDto bicycle = bicycles.get(id);
+      if (bicycle != null) {
+        content.add(bicycle);
+      }
+    }
+    return new PageImpl<>(content, pageable, total);
+  }
+
+  /** Scores of up to {@code limit} due bicycles by id, highest priority first. */
+  public synchronized Map<Long, Double> findDueScores(int limit) {
+    int count = Math.min(limit, queue.countAtLeast(MaintenanceScore.DUE));
+    Map<Long, Double> scores = new LinkedHashMap<>();
+    for (long id : queue.top(count)) {
+      scores.put(id, queue.priorityOf(id));
+    }
+    return scores;
+  }
+
+  private Map<Long, BicycleDto> loadBicycles(long[] ids) {
+    List<Long> boxed = Arrays.stream(ids).boxed().toList();
+    Map<Long, BicycleDto> bicycles =
+        bicycleRepository.findAllById(boxed).stream()
+            .collect(Collectors.toMap(Bicycle::getId, bicycleMapper::toDto));
+    if (bicycles.size() < ids.length) {
+      // Deleted bicycles are dropped lazily
+      synchronized (this) {
+        for (long id : ids) {
+          if (!bicycles.containsKey(id)) {
+            queue.remove(id);
+            wearByBicycle.remove(id);
+          }
+        }
+      }
+    }
+    return bicycles;
+  }
+
+  private void setInService(Long bicycleId, boolean inService) {
+    synchronized (this) {
+      Wear wear = wearByBicycle.get(bicycleId);
+      if (wear != null) {
+        wear.inService = inService;
+        rescore(bicycleId, wear);
+        return;
+      }
+    }
+    reload(bicycleId);
+  }
+
+  /** Pick up a bicycle created after startup from its committed state. */
+  private void reload(Long bicycleId) {
+    wearRepository
+        .findByBicycleId(bicycleId)
+        .ifPresent(
+            wear -> {
+              synchronized (this) {
+                track(wear);
+              }
+            });
+  }
+
+  private void track(BicycleWear stats) {
+    Wear wear =
+        new Wear(
+            stats.type(),
+            stats.mileage(),
+            stats.ridesSinceService(),
+            stats.repairs(),
+            stats.status() != BicycleStatus.UNAVAILABLE);
+    wearByBicycle.put(stats.bicycleId(), wear);
+    rescore(stats.bicycleId(), wear);
+  }
+
+  private void rescore(long bicycleId, Wear wear) {
+    if (!wear.inService) {
+      queue.remove(bicycleId);
+      return;
+    }
+    queue.put(
+        bicycleId,
+        MaintenanceScore.of(wear.type, wear.mileage, wear.ridesSinceService, wear.repairs));
+  }
+
+  private static final class Wear {
+
+    private final BicycleType type;
+    private long mileage;
+    private long ridesSinceService;
+    private long repairs;
+    private boolean inService;
+
+    Wear(BicycleType type, long mileage, long ridesSinceService, long repairs, boolean inService) {
+      this.type = type;
+      this.mileage = mileage;
+      this.ridesSinceService = ridesSinceService;
+      this.repairs = repairs;
+      this.inService = inService;
+    }
+  }
+}
@@ -0,0 +1,159 @@
+package com.company.bikerent.maintenance.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.company.bikerent.common.assignment.CapacitatedAssignment;
+import com.company.bikerent.geo.domain.GeoMath;
+import com.company.bikerent.maintenance.dto.RepairDto;
+import com.company.bikerent.maintenance.repository.RepairDispatchRepository;
+import com.company.bikerent.maintenance.repository.RepairDispatchRepository.BicycleSite;
+import com.company.bikerent.maintenance.repository.RepairDispatchRepository.TechnicianSite;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Matches due bicycles from the maintenance queue to technicians. The benefit of a pair is the
+ * bicycle's maintenance score, plus a bonus when the technician specialises in its type, minus a
+ * cost per kilometre between the technician's home station and the bicycle. Each repair a
+ * technician already has open, and each one handed out in the same batch, makes the next one less
+ * attractive, so work spreads out. The whole batch is solved as one optimal assignment.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RepairDispatchService {
+
+  static final String AUTO_ASSIGN_DESCRIPTION = "Scheduled maintenance (auto-assigned)";
+
+  // Benefits are integers in thousandths of a maintenance score point
+  private static final double BENEFIT_SCALE = 1000.0;
+  private static final double SPECIALIST_BONUS = 0.3;
+  private static final double DISTANCE_PENALTY_PER_KM = 0.05;
+  private static final double UNKNOWN_DISTANCE_KM = 5.0;
+  private static final double LOAD_PENALTY = 0.15;
+
+  private final MaintenanceQueueService maintenanceQueueService;
+  private final RepairDispatchRepository dispatchRepository;
+  private final RepairService repairService;
+
+  @Value("${maintenance.dispatch.max-open-repairs:3}")
+  private int maxOpenRepairs;
+
+  @Value("${maintenance.dispatch.candidates-per-technician:128}")
+  private int candidatesPerTechnician;
+
+  /**
+   * Start repairs for up to {@code limit} due bicycles, each with the technician chosen by the
+   * optimizer. Bicycles no technician can profitably take are left in the queue.
+   */
+  public List<RepairDto> autoAssign(int limit) {
+    long startedAt = System.nanoTime();
+
+    Map<Long, Double> scores = maintenanceQueueService.findDueScores(limit);
+    if (scores.isEmpty()) {
+      return List.of();
+    }
+    List<BicycleSite> bicycles = dispatchRepository.findAvailableBicycles(scores.keySet());
+    List<TechnicianSite> technicians =
+        dispatchRepository.findTechnicians().stream()
+            .filter(technician -> technician.openRepairs() < maxOpenRepairs)
+            .toList();
+    if (bicycles.isEmpty() || technicians.isEmpty()) {
+      return List.of();
+    }
+
+    int[][] candidates = new int[technicians.size()][];
+    long[][] benefits = new long[technicians.size()][];
+    long[][] slotPenalties = new long[technicians.size()][];
+    long[] ranked = new long[bicycles.size()];
+    for (int t = 0; t < technicians.size(); t++) {
+      TechnicianSite technician = technicians.get(t);
+      int count = rankCandidates(technician, bicycles, scores, ranked);
+      candidates[t] = new int[count];
+      benefits[t] = new long[count];
+      for (int k = 0; k < count; k++) {
+        long packed = ranked[ranked.length - 1 - k];
+        candidates[t][k] = (int) packed;
+        benefits[t][k] = packed >> 32;
+      }
+      slotPenalties[t] = new long[maxOpenRepairs - technician.openRepairs()];
+      for (int slot = 0; slot < slotPenalties[t].length; slot++) {
+        slotPenalties[t][slot] =
+            Math.round(LOAD_PENALTY * (technician.openRepairs() + slot) * BENEFIT_SCALE);
+      }
+    }
+
+    int[] assignment =
+        CapacitatedAssignment.solve(bicycles.size(), candidates, benefits, slotPenalties);
+
+    // Sorted by bicycle id so that concurrent dispatches lock bicycles in the same order
+    SortedMap<Long, Long> technicianByBicycle = new TreeMap<>();
+    for (int b = 0; b < assignment.length; b++) {
+      if (assignment[b] >= 0) {
+        technicianByBicycle.put(bicycles.get(b).id(), technicians.get(assignment[b]).id());
+      }
+    }
+    long planningMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+    List<RepairDto> started =
+        repairService.startAssigned(technicianByBicycle, AUTO_ASSIGN_DESCRIPTION);
+    log.info(
+        "Auto-assigned repairs: due={}, technicians={}, planned={}, started={}, planningMs={}",
+        bicycles.size(),
+        technicians.size(),
+        technicianByBicycle.size(),
+        started.size(),
+        planningMs);
+    return started;
+  }
+
+  /**
+   * Fill {@code ranked} with the bicycles worth assigning to the technician, packed as benefit in
+   * the high and bicycle index in the low 32 bits, best last.
+   *
+   * @return the number of candidates to take from the end of {@code ranked}
+   */
+  private int rankCandidates(
+      TechnicianSite technician,
+      List<BicycleSite> bicycles,
+      Map<Long, Double> scores,
+      long[] ranked) {
+    String specialization = technician.specialization().toUpperCase(Locale.ROOT);
+    int positive = 0;
+    for (int b = 0; b < bicycles.size(); b++) {
+      BicycleSite bicycle = bicycles.get(b);
+      double benefit =
+          scores.get(bicycle.id()) - DISTANCE_PENALTY_PER_KM * distanceKm(technician, bicycle);
+      if (specialization.contains(bicycle.type().name())) {
+        benefit += SPECIALIST_BONUS;
+      }
+      long scaled = Math.round(benefit * BENEFIT_SCALE);
+      // Pairs worth nothing can never beat leaving the bicycle unassigned
+      ranked[b] = scaled > 0 ? (scaled << 32) | b : 0L;
+      if (scaled > 0) {
+        positive++;
+      }
+    }
+    Arrays.sort(ranked);
+    return Math.min(positive, candidatesPerTechnician);
+  }
+
+  private static double distanceKm(TechnicianSite technician, BicycleSite bicycle) {
+    if (technician.latitude() == null || bicycle.latitude() == null) {
+      return UNKNOWN_DISTANCE_KM;
+    }
+    return GeoMath.haversineMeters(
+            technician.latitude(), technician.longitude(), bicycle.latitude(), bicycle.longitude())
+        / 1000.0;
+  }
+}
@@ -1,5 +1,11 @@
 package com.company.bikerent.maintenance.service;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SortedMap;
+
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -7,15 +13,18 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.company.bikerent.bicycle.domain.Bicycle;
 import com.company.bikerent.bicycle.dto.BicycleDto;
-import com.company.bikerent.bicycle.mapper.BicycleMapper;
 import com.company.bikerent.bicycle.repository.BicycleRepository;
 import com.company.bikerent.common.exception.BusinessException;
 import com.company.bikerent.common.exception.EntityNotFoundException;
+import com.company.bikerent.common.transaction.RetryableTransaction;
 import com.company.bikerent.maintenance.domain.Repair;
 import com.company.bikerent.maintenance.domain.RepairStatus;
 import com.company.bikerent.maintenance.domain.Technician;
 import com.company.bikerent.maintenance.dto.CreateRepairRequest;
+import com.company.bikerent.maintenance.dto.MaintenancePriorityDto;
 import com.company.bikerent.maintenance.dto.RepairDto;
+import com.company.bikerent.maintenance.event.RepairCompletedEvent;
+import com.company.bikerent.maintenance.event.RepairStartedEvent;
 import com.company.bikerent.maintenance.mapper.RepairMapper;
 import com.company.bikerent.maintenance.repository.RepairRepository;
 import com.company.bikerent.maintenance.repository.TechnicianRepository;
@@ -28,13 +37,12 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class RepairService {
 
-  private static final Long SERVICE_THRESHOLD_MILEAGE = 50L;
-
   private final RepairRepository repairRepository;
   private final BicycleRepository bicycleRepository;
   private final TechnicianRepository technicianRepository;
   private final RepairMapper repairMapper;
-  private final BicycleMapper bicycleMapper;
+  private final MaintenanceQueueService maintenanceQueueService;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Transactional(readOnly = true)
   public Page<RepairDto> findAll(Pageable pageable) {
@@ -50,14 +58,16 @@ public class RepairService {
     return repairMapper.toDto(repair);
   }
 
-  @Transactional(readOnly = true)
   public Page<BicycleDto> findScheduledForMaintenance(Pageable pageable) {
-    return bicycleRepository
-        .findBicyclesNeedingService(SERVICE_THRESHOLD_MILEAGE, pageable)
-        .map(bicycleMapper::toDto);
+    return maintenanceQueueService.findDue(pageable);
+  }
+
+  public List<MaintenancePriorityDto> findPriorities(int limit) {
+    return maintenanceQueueService.findTopPriorities(limit);
   }
 
   /** Start a new repair with pessimistic locking to prevent concurrent repairs */
+  @RetryableTransaction
   @Transactional
   public RepairDto create(CreateRepairRequest request) {
     log.info(
@@ -86,16 +96,55 @@ public class RepairService {
     // Save entities
     bicycleRepository.save(bicycle);
     Repair saved = repairRepository.save(repair);
+    eventPublisher.publishEvent(new RepairStartedEvent(saved.getId(), bicycle.getId()));
 
     log.info("Repair created: id={}", saved.getId());
     return repairMapper.toDto(saved);
   }
 
+  /**
+   * Start the repairs of a dispatch plan in one transaction. Bicycles are locked in key order;
+   * those rented out or taken into repair since the plan was made are skipped.
+   */
+  @RetryableTransaction
+  @Transactional
+  public List<RepairDto> startAssigned(
+      SortedMap<Long, Long> technicianByBicycle, String description) {
+    List<RepairDto> started = new ArrayList<>(technicianByBicycle.size());
+    technicianByBicycle.forEach(
+        (bicycleId, technicianId) -> {
+          Optional<Bicycle> bicycle = bicycleRepository.findByIdWithLock(bicycleId);
+          if (bicycle.isEmpty()
+              || !bicycle.get().isAvailable()
+              || repairRepository.existsByBicycleIdAndStatus(bicycleId, RepairStatus.IN_PROGRESS)) {
+            log.debug("Skipping dispatch of bicycle {}: no longer available", bicycleId);
+            return;
+          }
+          Repair repair =
+              Repair.startRepair(
+                  bicycle.get(), technicianRepository.getReferenceById(technicianId), description);
+          bicycleRepository.save(bicycle.get());
+          Repair saved = repairRepository.save(repair);
+          eventPublisher.publishEvent(new RepairStartedEvent(saved.getId(), bicycleId));
+          started.add(repairMapper.toDto(saved));
+        });
+    return started;
+  }
+
   /** Complete an active repair with pessimistic locking */
+  @RetryableTransaction
   @Transactional
   public RepairDto complete(Long repairId) {
     log.info("Completing repair: id={}", repairId);
 
+    // Lock order: the bicycle, then its repair
+    Long bicycleId =
+        repairRepository
+            .findBicycleIdById(repairId)
+            .orElseThrow(() -> new EntityNotFoundException(Repair.class, repairId));
+    bicycleRepository
+        .findByIdWithLock(bicycleId)
+        .orElseThrow(() -> new EntityNotFoundException(Bicycle.class, bicycleId));
     Repair repair =
         repairRepository
             .findByIdWithLock(repairId)
@@ -111,6 +160,8 @@ public class RepairService {
     // Save bicycle and repair
     bicycleRepository.save(repair.getBicycle());
     Repair saved = repairRepository.save(repair);
+    eventPublisher.publishEvent(
+        new RepairCompletedEvent(saved.getId(), saved.getBicycle().getId()));
 
     log.info("Repair completed: id={}", saved.getId());
     return repairMapper.toDto(saved);
@@ -11,6 +11,8 @@ import com.company.bikerent.maintenance.dto.CreateTechnicianRequest;
 import com.company.bikerent.maintenance.dto.TechnicianDto;
 import com.company.bikerent.maintenance.mapper.TechnicianMapper;
 import com.company.bikerent.maintenance.repository.TechnicianRepository;
+import com.company.bikerent.station.domain.Station;
+import com.company.bikerent.station.repository.StationRepository;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,6 +24,7 @@ public class TechnicianService {
 
   private final TechnicianRepository technicianRepository;
   private final TechnicianMapper technicianMapper;
+  private final StationRepository stationRepository;
 
   @Transactional(readOnly = true)
   public Page<TechnicianDto> findAll(Pageable pageable) {
@@ -42,6 +45,12 @@ public class TechnicianService {
     log.info("Creating new technician: {}", request.name());
 
     Technician technician = technicianMapper.toEntity(request);
+    if (request.stationId() != null) {
+      technician.setStation(
+          stationRepository
+              .findById(request.stationId())
+              .orElseThrow(() -> new EntityNotFoundException(Station.class, request.stationId())));
+    }
     Technician saved = technicianRepository.save(technician);
 
     log.info("Technician created with ID: {}", saved.getId());
@@ -7,14 +7,17 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.company.bikerent.rental.dto.CompleteRentalRequest;
 import com.company.bikerent.rental.dto.CreateRentalRequest;
 import com.company.bikerent.rental.dto.RentalDto;
 import com.company.bikerent.rental.service.RentalService;
+import com.company.bikerent.telemetry.service.TripTraceService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -30,6 +33,7 @@ import lombok.RequiredArgsConstructor;
 public class RentalController {
 
   private final RentalService rentalService;
+  private final TripTraceService tripTraceService;
 
   @GetMapping
   @Operation(summary = "Get all rentals")
@@ -50,6 +54,25 @@ public class RentalController {
     return ResponseEntity.ok(rentalService.findById(id));
   }
 
+  @GetMapping(value = "/{id}/trace", produces = MediaType.APPLICATION_JSON_VALUE)
+  @Operation(summary = "Get the GPS trace of a rental as [timestamp, latitude, longitude] points")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Trace found"),
+        @ApiResponse(responseCode = "403", description = "Rental of another user"),
+        @ApiResponse(responseCode = "404", description = "Rental not found")
+      })
+  public ResponseEntity<StreamingResponseBody> findTrace(@PathVariable @Positive Long id) {
+    byte[] trace = tripTraceService.findTrace(id);
+    return ResponseEntity.ok(out -> tripTraceService.writeJson(id, trace, out));
+  }
+
+  @GetMapping(value = "/{id}/trace", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+  @Operation(summary = "Get the GPS trace of a rental in its compact binary encoding")
+  public ResponseEntity<byte[]> findEncodedTrace(@PathVariable @Positive Long id) {
+    return ResponseEntity.ok(tripTraceService.findTrace(id));
+  }
+
   @GetMapping("/user/{userId}")
   @Operation(summary = "Get rentals by user ID")
   public ResponseEntity<Page<RentalDto>> findByUserId(
@@ -57,6 +80,17 @@ public class RentalController {
     return ResponseEntity.ok(rentalService.findByUserId(userId, pageable));
   }
 
+  @GetMapping("/user/{userId}/active")
+  @Operation(summary = "Get the active rental of a user")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Active rental found"),
+        @ApiResponse(responseCode = "404", description = "User has no active rental")
+      })
+  public ResponseEntity<RentalDto> findActiveByUserId(@PathVariable @Positive Long userId) {
+    return ResponseEntity.of(rentalService.findActiveByUserId(userId));
+  }
+
   @PostMapping
   @Operation(summary = "Start a new rental")
   @ApiResponses(
@@ -74,15 +108,25 @@ public class RentalController {
   }
 
   @PutMapping("/{id}/complete")
-  @Operation(summary = "Complete an active rental")
+  @Operation(
+      summary = "Complete an active rental",
+      description =
+          "The bicycle is returned to end_station, or to the station whose return zone contains"
+              + " location.")
   @ApiResponses(
       value = {
         @ApiResponse(responseCode = "200", description = "Rental completed"),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Neither or both of end_station and location given"),
         @ApiResponse(responseCode = "404", description = "Rental or station not found"),
         @ApiResponse(
             responseCode = "409",
             description = "Rental already completed or concurrent modification"),
-        @ApiResponse(responseCode = "422", description = "Rental is not active")
+        @ApiResponse(
+            responseCode = "422",
+            description =
+                "Rental is not active, location outside every return zone, or station full")
       })
   public ResponseEntity<RentalDto> complete(
       @PathVariable @Positive Long id, @Valid @RequestBody CompleteRentalRequest request) {
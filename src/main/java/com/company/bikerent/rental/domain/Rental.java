@@ -29,6 +29,9 @@ public class Rental {
 
   private static final double COST_PER_MINUTE = 6.0;
 
+  /** Average riding speed used to estimate mileage for rentals without GPS telemetry. */
+  private static final double FALLBACK_KM_PER_MINUTE = 0.25;
+
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Long id;
@@ -71,6 +74,13 @@ public class Rental {
   @Builder.Default
   private Double cost = 0.0;
 
+  /**
+   * Distance measured from GPS telemetry. Written only by the telemetry pipeline with an atomic
+   * increment, so Hibernate must never overwrite it with a stale value.
+   */
+  @Column(name = "distance_meters", insertable = false, updatable = false)
+  private Double distanceMeters;
+
   // Domain methods
   public boolean isActive() {
     return status == RentalStatus.ACTIVE;
@@ -84,10 +94,21 @@ public class Rental {
     return status == RentalStatus.CANCELLED;
   }
 
+  public boolean isAbandoned() {
+    return status == RentalStatus.ABANDONED;
+  }
+
+  public boolean isOverdue(LocalDateTime cutoff) {
+    return isActive() && rentalStartedAt != null && rentalStartedAt.isBefore(cutoff);
+  }
+
   public void complete(Station endStation) {
     if (!isActive()) {
       throw new IllegalStateException("Cannot complete a rental that is not active");
     }
+    if (!endStation.hasFreeDock()) {
+      throw new IllegalStateException("End station has no free dock");
+    }
 
     this.endStation = endStation;
     this.rentalEndedAt = LocalDateTime.now();
@@ -111,6 +132,25 @@ public class Rental {
     this.bicycle.endRental(this.startStation);
   }
 
+  /**
+   * Close a rental that was never returned. The user pays the usual per-minute price plus the
+   * penalty, and the bicycle is taken out of service until it is recovered.
+   */
+  public void abandon(double penalty) {
+    if (!isActive()) {
+      throw new IllegalStateException("Cannot abandon a rental that is not active");
+    }
+    if (penalty < 0) {
+      throw new IllegalArgumentException("Penalty cannot be negative");
+    }
+
+    this.rentalEndedAt = LocalDateTime.now();
+    this.status = RentalStatus.ABANDONED;
+    this.cost = calculateCost() + penalty;
+
+    this.bicycle.reportMissing();
+  }
+
   public Double calculateCost() {
     if (rentalStartedAt == null || rentalEndedAt == null) {
       return 0.0;
@@ -129,9 +169,16 @@ public class Rental {
     return Duration.between(rentalStartedAt, endTime).toMinutes();
   }
 
+  /** Distance ridden in whole kilometres, estimated from the duration if no GPS was received. */
+  public long getDistanceInKilometres() {
+    if (distanceMeters != null) {
+      return Math.round(distanceMeters / 1000.0);
+    }
+    return Math.round(getDurationInMinutes() * FALLBACK_KM_PER_MINUTE);
+  }
+
   public void updateMileage() {
-    long duration = getDurationInMinutes();
-    bicycle.addMileage(duration);
+    bicycle.addMileage(getDistanceInKilometres());
   }
 
   public static Rental startRental(User user, Bicycle bicycle, Station startStation) {
@@ -3,5 +3,6 @@ package com.company.bikerent.rental.domain;
 public enum RentalStatus {
   ACTIVE,
   ENDED,
-  CANCELLED
+  CANCELLED,
+  ABANDONED
 }
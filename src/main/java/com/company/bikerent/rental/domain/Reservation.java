@@ -0,0 +1,113 @@
+package com.company.bikerent.rental.domain;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import com.company.bikerent.bicycle.domain.Bicycle;
+import com.company.bikerent.user.domain.User;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Short-lived hold on a bicycle. While a reservation is active the bicycle is {@code RESERVED} and
+ * can only be rented by the user holding it.
+ */
+@Entity
+@Table(name = "reservation")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Reservation {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Version private Long version;
+
+  @NotNull(message = "User is required")
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "user_id", nullable = false)
+  private User user;
+
+  @NotNull(message = "Bicycle is required")
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "bicycle_id", nullable = false)
+  private Bicycle bicycle;
+
+  @NotNull(message = "Status is required")
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", nullable = false)
+  @Builder.Default
+  private ReservationStatus status = ReservationStatus.ACTIVE;
+
+  @CreationTimestamp
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private LocalDateTime createdAt;
+
+  @NotNull(message = "Expiry is required")
+  @Column(name = "expires_at", nullable = false)
+  private LocalDateTime expiresAt;
+
+  @Column(name = "ended_at")
+  private LocalDateTime endedAt;
+
+  // Domain methods
+  public boolean isActive() {
+    return status == ReservationStatus.ACTIVE;
+  }
+
+  public boolean isOverdue(LocalDateTime now) {
+    return !expiresAt.isAfter(now);
+  }
+
+  public boolean isHeldBy(Long userId) {
+    return user.getId().equals(userId);
+  }
+
+  /** Release the bicycle because the hold ran out. */
+  public void expire() {
+    end(ReservationStatus.EXPIRED);
+  }
+
+  /** Release the bicycle so that the holder can start a rental on it. */
+  public void convert() {
+    end(ReservationStatus.CONVERTED);
+  }
+
+  private void end(ReservationStatus endStatus) {
+    if (!isActive()) {
+      throw new IllegalStateException("Reservation is not active");
+    }
+    this.status = endStatus;
+    this.endedAt = LocalDateTime.now();
+    this.bicycle.releaseReservation();
+  }
+
+  public static Reservation hold(User user, Bicycle bicycle, long holdMs) {
+    if (!user.canRentBicycle()) {
+      throw new IllegalStateException(
+          "User cannot reserve a bicycle with zero balance or non-zero debt");
+    }
+
+    bicycle.reserve();
+
+    return Reservation.builder()
+        .user(user)
+        .bicycle(bicycle)
+        .status(ReservationStatus.ACTIVE)
+        .expiresAt(LocalDateTime.now().plus(holdMs, ChronoUnit.MILLIS))
+        .build();
+  }
+}
@@ -0,0 +1,8 @@
+package com.company.bikerent.rental.domain;
+
+public enum ReservationStatus {
+  ACTIVE,
+  EXPIRED,
+  CONVERTED,
+  CANCELLED
+}
@@ -1,9 +1,19 @@
 package com.company.bikerent.rental.dto;
 
-import jakarta.validation.constraints.NotNull;
+import jakarta.validation.Valid;
 
+import com.company.bikerent.geo.dto.CoordinatesDto;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+/**
+ * Where the bicycle is returned: a station, or a location inside one of the stations' return zones.
+ * Exactly one of the two is given.
+ */
 public record CompleteRentalRequest(
-    @NotNull(message = "End station ID is required") @JsonProperty("end_station")
-        Long endStationId) {}
+    @JsonProperty("end_station") Long endStationId,
+    @Valid @JsonProperty("location") CoordinatesDto location) {
+
+  public CompleteRentalRequest(Long endStationId) {
+    this(endStationId, null);
+  }
+}
@@ -0,0 +1,13 @@
+package com.company.bikerent.rental.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record ReservationDto(
+    @JsonProperty("id") Long id,
+    @JsonProperty("user") Long userId,
+    @JsonProperty("bicycle") Long bicycleId,
+    @JsonProperty("status") String status,
+    @JsonProperty("created_at") LocalDateTime createdAt,
+    @JsonProperty("expires_at") LocalDateTime expiresAt) {}
@@ -0,0 +1,13 @@
+package com.company.bikerent.rental.event;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/** Published when an overdue rental is closed by the abandoned-rental sweeper. */
+public record RentalAbandonedEvent(
+    @JsonProperty("rental") Long rentalId,
+    @JsonProperty("user") Long userId,
+    @JsonProperty("bicycle") Long bicycleId,
+    @JsonProperty("started_at") LocalDateTime startedAt,
+    @JsonProperty("cost") Double cost) {}
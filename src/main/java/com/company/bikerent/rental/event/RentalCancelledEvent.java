@@ -0,0 +1,4 @@
+package com.company.bikerent.rental.event;
+
+/** Published when an active rental is cancelled. */
+public record RentalCancelledEvent(Long rentalId, Long userId, Long bicycleId) {}
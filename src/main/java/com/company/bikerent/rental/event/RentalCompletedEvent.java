@@ -0,0 +1,13 @@
+package com.company.bikerent.rental.event;
+
+import java.time.LocalDateTime;
+
+/** Published when a rental is completed at a station. */
+public record RentalCompletedEvent(
+    Long rentalId,
+    Long userId,
+    Long bicycleId,
+    Long startStationId,
+    Long endStationId,
+    Long bicycleMileage,
+    LocalDateTime completedAt) {}
@@ -0,0 +1,4 @@
+package com.company.bikerent.rental.event;
+
+/** Published when a rental starts. */
+public record RentalStartedEvent(Long rentalId, Long userId, Long bicycleId) {}
@@ -0,0 +1,17 @@
+package com.company.bikerent.rental.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+
+import com.company.bikerent.rental.domain.Reservation;
+import com.company.bikerent.rental.dto.ReservationDto;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface ReservationMapper {
+
+  @Mapping(source = "user.id", target = "userId")
+  @Mapping(source = "bicycle.id", target = "bicycleId")
+  @Mapping(expression = "java(reservation.getStatus().name())", target = "status")
+  ReservationDto toDto(Reservation reservation);
+}
@@ -1,5 +1,8 @@
 package com.company.bikerent.rental.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import jakarta.persistence.LockModeType;
@@ -28,8 +31,86 @@ public interface RentalRepository extends JpaRepository<Rental, Long> {
   @Query("SELECT r FROM Rental r WHERE r.id = :id")
   Optional<Rental> findByIdWithLock(@Param("id") Long id);
 
+  /** Lock rentals in ascending id order. */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT r FROM Rental r WHERE r.id IN :ids ORDER BY r.id")
+  List<Rental> findAllByIdWithLock(@Param("ids") Collection<Long> ids);
+
+  /** The bicycle, which is locked before its rental; read without loading the rental. */
+  @Query("SELECT r.bicycle.id FROM Rental r WHERE r.id = :id")
+  Optional<Long> findBicycleIdById(@Param("id") Long id);
+
+  /** Owner of a rental, for access checks without loading the rental. */
+  @Query("SELECT r.user.id FROM Rental r WHERE r.id = :id")
+  Optional<Long> findUserIdById(@Param("id") Long id);
+
+  @Query("SELECT r.bicycle.id FROM Rental r WHERE r.id IN :ids")
+  List<Long> findBicycleIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+  /** The user's rentals written by transactions at or after the given one (see V13). */
+  @Query(
+      value =
+          "SELECT * FROM rental WHERE user_id = :userId "
+              + "AND change_txid >= CAST(CAST(:since AS text) AS xid8) ORDER BY id",
+      nativeQuery = true)
+  List<Rental> findChangedSince(@Param("userId") Long userId, @Param("since") long since);
+
   @Query("SELECT r FROM Rental r WHERE r.user.id = :userId AND r.status = 'ACTIVE'")
   Optional<Rental> findActiveRentalByUserId(@Param("userId") Long userId);
 
   boolean existsByBicycleIdAndStatus(Long bicycleId, RentalStatus status);
+
+  /** Every active rental, read from the idx_active_rentals partial index alone (see V15). */
+  @Query(
+      value =
+          "SELECT r.id AS \"id\", r.user_id AS \"userId\", r.bicycle_id AS \"bicycleId\" "
+              + "FROM rental r WHERE r.status = 'ACTIVE'",
+      nativeQuery = true)
+  List<ActiveRentalEntry> findAllActive();
+
+  @Query(
+      "SELECT r.bicycle.id AS bicycleId, r.id AS id FROM Rental r "
+          + "WHERE r.status = 'ACTIVE' AND r.bicycle.id IN :bicycleIds")
+  List<BicycleRentalKey> findActiveRentalsByBicycleIds(
+      @Param("bicycleIds") Collection<Long> bicycleIds);
+
+  /**
+   * Next chunk of active rentals started before the cutoff, keyset-paginated on (user_id, id). The
+   * literal status predicate lets PostgreSQL walk the idx_active_rentals partial index.
+   */
+  @Query(
+      value =
+          "SELECT r.id AS \"id\", r.user_id AS \"userId\" FROM rental r "
+              + "WHERE r.status = 'ACTIVE' AND r.rental_started_at < :cutoff "
+              + "AND (r.user_id, r.id) > (:afterUserId, :afterId) "
+              + "ORDER BY r.user_id, r.id LIMIT :limit",
+      nativeQuery = true)
+  List<ActiveRentalKey> findOverdueActiveRentals(
+      @Param("cutoff") LocalDateTime cutoff,
+      @Param("afterUserId") long afterUserId,
+      @Param("afterId") long afterId,
+      @Param("limit") int limit);
+
+  /** Active rental of a bicycle. */
+  interface BicycleRentalKey {
+    Long getBicycleId();
+
+    Long getId();
+  }
+
+  /** An active rental with its user and bicycle. */
+  interface ActiveRentalEntry {
+    Long getId();
+
+    Long getUserId();
+
+    Long getBicycleId();
+  }
+
+  /** Keyset position of an active rental. */
+  interface ActiveRentalKey {
+    Long getId();
+
+    Long getUserId();
+  }
 }
@@ -0,0 +1,60 @@
+package com.company.bikerent.rental.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import jakarta.persistence.LockModeType;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.company.bikerent.bicycle.domain.BicycleStatus;
+import com.company.bikerent.rental.domain.Reservation;
+import com.company.bikerent.rental.domain.ReservationStatus;
+
+@Repository
+public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+
+  List<Reservation> findAllByStatus(ReservationStatus status);
+
+  Optional<Reservation> findByBicycleIdAndStatus(Long bicycleId, ReservationStatus status);
+
+  boolean existsByUserIdAndStatus(Long userId, ReservationStatus status);
+
+  @Query("SELECT r.bicycle.id FROM Reservation r WHERE r.id = :id")
+  Optional<Long> findBicycleIdById(@Param("id") Long id);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT r FROM Reservation r WHERE r.id = :id")
+  Optional<Reservation> findByIdWithLock(@Param("id") Long id);
+
+  @Query("SELECT r.bicycle.id FROM Reservation r WHERE r.status = :active AND r.expiresAt <= :now")
+  List<Long> findOverdueBicycleIds(
+      @Param("now") LocalDateTime now, @Param("active") ReservationStatus active);
+
+  /** Put bicycles held by overdue reservations back into circulation. */
+  @Modifying
+  @Query(
+      "UPDATE Bicycle b SET b.status = :available, b.version = b.version + 1 "
+          + "WHERE b.status = :reserved AND b.id IN (SELECT r.bicycle.id FROM Reservation r "
+          + "WHERE r.status = :active AND r.expiresAt <= :now)")
+  int releaseOverdueBicycles(
+      @Param("now") LocalDateTime now,
+      @Param("active") ReservationStatus active,
+      @Param("reserved") BicycleStatus reserved,
+      @Param("available") BicycleStatus available);
+
+  @Modifying
+  @Query(
+      "UPDATE Reservation r SET r.status = :expired, r.endedAt = :now, r.version = r.version + 1 "
+          + "WHERE r.status = :active AND r.expiresAt <= :now")
+  int markOverdueExpired(
+      @Param("now") LocalDateTime now,
+      @Param("active") ReservationStatus active,
+      @Param("expired") ReservationStatus expired);
+}
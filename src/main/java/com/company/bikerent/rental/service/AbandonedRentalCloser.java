@@ -0,0 +1,80 @@
+package com.company.bikerent.rental.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.company.bikerent.bicycle.repository.BicycleRepository;
+import com.company.bikerent.common.transaction.RetryableTransaction;
+import com.company.bikerent.rental.domain.Rental;
+import com.company.bikerent.rental.event.RentalAbandonedEvent;
+import com.company.bikerent.rental.repository.RentalRepository;
+import com.company.bikerent.user.domain.User;
+import com.company.bikerent.user.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/** Closes one batch of abandoned rentals per transaction on behalf of the sweeper. */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AbandonedRentalCloser {
+
+  private final RentalRepository rentalRepository;
+  private final BicycleRepository bicycleRepository;
+  private final UserRepository userRepository;
+  private final ApplicationEventPublisher eventPublisher;
+
+  /**
+   * Abandon every rental in the batch that is still active and overdue. Rentals completed since the
+   * candidate scan are skipped.
+   *
+   * <p>Locks follow the global order of {@link RetryableTransaction}: every bicycle of the batch,
+   * then the rentals, then their users, each in ascending id order.
+   *
+   * @param rentalIds rental ids in ascending order, so concurrent batches lock in the same order
+   * @return number of rentals closed
+   */
+  @RetryableTransaction
+  @Transactional
+  public int closeBatch(List<Long> rentalIds, LocalDateTime cutoff, double penalty) {
+    bicycleRepository.findAllByIdWithLock(rentalRepository.findBicycleIdsByIdIn(rentalIds));
+    List<Rental> overdue =
+        rentalRepository.findAllByIdWithLock(rentalIds).stream()
+            .filter(rental -> rental.isOverdue(cutoff))
+            .toList();
+    Map<Long, User> users =
+        userRepository
+            .findAllByIdWithLock(overdue.stream().map(rental -> rental.getUser().getId()).toList())
+            .stream()
+            .collect(Collectors.toMap(User::getId, Function.identity()));
+
+    for (Rental rental : overdue) {
+      rental.abandon(penalty);
+
+      User user = users.get(rental.getUser().getId());
+      user.chargeForRental(rental.getCost());
+      userRepository.save(user);
+
+      bicycleRepository.save(rental.getBicycle());
+      rentalRepository.save(rental);
+
+      eventPublisher.publishEvent(
+          new RentalAbandonedEvent(
+              rental.getId(),
+              user.getId(),
+              rental.getBicycle().getId(),
+              rental.getRentalStartedAt(),
+              rental.getCost()));
+      log.info("Rental abandoned: id={}, cost={}", rental.getId(), rental.getCost());
+    }
+    return overdue.size();
+  }
+}
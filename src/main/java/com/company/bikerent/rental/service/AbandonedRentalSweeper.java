@@ -0,0 +1,175 @@
+package com.company.bikerent.rental.service;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.company.bikerent.rental.repository.RentalRepository;
+import com.company.bikerent.rental.repository.RentalRepository.ActiveRentalKey;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Finds rentals that have been active for longer than the configured limit and closes them with a
+ * penalty. Each sweep is incremental: it resumes from where the previous one stopped, processes a
+ * bounded number of rentals and backs off as soon as the connection pool is busy, so it never
+ * competes with request traffic for connections.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AbandonedRentalSweeper {
+
+  private final RentalRepository rentalRepository;
+  private final AbandonedRentalCloser closer;
+  private final DataSource dataSource;
+
+  @Value("${rental.abandoned.max-duration-ms:86400000}")
+  private long maxDurationMs;
+
+  @Value("${rental.abandoned.penalty:500.0}")
+  private double penalty;
+
+  @Value("${rental.abandoned.chunk-size:200}")
+  private int chunkSize;
+
+  @Value("${rental.abandoned.batch-size:50}")
+  private int batchSize;
+
+  @Value("${rental.abandoned.parallelism:2}")
+  private int parallelism;
+
+  @Value("${rental.abandoned.max-per-sweep:1000}")
+  private int maxPerSweep;
+
+  @Value("${rental.abandoned.max-pool-usage:0.5}")
+  private double maxPoolUsage;
+
+  private ExecutorService executor;
+
+  // Keyset cursor; only touched by the scheduler thread
+  private long cursorUserId;
+  private long cursorId;
+
+  @PostConstruct
+  void startExecutor() {
+    AtomicInteger index = new AtomicInteger();
+    executor =
+        Executors.newFixedThreadPool(
+            parallelism,
+            runnable -> {
+              Thread thread =
+                  new Thread(runnable, "abandoned-rental-sweeper-" + index.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  @PreDestroy
+  void stopExecutor() {
+    executor.shutdownNow();
+  }
+
+  @Scheduled(
+      fixedDelayString = "${rental.abandoned.sweep-interval-ms:300000}",
+      initialDelayString = "${rental.abandoned.initial-delay-ms:60000}")
+  public void sweep() {
+    LocalDateTime cutoff = LocalDateTime.now().minus(maxDurationMs, ChronoUnit.MILLIS);
+    int scanned = 0;
+    int closed = 0;
+
+    while (scanned < maxPerSweep) {
+      if (isPoolBusy()) {
+        log.debug("Connection pool busy, deferring abandoned rental sweep");
+        break;
+      }
+
+      List<ActiveRentalKey> chunk =
+          rentalRepository.findOverdueActiveRentals(
+              cutoff, cursorUserId, cursorId, Math.min(chunkSize, maxPerSweep - scanned));
+      if (chunk.isEmpty()) {
+        resetCursor();
+        break;
+      }
+
+      ActiveRentalKey last = chunk.get(chunk.size() - 1);
+      cursorUserId = last.getUserId();
+      cursorId = last.getId();
+
+      closed += closeInParallel(chunk, cutoff);
+      scanned += chunk.size();
+    }
+
+    if (closed > 0) {
+      log.info("Abandoned rental sweep closed {} of {} overdue rentals", closed, scanned);
+    }
+  }
+
+  private int closeInParallel(List<ActiveRentalKey> chunk, LocalDateTime cutoff) {
+    List<Long> ids = new ArrayList<>(chunk.size());
+    for (ActiveRentalKey key : chunk) {
+      ids.add(key.getId());
+    }
+    ids.sort(null);
+
+    List<CompletableFuture<Integer>> batches = new ArrayList<>();
+    for (int from = 0; from < ids.size(); from += batchSize) {
+      List<Long> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+      batches.add(
+          CompletableFuture.supplyAsync(() -> closer.closeBatch(batch, cutoff, penalty), executor)
+              .exceptionally(
+                  e -> {
+                    // The batch rolled back; its rentals are picked up again on the next pass
+                    log.warn("Failed to close abandoned rental batch {}", batch, e);
+                    return 0;
+                  }));
+    }
+
+    int closed = 0;
+    for (CompletableFuture<Integer> batch : batches) {
+      closed += batch.join();
+    }
+    return closed;
+  }
+
+  private boolean isPoolBusy() {
+    try {
+      if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+        return false;
+      }
+      HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+      HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+      if (pool == null) {
+        return false;
+      }
+      int needed = pool.getActiveConnections() + parallelism;
+      return pool.getThreadsAwaitingConnection() > 0
+          || needed > hikari.getMaximumPoolSize() * maxPoolUsage;
+    } catch (SQLException e) {
+      return false;
+    }
+  }
+
+  private void resetCursor() {
+    cursorUserId = 0L;
+    cursorId = 0L;
+  }
+}
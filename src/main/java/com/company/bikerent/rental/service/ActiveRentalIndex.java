@@ -0,0 +1,326 @@
+package com.company.bikerent.rental.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.company.bikerent.common.collection.LongIntHashMap;
+import com.company.bikerent.rental.event.RentalAbandonedEvent;
+import com.company.bikerent.rental.event.RentalCancelledEvent;
+import com.company.bikerent.rental.event.RentalCompletedEvent;
+import com.company.bikerent.rental.event.RentalStartedEvent;
+import com.company.bikerent.rental.repository.RentalRepository;
+import com.company.bikerent.rental.repository.RentalRepository.ActiveRentalEntry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory index of active rentals by rental, user and bicycle. Active rentals are a small
+ * fraction of the rental table, so all of them are kept here: loaded at startup, kept current from
+ * committed rental events and periodically verified against the idx_active_rentals partial index.
+ *
+ * <p>The index only rules rentals out. Events apply after commit, so a rental that has just started
+ * may be missing for a moment; rentals lock the bicycle and check its status, which covers that
+ * window. A hit may be just as stale, so callers confirm it against the database. Until the index
+ * is loaded every lookup is a possible hit.
+ */
+@Slf4j
+@Service
+public class ActiveRentalIndex {
+
+  private static final int LOAD_ATTEMPTS = 3;
+
+  private final RentalRepository rentalRepository;
+  private final Counter mismatches;
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+  // Guarded by lock
+  private Table table = new Table(0);
+  private long modifications;
+  private volatile boolean loaded;
+
+  public ActiveRentalIndex(RentalRepository rentalRepository, MeterRegistry meterRegistry) {
+    this.rentalRepository = rentalRepository;
+    this.mismatches =
+        Counter.builder("rentals.active.index.mismatches")
+            .description("Verifications that found the index out of step with the database")
+            .register(meterRegistry);
+    Gauge.builder("rentals.active", this, ActiveRentalIndex::size)
+        .description("Active rentals held in the in-memory index")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Load the index from the database. Events applied while reading may or may not be in what was
+   * read, so the read is retried when any arrive. If every attempt races with events, lookups keep
+   * answering "maybe" and the next verification loads again.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    for (int attempt = 1; attempt <= LOAD_ATTEMPTS; attempt++) {
+      long seen = modificationCount();
+      Table loadedTable = Table.of(rentalRepository.findAllActive());
+
+      lock.writeLock().lock();
+      try {
+        if (modifications != seen) {
+          continue;
+        }
+        table = loadedTable;
+        loaded = true;
+      } finally {
+        lock.writeLock().unlock();
+      }
+      log.info("Active rental index loaded: rentals={}", loadedTable.size());
+      return;
+    }
+    log.warn("Active rental index not loaded: rentals changed during every read");
+  }
+
+  /** Compare with the database and replace the index if they differ; load it if not loaded yet. */
+  @Scheduled(
+      fixedDelayString = "${rental.active-index.verify-interval-ms:300000}",
+      initialDelayString = "${rental.active-index.verify-interval-ms:300000}")
+  public void verify() {
+    if (!loaded) {
+      load();
+      return;
+    }
+    long seen = modificationCount();
+    Table expected = Table.of(rentalRepository.findAllActive());
+
+    lock.writeLock().lock();
+    try {
+      if (table.sameEntries(expected)) {
+        return;
+      }
+      mismatches.increment();
+      if (modifications != seen) {
+        // Rentals changed since the read; the next verification compares again
+        log.debug("Active rental index differs from a concurrent read, verification skipped");
+        return;
+      }
+      log.warn(
+          "Active rental index out of step: indexed={}, active={}; rebuilt",
+          table.size(),
+          expected.size());
+      table = expected;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Whether the bicycle may be in an active rental; {@code false} is definite. */
+  public boolean mayBeRented(long bicycleId) {
+    if (!loaded) {
+      return true;
+    }
+    lock.readLock().lock();
+    try {
+      return table.containsBicycle(bicycleId);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Whether the user may have an active rental; {@code false} is definite. */
+  public boolean mayHaveActiveRental(long userId) {
+    if (!loaded) {
+      return true;
+    }
+    lock.readLock().lock();
+    try {
+      return table.containsUser(userId);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return table.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @TransactionalEventListener
+  public void onRentalStarted(RentalStartedEvent event) {
+    lock.writeLock().lock();
+    try {
+      table.add(event.rentalId(), event.userId(), event.bicycleId());
+      modifications++;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @TransactionalEventListener
+  public void onRentalCompleted(RentalCompletedEvent event) {
+    remove(event.rentalId());
+  }
+
+  @TransactionalEventListener
+  public void onRentalCancelled(RentalCancelledEvent event) {
+    remove(event.rentalId());
+  }
+
+  @TransactionalEventListener
+  public void onRentalAbandoned(RentalAbandonedEvent event) {
+    remove(event.rentalId());
+  }
+
+  private void remove(long rentalId) {
+    lock.writeLock().lock();
+    try {
+      table.remove(rentalId);
+      modifications++;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private long modificationCount() {
+    lock.readLock().lock();
+    try {
+      return modifications;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Active rentals in parallel arrays addressed by slot, with a {@link LongIntHashMap} from each id
+   * to its slot, so nothing is boxed. A user's slots are chained through {@code nextOfUser}, as
+   * nothing stops a user from riding two bicycles at once.
+   */
+  private static final class Table {
+
+    private static final int NONE = -1;
+
+    private final LongIntHashMap slotByRental;
+    private final LongIntHashMap slotByBicycle;
+    private final LongIntHashMap firstSlotByUser;
+    private long[] rentalIds;
+    private long[] userIds;
+    private long[] bicycleIds;
+    private int[] nextOfUser;
+    private int[] freeSlots;
+    private int freeCount;
+    private int end;
+
+    Table(int expectedSize) {
+      int capacity = Math.max(16, expectedSize);
+      slotByRental = new LongIntHashMap(capacity);
+      slotByBicycle = new LongIntHashMap(capacity);
+      firstSlotByUser = new LongIntHashMap(capacity);
+      rentalIds = new long[capacity];
+      userIds = new long[capacity];
+      bicycleIds = new long[capacity];
+      nextOfUser = new int[capacity];
+      freeSlots = new int[capacity];
+    }
+
+    static Table of(List<ActiveRentalEntry> entries) {
+      Table table = new Table(entries.size());
+      for (ActiveRentalEntry entry : entries) {
+        table.add(entry.getId(), entry.getUserId(), entry.getBicycleId());
+      }
+      return table;
+    }
+
+    int size() {
+      return slotByRental.size();
+    }
+
+    boolean containsBicycle(long bicycleId) {
+      return slotByBicycle.containsKey(bicycleId);
+    }
+
+    boolean containsUser(long userId) {
+      return firstSlotByUser.containsKey(userId);
+    }
+
+    void add(long rentalId, long userId, long bicycleId) {
+      if (slotByRental.containsKey(rentalId)) {
+        return;
+      }
+      int slot = freeCount > 0 ? freeSlots[--freeCount] : end++;
+      if (slot == rentalIds.length) {
+        grow();
+      }
+      rentalIds[slot] = rentalId;
+      userIds[slot] = userId;
+      bicycleIds[slot] = bicycleId;
+      nextOfUser[slot] = firstSlotByUser.put(userId, slot, NONE);
+      slotByRental.put(rentalId, slot, NONE);
+      slotByBicycle.put(bicycleId, slot, NONE);
+    }
+
+    void remove(long rentalId) {
+      int slot = slotByRental.remove(rentalId, NONE);
+      if (slot == NONE) {
+        return;
+      }
+      long userId = userIds[slot];
+      int first = firstSlotByUser.get(userId, NONE);
+      if (first == slot) {
+        if (nextOfUser[slot] == NONE) {
+          firstSlotByUser.remove(userId, NONE);
+        } else {
+          firstSlotByUser.put(userId, nextOfUser[slot], NONE);
+        }
+      } else {
+        int previous = first;
+        while (nextOfUser[previous] != slot) {
+          previous = nextOfUser[previous];
+        }
+        nextOfUser[previous] = nextOfUser[slot];
+      }
+      // A bicycle in two active rentals keeps only the later slot
+      if (slotByBicycle.get(bicycleIds[slot], NONE) == slot) {
+        slotByBicycle.remove(bicycleIds[slot], NONE);
+      }
+      rentalIds[slot] = 0L;
+      freeSlots[freeCount++] = slot;
+    }
+
+    boolean sameEntries(Table other) {
+      if (size() != other.size()) {
+        return false;
+      }
+      for (int slot = 0; slot < other.end; slot++) {
+        long rentalId = other.rentalIds[slot];
+        if (rentalId == 0L) {
+          continue;
+        }
+        int mine = slotByRental.get(rentalId, NONE);
+        if (mine == NONE
+            || userIds[mine] != other.userIds[slot]
+            || bicycleIds[mine] != other.bicycleIds[slot]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private void grow() {
+      int capacity = rentalIds.length * 2;
+      rentalIds = Arrays.copyOf(rentalIds, capacity);
+      userIds = Arrays.copyOf(userIds, capacity);
+      bicycleIds = Arrays.copyOf(bicycleIds, capacity);
+      nextOfUser = Arrays.copyOf(nextOfUser, capacity);
+      freeSlots = Arrays.copyOf(freeSlots, capacity);
+    }
+  }
+}
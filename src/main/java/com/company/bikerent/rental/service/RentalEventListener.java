@@ -0,0 +1,22 @@
+package com.company.bikerent.rental.service;
+
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.company.bikerent.rental.event.RentalAbandonedEvent;
+
+import lombok.RequiredArgsConstructor;
+
+/** Forwards committed rental events to WebSocket subscribers. */
+@Component
+@RequiredArgsConstructor
+public class RentalEventListener {
+
+  private final SimpMessagingTemplate messagingTemplate;
+
+  @TransactionalEventListener
+  public void onRentalAbandoned(RentalAbandonedEvent event) {
+    messagingTemplate.convertAndSend("/topic/abandonedRentals", event);
+  }
+}
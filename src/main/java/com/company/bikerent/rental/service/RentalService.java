@@ -1,5 +1,11 @@
 package com.company.bikerent.rental.service;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -9,15 +15,22 @@ import com.company.bikerent.bicycle.domain.Bicycle;
 import com.company.bikerent.bicycle.repository.BicycleRepository;
 import com.company.bikerent.common.exception.BusinessException;
 import com.company.bikerent.common.exception.EntityNotFoundException;
+import com.company.bikerent.common.transaction.RetryableTransaction;
 import com.company.bikerent.rental.domain.Rental;
 import com.company.bikerent.rental.domain.RentalStatus;
 import com.company.bikerent.rental.dto.CompleteRentalRequest;
 import com.company.bikerent.rental.dto.CreateRentalRequest;
 import com.company.bikerent.rental.dto.RentalDto;
+import com.company.bikerent.rental.event.RentalCancelledEvent;
+import com.company.bikerent.rental.event.RentalCompletedEvent;
+import com.company.bikerent.rental.event.RentalStartedEvent;
 import com.company.bikerent.rental.mapper.RentalMapper;
 import com.company.bikerent.rental.repository.RentalRepository;
 import com.company.bikerent.station.domain.Station;
+import com.company.bikerent.station.dto.NearbyStationDto;
 import com.company.bikerent.station.repository.StationRepository;
+import com.company.bikerent.station.service.ReturnZoneService;
+import com.company.bikerent.station.service.StationOccupancyMonitor;
 import com.company.bikerent.user.domain.User;
 import com.company.bikerent.user.repository.UserRepository;
 
@@ -34,6 +47,14 @@ public class RentalService {
   private final StationRepository stationRepository;
   private final BicycleRepository bicycleRepository;
   private final RentalMapper rentalMapper;
+  private final ReservationService reservationService;
+  private final ActiveRentalIndex activeRentalIndex;
+  private final StationOccupancyMonitor stationOccupancyMonitor;
+  private final ReturnZoneService returnZoneService;
+  private final ApplicationEventPublisher eventPublisher;
+
+  @Value("${station.alternatives.limit:3}")
+  private int alternativesLimit;
 
   @Transactional(readOnly = true)
   public Page<RentalDto> findAll(Pageable pageable) {
@@ -54,7 +75,17 @@ public class RentalService {
     return rentalMapper.toDto(rental);
   }
 
+  /** The user's active rental; answered from memory when the user has none. */
+  @Transactional(readOnly = true)
+  public Optional<RentalDto> findActiveByUserId(Long userId) {
+    if (!activeRentalIndex.mayHaveActiveRental(userId)) {
+      return Optional.empty();
+    }
+    return rentalRepository.findActiveRentalByUserId(userId).map(rentalMapper::toDto);
+  }
+
   /** Start a new rental with pessimistic locking to prevent double rentals */
+  @RetryableTransaction
   @Transactional
   public RentalDto create(CreateRentalRequest request) {
     log.info(
@@ -69,16 +100,21 @@ public class RentalService {
             .findByIdWithLock(request.bicycleId())
             .orElseThrow(() -> new EntityNotFoundException(Bicycle.class, request.bicycleId()));
 
-    // Check if bicycle is already in an active rental
-    if (rentalRepository.existsByBicycleIdAndStatus(bicycle.getId(), RentalStatus.ACTIVE)) {
+    // Check if bicycle is already in an active rental; the index rules out almost every bicycle
+    if (activeRentalIndex.mayBeRented(bicycle.getId())
+        && rentalRepository.existsByBicycleIdAndStatus(bicycle.getId(), RentalStatus.ACTIVE)) {
       throw new BusinessException("Bicycle is already rented");
     }
 
+    // Lock order: bicycle, user, then the reservation
     User user =
         userRepository
             .findByIdWithLock(request.userId())
             .orElseThrow(() -> new EntityNotFoundException(User.class, request.userId()));
 
+    // A hold held by this user turns into the rental; anyone else's hold blocks it
+    reservationService.consumeForRental(bicycle, request.userId());
+
     Station startStation =
         stationRepository
             .findById(request.startStationId())
@@ -91,30 +127,38 @@ public class RentalService {
     // Save entities
     bicycleRepository.save(bicycle);
     Rental saved = rentalRepository.save(rental);
+    eventPublisher.publishEvent(
+        new RentalStartedEvent(saved.getId(), user.getId(), bicycle.getId()));
 
     log.info("Rental created: id={}", saved.getId());
     return rentalMapper.toDto(saved);
   }
 
   /** Complete an active rental with pessimistic locking */
+  @RetryableTransaction
   @Transactional
   public RentalDto complete(Long rentalId, CompleteRentalRequest request) {
-    log.info("Completing rental: id={}, endStation={}", rentalId, request.endStationId());
+    Long endStationId = resolveEndStation(request);
+    log.info("Completing rental: id={}, endStation={}", rentalId, endStationId);
 
-    // Lock the rental to prevent concurrent modifications
-    Rental rental =
-        rentalRepository
-            .findByIdWithLock(rentalId)
-            .orElseThrow(() -> new EntityNotFoundException(Rental.class, rentalId));
+    Rental rental = lockRental(rentalId);
 
     if (!rental.isActive()) {
       throw new BusinessException("Rental is not active");
     }
 
-    Station endStation =
-        stationRepository
-            .findById(request.endStationId())
-            .orElseThrow(() -> new EntityNotFoundException(Station.class, request.endStationId()));
+    User user =
+        userRepository
+            .findByIdWithLock(rental.getUser().getId())
+            .orElseThrow(() -> new EntityNotFoundException(User.class, rental.getUser().getId()));
+
+    Station endStation = lockEndStation(rental, endStationId);
+    if (!endStation.hasFreeDock()) {
+      List<NearbyStationDto> alternatives =
+          stationOccupancyMonitor.findNearbyWithFreeDock(endStation.getId(), alternativesLimit);
+      throw new BusinessException(
+          "Station has no free dock", Map.of("alternative_stations", alternatives));
+    }
 
     // Update mileage before completing
     rental.updateMileage();
@@ -123,27 +167,33 @@ public class RentalService {
     rental.complete(endStation);
 
     // Charge user for the rental
-    User user = rental.getUser();
     user.chargeForRental(rental.getCost());
     userRepository.save(user);
 
     // Save bicycle and rental
     bicycleRepository.save(rental.getBicycle());
     Rental saved = rentalRepository.save(rental);
+    eventPublisher.publishEvent(
+        new RentalCompletedEvent(
+            saved.getId(),
+            user.getId(),
+            saved.getBicycle().getId(),
+            saved.getStartStation().getId(),
+            endStation.getId(),
+            saved.getBicycle().getMileage(),
+            saved.getRentalEndedAt()));
 
     log.info("Rental completed: id={}, cost={}", saved.getId(), saved.getCost());
     return rentalMapper.toDto(saved);
   }
 
   /** Cancel an active rental */
+  @RetryableTransaction
   @Transactional
   public RentalDto cancel(Long rentalId) {
     log.info("Cancelling rental: id={}", rentalId);
 
-    Rental rental =
-        rentalRepository
-            .findByIdWithLock(rentalId)
-            .orElseThrow(() -> new EntityNotFoundException(Rental.class, rentalId));
+    Rental rental = lockRental(rentalId);
 
     if (!rental.isActive()) {
       throw new BusinessException("Rental is not active");
@@ -153,8 +203,55 @@ public class RentalService {
 
     bicycleRepository.save(rental.getBicycle());
     Rental saved = rentalRepository.save(rental);
+    eventPublisher.publishEvent(
+        new RentalCancelledEvent(
+            saved.getId(), saved.getUser().getId(), saved.getBicycle().getId()));
 
     log.info("Rental cancelled: id={}", saved.getId());
     return rentalMapper.toDto(saved);
   }
+
+  /** The station given, or the one whose return zone contains the location given. */
+  private Long resolveEndStation(CompleteRentalRequest request) {
+    if ((request.endStationId() == null) == (request.location() == null)) {
+      throw new IllegalArgumentException("Either end_station or location is required, not both");
+    }
+    if (request.endStationId() != null) {
+      return request.endStationId();
+    }
+    return returnZoneService
+        .findStationAt(request.location().latitude(), request.location().longitude())
+        .orElseThrow(() -> new BusinessException("Location is not inside a return zone"));
+  }
+
+  /**
+   * Lock the station the bicycle is returned to together with the one it was taken from, in id
+   * order: the count trigger locks both when the bicycle moves, so locking only the end station
+   * here would take them out of order.
+   */
+  private Station lockEndStation(Rental rental, Long endStationId) {
+    Station from = rental.getBicycle().getStation();
+    List<Long> ids =
+        from == null || from.getId().equals(endStationId)
+            ? List.of(endStationId)
+            : List.of(from.getId(), endStationId);
+    return stationRepository.findAllByIdWithLock(ids).stream()
+        .filter(station -> station.getId().equals(endStationId))
+        .findFirst()
+        .orElseThrow(() -> new EntityNotFoundException(Station.class, endStationId));
+  }
+
+  /** Lock the rental's bicycle, then the rental itself, in the global lock order. */
+  private Rental lockRental(Long rentalId) {
+    Long bicycleId =
+        rentalRepository
+            .findBicycleIdById(rentalId)
+            .orElseThrow(() -> new EntityNotFoundException(Rental.class, rentalId));
+    bicycleRepository
+        .findByIdWithLock(bicycleId)
+        .orElseThrow(() -> new EntityNotFoundException(Bicycle.class, bicycleId));
+    return rentalRepository
+        .findByIdWithLock(rentalId)
+        .orElseThrow(() -> new EntityNotFoundException(Rental.class, rentalId));
+  }
 }
@@ -0,0 +1,83 @@
+package com.company.bikerent.rental.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.company.bikerent.bicycle.domain.BicycleStatus;
+import com.company.bikerent.bicycle.event.BicycleChangedEvent;
+import com.company.bikerent.bicycle.repository.BicycleRepository;
+import com.company.bikerent.common.transaction.RetryableTransaction;
+import com.company.bikerent.rental.domain.Reservation;
+import com.company.bikerent.rental.domain.ReservationStatus;
+import com.company.bikerent.rental.repository.ReservationRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Transactional side of reservation expiry. Kept apart from {@link ReservationService} so that
+ * timer callbacks go through the transaction proxy.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReservationExpiryHandler {
+
+  private final ReservationRepository reservationRepository;
+  private final BicycleRepository bicycleRepository;
+  private final ApplicationEventPublisher eventPublisher;
+
+  /**
+   * Expire a single reservation if it is still active and overdue. Locks the bicycle before the
+   * reservation, the same order as {@code RentalService.create}, so the two never deadlock.
+   *
+   * @return the expiry time of a hold that is still active but not yet overdue, for the caller to
+   *     try again then; empty once the hold is closed
+   */
+  @RetryableTransaction
+  @Transactional
+  public Optional<LocalDateTime> expire(Long reservationId) {
+    Optional<Long> bicycleId = reservationRepository.findBicycleIdById(reservationId);
+    if (bicycleId.isEmpty() || bicycleRepository.findByIdWithLock(bicycleId.get()).isEmpty()) {
+      return Optional.empty();
+    }
+
+    Reservation reservation = reservationRepository.findByIdWithLock(reservationId).orElse(null);
+    if (reservation == null || !reservation.isActive()) {
+      return Optional.empty();
+    }
+    if (!reservation.isOverdue(LocalDateTime.now())) {
+      return Optional.of(reservation.getExpiresAt());
+    }
+
+    reservation.expire();
+    bicycleRepository.save(reservation.getBicycle());
+    reservationRepository.save(reservation);
+    eventPublisher.publishEvent(new BicycleChangedEvent(bicycleId.get()));
+    log.info("Reservation expired: id={}, bicycle={}", reservationId, bicycleId.get());
+    return Optional.empty();
+  }
+
+  /** Expire every overdue reservation in two set-based statements. */
+  @RetryableTransaction
+  @Transactional
+  public int expireOverdue(LocalDateTime now) {
+    List<Long> bicycleIds =
+        reservationRepository.findOverdueBicycleIds(now, ReservationStatus.ACTIVE);
+    if (bicycleIds.isEmpty()) {
+      return 0;
+    }
+    reservationRepository.releaseOverdueBicycles(
+        now, ReservationStatus.ACTIVE, BicycleStatus.RESERVED, BicycleStatus.AVAILABLE);
+    int expired =
+        reservationRepository.markOverdueExpired(
+            now, ReservationStatus.ACTIVE, ReservationStatus.EXPIRED);
+    bicycleIds.forEach(id -> eventPublisher.publishEvent(new BicycleChangedEvent(id)));
+    return expired;
+  }
+}
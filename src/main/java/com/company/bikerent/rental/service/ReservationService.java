@@ -0,0 +1,206 @@
+package com.company.bikerent.rental.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.company.bikerent.bicycle.domain.Bicycle;
+import com.company.bikerent.bicycle.event.BicycleChangedEvent;
+import com.company.bikerent.bicycle.repository.BicycleRepository;
+import com.company.bikerent.common.exception.BusinessException;
+import com.company.bikerent.common.exception.EntityNotFoundException;
+import com.company.bikerent.common.timer.HierarchicalTimer;
+import com.company.bikerent.common.transaction.RetryableTransaction;
+import com.company.bikerent.rental.domain.Reservation;
+import com.company.bikerent.rental.domain.ReservationStatus;
+import com.company.bikerent.rental.dto.ReservationDto;
+import com.company.bikerent.rental.mapper.ReservationMapper;
+import com.company.bikerent.rental.repository.ReservationRepository;
+import com.company.bikerent.user.domain.User;
+import com.company.bikerent.user.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bicycle reservation holds. Each hold is persisted so it survives restarts, while its expiry is
+ * driven by an in-process timing wheel instead of polling the table.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReservationService {
+
+  private final ReservationRepository reservationRepository;
+  private final BicycleRepository bicycleRepository;
+  private final UserRepository userRepository;
+  private final ReservationMapper reservationMapper;
+  private final ReservationExpiryHandler expiryHandler;
+  private final HierarchicalTimer reservationTimer;
+  private final ApplicationEventPublisher eventPublisher;
+
+  private final Map<Long, HierarchicalTimer.Timeout> pendingExpiries = new ConcurrentHashMap<>();
+
+  @Value("${reservation.hold-ms:600000}")
+  private long holdMs;
+
+  /** Place a hold on a bicycle for the current user */
+  @RetryableTransaction
+  @Transactional
+  public ReservationDto reserve(Long bicycleId) {
+    Long userId = getCurrentUserId();
+    log.info("Reserving bicycle: user={}, bicycle={}", userId, bicycleId);
+
+    // Same lock order as rental creation: bicycle first, then user
+    Bicycle bicycle =
+        bicycleRepository
+            .findByIdWithLock(bicycleId)
+            .orElseThrow(() -> new EntityNotFoundException(Bicycle.class, bicycleId));
+
+    if (!bicycle.isAvailable()) {
+      throw new BusinessException("Bicycle is not available for reservation");
+    }
+
+    User user =
+        userRepository
+            .findByIdWithLock(userId)
+            .orElseThrow(() -> new EntityNotFoundException(User.class, userId));
+
+    if (reservationRepository.existsByUserIdAndStatus(userId, ReservationStatus.ACTIVE)) {
+      throw new BusinessException("User already has an active reservation");
+    }
+
+    Reservation reservation = Reservation.hold(user, bicycle, holdMs);
+
+    bicycleRepository.save(bicycle);
+    Reservation saved = reservationRepository.save(reservation);
+    eventPublisher.publishEvent(new BicycleChangedEvent(bicycleId));
+
+    Long reservationId = saved.getId();
+    afterCommit(() -> scheduleExpiry(reservationId, holdMs));
+
+    log.info("Reservation created: id={}, expiresAt={}", reservationId, saved.getExpiresAt());
+    return reservationMapper.toDto(saved);
+  }
+
+  /**
+   * Release the hold on a bicycle that is about to be rented. Must be called inside the rental
+   * transaction with the bicycle already locked, so that the hold turns into the rental atomically.
+   *
+   * @throws BusinessException if the bicycle is held by another user
+   */
+  @Transactional
+  public void consumeForRental(Bicycle bicycle, Long userId) {
+    if (!bicycle.isReserved()) {
+      return;
+    }
+
+    Reservation reservation =
+        reservationRepository
+            .findByBicycleIdAndStatus(bicycle.getId(), ReservationStatus.ACTIVE)
+            .orElseThrow(() -> new IllegalStateException("Reserved bicycle has no active hold"));
+
+    if (reservation.isOverdue(LocalDateTime.now())) {
+      // The timer has not caught up yet; the hold no longer protects the bicycle
+      reservation.expire();
+    } else if (reservation.isHeldBy(userId)) {
+      reservation.convert();
+    } else {
+      throw new BusinessException("Bicycle is reserved by another user");
+    }
+
+    reservationRepository.save(reservation);
+
+    Long reservationId = reservation.getId();
+    afterCommit(() -> cancelExpiry(reservationId));
+    log.info(
+        "Reservation closed for rental: id={}, status={}", reservationId, reservation.getStatus());
+  }
+
+  /** Expire holds that ran out while the application was down and re-arm the rest. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void restorePendingExpiries() {
+    int expired = expiryHandler.expireOverdue(LocalDateTime.now());
+
+    List<Reservation> active = reservationRepository.findAllByStatus(ReservationStatus.ACTIVE);
+    LocalDateTime now = LocalDateTime.now();
+    for (Reservation reservation : active) {
+      scheduleExpiry(
+          reservation.getId(), Duration.between(now, reservation.getExpiresAt()).toMillis());
+    }
+
+    log.info("Reservations restored: expired={}, rescheduled={}", expired, active.size());
+  }
+
+  /** Backstop for holds whose timer never fired, e.g. because its callback failed. */
+  @Scheduled(
+      fixedDelayString = "${reservation.sweep-interval-ms:60000}",
+      initialDelayString = "${reservation.sweep-interval-ms:60000}")
+  public void sweepOverdue() {
+    int expired = expiryHandler.expireOverdue(LocalDateTime.now());
+    if (expired > 0) {
+      log.info("Reservation sweep expired {} overdue holds", expired);
+    }
+  }
+
+  private void scheduleExpiry(Long reservationId, long delayMs) {
+    HierarchicalTimer.Timeout timeout =
+        reservationTimer.schedule(
+            delayMs,
+            () -> {
+              pendingExpiries.remove(reservationId);
+              // Wall clock and timer clock may disagree slightly: re-arm a hold not yet overdue
+              expiryHandler
+                  .expire(reservationId)
+                  .ifPresent(
+                      expiresAt ->
+                          scheduleExpiry(
+                              reservationId,
+                              Duration.between(LocalDateTime.now(), expiresAt).toMillis() + 1));
+            });
+    pendingExpiries.put(reservationId, timeout);
+  }
+
+  private void cancelExpiry(Long reservationId) {
+    HierarchicalTimer.Timeout timeout = pendingExpiries.remove(reservationId);
+    if (timeout != null) {
+      timeout.cancel();
+    }
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            action.run();
+          }
+        });
+  }
+
+  private Long getCurrentUserId() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication.getPrincipal() instanceof User) {
+      return ((User) authentication.getPrincipal()).getId();
+    }
+    throw new IllegalStateException("User not authenticated");
+  }
+}
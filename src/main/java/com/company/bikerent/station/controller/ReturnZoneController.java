@@ -0,0 +1,73 @@
+package com.company.bikerent.station.controller;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import com.company.bikerent.station.dto.CreateReturnZoneRequest;
+import com.company.bikerent.station.dto.ReturnZoneDto;
+import com.company.bikerent.station.service.ReturnZoneService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/v1/stations/{stationId}/return-zones")
+@RequiredArgsConstructor
+@Tag(name = "Return zones", description = "Areas where rentals can be ended for a station")
+@Validated
+public class ReturnZoneController {
+
+  private final ReturnZoneService returnZoneService;
+
+  @GetMapping
+  @Operation(summary = "Get the return zones of a station")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Zones found"),
+        @ApiResponse(responseCode = "404", description = "Station not found")
+      })
+  public ResponseEntity<List<ReturnZoneDto>> findAll(@PathVariable @Positive Long stationId) {
+    return ResponseEntity.ok(returnZoneService.findAllByStationId(stationId));
+  }
+
+  @PostMapping
+  @Operation(
+      summary = "Add a return zone to a station (Admin only)",
+      description =
+          "Rentals completed with a location inside the polygon end at this station. Vertices are"
+              + " in order; the last one connects back to the first.")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "201", description = "Zone created"),
+        @ApiResponse(responseCode = "400", description = "Invalid polygon"),
+        @ApiResponse(responseCode = "404", description = "Station not found")
+      })
+  public ResponseEntity<ReturnZoneDto> create(
+      @PathVariable @Positive Long stationId, @Valid @RequestBody CreateReturnZoneRequest request) {
+    return ResponseEntity.status(HttpStatus.CREATED)
+        .body(returnZoneService.create(stationId, request));
+  }
+
+  @DeleteMapping("/{zoneId}")
+  @Operation(summary = "Delete a return zone (Admin only)")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "204", description = "Zone deleted"),
+        @ApiResponse(responseCode = "404", description = "Zone not found")
+      })
+  public ResponseEntity<Void> delete(
+      @PathVariable @Positive Long stationId, @PathVariable @Positive Long zoneId) {
+    returnZoneService.delete(stationId, zoneId);
+    return ResponseEntity.noContent().build();
+  }
+}
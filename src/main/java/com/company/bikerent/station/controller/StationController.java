@@ -1,20 +1,33 @@
 package com.company.bikerent.station.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
 import com.company.bikerent.bicycle.dto.BicycleDto;
 import com.company.bikerent.bicycle.service.BicycleService;
+import com.company.bikerent.common.dto.ImportReport;
+import com.company.bikerent.common.etag.EntityTags;
+import com.company.bikerent.common.importer.ImportFormat;
 import com.company.bikerent.station.dto.CreateStationRequest;
 import com.company.bikerent.station.dto.StationDto;
+import com.company.bikerent.station.dto.UpdateStationCapacityRequest;
+import com.company.bikerent.station.service.StationImportService;
 import com.company.bikerent.station.service.StationService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -31,15 +44,26 @@ import lombok.RequiredArgsConstructor;
 public class StationController {
 
   private final StationService stationService;
+  private final StationImportService stationImportService;
   private final BicycleService bicycleService;
 
   @GetMapping
   @Operation(summary = "Get all stations with optional filtering")
   @ApiResponses(
-      value = {@ApiResponse(responseCode = "200", description = "Stations retrieved successfully")})
+      value = {
+        @ApiResponse(responseCode = "200", description = "Stations retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Stations unchanged since If-None-Match")
+      })
   public ResponseEntity<Page<StationDto>> findAll(
-      @RequestParam(required = false) @Positive Long id, @PageableDefault Pageable pageable) {
-    return ResponseEntity.ok(stationService.findAllWithFilters(id, pageable));
+      @RequestParam(required = false) @Positive Long id,
+      @PageableDefault Pageable pageable,
+      WebRequest request) {
+    // Tag taken before the read: a concurrent change can only make it older than the body
+    String eTag = EntityTags.of(stationService.findCollectionVersion());
+    if (request.checkNotModified(eTag)) {
+      return null;
+    }
+    return ResponseEntity.ok().eTag(eTag).body(stationService.findAllWithFilters(id, pageable));
   }
 
   @GetMapping("/{id}")
@@ -47,10 +71,17 @@ public class StationController {
   @ApiResponses(
       value = {
         @ApiResponse(responseCode = "200", description = "Station found"),
+        @ApiResponse(responseCode = "304", description = "Station unchanged since If-None-Match"),
         @ApiResponse(responseCode = "404", description = "Station not found")
       })
-  public ResponseEntity<StationDto> findById(@PathVariable @Positive Long id) {
-    return ResponseEntity.ok(stationService.findById(id));
+  public ResponseEntity<StationDto> findById(@PathVariable @Positive Long id, WebRequest request) {
+    Optional<String> eTag = stationService.findVersion(id).map(EntityTags::of);
+    if (eTag.isPresent() && request.checkNotModified(eTag.get())) {
+      return null;
+    }
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+    eTag.ifPresent(response::eTag);
+    return response.body(stationService.findById(id));
   }
 
   @PostMapping
@@ -64,6 +95,37 @@ public class StationController {
     return ResponseEntity.status(HttpStatus.CREATED).body(stationService.create(request));
   }
 
+  @PostMapping(
+      value = "/import",
+      consumes = {ImportFormat.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+  @Operation(summary = "Import stations from a streamed CSV or NDJSON body")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Import finished, see per-row errors"),
+        @ApiResponse(responseCode = "400", description = "Unsupported format")
+      })
+  public ResponseEntity<ImportReport> importStations(
+      @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body)
+      throws IOException {
+    return ResponseEntity.ok(
+        stationImportService.importStations(body, ImportFormat.fromContentType(contentType)));
+  }
+
+  @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+  @Operation(summary = "Import stations from an uploaded .csv or .ndjson file")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Import finished, see per-row errors"),
+        @ApiResponse(responseCode = "400", description = "Unsupported format")
+      })
+  public ResponseEntity<ImportReport> importStationFile(@RequestPart("file") MultipartFile file)
+      throws IOException {
+    ImportFormat format = ImportFormat.fromFile(file.getContentType(), file.getOriginalFilename());
+    try (InputStream body = file.getInputStream()) {
+      return ResponseEntity.ok(stationImportService.importStations(body, format));
+    }
+  }
+
   @GetMapping("/{id}/bicycles")
   @Operation(summary = "Get all bicycles at a station")
   public ResponseEntity<Page<BicycleDto>> findBicycles(
@@ -71,6 +133,21 @@ public class StationController {
     return ResponseEntity.ok(bicycleService.findAllByStationId(id, pageable));
   }
 
+  @PutMapping("/{id}/capacity")
+  @Operation(
+      summary = "Set the number of docks of a station",
+      description = "A null capacity removes the limit. Returns are refused while it is full.")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Capacity updated"),
+        @ApiResponse(responseCode = "400", description = "Invalid capacity"),
+        @ApiResponse(responseCode = "404", description = "Station not found")
+      })
+  public ResponseEntity<StationDto> updateCapacity(
+      @PathVariable @Positive Long id, @Valid @RequestBody UpdateStationCapacityRequest request) {
+    return ResponseEntity.ok(stationService.updateCapacity(id, request.capacity()));
+  }
+
   @DeleteMapping("/{id}")
   @Operation(summary = "Delete a station")
   @ApiResponses(
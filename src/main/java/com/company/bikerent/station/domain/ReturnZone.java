@@ -0,0 +1,47 @@
+package com.company.bikerent.station.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** A polygon a rental can be ended in; the bicycle is returned to the zone's station. */
+@Entity
+@Table(name = "return_zone")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReturnZone {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @NotBlank(message = "Zone name is required")
+  @Size(max = 100, message = "Zone name cannot exceed 100 characters")
+  @Column(name = "name", nullable = false, length = 100)
+  private String name;
+
+  @NotNull(message = "Station is required")
+  @ManyToOne(fetch = FetchType.LAZY, optional = false)
+  @JoinColumn(name = "station_id", nullable = false)
+  private Station station;
+
+  /** Vertex latitudes in order, parallel to {@link #longitudes}. */
+  @JdbcTypeCode(SqlTypes.ARRAY)
+  @Column(name = "latitudes", nullable = false)
+  private double[] latitudes;
+
+  @JdbcTypeCode(SqlTypes.ARRAY)
+  @Column(name = "longitudes", nullable = false)
+  private double[] longitudes;
+}
@@ -6,6 +6,7 @@ import java.util.List;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
 
 import com.company.bikerent.bicycle.domain.Bicycle;
@@ -42,9 +43,31 @@ public class Station {
   @Column(name = "available_bicycles")
   private Long availableBicycles;
 
+  /** Number of docks; {@code null} means the station takes any number of bicycles. */
+  @PositiveOrZero(message = "Capacity cannot be negative")
+  @Column(name = "capacity")
+  private Integer capacity;
+
+  /** Bicycles standing in a dock (available or reserved); maintained by a database trigger. */
+  @Column(name = "docked_bicycles", insertable = false, updatable = false)
+  private Long dockedBicycles;
+
   @OneToMany(mappedBy = "station", cascade = CascadeType.REMOVE, orphanRemoval = true)
   private List<Bicycle> bicycles = new ArrayList<>();
 
+  public boolean hasFreeDock() {
+    return capacity == null || docked() < capacity;
+  }
+
+  /** Docks left, or {@code null} when the capacity is unlimited. */
+  public Long freeDocks() {
+    return capacity == null ? null : Math.max(0L, capacity - docked());
+  }
+
+  private long docked() {
+    return dockedBicycles != null ? dockedBicycles : 0L;
+  }
+
   public void updateAvailableBicyclesCount() {
     this.availableBicycles = bicycles.stream().filter(Bicycle::isAvailable).count();
   }
@@ -0,0 +1,271 @@
+package com.company.bikerent.station.domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.company.bikerent.common.collection.LongIntHashMap;
+import com.company.bikerent.geo.domain.GeoMath;
+
+/**
+ * Bicycle counts and fill level of every station, in primitive arrays. A change is a hash lookup,
+ * two additions and a few integer comparisons against thresholds precomputed per station, so it can
+ * be applied on every bicycle movement.
+ *
+ * <p>Levels have hysteresis: a station that became full stays full until its fill ratio drops the
+ * hysteresis margin below the full ratio, and likewise for empty, so a station hovering at a
+ * threshold does not alert on every movement. Stations without a capacity are always {@link
+ * Level#NORMAL}. Not thread-safe.
+ */
+public final class StationOccupancyTable {
+
+  public enum Level {
+    NORMAL,
+    EMPTY,
+    FULL
+  }
+
+  private static final Level[] LEVELS = Level.values();
+  private static final int NONE = -1;
+  private static final int UNLIMITED = -1;
+  // Keeps thresholds that are whole numbers of bicycles, like 0.9 of 20, from rounding away
+  private static final double EPSILON = 1e-9;
+
+  private final double emptyRatio;
+  private final double fullRatio;
+  private final double hysteresis;
+
+  private final LongIntHashMap rowById = new LongIntHashMap();
+  private long[] ids = new long[16];
+  private String[] names = new String[16];
+  private double[] latitudes = new double[16];
+  private double[] longitudes = new double[16];
+  private int[] capacities = new int[16];
+  private long[] available = new long[16];
+  private long[] docked = new long[16];
+  private byte[] levels = new byte[16];
+  // Full from fullEnter docked bicycles until at most fullExit; empty from emptyEnter available
+  // bicycles until at least emptyExit
+  private long[] fullEnter = new long[16];
+  private long[] fullExit = new long[16];
+  private long[] emptyEnter = new long[16];
+  private long[] emptyExit = new long[16];
+  private int size;
+
+  /**
+   * @param emptyRatio a station is empty at or below this ratio of available bicycles to docks
+   * @param fullRatio a station is full at or above this ratio of docked bicycles to docks
+   * @param hysteresis how far past a threshold the ratio must come back to clear its level
+   */
+  public StationOccupancyTable(double emptyRatio, double fullRatio, double hysteresis) {
+    if (emptyRatio < 0
+        || fullRatio > 1
+        || hysteresis < 0
+        || emptyRatio + hysteresis >= fullRatio - hysteresis) {
+      throw new IllegalArgumentException("Empty and full ratios must not overlap");
+    }
+    this.emptyRatio = emptyRatio;
+    this.fullRatio = fullRatio;
+    this.hysteresis = hysteresis;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public long[] ids() {
+    return Arrays.copyOf(ids, size);
+  }
+
+  /**
+   * Insert a station or replace its counts and capacity, keeping its level.
+   *
+   * @return the change of level, or {@code null} if it did not change
+   */
+  public Alert put(Entry entry) {
+    int row = rowById.get(entry.id(), NONE);
+    if (row == NONE) {
+      if (size == ids.length) {
+        grow();
+      }
+      row = size++;
+      ids[row] = entry.id();
+      levels[row] = (byte) Level.NORMAL.ordinal();
+      rowById.put(entry.id(), row, NONE);
+    }
+    names[row] = entry.name();
+    latitudes[row] = entry.latitude();
+    longitudes[row] = entry.longitude();
+    available[row] = Math.max(0L, entry.available());
+    docked[row] = Math.max(0L, entry.docked());
+
+    int capacity = entry.capacity() == null ? UNLIMITED : entry.capacity();
+    capacities[row] = capacity;
+    if (capacity > 0) {
+      fullEnter[row] = Math.max(1L, ceil(fullRatio * capacity));
+      fullExit[row] = Math.min(fullEnter[row] - 1, floor((fullRatio - hysteresis) * capacity));
+      emptyEnter[row] = floor(emptyRatio * capacity);
+      emptyExit[row] = Math.max(emptyEnter[row] + 1, ceil((emptyRatio + hysteresis) * capacity));
+    } else {
+      // Never full, never empty
+      fullEnter[row] = Long.MAX_VALUE;
+      fullExit[row] = Long.MAX_VALUE;
+      emptyEnter[row] = Long.MIN_VALUE;
+      emptyExit[row] = Long.MIN_VALUE;
+    }
+    return evaluate(row);
+  }
+
+  /**
+   * @return whether the station was present
+   */
+  public boolean remove(long id) {
+    int row = rowById.remove(id, NONE);
+    if (row == NONE) {
+      return false;
+    }
+    int last = --size;
+    if (row != last) {
+      ids[row] = ids[last];
+      names[row] = names[last];
+      latitudes[row] = latitudes[last];
+      longitudes[row] = longitudes[last];
+      capacities[row] = capacities[last];
+      available[row] = available[last];
+      docked[row] = docked[last];
+      levels[row] = levels[last];
+      fullEnter[row] = fullEnter[last];
+      fullExit[row] = fullExit[last];
+      emptyEnter[row] = emptyEnter[last];
+      emptyExit[row] = emptyExit[last];
+      rowById.put(ids[row], row, NONE);
+    }
+    names[last] = null;
+    return true;
+  }
+
+  /**
+   * Add to the counts of a station.
+   *
+   * @return the change of level, or {@code null} if it did not change or the station is unknown
+   */
+  public Alert apply(long id, long availableDelta, long dockedDelta) {
+    int row = rowById.get(id, NONE);
+    if (row == NONE) {
+      return null;
+    }
+    available[row] = Math.max(0L, available[row] + availableDelta);
+    docked[row] = Math.max(0L, docked[row] + dockedDelta);
+    return evaluate(row);
+  }
+
+  public Level level(long id) {
+    int row = rowById.get(id, NONE);
+    return row == NONE ? null : LEVELS[levels[row]];
+  }
+
+  /**
+   * The stations nearest to the given one that have a free dock, nearest first. Empty if the
+   * station is unknown.
+   */
+  public List<Nearby> nearestWithFreeDock(long id, int limit) {
+    int origin = rowById.get(id, NONE);
+    if (origin == NONE || limit <= 0) {
+      return List.of();
+    }
+    // Insertion into a short sorted array; limit is a handful of stations
+    int[] rows = new int[limit];
+    double[] distances = new double[limit];
+    int found = 0;
+    for (int row = 0; row < size; row++) {
+      if (row == origin || (capacities[row] != UNLIMITED && docked[row] >= capacities[row])) {
+        continue;
+      }
+      double distance =
+          GeoMath.haversineMeters(
+              latitudes[origin], longitudes[origin], latitudes[row], longitudes[row]);
+      if (found == limit && distance >= distances[limit - 1]) {
+        continue;
+      }
+      int i = found < limit ? found++ : limit - 1;
+      while (i > 0 && distances[i - 1] > distance) {
+        rows[i] = rows[i - 1];
+        distances[i] = distances[i - 1];
+        i--;
+      }
+      rows[i] = row;
+      distances[i] = distance;
+    }
+
+    List<Nearby> nearby = new ArrayList<>(found);
+    for (int i = 0; i < found; i++) {
+      int row = rows[i];
+      Long freeDocks = capacities[row] == UNLIMITED ? null : capacities[row] - docked[row];
+      nearby.add(new Nearby(ids[row], names[row], distances[i], freeDocks));
+    }
+    return nearby;
+  }
+
+  private Alert evaluate(int row) {
+    int current = levels[row];
+    boolean full =
+        current == Level.FULL.ordinal()
+            ? docked[row] > fullExit[row]
+            : docked[row] >= fullEnter[row];
+    boolean empty =
+        current == Level.EMPTY.ordinal()
+            ? available[row] < emptyExit[row]
+            : available[row] <= emptyEnter[row];
+    Level next = full ? Level.FULL : empty ? Level.EMPTY : Level.NORMAL;
+    if (next.ordinal() == current) {
+      return null;
+    }
+    levels[row] = (byte) next.ordinal();
+    return new Alert(ids[row], names[row], next, available[row], docked[row], capacities[row]);
+  }
+
+  private static long ceil(double bicycles) {
+    return (long) Math.ceil(bicycles - EPSILON);
+  }
+
+  private static long floor(double bicycles) {
+    return (long) Math.floor(bicycles + EPSILON);
+  }
+
+  private void grow() {
+    int capacity = ids.length * 2;
+    ids = Arrays.copyOf(ids, capacity);
+    names = Arrays.copyOf(names, capacity);
+    latitudes = Arrays.copyOf(latitudes, capacity);
+    longitudes = Arrays.copyOf(longitudes, capacity);
+    capacities = Arrays.copyOf(capacities, capacity);
+    available = Arrays.copyOf(available, capacity);
+    docked = Arrays.copyOf(docked, capacity);
+    levels = Arrays.copyOf(levels, capacity);
+    fullEnter = Arrays.copyOf(fullEnter, capacity);
+    fullExit = Arrays.copyOf(fullExit, capacity);
+    emptyEnter = Arrays.copyOf(emptyEnter, capacity);
+    emptyExit = Arrays.copyOf(emptyExit, capacity);
+  }
+
+  /**
+   * @param capacity number of docks; {@code null} for unlimited
+   */
+  public record Entry(
+      long id,
+      String name,
+      double latitude,
+      double longitude,
+      Integer capacity,
+      long available,
+      long docked) {}
+
+  /** A station that changed level, with the counts that made it change. */
+  public record Alert(
+      long stationId, String name, Level level, long available, long docked, int capacity) {}
+
+  /**
+   * @param freeDocks {@code null} when the station has no capacity limit
+   */
+  public record Nearby(long stationId, String name, double distanceMeters, Long freeDocks) {}
+}
@@ -0,0 +1,22 @@
+package com.company.bikerent.station.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import com.company.bikerent.geo.dto.CoordinatesDto;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/** A return zone; vertices are in order and the last one connects back to the first. */
+public record CreateReturnZoneRequest(
+    @NotBlank(message = "Zone name is required")
+        @Size(max = 100, message = "Zone name cannot exceed 100 characters")
+        @JsonProperty("name")
+        String name,
+    @NotNull(message = "Vertices are required")
+        @Size(min = 3, max = 1000, message = "A zone needs between 3 and 1000 vertices")
+        @JsonProperty("vertices")
+        List<@NotNull @Valid CoordinatesDto> vertices) {}
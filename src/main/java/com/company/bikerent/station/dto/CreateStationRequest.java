@@ -3,6 +3,7 @@ package com.company.bikerent.station.dto;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
 
 import com.company.bikerent.geo.dto.CoordinatesDto;
@@ -14,4 +15,6 @@ public record CreateStationRequest(
         @JsonProperty("name")
         String name,
     @NotNull(message = "Coordinates are required") @Valid @JsonProperty("coordinates")
-        CoordinatesDto coordinates) {}
+        CoordinatesDto coordinates,
+    @PositiveOrZero(message = "Capacity cannot be negative") @JsonProperty("capacity")
+        Integer capacity) {}
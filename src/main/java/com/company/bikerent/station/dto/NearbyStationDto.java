@@ -0,0 +1,10 @@
+package com.company.bikerent.station.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/** A station to return a bicycle to instead; free docks are {@code null} when unlimited. */
+public record NearbyStationDto(
+    @JsonProperty("station_id") long stationId,
+    @JsonProperty("name") String name,
+    @JsonProperty("distance_meters") long distanceMeters,
+    @JsonProperty("free_docks") Long freeDocks) {}
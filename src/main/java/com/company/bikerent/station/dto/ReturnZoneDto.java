@@ -0,0 +1,12 @@
+package com.company.bikerent.station.dto;
+
+import java.util.List;
+
+import com.company.bikerent.geo.dto.CoordinatesDto;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record ReturnZoneDto(
+    @JsonProperty("id") Long id,
+    @JsonProperty("name") String name,
+    @JsonProperty("station_id") Long stationId,
+    @JsonProperty("vertices") List<CoordinatesDto> vertices) {}
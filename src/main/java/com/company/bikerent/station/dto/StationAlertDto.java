@@ -0,0 +1,13 @@
+package com.company.bikerent.station.dto;
+
+import com.company.bikerent.station.domain.StationOccupancyTable.Level;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/** A station that became full or empty, or recovered; pushed to {@code /topic/stationAlerts}. */
+public record StationAlertDto(
+    @JsonProperty("station_id") long stationId,
+    @JsonProperty("name") String name,
+    @JsonProperty("level") Level level,
+    @JsonProperty("available_bicycles") long availableBicycles,
+    @JsonProperty("docked_bicycles") long dockedBicycles,
+    @JsonProperty("capacity") int capacity) {}
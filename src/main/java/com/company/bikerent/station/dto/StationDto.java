@@ -7,4 +7,6 @@ public record StationDto(
     @JsonProperty("id") Long id,
     @JsonProperty("name") String name,
     @JsonProperty("coordinates") CoordinatesDto coordinates,
-    @JsonProperty("availableBicycles") Long availableBicycles) {}
+    @JsonProperty("availableBicycles") Long availableBicycles,
+    @JsonProperty("dockedBicycles") Long dockedBicycles,
+    @JsonProperty("capacity") Integer capacity) {}
@@ -0,0 +1,10 @@
+package com.company.bikerent.station.dto;
+
+import jakarta.validation.constraints.PositiveOrZero;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/** New number of docks; {@code null} removes the limit. */
+public record UpdateStationCapacityRequest(
+    @PositiveOrZero(message = "Capacity cannot be negative") @JsonProperty("capacity")
+        Integer capacity) {}
@@ -0,0 +1,4 @@
+package com.company.bikerent.station.event;
+
+/** Published when a station is created or deleted, or its capacity or return zones change. */
+public record StationChangedEvent(Long stationId) {}
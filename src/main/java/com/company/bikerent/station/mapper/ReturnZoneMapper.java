@@ -0,0 +1,29 @@
+package com.company.bikerent.station.mapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+
+import com.company.bikerent.geo.dto.CoordinatesDto;
+import com.company.bikerent.station.domain.ReturnZone;
+import com.company.bikerent.station.dto.ReturnZoneDto;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface ReturnZoneMapper {
+
+  @Mapping(source = "station.id", target = "stationId")
+  @Mapping(target = "vertices", expression = "java(toVertices(entity))")
+  ReturnZoneDto toDto(ReturnZone entity);
+
+  default List<CoordinatesDto> toVertices(ReturnZone zone) {
+    List<CoordinatesDto> vertices = new ArrayList<>(zone.getLatitudes().length);
+    for (int i = 0; i < zone.getLatitudes().length; i++) {
+      vertices.add(
+          new CoordinatesDto((float) zone.getLatitudes()[i], (float) zone.getLongitudes()[i]));
+    }
+    return vertices;
+  }
+}
@@ -18,6 +18,7 @@ public interface StationMapper {
   @Mapping(target = "id", ignore = true)
   @Mapping(target = "version", ignore = true)
   @Mapping(target = "availableBicycles", ignore = true)
+  @Mapping(target = "dockedBicycles", ignore = true)
   @Mapping(target = "bicycles", ignore = true)
   Station toEntity(CreateStationRequest request);
 
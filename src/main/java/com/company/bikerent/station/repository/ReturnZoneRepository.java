@@ -0,0 +1,33 @@
+package com.company.bikerent.station.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.company.bikerent.station.domain.ReturnZone;
+
+@Repository
+public interface ReturnZoneRepository extends JpaRepository<ReturnZone, Long> {
+
+  @Query("SELECT z FROM ReturnZone z WHERE z.station.id = :stationId ORDER BY z.id")
+  List<ReturnZone> findAllByStationId(@Param("stationId") Long stationId);
+
+  /** Every zone with its station id, for building the in-memory lookup. */
+  @Query(
+      "SELECT z.id AS id, z.station.id AS stationId, z.latitudes AS latitudes, "
+          + "z.longitudes AS longitudes FROM ReturnZone z")
+  List<ZoneShape> findAllShapes();
+
+  interface ZoneShape {
+    Long getId();
+
+    Long getStationId();
+
+    double[] getLatitudes();
+
+    double[] getLongitudes();
+  }
+}
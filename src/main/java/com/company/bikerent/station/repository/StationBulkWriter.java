@@ -0,0 +1,58 @@
+package com.company.bikerent.station.repository;
+
+import java.sql.Types;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.company.bikerent.common.config.DataSourceConfig;
+import com.company.bikerent.station.dto.CreateStationRequest;
+
+/** JDBC batch inserts of stations for bulk imports. */
+@Repository
+public class StationBulkWriter {
+
+  private static final int BATCH_SIZE = 500;
+
+  private static final String INSERT_STATION =
+      "INSERT INTO station (name, latitude, longitude, capacity, available_bicycles, version) "
+          + "VALUES (?, ?, ?, ?, 0, 0) ON CONFLICT (name) DO NOTHING";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public StationBulkWriter(@Qualifier("bulkJdbcTemplate") JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Insert stations, skipping names that already exist.
+   *
+   * @return for each station whether it was inserted
+   */
+  @Transactional(DataSourceConfig.BULK_TRANSACTION_MANAGER)
+  public boolean[] insert(List<CreateStationRequest> stations) {
+    int[][] counts =
+        jdbcTemplate.batchUpdate(
+            INSERT_STATION,
+            stations,
+            BATCH_SIZE,
+            (statement, station) -> {
+              statement.setString(1, station.name());
+              statement.setDouble(2, station.coordinates().latitude());
+              statement.setDouble(3, station.coordinates().longitude());
+              statement.setObject(4, station.capacity(), Types.INTEGER);
+            });
+    boolean[] inserted = new boolean[stations.size()];
+    int i = 0;
+    for (int[] batch : counts) {
+      for (int count : batch) {
+        // Drivers that rewrite batches report SUCCESS_NO_INFO rather than 1
+        inserted[i++] = count != 0;
+      }
+    }
+    return inserted;
+  }
+}
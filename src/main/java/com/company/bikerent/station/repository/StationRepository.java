@@ -1,5 +1,7 @@
 package com.company.bikerent.station.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import jakarta.persistence.LockModeType;
@@ -13,6 +15,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
 
+import com.company.bikerent.common.etag.CollectionVersion;
 import com.company.bikerent.station.domain.Station;
 
 @Repository
@@ -24,6 +27,66 @@ public interface StationRepository extends JpaRepository<Station, Long> {
   @Query("SELECT s FROM Station s WHERE s.id = :id")
   Optional<Station> findByIdWithLock(@Param("id") Long id);
 
+  /** Lock stations in ascending id order. */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT s FROM Station s WHERE s.id IN :ids ORDER BY s.id")
+  List<Station> findAllByIdWithLock(@Param("ids") Collection<Long> ids);
+
   @Query("SELECT s FROM Station s LEFT JOIN FETCH s.bicycles WHERE s.id = :id")
   Optional<Station> findByIdWithBicycles(@Param("id") Long id);
+
+  @Query("SELECT s.version FROM Station s WHERE s.id = :id")
+  Optional<Long> findVersionById(@Param("id") Long id);
+
+  @Query(
+      "SELECT new com.company.bikerent.common.etag.CollectionVersion("
+          + "COUNT(s), COALESCE(SUM(s.version), 0), COALESCE(MAX(s.id), 0)) FROM Station s")
+  CollectionVersion findCollectionVersion();
+
+  /** Stations written by transactions at or after the given one, for delta sync (see V13). */
+  @Query(
+      value =
+          "SELECT * FROM station WHERE change_txid >= CAST(CAST(:since AS text) AS xid8) "
+              + "ORDER BY id",
+      nativeQuery = true)
+  List<Station> findChangedSince(@Param("since") long since);
+
+  /** Id and name of every station, for resolving station references in bulk imports. */
+  @Query("SELECT s.id AS id, s.name AS name FROM Station s")
+  List<StationName> findAllNames();
+
+  /** Location, capacity and counts of stations, for tracking their occupancy in memory. */
+  String OCCUPANCY_SELECT =
+      "SELECT s.id AS id, s.name AS name, s.coordinates.latitude AS latitude, "
+          + "s.coordinates.longitude AS longitude, s.capacity AS capacity, "
+          + "s.availableBicycles AS availableBicycles, s.dockedBicycles AS dockedBicycles "
+          + "FROM Station s";
+
+  @Query(OCCUPANCY_SELECT)
+  List<StationOccupancy> findAllOccupancy();
+
+  @Query(OCCUPANCY_SELECT + " WHERE s.id = :id")
+  Optional<StationOccupancy> findOccupancyById(@Param("id") Long id);
+
+  interface StationName {
+    Long getId();
+
+    String getName();
+  }
+
+  interface StationOccupancy {
+    Long getId();
+
+    String getName();
+
+    Float getLatitude();
+
+    Float getLongitude();
+
+    Integer getCapacity();
+
+    Long getAvailableBicycles();
+
+    Long getDockedBicycles();
+  }
 }
@@ -0,0 +1,129 @@
+package com.company.bikerent.station.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.company.bikerent.common.exception.EntityNotFoundException;
+import com.company.bikerent.geo.domain.PolygonIndex;
+import com.company.bikerent.geo.dto.CoordinatesDto;
+import com.company.bikerent.station.domain.ReturnZone;
+import com.company.bikerent.station.domain.Station;
+import com.company.bikerent.station.dto.CreateReturnZoneRequest;
+import com.company.bikerent.station.dto.ReturnZoneDto;
+import com.company.bikerent.station.event.StationChangedEvent;
+import com.company.bikerent.station.mapper.ReturnZoneMapper;
+import com.company.bikerent.station.repository.ReturnZoneRepository;
+import com.company.bikerent.station.repository.ReturnZoneRepository.ZoneShape;
+import com.company.bikerent.station.repository.StationRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Return zones and the lookup of the zone containing a location. All zones are indexed in memory by
+ * their station; the index is rebuilt from the database whenever a zone or station changes, which
+ * is rare next to the lookups made for every return.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReturnZoneService {
+
+  private static final long NO_STATION = -1L;
+
+  private final ReturnZoneRepository returnZoneRepository;
+  private final StationRepository stationRepository;
+  private final ReturnZoneMapper returnZoneMapper;
+  private final ApplicationEventPublisher eventPublisher;
+
+  private volatile PolygonIndex index = PolygonIndex.EMPTY;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    rebuild();
+  }
+
+  /** Station whose return zone contains the location; the smallest zone where zones overlap. */
+  public Optional<Long> findStationAt(double latitude, double longitude) {
+    long stationId = index.find(latitude, longitude, NO_STATION);
+    return stationId == NO_STATION ? Optional.empty() : Optional.of(stationId);
+  }
+
+  @Transactional(readOnly = true)
+  public List<ReturnZoneDto> findAllByStationId(Long stationId) {
+    if (!stationRepository.existsById(stationId)) {
+      throw new EntityNotFoundException(Station.class, stationId);
+    }
+    return returnZoneRepository.findAllByStationId(stationId).stream()
+        .map(returnZoneMapper::toDto)
+        .toList();
+  }
+
+  @Transactional
+  public ReturnZoneDto create(Long stationId, CreateReturnZoneRequest request) {
+    log.info("Creating return zone {} for station {}", request.name(), stationId);
+
+    Station station =
+        stationRepository
+            .findById(stationId)
+            .orElseThrow(() -> new EntityNotFoundException(Station.class, stationId));
+
+    int vertexCount = request.vertices().size();
+    double[] latitudes = new double[vertexCount];
+    double[] longitudes = new double[vertexCount];
+    for (int i = 0; i < vertexCount; i++) {
+      CoordinatesDto vertex = request.vertices().get(i);
+      latitudes[i] = vertex.latitude();
+      longitudes[i] = vertex.longitude();
+    }
+
+    ReturnZone zone = new ReturnZone();
+    zone.setName(request.name());
+    zone.setStation(station);
+    zone.setLatitudes(latitudes);
+    zone.setLongitudes(longitudes);
+
+    ReturnZone saved = returnZoneRepository.save(zone);
+    eventPublisher.publishEvent(new StationChangedEvent(stationId));
+    log.info("Return zone created with ID: {}", saved.getId());
+    return returnZoneMapper.toDto(saved);
+  }
+
+  @Transactional
+  public void delete(Long stationId, Long zoneId) {
+    log.info("Deleting return zone {} of station {}", zoneId, stationId);
+
+    ReturnZone zone =
+        returnZoneRepository
+            .findById(zoneId)
+            .filter(found -> found.getStation().getId().equals(stationId))
+            .orElseThrow(() -> new EntityNotFoundException(ReturnZone.class, zoneId));
+
+    returnZoneRepository.delete(zone);
+    eventPublisher.publishEvent(new StationChangedEvent(stationId));
+  }
+
+  /** Zones of deleted stations go with them (ON DELETE CASCADE), so any station change rebuilds. */
+  @TransactionalEventListener
+  public void onStationChanged(StationChangedEvent event) {
+    rebuild();
+  }
+
+  /** Replace the index with the committed zones; serialized so an older read never wins. */
+  public synchronized void rebuild() {
+    List<ZoneShape> zones = returnZoneRepository.findAllShapes();
+    PolygonIndex.Builder builder = PolygonIndex.builder();
+    for (ZoneShape zone : zones) {
+      builder.add(zone.getStationId(), zone.getLatitudes(), zone.getLongitudes());
+    }
+    index = builder.build();
+    log.info("Return zones indexed: zones={}", zones.size());
+  }
+}
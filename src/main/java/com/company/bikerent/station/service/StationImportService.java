@@ -0,0 +1,79 @@
+package com.company.bikerent.station.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+
+import com.company.bikerent.common.dto.ImportReport;
+import com.company.bikerent.common.importer.BulkImporter;
+import com.company.bikerent.common.importer.CsvValues;
+import com.company.bikerent.common.importer.ImportFormat;
+import com.company.bikerent.common.importer.ImportRow;
+import com.company.bikerent.common.importer.ImportRowReader;
+import com.company.bikerent.geo.dto.CoordinatesDto;
+import com.company.bikerent.station.dto.CreateStationRequest;
+import com.company.bikerent.station.repository.StationBulkWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bulk import of stations. CSV files have the columns {@code name, latitude, longitude} and an
+ * optional {@code capacity}; NDJSON lines have the shape of {@link CreateStationRequest}. Stations
+ * whose name already exists are reported and skipped.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StationImportService {
+
+  private final BulkImporter bulkImporter;
+  private final StationBulkWriter stationBulkWriter;
+  private final ObjectMapper objectMapper;
+  private final StationOccupancyMonitor stationOccupancyMonitor;
+
+  public ImportReport importStations(InputStream body, ImportFormat format) throws IOException {
+    try (ImportRowReader<CreateStationRequest> reader =
+        ImportRowReader.open(
+            format,
+            body,
+            StationImportService::fromCsv,
+            objectMapper.readerFor(CreateStationRequest.class))) {
+      ImportReport report = bulkImporter.run(reader, this::write);
+      stationOccupancyMonitor.reload();
+      log.info(
+          "Stations imported: received={}, imported={}, failed={}",
+          report.received(),
+          report.imported(),
+          report.failed());
+      return report;
+    }
+  }
+
+  private int write(
+      List<ImportRow<CreateStationRequest>> rows, BulkImporter.RowRejection rejected) {
+    boolean[] inserted = stationBulkWriter.insert(rows.stream().map(ImportRow::value).toList());
+    int written = 0;
+    for (int i = 0; i < inserted.length; i++) {
+      if (inserted[i]) {
+        written++;
+      } else {
+        ImportRow<CreateStationRequest> row = rows.get(i);
+        rejected.reject(row.line(), "Station '" + row.value().name() + "' already exists");
+      }
+    }
+    return written;
+  }
+
+  private static CreateStationRequest fromCsv(Map<String, String> fields) {
+    return new CreateStationRequest(
+        fields.get("name"),
+        new CoordinatesDto(
+            CsvValues.toFloat(fields, "latitude"), CsvValues.toFloat(fields, "longitude")),
+        CsvValues.toInteger(fields, "capacity"));
+  }
+}
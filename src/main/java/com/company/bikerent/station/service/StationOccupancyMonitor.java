@@ -0,0 +1,245 @@
+package com.company.bikerent.station.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.company.bikerent.bicycle.domain.BicycleStatus;
+import com.company.bikerent.bicycle.event.BicycleMovedEvent;
+import com.company.bikerent.station.domain.StationOccupancyTable;
+import com.company.bikerent.station.domain.StationOccupancyTable.Alert;
+import com.company.bikerent.station.dto.NearbyStationDto;
+import com.company.bikerent.station.dto.StationAlertDto;
+import com.company.bikerent.station.event.StationChangedEvent;
+import com.company.bikerent.station.repository.StationRepository;
+import com.company.bikerent.station.repository.StationRepository.StationOccupancy;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tracks how full every station is and pushes an alert to {@code /topic/stationAlerts} when one
+ * becomes full or empty, or recovers. Each committed bicycle movement adjusts the counts of the
+ * stations it left and reached and re-checks just those, so alerts go out as availability changes
+ * rather than on a polling interval, and a movement that changes no level costs no allocation and
+ * no message.
+ *
+ * <p>Counts are loaded at startup and reloaded after bulk imports and periodically, which picks up
+ * set-based changes that publish no movements (overdue reservation sweeps). A reload keeps the
+ * level of each station, so it only alerts on stations whose level actually changed.
+ */
+@Slf4j
+@Service
+public class StationOccupancyMonitor {
+
+  private static final String ALERT_DESTINATION = "/topic/stationAlerts";
+
+  private static final int RELOAD_ATTEMPTS = 3;
+
+  private final StationRepository stationRepository;
+  private final SimpMessagingTemplate messagingTemplate;
+  private final Counter alertsSent;
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+  // Guarded by lock
+  private final StationOccupancyTable table;
+  private long modifications;
+
+  public StationOccupancyMonitor(
+      StationRepository stationRepository,
+      SimpMessagingTemplate messagingTemplate,
+      MeterRegistry meterRegistry,
+      @Value("${station.alerts.empty-ratio:0.1}") double emptyRatio,
+      @Value("${station.alerts.full-ratio:0.9}") double fullRatio,
+      @Value("${station.alerts.hysteresis:0.05}") double hysteresis) {
+    this.stationRepository = stationRepository;
+    this.messagingTemplate = messagingTemplate;
+    this.table = new StationOccupancyTable(emptyRatio, fullRatio, hysteresis);
+    this.alertsSent =
+        Counter.builder("stations.alerts")
+            .description("Station full and empty alerts pushed to subscribers")
+            .register(meterRegistry);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    reload();
+  }
+
+  /**
+   * Replace the counts of every station with the committed ones. Movements applied while reading
+   * may or may not be in what was read, so the read is retried when any arrive.
+   */
+  @Scheduled(
+      fixedDelayString = "${station.alerts.reload-interval-ms:600000}",
+      initialDelayString = "${station.alerts.reload-interval-ms:600000}")
+  public void reload() {
+    List<Alert> alerts = new ArrayList<>();
+    int stations = 0;
+    for (int attempt = 1; attempt <= RELOAD_ATTEMPTS; attempt++) {
+      long seen = modificationCount();
+      List<StationOccupancy> rows = stationRepository.findAllOccupancy();
+
+      lock.writeLock().lock();
+      try {
+        if (modifications != seen && attempt < RELOAD_ATTEMPTS) {
+          continue;
+        }
+        Set<Long> present = new HashSet<>(rows.size() * 2);
+        for (StationOccupancy row : rows) {
+          present.add(row.getId());
+          addIfPresent(alerts, table.put(toEntry(row)));
+        }
+        for (long id : table.ids()) {
+          if (!present.contains(id)) {
+            table.remove(id);
+          }
+        }
+        modifications++;
+        stations = table.size();
+        break;
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+    sendAll(alerts);
+    log.info("Station occupancy loaded: stations={}, alerts={}", stations, alerts.size());
+  }
+
+  /** Stations nearest to the given one that have a free dock, nearest first. */
+  public List<NearbyStationDto> findNearbyWithFreeDock(long stationId, int limit) {
+    List<StationOccupancyTable.Nearby> nearby;
+    lock.readLock().lock();
+    try {
+      nearby = table.nearestWithFreeDock(stationId, limit);
+    } finally {
+      lock.readLock().unlock();
+    }
+    return nearby.stream()
+        .map(
+            station ->
+                new NearbyStationDto(
+                    station.stationId(),
+                    station.name(),
+                    Math.round(station.distanceMeters()),
+                    station.freeDocks()))
+        .toList();
+  }
+
+  @TransactionalEventListener
+  public void onBicycleMoved(BicycleMovedEvent event) {
+    int availableBefore = available(event.fromStatus());
+    int dockedBefore = docked(event.fromStatus());
+    int availableAfter = available(event.toStatus());
+    int dockedAfter = docked(event.toStatus());
+
+    Alert left = null;
+    Alert reached = null;
+    lock.writeLock().lock();
+    try {
+      modifications++;
+      if (event.fromStationId() != null && event.fromStationId().equals(event.toStationId())) {
+        left =
+            table.apply(
+                event.fromStationId(),
+                availableAfter - availableBefore,
+                dockedAfter - dockedBefore);
+      } else {
+        if (event.fromStationId() != null) {
+          left = table.apply(event.fromStationId(), -availableBefore, -dockedBefore);
+        }
+        if (event.toStationId() != null) {
+          reached = table.apply(event.toStationId(), availableAfter, dockedAfter);
+        }
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+    send(left);
+    send(reached);
+  }
+
+  @TransactionalEventListener
+  public void onStationChanged(StationChangedEvent event) {
+    StationOccupancy row = stationRepository.findOccupancyById(event.stationId()).orElse(null);
+    Alert alert = null;
+    lock.writeLock().lock();
+    try {
+      modifications++;
+      if (row == null) {
+        table.remove(event.stationId());
+      } else {
+        alert = table.put(toEntry(row));
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+    send(alert);
+  }
+
+  private long modificationCount() {
+    lock.readLock().lock();
+    try {
+      return modifications;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private void sendAll(List<Alert> alerts) {
+    alerts.forEach(this::send);
+  }
+
+  private void send(Alert alert) {
+    if (alert == null) {
+      return;
+    }
+    alertsSent.increment();
+    messagingTemplate.convertAndSend(
+        ALERT_DESTINATION,
+        new StationAlertDto(
+            alert.stationId(),
+            alert.name(),
+            alert.level(),
+            alert.available(),
+            alert.docked(),
+            alert.capacity()));
+  }
+
+  private static void addIfPresent(List<Alert> alerts, Alert alert) {
+    if (alert != null) {
+      alerts.add(alert);
+    }
+  }
+
+  private static StationOccupancyTable.Entry toEntry(StationOccupancy row) {
+    return new StationOccupancyTable.Entry(
+        row.getId(),
+        row.getName(),
+        row.getLatitude(),
+        row.getLongitude(),
+        row.getCapacity(),
+        row.getAvailableBicycles() != null ? row.getAvailableBicycles() : 0L,
+        row.getDockedBicycles() != null ? row.getDockedBicycles() : 0L);
+  }
+
+  private static int available(BicycleStatus status) {
+    return status == BicycleStatus.AVAILABLE ? 1 : 0;
+  }
+
+  /** Bicycles available or held for a reservation stand in a dock; see V16. */
+  private static int docked(BicycleStatus status) {
+    return status == BicycleStatus.AVAILABLE || status == BicycleStatus.RESERVED ? 1 : 0;
+  }
+}
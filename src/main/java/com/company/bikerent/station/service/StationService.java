@@ -1,14 +1,19 @@
 package com.company.bikerent.station.service;
 
+import java.util.Optional;
+
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.company.bikerent.common.etag.CollectionVersion;
 import com.company.bikerent.common.exception.EntityNotFoundException;
 import com.company.bikerent.station.domain.Station;
 import com.company.bikerent.station.dto.CreateStationRequest;
 import com.company.bikerent.station.dto.StationDto;
+import com.company.bikerent.station.event.StationChangedEvent;
 import com.company.bikerent.station.mapper.StationMapper;
 import com.company.bikerent.station.repository.StationRepository;
 
@@ -22,6 +27,7 @@ public class StationService {
 
   private final StationMapper stationMapper;
   private final StationRepository stationRepository;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Transactional(readOnly = true)
   public Page<StationDto> findAllWithFilters(Long id, Pageable pageable) {
@@ -40,6 +46,17 @@ public class StationService {
     return stationMapper.toDto(station);
   }
 
+  /** Version of the station, without loading it; empty if it does not exist. */
+  @Transactional(readOnly = true)
+  public Optional<Long> findVersion(Long id) {
+    return stationRepository.findVersionById(id);
+  }
+
+  @Transactional(readOnly = true)
+  public CollectionVersion findCollectionVersion() {
+    return stationRepository.findCollectionVersion();
+  }
+
   @Transactional
   public StationDto create(CreateStationRequest request) {
     log.info("Creating new station: {}", request.name());
@@ -48,6 +65,7 @@ public class StationService {
     station.setAvailableBicycles(0L);
 
     Station saved = stationRepository.save(station);
+    eventPublisher.publishEvent(new StationChangedEvent(saved.getId()));
     log.info("Station created with ID: {}", saved.getId());
 
     return stationMapper.toDto(saved);
@@ -63,9 +81,26 @@ public class StationService {
             .orElseThrow(() -> new EntityNotFoundException(Station.class, id));
 
     stationRepository.delete(station);
+    eventPublisher.publishEvent(new StationChangedEvent(id));
     log.info("Station deleted: {}", id);
   }
 
+  /** Set the number of docks; {@code null} removes the limit. Docked bicycles are not moved. */
+  @Transactional
+  public StationDto updateCapacity(Long id, Integer capacity) {
+    log.info("Updating capacity of station {}: {}", id, capacity);
+
+    Station station =
+        stationRepository
+            .findByIdWithLock(id)
+            .orElseThrow(() -> new EntityNotFoundException(Station.class, id));
+    station.setCapacity(capacity);
+
+    Station saved = stationRepository.save(station);
+    eventPublisher.publishEvent(new StationChangedEvent(id));
+    return stationMapper.toDto(saved);
+  }
+
   @Transactional
   public void updateAvailableBicycles(Long stationId) {
     Station station =
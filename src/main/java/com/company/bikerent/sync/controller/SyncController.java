@@ -0,0 +1,40 @@
+package com.company.bikerent.sync.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.company.bikerent.sync.dto.SyncResponse;
+import com.company.bikerent.sync.service.SyncService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/v1/sync")
+@RequiredArgsConstructor
+@Tag(name = "Sync", description = "Delta sync for mobile clients")
+public class SyncController {
+
+  private final SyncService syncService;
+
+  @GetMapping
+  @Operation(
+      summary = "Get stations, bicycles and own rentals changed since a sync token",
+      description =
+          "Without a token everything is returned. Pass the returned token as 'since' on the next"
+              + " call; entities may occasionally be sent twice and should be upserted by id.")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Changes retrieved"),
+        @ApiResponse(responseCode = "400", description = "Invalid sync token")
+      })
+  public ResponseEntity<SyncResponse> sync(@RequestParam(required = false) String since) {
+    return ResponseEntity.ok(syncService.changesSince(since));
+  }
+}
@@ -0,0 +1,19 @@
+package com.company.bikerent.sync.dto;
+
+import java.util.List;
+
+import com.company.bikerent.bicycle.dto.BicycleDto;
+import com.company.bikerent.rental.dto.RentalDto;
+import com.company.bikerent.station.dto.StationDto;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/** Changes since the client's last sync; empty lists are left out. */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record SyncResponse(
+    @JsonProperty("token") String token,
+    @JsonProperty("stations") List<StationDto> stations,
+    @JsonProperty("bicycles") List<BicycleDto> bicycles,
+    @JsonProperty("rentals") List<RentalDto> rentals,
+    @JsonProperty("deletedStations") List<Long> deletedStationIds,
+    @JsonProperty("deletedBicycles") List<Long> deletedBicycleIds) {}
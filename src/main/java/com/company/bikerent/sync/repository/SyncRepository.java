@@ -0,0 +1,37 @@
+package com.company.bikerent.sync.repository;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/** Sync tokens and tombstones of deleted entities (see V13). */
+@Repository
+@RequiredArgsConstructor
+public class SyncRepository {
+
+  private static final String CURRENT_TOKEN =
+      "SELECT CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS text) AS bigint)";
+
+  private static final String DELETED_SINCE =
+      "SELECT entity_id FROM sync_tombstone "
+          + "WHERE entity_type = ? AND change_txid >= CAST(CAST(? AS text) AS xid8) "
+          + "ORDER BY entity_id";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Oldest transaction still running now. Everything written by earlier transactions is visible
+   * from here on; later ones may still commit and must be looked at again.
+   */
+  public long currentToken() {
+    return jdbcTemplate.queryForObject(CURRENT_TOKEN, Long.class);
+  }
+
+  /** Ids of entities of the type deleted by transactions at or after the given one. */
+  public List<Long> findDeletedSince(String entityType, long since) {
+    return jdbcTemplate.queryForList(DELETED_SINCE, Long.class, entityType, since);
+  }
+}
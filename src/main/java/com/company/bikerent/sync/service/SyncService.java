@@ -0,0 +1,90 @@
+package com.company.bikerent.sync.service;
+
+import java.util.List;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.company.bikerent.bicycle.mapper.BicycleMapper;
+import com.company.bikerent.bicycle.repository.BicycleRepository;
+import com.company.bikerent.rental.mapper.RentalMapper;
+import com.company.bikerent.rental.repository.RentalRepository;
+import com.company.bikerent.station.mapper.StationMapper;
+import com.company.bikerent.station.repository.StationRepository;
+import com.company.bikerent.sync.dto.SyncResponse;
+import com.company.bikerent.sync.repository.SyncRepository;
+import com.company.bikerent.user.domain.User;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Delta sync for mobile clients. A token is the oldest transaction that was still running at the
+ * previous sync; rows stamped by that transaction or later are returned again, so a row committed
+ * late is never skipped, at the cost of occasionally sending a row twice.
+ */
+@Service
+@RequiredArgsConstructor
+public class SyncService {
+
+  private static final String STATION = "STATION";
+  private static final String BICYCLE = "BICYCLE";
+
+  private final SyncRepository syncRepository;
+  private final StationRepository stationRepository;
+  private final BicycleRepository bicycleRepository;
+  private final RentalRepository rentalRepository;
+  private final StationMapper stationMapper;
+  private final BicycleMapper bicycleMapper;
+  private final RentalMapper rentalMapper;
+
+  /**
+   * Stations, bicycles and the current user's rentals changed since the token, or all of them
+   * without a token. A token the server cannot have issued is rejected, so the client starts over.
+   */
+  @Transactional(readOnly = true)
+  public SyncResponse changesSince(String token) {
+    long since = parseToken(token);
+    // Taken before reading: everything stamped before it is visible to the queries below
+    long next = syncRepository.currentToken();
+    if (since > next) {
+      // Issued by another database, or by this one before a restore
+      throw new IllegalArgumentException(
+          "Sync token is ahead of the server, sync again without a token");
+    }
+
+    return new SyncResponse(
+        Long.toString(next, 36),
+        stationRepository.findChangedSince(since).stream().map(stationMapper::toDto).toList(),
+        bicycleRepository.findChangedSince(since).stream().map(bicycleMapper::toDto).toList(),
+        rentalRepository.findChangedSince(getCurrentUserId(), since).stream()
+            .map(rentalMapper::toDto)
+            .toList(),
+        since == 0 ? List.of() : syncRepository.findDeletedSince(STATION, since),
+        since == 0 ? List.of() : syncRepository.findDeletedSince(BICYCLE, since));
+  }
+
+  private static long parseToken(String token) {
+    if (token == null || token.isBlank()) {
+      return 0;
+    }
+    try {
+      long since = Long.parseLong(token, 36);
+      if (since >= 0) {
+        return since;
+      }
+    } catch (NumberFormatException e) {
+      // Reported below
+    }
+    throw new IllegalArgumentException("Invalid sync token: " + token);
+  }
+
+  private Long getCurrentUserId() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication.getPrincipal() instanceof User) {
+      return ((User) authentication.getPrincipal()).getId();
+    }
+    throw new IllegalStateException("User not authenticated");
+  }
+}
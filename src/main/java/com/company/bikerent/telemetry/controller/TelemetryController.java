@@ -0,0 +1,64 @@
+package com.company.bikerent.telemetry.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.company.bikerent.telemetry.dto.TelemetryIngestResponse;
+import com.company.bikerent.telemetry.service.TelemetryService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/v1/telemetry")
+@RequiredArgsConstructor
+@Tag(name = "Telemetry", description = "Bicycle GPS telemetry ingestion")
+public class TelemetryController {
+
+  private final TelemetryService telemetryService;
+
+  @PostMapping(value = "/points", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+  @Operation(summary = "Ingest a batch of GPS points as newline-delimited JSON")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "202", description = "Points queued"),
+        @ApiResponse(responseCode = "400", description = "Malformed or oversized batch"),
+        @ApiResponse(responseCode = "503", description = "Queue full, resend dropped points")
+      })
+  public ResponseEntity<TelemetryIngestResponse> ingestNdjson(InputStream body) throws IOException {
+    return toResponse(telemetryService.ingestNdjson(body));
+  }
+
+  @PostMapping(value = "/points", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+  @Operation(summary = "Ingest a batch of GPS points as packed 24-byte binary records")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "202", description = "Points queued"),
+        @ApiResponse(responseCode = "400", description = "Malformed or oversized batch"),
+        @ApiResponse(responseCode = "503", description = "Queue full, resend dropped points")
+      })
+  public ResponseEntity<TelemetryIngestResponse> ingestBinary(InputStream body) throws IOException {
+    return toResponse(telemetryService.ingestBinary(body));
+  }
+
+  private static ResponseEntity<TelemetryIngestResponse> toResponse(
+      TelemetryIngestResponse response) {
+    if (response.dropped() > 0) {
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+          .header(HttpHeaders.RETRY_AFTER, "1")
+          .body(response);
+    }
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+  }
+}
@@ -0,0 +1,77 @@
+package com.company.bikerent.telemetry.domain;
+
+import java.util.Arrays;
+
+/** Growable, time-ordered GPS points of one trip, stored column-wise. */
+public final class TracePoints {
+
+  long[] timestamps;
+  double[] latitudes;
+  double[] longitudes;
+  private int size;
+
+  public TracePoints() {
+    this(64);
+  }
+
+  public TracePoints(int initialCapacity) {
+    int capacity = Math.max(1, initialCapacity);
+    this.timestamps = new long[capacity];
+    this.latitudes = new double[capacity];
+    this.longitudes = new double[capacity];
+  }
+
+  /** Append a point; points must be added in non-decreasing time order. */
+  public void add(long timestampMs, double latitude, double longitude) {
+    if (size > 0 && timestampMs < timestamps[size - 1]) {
+      throw new IllegalArgumentException("Trace points must be added in time order");
+    }
+    if (size == timestamps.length) {
+      int capacity = size * 2;
+      timestamps = Arrays.copyOf(timestamps, capacity);
+      latitudes = Arrays.copyOf(latitudes, capacity);
+      longitudes = Arrays.copyOf(longitudes, capacity);
+    }
+    timestamps[size] = timestampMs;
+    latitudes[size] = latitude;
+    longitudes[size] = longitude;
+    size++;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public long timestampAt(int index) {
+    return timestamps[index];
+  }
+
+  public double latitudeAt(int index) {
+    return latitudes[index];
+  }
+
+  public double longitudeAt(int index) {
+    return longitudes[index];
+  }
+
+  /** Merge two time-ordered traces into a new one. */
+  public static TracePoints merge(TracePoints first, TracePoints second) {
+    TracePoints merged = new TracePoints(first.size + second.size);
+    int i = 0;
+    int j = 0;
+    while (i < first.size || j < second.size) {
+      if (j == second.size || (i < first.size && first.timestamps[i] <= second.timestamps[j])) {
+        merged.add(first.timestamps[i], first.latitudes[i], first.longitudes[i]);
+        i++;
+      } else {
+        merged.add(second.timestamps[j], second.latitudes[j], second.longitudes[j]);
+        j++;
+      }
+    }
+    return merged;
+  }
+}
@@ -0,0 +1,234 @@
+package com.company.bikerent.telemetry.domain;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+/**
+ * Compact binary format for a trip trace.
+ *
+ * <pre>
+ * byte    format version
+ * byte    simplification level
+ * varint  point count
+ * per point: zigzag varint deltas of time (ms), latitude and longitude (micro-degrees)
+ * </pre>
+ *
+ * Consecutive GPS fixes are close in time and space, so most deltas fit in one or two bytes and a
+ * point costs about four bytes instead of a full table row.
+ */
+public final class TripTraceCodec {
+
+  public static final int FORMAT_VERSION = 1;
+
+  /** Douglas-Peucker tolerance in meters for each simplification level. */
+  private static final double[] TOLERANCE_METERS = {0.0, 1.0, 3.0, 8.0, 20.0};
+
+  private static final double MICRO_DEGREES = 1_000_000.0;
+  private static final double METERS_PER_DEGREE = Math.toRadians(1.0) * 6_371_008.8;
+
+  private TripTraceCodec() {}
+
+  public static int maxSimplificationLevel() {
+    return TOLERANCE_METERS.length - 1;
+  }
+
+  public static byte[] encode(TracePoints points, int simplificationLevel) {
+    if (simplificationLevel < 0 || simplificationLevel > maxSimplificationLevel()) {
+      throw new IllegalArgumentException("Unknown simplification level: " + simplificationLevel);
+    }
+    boolean[] keep = simplify(points, TOLERANCE_METERS[simplificationLevel]);
+    int kept = 0;
+    for (boolean k : keep) {
+      if (k) {
+        kept++;
+      }
+    }
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream(8 + kept * 5);
+    out.write(FORMAT_VERSION);
+    out.write(simplificationLevel);
+    writeVarLong(out, kept);
+
+    long previousTime = 0L;
+    long previousLat = 0L;
+    long previousLon = 0L;
+    for (int i = 0; i < points.size(); i++) {
+      if (!keep[i]) {
+        continue;
+      }
+      long lat = Math.round(points.latitudes[i] * MICRO_DEGREES);
+      long lon = Math.round(points.longitudes[i] * MICRO_DEGREES);
+      writeVarLong(out, zigzag(points.timestamps[i] - previousTime));
+      writeVarLong(out, zigzag(lat - previousLat));
+      writeVarLong(out, zigzag(lon - previousLon));
+      previousTime = points.timestamps[i];
+      previousLat = lat;
+      previousLon = lon;
+    }
+    return out.toByteArray();
+  }
+
+  /** Decode a whole trace into memory. Prefer {@link #reader(byte[])} for one-pass consumers. */
+  public static TracePoints decode(byte[] data) {
+    Reader reader = reader(data);
+    TracePoints points = new TracePoints(reader.size());
+    while (reader.next()) {
+      points.add(reader.timestampMs(), reader.latitude(), reader.longitude());
+    }
+    return points;
+  }
+
+  public static Reader reader(byte[] data) {
+    return new Reader(data);
+  }
+
+  /** Forward-only cursor that decodes one point per {@link #next()} without allocating. */
+  public static final class Reader {
+
+    private final byte[] data;
+    private final int simplificationLevel;
+    private final int size;
+    private int offset;
+    private int remaining;
+    private long timestampMs;
+    private long latitude;
+    private long longitude;
+
+    private Reader(byte[] data) {
+      if (data.length < 3 || data[0] != FORMAT_VERSION) {
+        throw new IllegalArgumentException("Unsupported trip trace format");
+      }
+      this.data = data;
+      this.simplificationLevel = data[1];
+      this.offset = 2;
+      this.size = (int) readVarLong();
+      this.remaining = size;
+    }
+
+    public int size() {
+      return size;
+    }
+
+    public int simplificationLevel() {
+      return simplificationLevel;
+    }
+
+    public boolean next() {
+      if (remaining == 0) {
+        return false;
+      }
+      timestampMs += unzigzag(readVarLong());
+      latitude += unzigzag(readVarLong());
+      longitude += unzigzag(readVarLong());
+      remaining--;
+      return true;
+    }
+
+    public long timestampMs() {
+      return timestampMs;
+    }
+
+    public double latitude() {
+      return latitude / MICRO_DEGREES;
+    }
+
+    public double longitude() {
+      return longitude / MICRO_DEGREES;
+    }
+
+    private long readVarLong() {
+      long value = 0L;
+      int shift = 0;
+      while (true) {
+        if (offset >= data.length || shift > 63) {
+          throw new IllegalArgumentException("Corrupt trip trace");
+        }
+        byte b = data[offset++];
+        value |= (long) (b & 0x7F) << shift;
+        if (b >= 0) {
+          return value;
+        }
+        shift += 7;
+      }
+    }
+  }
+
+  /** Douglas-Peucker on a local equirectangular projection, iterative to bound stack use. */
+  private static boolean[] simplify(TracePoints points, double toleranceMeters) {
+    int count = points.size();
+    boolean[] keep = new boolean[count];
+    if (count < 3 || toleranceMeters <= 0.0) {
+      Arrays.fill(keep, true);
+      return keep;
+    }
+    keep[0] = true;
+    keep[count - 1] = true;
+
+    double metersPerDegreeLon = METERS_PER_DEGREE * Math.cos(Math.toRadians(points.latitudes[0]));
+    int[] stack = new int[2 * count];
+    int top = 0;
+    stack[top++] = 0;
+    stack[top++] = count - 1;
+    while (top > 0) {
+      int last = stack[--top];
+      int first = stack[--top];
+      double ax = points.longitudes[first] * metersPerDegreeLon;
+      double ay = points.latitudes[first] * METERS_PER_DEGREE;
+      double bx = points.longitudes[last] * metersPerDegreeLon;
+      double by = points.latitudes[last] * METERS_PER_DEGREE;
+
+      double maxDistance = -1.0;
+      int farthest = -1;
+      for (int i = first + 1; i < last; i++) {
+        double distance =
+            segmentDistance(
+                points.longitudes[i] * metersPerDegreeLon,
+                points.latitudes[i] * METERS_PER_DEGREE,
+                ax,
+                ay,
+                bx,
+                by);
+        if (distance > maxDistance) {
+          maxDistance = distance;
+          farthest = i;
+        }
+      }
+      if (maxDistance > toleranceMeters) {
+        keep[farthest] = true;
+        stack[top++] = first;
+        stack[top++] = farthest;
+        stack[top++] = farthest;
+        stack[top++] = last;
+      }
+    }
+    return keep;
+  }
+
+  private static double segmentDistance(
+      double px, double py, double ax, double ay, double bx, double by) {
+    double dx = bx - ax;
+    double dy = by - ay;
+    double lengthSquared = dx * dx + dy * dy;
+    double t = lengthSquared == 0.0 ? 0.0 : ((px - ax) * dx + (py - ay) * dy) / lengthSquared;
+    t = Math.max(0.0, Math.min(1.0, t));
+    double cx = ax + t * dx - px;
+    double cy = ay + t * dy - py;
+    return Math.sqrt(cx * cx + cy * cy);
+  }
+
+  private static void writeVarLong(ByteArrayOutputStream out, long value) {
+    while ((value & ~0x7FL) != 0L) {
+      out.write((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.write((int) value);
+  }
+
+  private static long zigzag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  private static long unzigzag(long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+}
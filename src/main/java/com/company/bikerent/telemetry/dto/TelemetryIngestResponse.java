@@ -0,0 +1,12 @@
+package com.company.bikerent.telemetry.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Outcome of one telemetry upload. Points are queued in request order, so when the queue is full
+ * the {@code dropped} points are always the last valid points of the upload.
+ */
+public record TelemetryIngestResponse(
+    @JsonProperty("accepted") int accepted,
+    @JsonProperty("rejected") int rejected,
+    @JsonProperty("dropped") int dropped) {}
@@ -0,0 +1,79 @@
+package com.company.bikerent.telemetry.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import com.company.bikerent.telemetry.domain.TracePoints;
+
+import lombok.RequiredArgsConstructor;
+
+/** JDBC access to raw trip points and the compressed per-rental traces built from them. */
+@Repository
+@RequiredArgsConstructor
+public class TripTraceRepository {
+
+  private static final String FIND_RENTALS_TO_SEAL =
+      "SELECT DISTINCT tp.rental_id FROM trip_point tp JOIN rental r ON r.id = tp.rental_id "
+          + "WHERE r.status <> 'ACTIVE' AND r.rental_ended_at < ? LIMIT ?";
+
+  private static final String FIND_POINTS =
+      "SELECT recorded_at, latitude, longitude FROM trip_point "
+          + "WHERE rental_id = ? ORDER BY recorded_at";
+
+  private static final String TAKE_POINTS =
+      "WITH taken AS (DELETE FROM trip_point WHERE rental_id = ? "
+          + "RETURNING recorded_at, latitude, longitude) "
+          + "SELECT recorded_at, latitude, longitude FROM taken ORDER BY recorded_at";
+
+  private static final String FIND_TRACE = "SELECT data FROM rental_trace WHERE rental_id = ?";
+
+  private static final String SAVE_TRACE =
+      "INSERT INTO rental_trace (rental_id, point_count, simplification_level, data) "
+          + "VALUES (?, ?, ?, ?) ON CONFLICT (rental_id) DO UPDATE SET "
+          + "point_count = EXCLUDED.point_count, "
+          + "simplification_level = EXCLUDED.simplification_level, "
+          + "data = EXCLUDED.data, sealed_at = CURRENT_TIMESTAMP";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /** Finished rentals that still have raw points waiting to be compressed. */
+  public List<Long> findRentalsToSeal(LocalDateTime endedBefore, int limit) {
+    return jdbcTemplate.queryForList(
+        FIND_RENTALS_TO_SEAL, Long.class, Timestamp.valueOf(endedBefore), limit);
+  }
+
+  /** Raw points of a rental in time order. */
+  public TracePoints findPoints(long rentalId) {
+    return queryPoints(FIND_POINTS, rentalId);
+  }
+
+  /** Delete the raw points of a rental and return them in time order. */
+  public TracePoints takePoints(long rentalId) {
+    return queryPoints(TAKE_POINTS, rentalId);
+  }
+
+  public Optional<byte[]> findTrace(long rentalId) {
+    return jdbcTemplate.query(FIND_TRACE, (rs, rowNum) -> rs.getBytes(1), rentalId).stream()
+        .findFirst();
+  }
+
+  public void saveTrace(long rentalId, int pointCount, int simplificationLevel, byte[] data) {
+    jdbcTemplate.update(SAVE_TRACE, rentalId, pointCount, simplificationLevel, data);
+  }
+
+  private TracePoints queryPoints(String sql, long rentalId) {
+    TracePoints points = new TracePoints();
+    jdbcTemplate.query(
+        sql,
+        (RowCallbackHandler)
+            rs -> points.add(rs.getTimestamp(1).getTime(), rs.getFloat(2), rs.getFloat(3)),
+        rentalId);
+    return points;
+  }
+}
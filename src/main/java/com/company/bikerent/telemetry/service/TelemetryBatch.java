@@ -0,0 +1,38 @@
+package com.company.bikerent.telemetry.service;
+
+/** Reusable column-wise batch of GPS points. */
+class TelemetryBatch {
+
+  final long[] bicycleIds;
+  final long[] timestamps;
+  final float[] latitudes;
+  final float[] longitudes;
+  private int size;
+
+  TelemetryBatch(int capacity) {
+    this.bicycleIds = new long[capacity];
+    this.timestamps = new long[capacity];
+    this.latitudes = new float[capacity];
+    this.longitudes = new float[capacity];
+  }
+
+  void add(long bicycleId, long timestampMs, float latitude, float longitude) {
+    bicycleIds[size] = bicycleId;
+    timestamps[size] = timestampMs;
+    latitudes[size] = latitude;
+    longitudes[size] = longitude;
+    size++;
+  }
+
+  void clear() {
+    size = 0;
+  }
+
+  int size() {
+    return size;
+  }
+
+  int capacity() {
+    return bicycleIds.length;
+  }
+}
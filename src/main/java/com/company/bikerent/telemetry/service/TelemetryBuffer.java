@@ -0,0 +1,86 @@
+package com.company.bikerent.telemetry.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free queue of GPS points for many producers and a single consumer. Points are stored
+ * column-wise in primitive arrays, so enqueueing allocates nothing. Producers claim a slot by CAS
+ * on the tail and publish it through a per-slot sequence number (Vyukov's bounded queue).
+ */
+class TelemetryBuffer {
+
+  private final int mask;
+  private final AtomicLongArray sequences;
+  private final long[] bicycleIds;
+  private final long[] timestamps;
+  private final float[] latitudes;
+  private final float[] longitudes;
+  private final AtomicLong tail = new AtomicLong();
+
+  // Only touched by the consumer
+  private long head;
+
+  TelemetryBuffer(int capacity) {
+    if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+      throw new IllegalArgumentException("Telemetry buffer capacity must be a power of two");
+    }
+    this.mask = capacity - 1;
+    this.sequences = new AtomicLongArray(capacity);
+    for (int i = 0; i < capacity; i++) {
+      sequences.set(i, i);
+    }
+    this.bicycleIds = new long[capacity];
+    this.timestamps = new long[capacity];
+    this.latitudes = new float[capacity];
+    this.longitudes = new float[capacity];
+  }
+
+  /**
+   * Enqueue a point.
+   *
+   * @return {@code false} if the buffer is full
+   */
+  boolean offer(long bicycleId, long timestampMs, float latitude, float longitude) {
+    long position = tail.get();
+    while (true) {
+      int index = (int) (position & mask);
+      long difference = sequences.get(index) - position;
+      if (difference == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          bicycleIds[index] = bicycleId;
+          timestamps[index] = timestampMs;
+          latitudes[index] = latitude;
+          longitudes[index] = longitude;
+          sequences.set(index, position + 1);
+          return true;
+        }
+        position = tail.get();
+      } else if (difference < 0) {
+        return false;
+      } else {
+        position = tail.get();
+      }
+    }
+  }
+
+  /** Move up to {@code batch.capacity()} published points into the batch. Consumer thread only. */
+  int drainTo(TelemetryBatch batch) {
+    batch.clear();
+    while (batch.size() < batch.capacity()) {
+      int index = (int) (head & mask);
+      if (sequences.get(index) != head + 1) {
+        break;
+      }
+      batch.add(bicycleIds[index], timestamps[index], latitudes[index], longitudes[index]);
+      sequences.set(index, head + mask + 1);
+      head++;
+    }
+    return batch.size();
+  }
+
+  /** Approximate number of queued points. */
+  int size() {
+    return (int) Math.max(0L, tail.get() - head);
+  }
+}
@@ -0,0 +1,298 @@
+package com.company.bikerent.telemetry.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.company.bikerent.geo.domain.GeoMath;
+import com.company.bikerent.rental.repository.RentalRepository;
+import com.company.bikerent.rental.repository.RentalRepository.BicycleRentalKey;
+import com.company.bikerent.telemetry.dto.TelemetryIngestResponse;
+import com.company.bikerent.telemetry.repository.TripPointWriter;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * GPS telemetry pipeline. Uploads are parsed straight into primitive columns and queued in a
+ * bounded lock-free buffer; a scheduled flush drains the buffer, attributes points to active
+ * rentals, accumulates haversine distance per rental and bulk-stores the points.
+ */
+@Slf4j
+@Service
+public class TelemetryService {
+
+  /** Binary record: bicycle id (int64), epoch millis (int64), latitude and longitude (float32). */
+  public static final int BINARY_RECORD_BYTES = 24;
+
+  private static final int BINARY_RECORDS_PER_READ = 512;
+  private static final long MAX_CLOCK_SKEW_MS = 300_000L;
+  private static final long MAX_POINT_AGE_MS = 86_400_000L;
+
+  private final RentalRepository rentalRepository;
+  private final TripPointWriter tripPointWriter;
+  private final ObjectMapper objectMapper;
+
+  private final TelemetryBuffer buffer;
+  private final ThreadLocal<TelemetryBatch> uploads;
+  private final int maxPointsPerRequest;
+  private final double maxSpeedMetersPerSecond;
+  private final long trackIdleMs;
+
+  // Flush-side state, only touched by the scheduler thread
+  private final TelemetryBatch flushBatch;
+  private final Map<Long, Track> tracks = new HashMap<>();
+
+  public TelemetryService(
+      RentalRepository rentalRepository,
+      TripPointWriter tripPointWriter,
+      ObjectMapper objectMapper,
+      @Value("${telemetry.queue-capacity:65536}") int queueCapacity,
+      @Value("${telemetry.flush-batch-size:4096}") int flushBatchSize,
+      @Value("${telemetry.max-points-per-request:5000}") int maxPointsPerRequest,
+      @Value("${telemetry.max-speed-mps:25}") double maxSpeedMetersPerSecond,
+      @Value("${telemetry.track-idle-ms:3600000}") long trackIdleMs) {
+    this.rentalRepository = rentalRepository;
+    this.tripPointWriter = tripPointWriter;
+    this.objectMapper = objectMapper;
+    this.buffer = new TelemetryBuffer(queueCapacity);
+    this.uploads = ThreadLocal.withInitial(() -> new TelemetryBatch(maxPointsPerRequest));
+    this.maxPointsPerRequest = maxPointsPerRequest;
+    this.maxSpeedMetersPerSecond = maxSpeedMetersPerSecond;
+    this.trackIdleMs = trackIdleMs;
+    this.flushBatch = new TelemetryBatch(flushBatchSize);
+  }
+
+  /** Ingest fixed-size big-endian records, see {@link #BINARY_RECORD_BYTES}. */
+  public TelemetryIngestResponse ingestBinary(InputStream body) throws IOException {
+    TelemetryBatch upload = uploads.get();
+    upload.clear();
+    int rejected = 0;
+    long now = System.currentTimeMillis();
+
+    byte[] chunk = new byte[BINARY_RECORD_BYTES * BINARY_RECORDS_PER_READ];
+    ByteBuffer records = ByteBuffer.wrap(chunk);
+    int read;
+    while ((read = body.readNBytes(chunk, 0, chunk.length)) > 0) {
+      if (read % BINARY_RECORD_BYTES != 0) {
+        throw new IllegalArgumentException("Truncated telemetry record");
+      }
+      records.clear();
+      for (int i = 0; i < read / BINARY_RECORD_BYTES; i++) {
+        long bicycleId = records.getLong();
+        long timestampMs = records.getLong();
+        float latitude = records.getFloat();
+        float longitude = records.getFloat();
+        if (!accept(upload, bicycleId, timestampMs, latitude, longitude, now)) {
+          rejected++;
+        }
+      }
+    }
+    return enqueue(upload, rejected);
+  }
+
+  /**
+   * Ingest newline-delimited JSON objects of the form {@code {"bicycle":1,"ts":1700000000000,
+   * "lat":59.93,"lon":30.31}}.
+   */
+  public TelemetryIngestResponse ingestNdjson(InputStream body) throws IOException {
+    TelemetryBatch upload = uploads.get();
+    upload.clear();
+    int rejected = 0;
+    long now = System.currentTimeMillis();
+
+    try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+      JsonToken token;
+      while ((token = parser.nextToken()) != null) {
+        if (token != JsonToken.START_OBJECT) {
+          throw new IllegalArgumentException("Expected one JSON object per line");
+        }
+        long bicycleId = -1L;
+        long timestampMs = -1L;
+        double latitude = Double.NaN;
+        double longitude = Double.NaN;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          String field = parser.currentName();
+          parser.nextToken();
+          switch (field) {
+            case "bicycle" -> bicycleId = parser.getLongValue();
+            case "ts" -> timestampMs = parser.getLongValue();
+            case "lat" -> latitude = parser.getDoubleValue();
+            case "lon" -> longitude = parser.getDoubleValue();
+            default -> parser.skipChildren();
+          }
+        }
+        if (!accept(upload, bicycleId, timestampMs, latitude, longitude, now)) {
+          rejected++;
+        }
+      }
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Malformed telemetry payload", e);
+    }
+    return enqueue(upload, rejected);
+  }
+
+  @Scheduled(fixedDelayString = "${telemetry.flush-interval-ms:500}")
+  public void flush() {
+    int drained;
+    do {
+      drained = buffer.drainTo(flushBatch);
+      if (drained > 0) {
+        aggregate(flushBatch);
+      }
+    } while (drained == flushBatch.capacity());
+
+    long now = System.currentTimeMillis();
+    tracks.values().removeIf(track -> now - track.lastSeenMs > trackIdleMs);
+  }
+
+  private boolean accept(
+      TelemetryBatch upload,
+      long bicycleId,
+      long timestampMs,
+      double latitude,
+      double longitude,
+      long now) {
+    if (upload.size() == upload.capacity()) {
+      throw new IllegalArgumentException(
+          "Telemetry upload exceeds " + maxPointsPerRequest + " points");
+    }
+    boolean valid =
+        bicycleId > 0
+            && timestampMs > now - MAX_POINT_AGE_MS
+            && timestampMs < now + MAX_CLOCK_SKEW_MS
+            && latitude >= -90.0
+            && latitude <= 90.0
+            && longitude >= -180.0
+            && longitude <= 180.0;
+    if (valid) {
+      upload.add(bicycleId, timestampMs, (float) latitude, (float) longitude);
+    }
+    return valid;
+  }
+
+  private TelemetryIngestResponse enqueue(TelemetryBatch upload, int rejected) {
+    int accepted = 0;
+    while (accepted < upload.size()
+        && buffer.offer(
+            upload.bicycleIds[accepted],
+            upload.timestamps[accepted],
+            upload.latitudes[accepted],
+            upload.longitudes[accepted])) {
+      accepted++;
+    }
+    int dropped = upload.size() - accepted;
+    if (dropped > 0) {
+      log.warn("Telemetry queue full, dropped {} points", dropped);
+    }
+    return new TelemetryIngestResponse(accepted, rejected, dropped);
+  }
+
+  /**
+   * Attribute points to active rentals and measure distance. Points are compacted in place so the
+   * batch columns can be handed to the writer as is, with rental ids replacing bicycle ids.
+   */
+  private void aggregate(TelemetryBatch points) {
+    Set<Long> bicycleIds = new HashSet<>();
+    for (int i = 0; i < points.size(); i++) {
+      bicycleIds.add(points.bicycleIds[i]);
+    }
+    Map<Long, Long> rentalByBicycle = new HashMap<>();
+    for (BicycleRentalKey key : rentalRepository.findActiveRentalsByBicycleIds(bicycleIds)) {
+      rentalByBicycle.put(key.getBicycleId(), key.getId());
+    }
+
+    // Sorted so concurrent writers update rental rows in the same order
+    Map<Long, Double> distanceByRental = new TreeMap<>();
+    long now = System.currentTimeMillis();
+    int stored = 0;
+    for (int i = 0; i < points.size(); i++) {
+      long bicycleId = points.bicycleIds[i];
+      Long rentalId = rentalByBicycle.get(bicycleId);
+      if (rentalId == null) {
+        continue;
+      }
+
+      Track track = tracks.get(bicycleId);
+      if (track == null || track.rentalId != rentalId) {
+        track = new Track(rentalId);
+        tracks.put(bicycleId, track);
+      }
+      double meters =
+          track.advance(points.timestamps[i], points.latitudes[i], points.longitudes[i]);
+      track.lastSeenMs = now;
+      if (meters > 0) {
+        distanceByRental.merge(rentalId, meters, Double::sum);
+      }
+
+      points.bicycleIds[stored] = rentalId;
+      points.timestamps[stored] = points.timestamps[i];
+      points.latitudes[stored] = points.latitudes[i];
+      points.longitudes[stored] = points.longitudes[i];
+      stored++;
+    }
+
+    if (stored == 0) {
+      return;
+    }
+    try {
+      tripPointWriter.write(
+          points.bicycleIds,
+          points.timestamps,
+          points.latitudes,
+          points.longitudes,
+          stored,
+          distanceByRental);
+    } catch (DataAccessException e) {
+      log.error("Failed to store {} telemetry points", stored, e);
+    }
+  }
+
+  /** Last accepted fix of a bicycle within its current rental. */
+  private final class Track {
+
+    private final long rentalId;
+    private boolean hasFix;
+    private long lastTimestampMs;
+    private double lastLatitude;
+    private double lastLongitude;
+    private long lastSeenMs;
+
+    Track(long rentalId) {
+      this.rentalId = rentalId;
+    }
+
+    /** Move to a new fix and return the distance travelled, or 0 for stale or implausible fixes. */
+    double advance(long timestampMs, double latitude, double longitude) {
+      if (hasFix && timestampMs <= lastTimestampMs) {
+        return 0.0;
+      }
+      double meters = 0.0;
+      if (hasFix) {
+        double distance = GeoMath.haversineMeters(lastLatitude, lastLongitude, latitude, longitude);
+        // Jumps faster than a bicycle can go are GPS noise: follow them but don't count them
+        if (distance <= maxSpeedMetersPerSecond * (timestampMs - lastTimestampMs) / 1000.0) {
+          meters = distance;
+        }
+      }
+      hasFix = true;
+      lastTimestampMs = timestampMs;
+      lastLatitude = latitude;
+      lastLongitude = longitude;
+      return meters;
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package com.company.bikerent.telemetry.service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.company.bikerent.telemetry.repository.TripTraceRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodically compresses the raw points of finished rentals. A grace period after the rental ends
+ * lets in-flight telemetry land before the trace is sealed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TripTraceSealer {
+
+  private final TripTraceRepository tripTraceRepository;
+  private final TripTraceService tripTraceService;
+
+  @Value("${telemetry.trace.seal-grace-ms:60000}")
+  private long sealGraceMs;
+
+  @Value("${telemetry.trace.seal-batch-size:100}")
+  private int sealBatchSize;
+
+  @Scheduled(fixedDelayString = "${telemetry.trace.seal-interval-ms:60000}")
+  public void sealFinishedTrips() {
+    LocalDateTime endedBefore = LocalDateTime.now().minus(sealGraceMs, ChronoUnit.MILLIS);
+    List<Long> rentalIds = tripTraceRepository.findRentalsToSeal(endedBefore, sealBatchSize);
+    for (Long rentalId : rentalIds) {
+      try {
+        tripTraceService.seal(rentalId);
+      } catch (DataAccessException e) {
+        log.warn("Failed to seal trip trace for rental {}", rentalId, e);
+      }
+    }
+    if (!rentalIds.isEmpty()) {
+      log.info("Sealed trip traces for {} rentals", rentalIds.size());
+    }
+  }
+}
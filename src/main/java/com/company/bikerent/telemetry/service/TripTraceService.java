@@ -0,0 +1,124 @@
+package com.company.bikerent.telemetry.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.company.bikerent.common.exception.EntityNotFoundException;
+import com.company.bikerent.rental.domain.Rental;
+import com.company.bikerent.rental.repository.RentalRepository;
+import com.company.bikerent.telemetry.domain.TracePoints;
+import com.company.bikerent.telemetry.domain.TripTraceCodec;
+import com.company.bikerent.telemetry.repository.TripTraceRepository;
+import com.company.bikerent.user.domain.Role;
+import com.company.bikerent.user.domain.User;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Trip traces. Raw points of a finished rental are folded into one compressed trace row, after
+ * which the raw rows are deleted; traces of rentals still in progress are encoded on the fly.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TripTraceService {
+
+  private final TripTraceRepository tripTraceRepository;
+  private final RentalRepository rentalRepository;
+  private final ObjectMapper objectMapper;
+
+  @Value("${telemetry.trace.simplification-level:1}")
+  private int simplificationLevel;
+
+  /**
+   * Encoded trace of a rental, including points not yet sealed. Only the rider and admins may read
+   * it: a trace shows where someone went.
+   *
+   * @throws AccessDeniedException if the current user neither owns the rental nor is an admin
+   */
+  @Transactional(readOnly = true)
+  public byte[] findTrace(Long rentalId) {
+    Long ownerId =
+        rentalRepository
+            .findUserIdById(rentalId)
+            .orElseThrow(() -> new EntityNotFoundException(Rental.class, rentalId));
+    checkCanRead(ownerId);
+
+    Optional<byte[]> sealed = tripTraceRepository.findTrace(rentalId);
+    TracePoints pending = tripTraceRepository.findPoints(rentalId);
+    if (pending.isEmpty() && sealed.isPresent()) {
+      return sealed.get();
+    }
+    TracePoints points =
+        sealed.map(data -> TracePoints.merge(TripTraceCodec.decode(data), pending)).orElse(pending);
+    return TripTraceCodec.encode(points, 0);
+  }
+
+  private static void checkCanRead(Long ownerId) {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication != null
+        && authentication.getPrincipal() instanceof User user
+        && (user.getRole() == Role.ADMIN || user.getId().equals(ownerId))) {
+      return;
+    }
+    throw new AccessDeniedException("Access denied to the trace of another user's rental");
+  }
+
+  /** Move the raw points of a finished rental into its compressed trace. */
+  @Transactional
+  public void seal(Long rentalId) {
+    TracePoints taken = tripTraceRepository.takePoints(rentalId);
+    if (taken.isEmpty()) {
+      return;
+    }
+    // Late points for an already sealed rental are merged into the existing trace
+    TracePoints points =
+        tripTraceRepository
+            .findTrace(rentalId)
+            .map(data -> TracePoints.merge(TripTraceCodec.decode(data), taken))
+            .orElse(taken);
+
+    byte[] trace = TripTraceCodec.encode(points, simplificationLevel);
+    int pointCount = TripTraceCodec.reader(trace).size();
+    tripTraceRepository.saveTrace(rentalId, pointCount, simplificationLevel, trace);
+    log.debug(
+        "Trip trace sealed: rental={}, points={}, stored={}, bytes={}",
+        rentalId,
+        points.size(),
+        pointCount,
+        trace.length);
+  }
+
+  /** Stream a trace as JSON, decoding one point at a time. */
+  public void writeJson(Long rentalId, byte[] trace, OutputStream out) throws IOException {
+    TripTraceCodec.Reader reader = TripTraceCodec.reader(trace);
+    try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+      json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      json.writeStartObject();
+      json.writeNumberField("rental", rentalId);
+      json.writeNumberField("simplification", reader.simplificationLevel());
+      json.writeNumberField("count", reader.size());
+      json.writeArrayFieldStart("points");
+      while (reader.next()) {
+        json.writeStartArray();
+        json.writeNumber(reader.timestampMs());
+        json.writeNumber(reader.latitude());
+        json.writeNumber(reader.longitude());
+        json.writeEndArray();
+      }
+      json.writeEndArray();
+      json.writeEndObject();
+    }
+  }
+}
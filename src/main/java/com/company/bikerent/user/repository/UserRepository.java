@@ -1,5 +1,7 @@
 package com.company.bikerent.user.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import jakarta.persistence.LockModeType;
@@ -25,4 +27,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
   @Lock(LockModeType.PESSIMISTIC_WRITE)
   @Query("SELECT u FROM User u WHERE u.id = :id")
   Optional<User> findByIdWithLock(@Param("id") Long id);
+
+  /** Lock users in ascending id order. */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT u FROM User u WHERE u.id IN :ids ORDER BY u.id")
+  List<User> findAllByIdWithLock(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,36 @@
+-- ==============================================
+-- V10__Bulk_Import_Station_Count.sql
+-- Let bulk imports skip the per-row station recount and recount once per station instead
+-- ==============================================
+
+CREATE OR REPLACE FUNCTION update_station_bicycle_count()
+RETURNS TRIGGER AS $$
+BEGIN
+    -- Set transaction-locally by bulk imports, which recount touched stations themselves
+    IF current_setting('bikerent.skip_station_count', true) = 'on' THEN
+        RETURN NEW;
+    END IF;
+
+    -- Update old station count (if changed)
+    IF OLD.station_id IS NOT NULL AND (NEW.station_id IS DISTINCT FROM OLD.station_id OR NEW.status IS DISTINCT FROM OLD.status) THEN
+        UPDATE station 
+        SET available_bicycles = (
+            SELECT COUNT(*) FROM bicycle 
+            WHERE station_id = OLD.station_id AND status = 'AVAILABLE'
+        )
+        WHERE id = OLD.station_id;
+    END IF;
+    
+    -- Update new station count
+    IF NEW.station_id IS NOT NULL THEN
+        UPDATE station 
+        SET available_bicycles = (
+            SELECT COUNT(*) FROM bicycle 
+            WHERE station_id = NEW.station_id AND status = 'AVAILABLE'
+        )
+        WHERE id = NEW.station_id;
+    END IF;
+    
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
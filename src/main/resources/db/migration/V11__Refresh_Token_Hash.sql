@@ -0,0 +1,16 @@
+-- ==============================================
+-- V11__Refresh_Token_Hash.sql
+-- Store refresh tokens as SHA-256 digests instead of plaintext
+-- ==============================================
+
+ALTER TABLE refresh_token ADD COLUMN token_hash BYTEA;
+
+UPDATE refresh_token SET token_hash = sha256(convert_to(token, 'UTF8'));
+
+ALTER TABLE refresh_token ALTER COLUMN token_hash SET NOT NULL;
+ALTER TABLE refresh_token DROP CONSTRAINT IF EXISTS uk_refresh_token;
+ALTER TABLE refresh_token DROP COLUMN token;
+ALTER TABLE refresh_token ADD CONSTRAINT uk_refresh_token_hash UNIQUE (token_hash);
+
+-- Chunked cleanup walks revoked tokens by id
+CREATE INDEX IF NOT EXISTS idx_refresh_token_revoked ON refresh_token(id) WHERE revoked = TRUE;
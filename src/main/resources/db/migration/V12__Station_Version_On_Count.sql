@@ -0,0 +1,39 @@
+-- ==============================================
+-- V12__Station_Version_On_Count.sql
+-- Bump station.version when the trigger or a bulk recount changes available_bicycles,
+-- so that version-based ETags see every change of the station
+-- ==============================================
+
+CREATE OR REPLACE FUNCTION update_station_bicycle_count()
+RETURNS TRIGGER AS $$
+BEGIN
+    -- Set transaction-locally by bulk imports, which recount touched stations themselves
+    IF current_setting('bikerent.skip_station_count', true) = 'on' THEN
+        RETURN NEW;
+    END IF;
+
+    -- Update old station count (if changed)
+    IF OLD.station_id IS NOT NULL AND (NEW.station_id IS DISTINCT FROM OLD.station_id OR NEW.status IS DISTINCT FROM OLD.status) THEN
+        UPDATE station s
+        SET available_bicycles = c.available, version = COALESCE(s.version, 0) + 1
+        FROM (
+            SELECT COUNT(*) AS available FROM bicycle
+            WHERE station_id = OLD.station_id AND status = 'AVAILABLE'
+        ) c
+        WHERE s.id = OLD.station_id AND s.available_bicycles IS DISTINCT FROM c.available;
+    END IF;
+
+    -- Update new station count
+    IF NEW.station_id IS NOT NULL THEN
+        UPDATE station s
+        SET available_bicycles = c.available, version = COALESCE(s.version, 0) + 1
+        FROM (
+            SELECT COUNT(*) AS available FROM bicycle
+            WHERE station_id = NEW.station_id AND status = 'AVAILABLE'
+        ) c
+        WHERE s.id = NEW.station_id AND s.available_bicycles IS DISTINCT FROM c.available;
+    END IF;
+
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
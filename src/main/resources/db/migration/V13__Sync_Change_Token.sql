@@ -0,0 +1,67 @@
+-- ==============================================
+-- V13__Sync_Change_Token.sql
+-- Change stamps for delta sync: every inserted or updated row records the id of the writing
+-- transaction, and deleted stations and bicycles leave a tombstone. A sync token is the oldest
+-- transaction still running when the client synced, so rows stamped at or after it may be new
+-- to the client and everything stamped before it was already visible.
+-- ==============================================
+
+CREATE OR REPLACE FUNCTION stamp_change_txid()
+RETURNS TRIGGER AS $$
+BEGIN
+    NEW.change_txid := pg_current_xact_id();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+ALTER TABLE station ADD COLUMN change_txid xid8 NOT NULL DEFAULT pg_current_xact_id();
+ALTER TABLE bicycle ADD COLUMN change_txid xid8 NOT NULL DEFAULT pg_current_xact_id();
+ALTER TABLE rental ADD COLUMN change_txid xid8 NOT NULL DEFAULT pg_current_xact_id();
+
+CREATE TRIGGER trg_station_change_txid
+    BEFORE INSERT OR UPDATE ON station
+    FOR EACH ROW
+    EXECUTE FUNCTION stamp_change_txid();
+
+CREATE TRIGGER trg_bicycle_change_txid
+    BEFORE INSERT OR UPDATE ON bicycle
+    FOR EACH ROW
+    EXECUTE FUNCTION stamp_change_txid();
+
+CREATE TRIGGER trg_rental_change_txid
+    BEFORE INSERT OR UPDATE ON rental
+    FOR EACH ROW
+    EXECUTE FUNCTION stamp_change_txid();
+
+CREATE INDEX IF NOT EXISTS idx_station_change_txid ON station(change_txid);
+CREATE INDEX IF NOT EXISTS idx_bicycle_change_txid ON bicycle(change_txid);
+CREATE INDEX IF NOT EXISTS idx_rental_user_change_txid ON rental(user_id, change_txid);
+
+CREATE TABLE IF NOT EXISTS sync_tombstone (
+    id BIGSERIAL PRIMARY KEY,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    change_txid xid8 NOT NULL DEFAULT pg_current_xact_id()
+);
+
+CREATE INDEX IF NOT EXISTS idx_sync_tombstone_change_txid ON sync_tombstone(change_txid);
+
+CREATE OR REPLACE FUNCTION record_sync_tombstone()
+RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO sync_tombstone (entity_type, entity_id) VALUES (TG_ARGV[0], OLD.id);
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_station_tombstone
+    AFTER DELETE ON station
+    FOR EACH ROW
+    EXECUTE FUNCTION record_sync_tombstone('STATION');
+
+CREATE TRIGGER trg_bicycle_tombstone
+    AFTER DELETE ON bicycle
+    FOR EACH ROW
+    EXECUTE FUNCTION record_sync_tombstone('BICYCLE');
+
+COMMENT ON TABLE sync_tombstone IS 'Deleted stations and bicycles, for delta sync';
@@ -0,0 +1,48 @@
+-- ==============================================
+-- V14__Station_Count_Lock_Order.sql
+-- When a bicycle moves between stations, lock both stations in ascending id order before
+-- recounting them. Updating the old station first deadlocked against a bicycle moving the
+-- other way between the same two stations.
+-- ==============================================
+
+CREATE OR REPLACE FUNCTION update_station_bicycle_count()
+RETURNS TRIGGER AS $$
+BEGIN
+    -- Set transaction-locally by bulk imports, which recount touched stations themselves
+    IF current_setting('bikerent.skip_station_count', true) = 'on' THEN
+        RETURN NEW;
+    END IF;
+
+    IF OLD.station_id IS NOT NULL AND NEW.station_id IS NOT NULL
+            AND OLD.station_id <> NEW.station_id THEN
+        PERFORM 1 FROM station
+        WHERE id IN (OLD.station_id, NEW.station_id)
+        ORDER BY id
+        FOR UPDATE;
+    END IF;
+
+    -- Update old station count (if changed)
+    IF OLD.station_id IS NOT NULL AND (NEW.station_id IS DISTINCT FROM OLD.station_id OR NEW.status IS DISTINCT FROM OLD.status) THEN
+        UPDATE station s
+        SET available_bicycles = c.available, version = COALESCE(s.version, 0) + 1
+        FROM (
+            SELECT COUNT(*) AS available FROM bicycle
+            WHERE station_id = OLD.station_id AND status = 'AVAILABLE'
+        ) c
+        WHERE s.id = OLD.station_id AND s.available_bicycles IS DISTINCT FROM c.available;
+    END IF;
+
+    -- Update new station count
+    IF NEW.station_id IS NOT NULL THEN
+        UPDATE station s
+        SET available_bicycles = c.available, version = COALESCE(s.version, 0) + 1
+        FROM (
+            SELECT COUNT(*) AS available FROM bicycle
+            WHERE station_id = NEW.station_id AND status = 'AVAILABLE'
+        ) c
+        WHERE s.id = NEW.station_id AND s.available_bicycles IS DISTINCT FROM c.available;
+    END IF;
+
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,10 @@
+-- ==============================================
+-- V15__Active_Rentals_Covering_Index.sql
+-- Carry the rental and bicycle ids in the active rentals partial index, so that loading and
+-- verifying the in-memory active rental index is an index-only scan
+-- ==============================================
+
+CREATE INDEX IF NOT EXISTS idx_active_rentals_covering
+    ON rental(user_id) INCLUDE (id, bicycle_id) WHERE status = 'ACTIVE';
+DROP INDEX IF EXISTS idx_active_rentals;
+ALTER INDEX idx_active_rentals_covering RENAME TO idx_active_rentals;
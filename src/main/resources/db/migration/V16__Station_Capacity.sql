@@ -0,0 +1,71 @@
+-- ==============================================
+-- V16__Station_Capacity.sql
+-- Stations get a dock capacity (NULL = unlimited) and a count of the bicycles standing in their
+-- docks: available or held by a reservation. Rented, missing and repaired bicycles free their
+-- dock. The trigger keeps both counts.
+-- ==============================================
+
+ALTER TABLE station ADD COLUMN capacity INTEGER;
+ALTER TABLE station ADD CONSTRAINT chk_station_capacity CHECK (capacity IS NULL OR capacity >= 0);
+ALTER TABLE station ADD COLUMN docked_bicycles BIGINT NOT NULL DEFAULT 0;
+
+UPDATE station s
+SET docked_bicycles = c.docked
+FROM (
+    SELECT station_id, COUNT(*) AS docked FROM bicycle
+    WHERE station_id IS NOT NULL AND status IN ('AVAILABLE', 'RESERVED')
+    GROUP BY station_id
+) c
+WHERE s.id = c.station_id;
+
+CREATE OR REPLACE FUNCTION update_station_bicycle_count()
+RETURNS TRIGGER AS $$
+BEGIN
+    -- Set transaction-locally by bulk imports, which recount touched stations themselves
+    IF current_setting('bikerent.skip_station_count', true) = 'on' THEN
+        RETURN NEW;
+    END IF;
+
+    IF OLD.station_id IS NOT NULL AND NEW.station_id IS NOT NULL
+            AND OLD.station_id <> NEW.station_id THEN
+        PERFORM 1 FROM station
+        WHERE id IN (OLD.station_id, NEW.station_id)
+        ORDER BY id
+        FOR UPDATE;
+    END IF;
+
+    -- Update old station counts (if changed)
+    IF OLD.station_id IS NOT NULL AND (NEW.station_id IS DISTINCT FROM OLD.station_id OR NEW.status IS DISTINCT FROM OLD.status) THEN
+        UPDATE station s
+        SET available_bicycles = c.available, docked_bicycles = c.docked,
+            version = COALESCE(s.version, 0) + 1
+        FROM (
+            SELECT COUNT(*) FILTER (WHERE status = 'AVAILABLE') AS available,
+                   COUNT(*) FILTER (WHERE status IN ('AVAILABLE', 'RESERVED')) AS docked
+            FROM bicycle
+            WHERE station_id = OLD.station_id
+        ) c
+        WHERE s.id = OLD.station_id
+          AND (s.available_bicycles IS DISTINCT FROM c.available
+               OR s.docked_bicycles IS DISTINCT FROM c.docked);
+    END IF;
+
+    -- Update new station counts
+    IF NEW.station_id IS NOT NULL THEN
+        UPDATE station s
+        SET available_bicycles = c.available, docked_bicycles = c.docked,
+            version = COALESCE(s.version, 0) + 1
+        FROM (
+            SELECT COUNT(*) FILTER (WHERE status = 'AVAILABLE') AS available,
+                   COUNT(*) FILTER (WHERE status IN ('AVAILABLE', 'RESERVED')) AS docked
+            FROM bicycle
+            WHERE station_id = NEW.station_id
+        ) c
+        WHERE s.id = NEW.station_id
+          AND (s.available_bicycles IS DISTINCT FROM c.available
+               OR s.docked_bicycles IS DISTINCT FROM c.docked);
+    END IF;
+
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,19 @@
+-- ==============================================
+-- V17__Return_Zones.sql
+-- Polygons a rental can be ended in, each returning the bicycle to a station. Vertices are
+-- stored as parallel coordinate arrays, in order; the last one connects back to the first.
+-- ==============================================
+
+CREATE TABLE IF NOT EXISTS return_zone (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    station_id BIGINT NOT NULL,
+    latitudes DOUBLE PRECISION[] NOT NULL,
+    longitudes DOUBLE PRECISION[] NOT NULL,
+
+    CONSTRAINT fk_return_zone_station FOREIGN KEY (station_id) REFERENCES station(id) ON DELETE CASCADE,
+    CONSTRAINT chk_return_zone_vertices CHECK (
+        cardinality(latitudes) >= 3 AND cardinality(latitudes) = cardinality(longitudes))
+);
+
+CREATE INDEX IF NOT EXISTS idx_return_zone_station ON return_zone(station_id);
@@ -0,0 +1,61 @@
+-- ==============================================
+-- V18__Station_Trip_Counts.sql
+-- Completed trips per station and calendar month, as departures (trips started there) and
+-- arrivals (trips ended there). The month is the one the trip ended in, so once a month is over
+-- its counts no longer change. A trigger counts each rental as it is completed; the heatmap loads
+-- these counts instead of scanning the rental history.
+-- ==============================================
+
+CREATE TABLE IF NOT EXISTS station_trip_month (
+    station_id BIGINT NOT NULL,
+    month DATE NOT NULL,
+    departures BIGINT NOT NULL DEFAULT 0,
+    arrivals BIGINT NOT NULL DEFAULT 0,
+
+    CONSTRAINT pk_station_trip_month PRIMARY KEY (station_id, month),
+    CONSTRAINT fk_station_trip_month_station
+        FOREIGN KEY (station_id) REFERENCES station(id) ON DELETE CASCADE
+);
+
+INSERT INTO station_trip_month (station_id, month, departures, arrivals)
+SELECT station_id, month, SUM(departures), SUM(arrivals)
+FROM (
+    SELECT start_station_id AS station_id, date_trunc('month', rental_ended_at)::date AS month,
+           1 AS departures, 0 AS arrivals
+    FROM rental
+    WHERE status = 'ENDED' AND rental_ended_at IS NOT NULL
+    UNION ALL
+    SELECT end_station_id, date_trunc('month', rental_ended_at)::date, 0, 1
+    FROM rental
+    WHERE status = 'ENDED' AND rental_ended_at IS NOT NULL AND end_station_id IS NOT NULL
+) trips
+GROUP BY station_id, month;
+
+CREATE OR REPLACE FUNCTION count_station_trip()
+RETURNS TRIGGER AS $$
+BEGIN
+    -- One statement for both stations, in id order, so two trips between the same pair of
+    -- stations in opposite directions cannot deadlock on the counter rows
+    INSERT INTO station_trip_month (station_id, month, departures, arrivals)
+    SELECT station_id, date_trunc('month', NEW.rental_ended_at)::date, SUM(departures),
+           SUM(arrivals)
+    FROM (VALUES (NEW.start_station_id, 1, 0), (NEW.end_station_id, 0, 1))
+        AS trip(station_id, departures, arrivals)
+    WHERE station_id IS NOT NULL
+    GROUP BY station_id
+    ORDER BY station_id
+    ON CONFLICT (station_id, month) DO UPDATE
+    SET departures = station_trip_month.departures + EXCLUDED.departures,
+        arrivals = station_trip_month.arrivals + EXCLUDED.arrivals;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_rental_trip_count
+    AFTER UPDATE OF status ON rental
+    FOR EACH ROW
+    WHEN (NEW.status = 'ENDED' AND OLD.status IS DISTINCT FROM 'ENDED'
+          AND NEW.rental_ended_at IS NOT NULL)
+    EXECUTE FUNCTION count_station_trip();
+
+COMMENT ON TABLE station_trip_month IS 'Completed trips per station and month of completion';
@@ -0,0 +1,7 @@
+-- ==============================================
+-- V19__Drop_Needs_Service_Index.sql
+-- Whether a bicycle is due for service follows from its maintenance score, which the maintenance
+-- queue keeps in memory; nothing filters bicycles on a fixed mileage any more
+-- ==============================================
+
+DROP INDEX IF EXISTS idx_bicycle_needs_service;
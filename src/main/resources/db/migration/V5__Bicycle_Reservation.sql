@@ -0,0 +1,31 @@
+-- ==============================================
+-- V5__Bicycle_Reservation.sql
+-- Short-lived reservation holds on bicycles
+-- ==============================================
+
+-- Reserved bicycles are neither available nor rented
+ALTER TABLE bicycle DROP CONSTRAINT IF EXISTS chk_bicycle_status;
+ALTER TABLE bicycle ADD CONSTRAINT chk_bicycle_status
+    CHECK (status IN ('AVAILABLE', 'RENTED', 'RESERVED', 'UNAVAILABLE'));
+
+CREATE TABLE IF NOT EXISTS reservation (
+    id BIGSERIAL PRIMARY KEY,
+    version BIGINT DEFAULT 0,
+    user_id BIGINT NOT NULL,
+    bicycle_id BIGINT NOT NULL,
+    status VARCHAR(30) NOT NULL DEFAULT 'ACTIVE',
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL,
+    ended_at TIMESTAMP,
+
+    CONSTRAINT fk_reservation_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT fk_reservation_bicycle FOREIGN KEY (bicycle_id) REFERENCES bicycle(id) ON DELETE CASCADE,
+    CONSTRAINT chk_reservation_status CHECK (status IN ('ACTIVE', 'EXPIRED', 'CONVERTED', 'CANCELLED'))
+);
+
+-- At most one live hold per bicycle and per user
+CREATE UNIQUE INDEX IF NOT EXISTS uq_active_reservation_bicycle ON reservation(bicycle_id) WHERE status = 'ACTIVE';
+CREATE UNIQUE INDEX IF NOT EXISTS uq_active_reservation_user ON reservation(user_id) WHERE status = 'ACTIVE';
+
+-- Startup bulk expiry scans only live holds
+CREATE INDEX IF NOT EXISTS idx_active_reservation_expiry ON reservation(expires_at) WHERE status = 'ACTIVE';
@@ -0,0 +1,8 @@
+-- ==============================================
+-- V6__Rental_Abandoned_Status.sql
+-- Rentals closed by the abandoned-rental sweeper
+-- ==============================================
+
+ALTER TABLE rental DROP CONSTRAINT IF EXISTS chk_rental_status;
+ALTER TABLE rental ADD CONSTRAINT chk_rental_status
+    CHECK (status IN ('ACTIVE', 'ENDED', 'CANCELLED', 'ABANDONED'));
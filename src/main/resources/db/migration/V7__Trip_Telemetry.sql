@@ -0,0 +1,19 @@
+-- ==============================================
+-- V7__Trip_Telemetry.sql
+-- GPS points per rental and measured rental distance
+-- ==============================================
+
+ALTER TABLE rental ADD COLUMN IF NOT EXISTS distance_meters DOUBLE PRECISION;
+
+-- Append-only, no primary key: points are only ever read back per rental
+CREATE TABLE IF NOT EXISTS trip_point (
+    rental_id BIGINT NOT NULL,
+    recorded_at TIMESTAMP NOT NULL,
+    latitude REAL NOT NULL,
+    longitude REAL NOT NULL,
+
+    CONSTRAINT fk_trip_point_rental FOREIGN KEY (rental_id) REFERENCES rental(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_trip_point_rental ON trip_point(rental_id, recorded_at);
+CREATE INDEX IF NOT EXISTS idx_trip_point_recorded_brin ON trip_point USING BRIN(recorded_at);
@@ -0,0 +1,17 @@
+-- ==============================================
+-- V8__Rental_Trace.sql
+-- Compressed GPS trace per finished rental
+-- ==============================================
+
+CREATE TABLE IF NOT EXISTS rental_trace (
+    rental_id BIGINT PRIMARY KEY,
+    point_count INTEGER NOT NULL,
+    simplification_level SMALLINT NOT NULL DEFAULT 0,
+    data BYTEA NOT NULL,
+    sealed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_rental_trace_rental FOREIGN KEY (rental_id) REFERENCES rental(id) ON DELETE CASCADE
+);
+
+-- Traces are already compact; skip pglz compression when they are TOASTed
+ALTER TABLE rental_trace ALTER COLUMN data SET STORAGE EXTERNAL;
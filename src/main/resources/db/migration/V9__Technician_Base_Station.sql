@@ -0,0 +1,12 @@
+-- ==============================================
+-- V9__Technician_Base_Station.sql
+-- Home station of each technician, used to dispatch repairs nearby
+-- ==============================================
+
+ALTER TABLE technician ADD COLUMN IF NOT EXISTS station_id BIGINT;
+
+ALTER TABLE technician
+    ADD CONSTRAINT fk_technician_station FOREIGN KEY (station_id) REFERENCES station(id) ON DELETE SET NULL;
+
+CREATE INDEX IF NOT EXISTS idx_technician_station ON technician(station_id);
+CREATE INDEX IF NOT EXISTS idx_repair_technician_status ON repair(technician_id, status);
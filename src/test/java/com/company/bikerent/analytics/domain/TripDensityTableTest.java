@@ -0,0 +1,87 @@
+package com.company.bikerent.analytics.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.YearMonth;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.company.bikerent.analytics.domain.TripDensityTable.Kind;
+
+class TripDensityTableTest {
+
+  private static final YearMonth JANUARY = YearMonth.of(2026, 1);
+  private static final YearMonth FEBRUARY = YearMonth.of(2026, 2);
+  private static final YearMonth MARCH = YearMonth.of(2026, 3);
+
+  private TripDensityTable table;
+
+  @BeforeEach
+  void setUp() {
+    table = new TripDensityTable(JANUARY);
+    // North-east and south-west of the map origin, in different tiles from zoom 1 on
+    table.putStation(1L, 59.93, 30.31);
+    table.putStation(2L, -33.87, -70.65);
+  }
+
+  @Test
+  @DisplayName("Should count trips over any range of months")
+  void shouldCountTripsInRange() {
+    // When
+    table.add(1L, JANUARY, 3, 1);
+    table.add(1L, MARCH, 5, 0);
+    table.add(1L, FEBRUARY, 2, 4);
+
+    // Then
+    assertThat(table.count(1L, Kind.DEPARTURES, null, null)).isEqualTo(10);
+    assertThat(table.count(1L, Kind.DEPARTURES, FEBRUARY, null)).isEqualTo(7);
+    assertThat(table.count(1L, Kind.DEPARTURES, JANUARY, FEBRUARY)).isEqualTo(5);
+    assertThat(table.count(1L, Kind.ARRIVALS, FEBRUARY, FEBRUARY)).isEqualTo(4);
+    assertThat(table.count(1L, Kind.ARRIVALS, MARCH, null)).isZero();
+    assertThat(table.count(1L, Kind.DEPARTURES, YearMonth.of(2027, 1), null)).isZero();
+    assertThat(table.count(1L, Kind.DEPARTURES, null, YearMonth.of(2025, 12))).isZero();
+    assertThat(table.maxCount(Kind.DEPARTURES, null, null)).isEqualTo(10);
+  }
+
+  @Test
+  @DisplayName("Should sum trips into the tile cell under each station")
+  void shouldSumTripsIntoTile() {
+    // Given
+    table.add(1L, JANUARY, 3, 0);
+    table.add(2L, JANUARY, 7, 0);
+
+    // When
+    long[] world = table.tile(Kind.DEPARTURES, 0, 0, 0, null, null, 4);
+    long[] northEast = table.tile(Kind.DEPARTURES, 1, 1, 0, null, null, 4);
+    long[] southEast = table.tile(Kind.DEPARTURES, 1, 1, 1, null, null, 4);
+
+    // Then
+    assertThat(Arrays.stream(world).sum()).isEqualTo(10);
+    // Longitude 30.31 falls in column 2 of 4 and latitude 59.93 in row 1 of 4 at zoom 0
+    assertThat(world[1 * 4 + 2]).isEqualTo(3);
+    assertThat(Arrays.stream(northEast).sum()).isEqualTo(3);
+    assertThat(Arrays.stream(southEast).sum()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should drop removed stations and reject tiles outside the map")
+  void shouldRemoveStationsAndRejectMissingTiles() {
+    // Given
+    table.add(2L, JANUARY, 7, 0);
+
+    // When
+    boolean removed = table.removeStation(2L);
+
+    // Then
+    assertThat(removed).isTrue();
+    assertThat(table.add(2L, JANUARY, 1, 0)).isFalse();
+    assertThat(table.size()).isEqualTo(1);
+    assertThat(table.maxCount(Kind.DEPARTURES, null, null)).isZero();
+    assertThatThrownBy(() -> table.tile(Kind.DEPARTURES, 1, 2, 0, null, null, 4))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
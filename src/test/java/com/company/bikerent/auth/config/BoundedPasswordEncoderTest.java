@@ -0,0 +1,52 @@
+package com.company.bikerent.auth.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BoundedPasswordEncoderTest {
+
+  private SimpleMeterRegistry registry;
+  private BoundedPasswordEncoder encoder;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    encoder = new BoundedPasswordEncoder(5, 1, 4, 5000, registry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    encoder.close();
+  }
+
+  @Test
+  @DisplayName("Should hash on the pool and record hash time")
+  void shouldHashAndRecordMetrics() {
+    // When
+    String hash = encoder.encode("password123");
+
+    // Then
+    assertThat(encoder.matches("password123", hash)).isTrue();
+    assertThat(encoder.matches("wrong", hash)).isFalse();
+    assertThat(registry.get("auth.password.hash").tag("operation", "match").timer().count())
+        .isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Should request re-encoding when the stored cost differs in either direction")
+  void shouldUpgradeOnCostChange() {
+    assertThat(encoder.upgradeEncoding(encoder.encode("password123"))).isFalse();
+    assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password123")))
+        .isTrue();
+    assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("password123")))
+        .isTrue();
+    assertThat(encoder.upgradeEncoding("not-a-bcrypt-hash")).isFalse();
+  }
+}
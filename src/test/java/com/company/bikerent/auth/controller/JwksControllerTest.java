@@ -0,0 +1,41 @@
+package com.company.bikerent.auth.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import com.company.bikerent.auth.service.JwtKeyRing;
+
+class JwksControllerTest {
+
+  @Test
+  @DisplayName("Should publish every ring key as a cacheable JSON Web Key")
+  void shouldPublishKeys() throws Exception {
+    // Given
+    JwtKeyRing keyRing = new JwtKeyRing("");
+    JwksController controller = new JwksController(keyRing);
+
+    // When
+    ResponseEntity<Map<String, List<Map<String, Object>>>> response = controller.jwks();
+
+    // Then
+    assertThat(response.getHeaders().getCacheControl()).contains("max-age=300").contains("public");
+    List<Map<String, Object>> keys = response.getBody().get("keys");
+    assertThat(keys).hasSize(1);
+    Map<String, Object> jwk = keys.get(0);
+    assertThat(jwk)
+        .containsEntry("kid", keyRing.signingKey().kid())
+        .containsEntry("use", "sig")
+        .containsEntry("alg", "EdDSA")
+        .containsEntry("kty", "OKP")
+        .containsEntry("crv", "Ed25519")
+        .doesNotContainKey("d");
+    assertThat(Base64.getUrlDecoder().decode((String) jwk.get("x"))).hasSize(32);
+  }
+}
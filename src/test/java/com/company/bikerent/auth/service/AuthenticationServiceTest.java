@@ -0,0 +1,65 @@
+package com.company.bikerent.auth.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.company.bikerent.auth.domain.RefreshToken;
+import com.company.bikerent.auth.dto.RegisterRequest;
+import com.company.bikerent.auth.dto.TokenResponse;
+import com.company.bikerent.user.domain.Role;
+import com.company.bikerent.user.domain.User;
+import com.company.bikerent.user.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+class AuthenticationServiceTest {
+
+  @Mock private UserRepository userRepository;
+
+  @Mock private PasswordEncoder passwordEncoder;
+
+  @Mock private AuthenticationManager authenticationManager;
+
+  @Mock private JwtService jwtService;
+
+  @Mock private RefreshTokenService refreshTokenService;
+
+  @Mock private UserRegistrationService userRegistrationService;
+
+  @InjectMocks private AuthenticationService authenticationService;
+
+  @Test
+  @DisplayName("Should hash the password before the registration transaction")
+  void shouldHashBeforeRegistering() {
+    // Given
+    User user = User.builder().id(1L).username("newuser").role(Role.USER).build();
+    RefreshToken refreshToken = RefreshToken.create(user, 60_000L);
+    when(passwordEncoder.encode("password123")).thenReturn("$2a$12$hash");
+    when(userRegistrationService.register("newuser", "$2a$12$hash")).thenReturn(refreshToken);
+    when(jwtService.generateAccessToken(user)).thenReturn("access");
+    when(jwtService.getAccessTokenExpiration()).thenReturn(900_000L);
+
+    // When
+    TokenResponse response =
+        authenticationService.registerUser(new RegisterRequest("newuser", "password123"));
+
+    // Then
+    InOrder order = inOrder(passwordEncoder, userRegistrationService);
+    order.verify(passwordEncoder).encode("password123");
+    order.verify(userRegistrationService).register("newuser", "$2a$12$hash");
+    assertThat(response.accessToken()).isEqualTo("access");
+    assertThat(response.refreshToken()).isEqualTo(refreshToken.getToken());
+    assertThat(response.userId()).isEqualTo(1L);
+    assertThat(response.username()).isEqualTo("newuser");
+  }
+}
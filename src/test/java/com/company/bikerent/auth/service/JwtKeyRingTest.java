@@ -0,0 +1,146 @@
+package com.company.bikerent.auth.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Base64;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.company.bikerent.user.domain.Role;
+import com.company.bikerent.user.domain.User;
+
+class JwtKeyRingTest {
+
+  @TempDir Path directory;
+
+  private User user;
+
+  @BeforeEach
+  void setUp() {
+    user = User.builder().id(1L).username("testuser").password("x").role(Role.USER).build();
+  }
+
+  @Test
+  @DisplayName("Should sign with the greatest key id that still has a private key")
+  void shouldSignWithNewestKey() throws Exception {
+    // Given
+    writeKey("2026-01", true);
+    writeKey("2026-02", true);
+    writeKey("2026-03", false);
+
+    // When
+    JwtKeyRing keyRing = new JwtKeyRing(directory.toString());
+
+    // Then
+    assertThat(keyRing.signingKey().kid()).isEqualTo("2026-02");
+    assertThat(keyRing.keys())
+        .extracting(JwtKey::kid)
+        .containsExactly("2026-01", "2026-02", "2026-03");
+    assertThat(keyRing.verificationKey("2026-03")).isNotNull();
+    assertThat(keyRing.verificationKey("2025-12")).isNull();
+    assertThat(keyRing.verificationKey(null)).isNull();
+  }
+
+  @Test
+  @DisplayName("Should verify each token with the key its kid names across a rotation")
+  void shouldVerifyByKidAcrossRotation() throws Exception {
+    // Given
+    writeKey("2026-01", true);
+    JwtKeyRing keyRing = new JwtKeyRing(directory.toString());
+    JwtService jwtService = new JwtService(keyRing, 60_000L, 60_000L);
+    String oldToken = jwtService.generateAccessToken(user);
+
+    // When - a newer key is added and the old one retired to verify-only
+    writeKey("2026-02", true);
+    Files.delete(directory.resolve("2026-01.key"));
+    keyRing.reload();
+    String newToken = jwtService.generateAccessToken(user);
+
+    // Then
+    assertThat(kidOf(oldToken)).isEqualTo("2026-01");
+    assertThat(kidOf(newToken)).isEqualTo("2026-02");
+    assertThat(jwtService.verify(oldToken)).isPresent();
+    assertThat(jwtService.verify(newToken)).isPresent();
+
+    // When - the old key is removed once its tokens have expired
+    Files.delete(directory.resolve("2026-01.pub"));
+    keyRing.reload();
+
+    // Then
+    assertThat(jwtService.verify(oldToken)).isEmpty();
+    assertThat(jwtService.verify(newToken)).isPresent();
+  }
+
+  @Test
+  @DisplayName("Should keep the current keys when a reload finds no signing key")
+  void shouldKeepKeysOnBrokenReload() throws Exception {
+    // Given
+    writeKey("2026-01", true);
+    JwtKeyRing keyRing = new JwtKeyRing(directory.toString());
+
+    // When
+    Files.delete(directory.resolve("2026-01.key"));
+    keyRing.reload();
+
+    // Then
+    assertThat(keyRing.signingKey().kid()).isEqualTo("2026-01");
+    assertThat(keyRing.signingKey().canSign()).isTrue();
+  }
+
+  @Test
+  @DisplayName("Should refuse to start without a signing key")
+  void shouldRejectDirectoryWithoutSigningKey() throws Exception {
+    // Given
+    writeKey("2026-01", false);
+
+    // When / Then
+    assertThatThrownBy(() -> new JwtKeyRing(directory.toString()))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  @DisplayName("Should fall back to a throwaway key without a directory")
+  void shouldGenerateEphemeralKey() throws Exception {
+    // When
+    JwtKeyRing keyRing = new JwtKeyRing("");
+
+    // Then
+    assertThat(keyRing.signingKey().kid()).startsWith("ephemeral-");
+    assertThat(keyRing.signingKey().algorithm()).isEqualTo("EdDSA");
+    assertThat(keyRing.keys()).hasSize(1);
+  }
+
+  private void writeKey(String kid, boolean withPrivateKey) throws Exception {
+    KeyPair pair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+    writePem(directory.resolve(kid + ".pub"), "PUBLIC KEY", pair.getPublic().getEncoded());
+    if (withPrivateKey) {
+      writePem(directory.resolve(kid + ".key"), "PRIVATE KEY", pair.getPrivate().getEncoded());
+    }
+  }
+
+  private static void writePem(Path file, String type, byte[] der) throws IOException {
+    String body =
+        Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.US_ASCII)).encodeToString(der);
+    Files.writeString(
+        file,
+        "-----BEGIN " + type + "-----\n" + body + "\n-----END " + type + "-----\n",
+        StandardCharsets.US_ASCII);
+  }
+
+  private static String kidOf(String token) {
+    String header = token.substring(0, token.indexOf('.'));
+    String json = new String(Base64.getUrlDecoder().decode(header), StandardCharsets.UTF_8);
+    int start = json.indexOf("\"kid\":\"") + 7;
+    return json.substring(start, json.indexOf('"', start));
+  }
+}
@@ -0,0 +1,68 @@
+package com.company.bikerent.auth.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.company.bikerent.auth.domain.RefreshToken;
+import com.company.bikerent.common.exception.UniqueConstraintViolationException;
+import com.company.bikerent.user.domain.Role;
+import com.company.bikerent.user.domain.User;
+import com.company.bikerent.user.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+class UserRegistrationServiceTest {
+
+  private static final String HASH = "$2a$12$hash";
+
+  @Mock private UserRepository userRepository;
+
+  @Mock private RefreshTokenService refreshTokenService;
+
+  @InjectMocks private UserRegistrationService userRegistrationService;
+
+  @Test
+  @DisplayName("Should save the user with the given hash and issue its first refresh token")
+  void shouldRegisterUser() {
+    // Given
+    when(userRepository.existsByUsername("newuser")).thenReturn(false);
+    when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    when(refreshTokenService.createRefreshToken(any(User.class)))
+        .thenAnswer(invocation -> RefreshToken.create(invocation.getArgument(0), 60_000L));
+
+    // When
+    RefreshToken refreshToken = userRegistrationService.register("newuser", HASH);
+
+    // Then
+    ArgumentCaptor<User> saved = ArgumentCaptor.forClass(User.class);
+    verify(userRepository).save(saved.capture());
+    assertThat(saved.getValue().getUsername()).isEqualTo("newuser");
+    assertThat(saved.getValue().getPassword()).isEqualTo(HASH);
+    assertThat(saved.getValue().getRole()).isEqualTo(Role.USER);
+    assertThat(refreshToken.getUser()).isSameAs(saved.getValue());
+  }
+
+  @Test
+  @DisplayName("Should reject a taken username without saving")
+  void shouldRejectTakenUsername() {
+    // Given
+    when(userRepository.existsByUsername("testuser")).thenReturn(true);
+
+    // When / Then
+    assertThatThrownBy(() -> userRegistrationService.register("testuser", HASH))
+        .isInstanceOf(UniqueConstraintViolationException.class);
+    verify(userRepository, never()).save(any());
+    verify(refreshTokenService, never()).createRefreshToken(any());
+  }
+}
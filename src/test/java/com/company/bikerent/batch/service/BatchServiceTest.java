@@ -0,0 +1,249 @@
+package com.company.bikerent.batch.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.web.access.WebInvocationPrivilegeEvaluator;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import com.company.bikerent.batch.dto.BatchRequest;
+import com.company.bikerent.batch.dto.BatchResponse;
+import com.company.bikerent.common.config.RateLimitingFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class BatchServiceTest {
+
+  @Mock private DispatcherServlet dispatcherServlet;
+
+  @Mock private WebInvocationPrivilegeEvaluator privilegeEvaluator;
+
+  private final MockHttpServletRequest request = new MockHttpServletRequest();
+  private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+  private BatchService batchService;
+
+  @BeforeEach
+  void setUp() {
+    ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    batchService =
+        new BatchService(dispatcherServlet, privilegeEvaluator, objectMapper, null, 3, 2, 8, 300L);
+  }
+
+  @AfterEach
+  void tearDown() {
+    batchService.shutdown();
+  }
+
+  @Test
+  @DisplayName("Should dispatch each sub-request with its own path and capture its response")
+  void shouldCaptureSubResponses() throws Exception {
+    // Given
+    allowAll();
+    doAnswer(
+            invocation -> {
+              HttpServletRequest subRequest = invocation.getArgument(0);
+              HttpServletResponse subResponse = invocation.getArgument(1);
+              if (subRequest.getServletPath().equals("/api/v1/stations")) {
+                subResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                subResponse.getWriter().write("{\"size\":" + subRequest.getParameter("size") + "}");
+              } else {
+                subResponse.setStatus(HttpStatus.NOT_FOUND.value());
+                subResponse.setContentType(MediaType.TEXT_PLAIN_VALUE);
+                subResponse.getOutputStream().write("gone".getBytes(StandardCharsets.UTF_8));
+              }
+              return null;
+            })
+        .when(dispatcherServlet)
+        .service(any(ServletRequest.class), any());
+
+    // When
+    BatchResponse result =
+        batchService.execute(
+            batch(
+                new BatchRequest.Operation("stations", null, "/api/v1/stations?size=5"),
+                new BatchRequest.Operation(null, "get", "/api/v1/bicycles/42")),
+            request,
+            response);
+
+    // Then
+    assertThat(result.responses()).hasSize(2);
+    BatchResponse.Result stations = result.responses().get(0);
+    assertThat(stations.id()).isEqualTo("stations");
+    assertThat(stations.status()).isEqualTo(200);
+    assertThat(stations.body().get("size").asInt()).isEqualTo(5);
+    BatchResponse.Result bicycle = result.responses().get(1);
+    assertThat(bicycle.id()).isEqualTo("1");
+    assertThat(bicycle.status()).isEqualTo(404);
+    assertThat(bicycle.body().asText()).isEqualTo("gone");
+    // Nothing leaks into the batch response itself
+    assertThat(response.getContentAsByteArray()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should refuse other methods and paths outside the API without dispatching them")
+  void shouldRejectUnsupportedOperations() throws Exception {
+    // When
+    BatchResponse result =
+        batchService.execute(
+            batch(
+                new BatchRequest.Operation("post", "POST", "/api/v1/rentals"),
+                new BatchRequest.Operation("outside", "GET", "/actuator/health"),
+                new BatchRequest.Operation("traversal", "GET", "/api/v1/../actuator/env")),
+            request,
+            response);
+
+    // Then
+    assertThat(result.responses())
+        .extracting(BatchResponse.Result::status)
+        .containsExactly(405, 400, 400);
+    assertThat(batchService.execute(batch(nested()), request, response).responses())
+        .extracting(BatchResponse.Result::status)
+        .containsExactly(400);
+    verify(dispatcherServlet, never()).service(any(), any());
+    verify(privilegeEvaluator, never()).isAllowed(any(), any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("Should answer 403 for a sub-request the caller may not access")
+  void shouldDenyUnauthorizedSubRequest() throws Exception {
+    // Given
+    when(privilegeEvaluator.isAllowed(any(), eq("/api/v1/users"), eq("GET"), any()))
+        .thenReturn(false);
+
+    // When
+    BatchResponse result =
+        batchService.execute(
+            batch(new BatchRequest.Operation("users", "GET", "/api/v1/users")), request, response);
+
+    // Then
+    BatchResponse.Result users = result.responses().get(0);
+    assertThat(users.status()).isEqualTo(403);
+    assertThat(users.body().get("message").asText()).isEqualTo("Access denied");
+    assertThat(users.body().get("path").asText()).isEqualTo("/api/v1/users");
+    verify(dispatcherServlet, never()).service(any(), any());
+  }
+
+  @Test
+  @DisplayName("Should answer 504 for sub-requests that outlive the batch timeout")
+  void shouldTimeOutSlowSubRequest() throws Exception {
+    // Given
+    allowAll();
+    doAnswer(
+            invocation -> {
+              HttpServletRequest subRequest = invocation.getArgument(0);
+              if (subRequest.getServletPath().equals("/api/v1/slow")) {
+                Thread.sleep(5_000L);
+              }
+              return null;
+            })
+        .when(dispatcherServlet)
+        .service(any(ServletRequest.class), any());
+
+    // When
+    long start = System.nanoTime();
+    BatchResponse result =
+        batchService.execute(
+            batch(
+                new BatchRequest.Operation("slow", "GET", "/api/v1/slow"),
+                new BatchRequest.Operation("fast", "GET", "/api/v1/fast")),
+            request,
+            response);
+    long elapsedMs = (System.nanoTime() - start) / 1_000_000L;
+
+    // Then
+    assertThat(result.responses())
+        .extracting(BatchResponse.Result::status)
+        .containsExactly(504, 200);
+    assertThat(elapsedMs).isLessThan(3_000L);
+  }
+
+  @Test
+  @DisplayName("Should reject batches with more sub-requests than allowed")
+  void shouldRejectOversizedBatch() {
+    // Given
+    BatchRequest.Operation operation = new BatchRequest.Operation(null, "GET", "/api/v1/stations");
+
+    // When / Then
+    assertThatThrownBy(
+            () ->
+                batchService.execute(
+                    batch(operation, operation, operation, operation), request, response))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("at most 3");
+  }
+
+  @Test
+  @DisplayName("Should charge every sub-request to the rate limit of its path")
+  void shouldRateLimitEachSubRequest() throws Exception {
+    // Given - a general tier burst of two requests
+    allowAll();
+    ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    RateLimitingFilter rateLimitingFilter =
+        new RateLimitingFilter(objectMapper, new SimpleMeterRegistry(), 10, 5, 30, 10, 100, 2);
+    BatchService limitedService =
+        new BatchService(
+            dispatcherServlet,
+            privilegeEvaluator,
+            objectMapper,
+            rateLimitingFilter,
+            3,
+            2,
+            8,
+            1_000L);
+    BatchRequest.Operation operation = new BatchRequest.Operation(null, "GET", "/api/v1/stations");
+
+    try {
+      // When
+      BatchResponse result =
+          limitedService.execute(batch(operation, operation, operation), request, response);
+
+      // Then
+      assertThat(result.responses())
+          .extracting(BatchResponse.Result::status)
+          .containsExactlyInAnyOrder(200, 200, 429);
+      verify(dispatcherServlet, times(2)).service(any(), any());
+    } finally {
+      limitedService.shutdown();
+    }
+  }
+
+  private void allowAll() {
+    when(privilegeEvaluator.isAllowed(any(), any(), any(), any())).thenReturn(true);
+  }
+
+  private static BatchRequest.Operation nested() {
+    return new BatchRequest.Operation("nested", "GET", "/api/v1/batch");
+  }
+
+  private static BatchRequest batch(BatchRequest.Operation... operations) {
+    return new BatchRequest(List.of(operations));
+  }
+}
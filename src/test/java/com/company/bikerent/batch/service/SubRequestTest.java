@@ -0,0 +1,78 @@
+package com.company.bikerent.batch.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class SubRequestTest {
+
+  @Test
+  @DisplayName("Should expose its own path and decoded query parameters")
+  void shouldParsePathAndQuery() {
+    // Given
+    MockHttpServletRequest batch = new MockHttpServletRequest("POST", "/app/api/v1/batch");
+    batch.setContextPath("/app");
+    batch.addParameter("requests", "ignored");
+
+    // When
+    SubRequest request =
+        new SubRequest(batch, "GET", "/api/v1/stations", "size=5&status=A&status=B&q=a%20b&flag");
+
+    // Then
+    assertThat(request.getMethod()).isEqualTo("GET");
+    assertThat(request.getServletPath()).isEqualTo("/api/v1/stations");
+    assertThat(request.getRequestURI()).isEqualTo("/app/api/v1/stations");
+    assertThat(request.getQueryString()).isEqualTo("size=5&status=A&status=B&q=a%20b&flag");
+    assertThat(request.getParameter("size")).isEqualTo("5");
+    assertThat(request.getParameterValues("status")).containsExactly("A", "B");
+    assertThat(request.getParameter("q")).isEqualTo("a b");
+    assertThat(request.getParameter("flag")).isEmpty();
+    assertThat(request.getParameterMap()).doesNotContainKey("requests");
+  }
+
+  @Test
+  @DisplayName("Should ask for JSON and carry over only the caller's language")
+  void shouldCarryOverLanguageOnly() {
+    // Given
+    MockHttpServletRequest batch = new MockHttpServletRequest();
+    batch.addHeader(HttpHeaders.AUTHORIZATION, "Bearer token");
+    batch.setPreferredLocales(List.of(Locale.forLanguageTag("ru")));
+    batch.setAttribute("batch", true);
+
+    // When
+    SubRequest request = new SubRequest(batch, "GET", "/api/v1/stations", null);
+    request.setAttribute("sub", true);
+
+    // Then
+    assertThat(request.getHeader("accept")).isEqualTo("application/json");
+    assertThat(request.getHeader("Accept-Language")).isEqualTo("ru");
+    assertThat(request.getHeader(HttpHeaders.AUTHORIZATION)).isNull();
+    assertThat(Collections.list(request.getHeaders(HttpHeaders.AUTHORIZATION))).isEmpty();
+    assertThat(request.getLocale()).isEqualTo(Locale.forLanguageTag("ru"));
+    assertThat(request.getAttribute("batch")).isNull();
+    assertThat(batch.getAttribute("sub")).isNull();
+    assertThat(request.getParameterMap()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should have no body and no session")
+  void shouldBeStateless() throws Exception {
+    // Given
+    SubRequest request =
+        new SubRequest(new MockHttpServletRequest(), "GET", "/api/v1/stations", null);
+
+    // Then
+    assertThat(request.getInputStream().read()).isEqualTo(-1);
+    assertThat(request.getReader().readLine()).isNull();
+    assertThat(request.getSession(false)).isNull();
+    assertThatThrownBy(request::getSession).isInstanceOf(IllegalStateException.class);
+  }
+}
@@ -0,0 +1,74 @@
+package com.company.bikerent.batch.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class SubResponseTest {
+
+  private final MockHttpServletResponse batch = new MockHttpServletResponse();
+
+  @Test
+  @DisplayName("Should buffer the body written through the writer and the output stream")
+  void shouldCaptureBody() throws Exception {
+    // Given
+    SubResponse response = new SubResponse(batch);
+
+    // When
+    response.getOutputStream().write("{\"name\":".getBytes(StandardCharsets.UTF_8));
+    response.getWriter().write("\"Невский\"}");
+
+    // Then
+    assertThat(new String(response.body(), StandardCharsets.UTF_8))
+        .isEqualTo("{\"name\":\"Невский\"}");
+    assertThat(response.getCharacterEncoding()).isEqualTo("UTF-8");
+    assertThat(batch.getContentAsByteArray()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should keep headers of its own, case-insensitively")
+  void shouldCaptureHeaders() {
+    // Given
+    SubResponse response = new SubResponse(batch);
+
+    // When
+    response.addHeader("Vary", "Accept");
+    response.addHeader("vary", "Accept-Language");
+    response.setHeader("ETag", "\"1\"");
+    response.setHeader("etag", "\"2\"");
+    response.setIntHeader("X-Count", 3);
+
+    // Then
+    assertThat(response.getHeaders("VARY")).containsExactly("Accept", "Accept-Language");
+    assertThat(response.getHeader("ETag")).isEqualTo("\"2\"");
+    assertThat(response.containsHeader("x-count")).isTrue();
+    assertThat(response.getHeader("Missing")).isNull();
+    assertThat(batch.getHeaderNames()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should record error statuses and discard everything on reset")
+  void shouldRecordErrorsAndReset() throws Exception {
+    // Given
+    SubResponse response = new SubResponse(batch);
+    response.setContentType("text/plain");
+    response.addHeader("Vary", "Accept");
+    response.getWriter().write("partial");
+
+    // When
+    response.reset();
+    response.sendError(404);
+
+    // Then
+    assertThat(response.getStatus()).isEqualTo(404);
+    assertThat(response.isCommitted()).isTrue();
+    assertThat(response.body()).isEmpty();
+    assertThat(response.getContentType()).isNull();
+    assertThat(response.getHeaderNames()).isEmpty();
+    assertThat(batch.getStatus()).isEqualTo(200);
+  }
+}
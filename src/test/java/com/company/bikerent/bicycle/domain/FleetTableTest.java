@@ -0,0 +1,69 @@
+package com.company.bikerent.bicycle.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class FleetTableTest {
+
+  private FleetTable table;
+
+  @BeforeEach
+  void setUp() {
+    table = new FleetTable(0);
+    table.put(1L, 10L, BicycleStatus.AVAILABLE, BicycleType.MOUNTAIN, 20L);
+    table.put(2L, 10L, BicycleStatus.RENTED, BicycleType.HIGHWAY, 60L);
+    table.put(3L, 20L, BicycleStatus.AVAILABLE, BicycleType.MOUNTAIN, 80L);
+    table.put(4L, FleetTable.NO_STATION, BicycleStatus.UNAVAILABLE, BicycleType.UNIVERSAL, 0L);
+  }
+
+  @Test
+  @DisplayName("Should count by status and type over the matching bicycles")
+  void shouldSummarizeMatchingBicycles() {
+    // When
+    FleetTable.Summary all = table.summarize(FleetTable.Filter.ALL);
+    FleetTable.Summary worn =
+        table.summarize(new FleetTable.Filter(null, BicycleType.MOUNTAIN, null, 50L, null));
+
+    // Then
+    assertThat(all.count()).isEqualTo(4);
+    assertThat(all.count(BicycleStatus.AVAILABLE)).isEqualTo(2);
+    assertThat(all.count(BicycleType.MOUNTAIN)).isEqualTo(2);
+    assertThat(all.mileageSum()).isEqualTo(160);
+    assertThat(all.mileageMax()).isEqualTo(80);
+
+    assertThat(worn.count()).isEqualTo(1);
+    assertThat(worn.mileageSum()).isEqualTo(80);
+  }
+
+  @Test
+  @DisplayName("Should keep rows dense when bicycles are removed")
+  void shouldMoveLastRowIntoRemovedOne() {
+    // When
+    assertThat(table.remove(1L)).isTrue();
+    assertThat(table.remove(1L)).isFalse();
+    table.setStatus(4L, BicycleStatus.AVAILABLE);
+    table.setStationAndMileage(4L, 20L, 5L);
+
+    // Then
+    assertThat(table.size()).isEqualTo(3);
+    FleetTable.Summary atStation =
+        table.summarize(new FleetTable.Filter(BicycleStatus.AVAILABLE, null, 20L, null, null));
+    assertThat(atStation.count()).isEqualTo(2);
+    assertThat(atStation.mileageSum()).isEqualTo(85);
+  }
+
+  @Test
+  @DisplayName("Should count matching bicycles per station, skipping those without one")
+  void shouldCountByStation() {
+    // When
+    FleetTable.StationCounts counts = table.countByStation(FleetTable.Filter.ALL);
+
+    // Then
+    assertThat(counts.stationIds()).containsExactlyInAnyOrder(10L, 20L);
+    long atTen = counts.counts()[counts.stationIds()[0] == 10L ? 0 : 1];
+    assertThat(atTen).isEqualTo(2);
+  }
+}
@@ -0,0 +1,97 @@
+package com.company.bikerent.common.assignment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CapacitatedAssignmentTest {
+
+  @Test
+  @DisplayName("Should prefer the assignment with the best total over greedy choices")
+  void shouldFindOptimalAssignment() {
+    // Given - agent 0 is best for both objects but can only take one
+    int[][] candidates = {{0, 1}, {0}};
+    long[][] benefits = {{10, 9}, {8}};
+    long[][] slotPenalties = {{0}, {0}};
+
+    // When
+    int[] assignment = CapacitatedAssignment.solve(2, candidates, benefits, slotPenalties);
+
+    // Then - 9 + 8 beats 10 + nothing
+    assertThat(assignment).containsExactly(1, 0);
+  }
+
+  @Test
+  @DisplayName("Should leave objects unassigned when no slot is worth taking")
+  void shouldSkipUnprofitablePairs() {
+    // Given - the second slot costs more than the object is worth
+    int[][] candidates = {{0, 1, 2}};
+    long[][] benefits = {{50, 40, 5}};
+    long[][] slotPenalties = {{0, 10, 20}};
+
+    // When
+    int[] assignment = CapacitatedAssignment.solve(3, candidates, benefits, slotPenalties);
+
+    // Then
+    assertThat(assignment).containsExactly(0, 0, -1);
+  }
+
+  @Test
+  @DisplayName("Should match exhaustive search on small random problems")
+  void shouldMatchExhaustiveSearch() {
+    Random random = new Random(7L);
+    for (int round = 0; round < 500; round++) {
+      // Given
+      int agents = 1 + random.nextInt(3);
+      int objects = 1 + random.nextInt(6);
+      long[][] matrix = new long[agents][objects];
+      int[][] candidates = new int[agents][];
+      long[][] benefits = new long[agents][];
+      long[][] slotPenalties = new long[agents][];
+      for (int a = 0; a < agents; a++) {
+        candidates[a] = new int[objects];
+        benefits[a] = new long[objects];
+        for (int o = 0; o < objects; o++) {
+          matrix[a][o] = random.nextInt(100) - 20;
+          candidates[a][o] = o;
+          benefits[a][o] = matrix[a][o];
+        }
+        slotPenalties[a] = new long[random.nextInt(3)];
+        for (int slot = 0; slot < slotPenalties[a].length; slot++) {
+          slotPenalties[a][slot] = 10L * slot;
+        }
+      }
+
+      // When
+      int[] assignment = CapacitatedAssignment.solve(objects, candidates, benefits, slotPenalties);
+
+      // Then
+      int[] used = new int[agents];
+      long total = 0;
+      for (int o = 0; o < objects; o++) {
+        if (assignment[o] >= 0) {
+          total += matrix[assignment[o]][o] - slotPenalties[assignment[o]][used[assignment[o]]++];
+        }
+      }
+      assertThat(total).isEqualTo(best(matrix, slotPenalties, 0, new int[agents]));
+    }
+  }
+
+  private static long best(long[][] matrix, long[][] slotPenalties, int object, int[] used) {
+    if (object == matrix[0].length) {
+      return 0L;
+    }
+    long best = best(matrix, slotPenalties, object + 1, used);
+    for (int a = 0; a < matrix.length; a++) {
+      if (used[a] < slotPenalties[a].length) {
+        long value = matrix[a][object] - slotPenalties[a][used[a]++];
+        best = Math.max(best, value + best(matrix, slotPenalties, object + 1, used));
+        used[a]--;
+      }
+    }
+    return best;
+  }
+}
@@ -0,0 +1,41 @@
+package com.company.bikerent.common.collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+  @Test
+  @DisplayName("Should contain every added key")
+  void shouldContainAddedKeys() {
+    BloomFilter filter = new BloomFilter(10_000, 0.01);
+
+    for (long key = 0; key < 10_000; key++) {
+      filter.add(key * 31);
+    }
+
+    for (long key = 0; key < 10_000; key++) {
+      assertThat(filter.mightContain(key * 31)).isTrue();
+    }
+  }
+
+  @Test
+  @DisplayName("Should keep false positives near the configured rate")
+  void shouldBoundFalsePositives() {
+    BloomFilter filter = new BloomFilter(10_000, 0.01);
+    for (long key = 0; key < 10_000; key++) {
+      filter.add(key);
+    }
+
+    int falsePositives = 0;
+    for (long key = 1_000_000; key < 1_100_000; key++) {
+      if (filter.mightContain(key)) {
+        falsePositives++;
+      }
+    }
+
+    assertThat(falsePositives).isLessThan(2_000);
+  }
+}
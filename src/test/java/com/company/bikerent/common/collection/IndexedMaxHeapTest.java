@@ -0,0 +1,97 @@
+package com.company.bikerent.common.collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class IndexedMaxHeapTest {
+
+  private IndexedMaxHeap heap;
+
+  @BeforeEach
+  void setUp() {
+    heap = new IndexedMaxHeap(4);
+  }
+
+  @Test
+  @DisplayName("Should return keys in descending priority order")
+  void shouldReturnTopKeysInOrder() {
+    // Given
+    heap.put(1L, 0.5);
+    heap.put(2L, 2.0);
+    heap.put(3L, 1.2);
+    heap.put(4L, 0.1);
+    heap.put(5L, 1.0);
+
+    // When
+    long[] top = heap.top(3);
+
+    // Then
+    assertThat(top).containsExactly(2L, 3L, 5L);
+    assertThat(heap.top(10)).hasSize(5);
+    assertThat(heap.countAtLeast(1.0)).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("Should reorder a key when its priority changes and forget removed keys")
+  void shouldUpdateAndRemoveKeys() {
+    // Given
+    heap.put(1L, 3.0);
+    heap.put(2L, 2.0);
+    heap.put(3L, 1.0);
+
+    // When
+    heap.put(3L, 5.0);
+    heap.put(1L, 0.5);
+    boolean removed = heap.remove(2L);
+
+    // Then
+    assertThat(removed).isTrue();
+    assertThat(heap.remove(2L)).isFalse();
+    assertThat(heap.contains(2L)).isFalse();
+    assertThat(heap.priorityOf(2L)).isNaN();
+    assertThat(heap.priorityOf(3L)).isEqualTo(5.0);
+    assertThat(heap.top(2)).containsExactly(3L, 1L);
+    assertThat(heap.size()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Should agree with a sorted map after random updates")
+  void shouldMatchReferenceAfterRandomUpdates() {
+    // Given
+    Random random = new Random(42L);
+    Map<Long, Double> reference = new HashMap<>();
+
+    // When
+    for (int i = 0; i < 10_000; i++) {
+      long key = random.nextInt(500);
+      if (random.nextInt(4) == 0) {
+        heap.remove(key);
+        reference.remove(key);
+      } else {
+        double priority = random.nextDouble() * 3.0;
+        heap.put(key, priority);
+        reference.put(key, priority);
+      }
+    }
+
+    // Then
+    long[] expected =
+        reference.entrySet().stream()
+            .sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder()))
+            .limit(25)
+            .mapToLong(Map.Entry::getKey)
+            .toArray();
+    assertThat(heap.size()).isEqualTo(reference.size());
+    assertThat(heap.top(25)).containsExactly(expected);
+    assertThat(heap.countAtLeast(1.0))
+        .isEqualTo((int) reference.values().stream().filter(p -> p >= 1.0).count());
+  }
+}
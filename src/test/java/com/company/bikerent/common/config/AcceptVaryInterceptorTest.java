@@ -0,0 +1,31 @@
+package com.company.bikerent.common.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class AcceptVaryInterceptorTest {
+
+  private final AcceptVaryInterceptor interceptor = new AcceptVaryInterceptor();
+
+  @Test
+  @DisplayName("Should mark responses as varying by Accept and keep other Vary values")
+  void shouldAddVaryAccept() {
+    // Given
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/stations");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    response.addHeader(HttpHeaders.VARY, HttpHeaders.ORIGIN);
+
+    // When
+    boolean proceed = interceptor.preHandle(request, response, new Object());
+
+    // Then
+    assertThat(proceed).isTrue();
+    assertThat(response.getHeaders(HttpHeaders.VARY))
+        .containsExactly(HttpHeaders.ORIGIN, HttpHeaders.ACCEPT);
+  }
+}
@@ -0,0 +1,88 @@
+package com.company.bikerent.common.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RateLimitingFilterTest {
+
+  private static final String AUTH_POLICY = "10;w=60;burst=2";
+  private static final String GENERAL_POLICY = "100;w=60;burst=30";
+
+  private RateLimitingFilter filter;
+
+  @BeforeEach
+  void setUp() {
+    filter =
+        new RateLimitingFilter(
+            new ObjectMapper().findAndRegisterModules(),
+            new SimpleMeterRegistry(),
+            10,
+            2,
+            30,
+            10,
+            100,
+            30);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"/api/v1/auth/login", "/api/v1/auth/%6Cogin", "/api/v1/auth/login;x=1"})
+  @DisplayName("Should limit every spelling of the login path in the auth tier")
+  void shouldLimitEncodedAuthPathInAuthTier(String uri) throws Exception {
+    // Given
+    send(uri);
+    send(uri);
+
+    // When
+    MockHttpServletResponse response = send(uri);
+
+    // Then
+    assertThat(response.getStatus()).isEqualTo(429);
+    assertThat(response.getHeader("RateLimit-Policy")).isEqualTo(AUTH_POLICY);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"/api/v1/auth/login", "/api/v1/auth/%6Cogin"})
+  @DisplayName("Should match tiers on the path within the application")
+  void shouldIgnoreContextPath(String path) throws Exception {
+    // Given
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/app" + path);
+    request.setContextPath("/app");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // When
+    filter.doFilter(request, response, new MockFilterChain());
+
+    // Then
+    assertThat(response.getHeader("RateLimit-Policy")).isEqualTo(AUTH_POLICY);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"/api/v1/stations", "/api/v1/auth/logins"})
+  @DisplayName("Should limit other API paths in the general tier")
+  void shouldLimitOtherPathsInGeneralTier(String uri) throws Exception {
+    // When
+    MockHttpServletResponse response = send(uri);
+
+    // Then
+    assertThat(response.getStatus()).isEqualTo(200);
+    assertThat(response.getHeader("RateLimit-Policy")).isEqualTo(GENERAL_POLICY);
+  }
+
+  private MockHttpServletResponse send(String uri) throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    filter.doFilter(request, response, new MockFilterChain());
+    return response;
+  }
+}
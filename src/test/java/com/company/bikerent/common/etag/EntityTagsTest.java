@@ -0,0 +1,54 @@
+package com.company.bikerent.common.etag;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+class EntityTagsTest {
+
+  @Test
+  @DisplayName("Should issue weak tags, as every encoding of a version shares them")
+  void shouldIssueWeakTags() {
+    assertThat(EntityTags.of(3L)).isEqualTo("W/\"v3\"");
+    assertThat(EntityTags.of(new CollectionVersion(2L, 36L, 35L))).isEqualTo("W/\"c2.10.z\"");
+  }
+
+  @Test
+  @DisplayName("Should answer 304 when If-None-Match holds the current tag")
+  void shouldMatchCurrentTag() {
+    // Given
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/stations/1");
+    request.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"v3\"");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // When
+    boolean notModified =
+        new ServletWebRequest(request, response).checkNotModified(EntityTags.of(3L));
+
+    // Then
+    assertThat(notModified).isTrue();
+    assertThat(response.getStatus()).isEqualTo(304);
+    assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("W/\"v3\"");
+  }
+
+  @Test
+  @DisplayName("Should answer in full when If-None-Match holds an older tag")
+  void shouldNotMatchOlderTag() {
+    // Given
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/stations/1");
+    request.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"v2\"");
+
+    // When
+    boolean notModified =
+        new ServletWebRequest(request, new MockHttpServletResponse())
+            .checkNotModified(EntityTags.of(3L));
+
+    // Then
+    assertThat(notModified).isFalse();
+  }
+}
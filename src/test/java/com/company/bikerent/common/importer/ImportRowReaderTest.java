@@ -0,0 +1,89 @@
+package com.company.bikerent.common.importer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class ImportRowReaderTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  record Item(String name, Long count) {}
+
+  @Test
+  @DisplayName("Should map CSV columns by header name and report bad rows by line")
+  void shouldReadCsvRows() throws IOException {
+    // Given
+    String csv =
+        "Count,Name\n"
+            + "1,plain\n"
+            + "\n"
+            + "2,\"quoted, with \"\"comma\"\"\"\n"
+            + "x,bad number\n"
+            + "3,too,many\n";
+
+    // When
+    List<ImportRow<Item>> rows;
+    try (ImportRowReader<Item> reader = csvReader(csv)) {
+      rows = reader.nextChunk(10);
+      assertThat(reader.nextChunk(10)).isEmpty();
+    }
+
+    // Then
+    assertThat(rows).hasSize(4);
+    assertThat(rows.get(0).value()).isEqualTo(new Item("plain", 1L));
+    assertThat(rows.get(1).line()).isEqualTo(4);
+    assertThat(rows.get(1).value()).isEqualTo(new Item("quoted, with \"comma\"", 2L));
+    assertThat(rows.get(2).isValid()).isFalse();
+    assertThat(rows.get(2).error()).isEqualTo("Invalid count: x");
+    assertThat(rows.get(3).line()).isEqualTo(6);
+    assertThat(rows.get(3).isValid()).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should read NDJSON in chunks and keep going after a malformed line")
+  void shouldReadNdjsonInChunks() throws IOException {
+    // Given
+    String ndjson = "{\"name\":\"a\",\"count\":1}\n{not json}\n{\"name\":\"b\",\"count\":2}\n";
+
+    // When
+    List<ImportRow<Item>> first;
+    List<ImportRow<Item>> second;
+    try (ImportRowReader<Item> reader =
+        ImportRowReader.open(
+            ImportFormat.NDJSON, stream(ndjson), null, objectMapper.readerFor(Item.class))) {
+      first = reader.nextChunk(2);
+      second = reader.nextChunk(2);
+    }
+
+    // Then
+    assertThat(first).hasSize(2);
+    assertThat(first.get(0).value()).isEqualTo(new Item("a", 1L));
+    assertThat(first.get(1).isValid()).isFalse();
+    assertThat(first.get(1).error()).startsWith("Malformed JSON");
+    assertThat(second).extracting(ImportRow::line).containsExactly(3);
+  }
+
+  private ImportRowReader<Item> csvReader(String csv) {
+    return ImportRowReader.open(
+        ImportFormat.CSV,
+        stream(csv),
+        (Map<String, String> fields) ->
+            new Item(fields.get("name"), CsvValues.toLong(fields, "count")),
+        objectMapper.readerFor(Item.class));
+  }
+
+  private static InputStream stream(String content) {
+    return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,64 @@
+package com.company.bikerent.common.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AccessLogFileTest {
+
+  private static final long HOUR_MS = TimeUnit.HOURS.toMillis(1);
+
+  @TempDir Path directory;
+
+  @Test
+  @DisplayName("Should roll full segments into gzip files readable by the stats tool")
+  void shouldRollAndReport() throws IOException {
+    // Given segments that hold only a few entries
+    AccessLogFile file = new AccessLogFile(directory, 1024, HOUR_MS, 24 * HOUR_MS, 1 << 30);
+    long now = System.currentTimeMillis();
+
+    // When
+    for (int i = 1; i <= 100; i++) {
+      AccessLogEntry entry = new AccessLogEntry();
+      entry.timestampMs = now;
+      entry.requestId = "r" + i;
+      entry.clientIp = "10.0.0.***";
+      entry.method = "GET";
+      entry.route = i % 2 == 0 ? "/api/v1/bicycles/{id}" : null;
+      entry.uri = "/api/v1/bicycles/" + i;
+      entry.query = "token=secret&\"q\"=1";
+      entry.status = i == 100 ? 503 : 200;
+      entry.durationNanos = TimeUnit.MILLISECONDS.toNanos(i);
+      assertThat(file.append(entry)).isTrue();
+    }
+    file.close();
+
+    // Then
+    assertThat(AccessLogFile.list(directory, "*" + AccessLogFile.ROLLED_SUFFIX)).isNotEmpty();
+    AccessLogStats stats = new AccessLogStats(null, null);
+    for (Path segment : AccessLogFile.list(directory, "*.ndjson*")) {
+      stats.read(segment);
+    }
+    long[] matched = stats.latencies().get("GET /api/v1/bicycles/{id}");
+    assertThat(matched).hasSize(50);
+    assertThat(AccessLogStats.percentile(matched, 50)).isEqualTo(50_000);
+    assertThat(AccessLogStats.percentile(matched, 99)).isEqualTo(100_000);
+    assertThat(stats.latencies().get("GET (unmatched)")).hasSize(50);
+  }
+
+  @Test
+  @DisplayName("Should read fields back from a formatted line")
+  void shouldParseFields() {
+    String line = "{\"ts\":\"2026-10-19T08:00:00Z\",\"uri\":\"/a\\\"b\",\"route\":null,\"us\":42}";
+
+    assertThat(AccessLogStats.stringField(line, "uri")).isEqualTo("/a\"b");
+    assertThat(AccessLogStats.stringField(line, "route")).isNull();
+    assertThat(AccessLogStats.rawField(line, "us")).isEqualTo("42");
+  }
+}
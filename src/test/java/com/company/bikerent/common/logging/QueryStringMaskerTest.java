@@ -0,0 +1,29 @@
+package com.company.bikerent.common.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class QueryStringMaskerTest {
+
+  @Test
+  @DisplayName("Should mask parameters whose name ends with a sensitive word")
+  void shouldMaskSensitiveParameters() {
+    assertThat(QueryStringMasker.mask("page=1&password=hunter2&size=20"))
+        .isEqualTo("page=1&password=***&size=20");
+    assertThat(QueryStringMasker.mask("refresh_token=abc&apiKey=xyz&Authorization=Bearer+t"))
+        .isEqualTo("refresh_token=***&apiKey=***&Authorization=***");
+    assertThat(QueryStringMasker.mask("userEmail=a%40b.c&email=a@b.c&email=none"))
+        .isEqualTo("userEmail=a%40b.c&email=***@***&email=none");
+  }
+
+  @Test
+  @DisplayName("Should return the query string itself when nothing is sensitive")
+  void shouldNotCopyCleanQueryString() {
+    String query = "page=0&size=20&sort=id,desc&flag&keyword";
+
+    assertThat(QueryStringMasker.mask(query)).isSameAs(query);
+    assertThat(QueryStringMasker.mask(null)).isNull();
+  }
+}
@@ -0,0 +1,135 @@
+package com.company.bikerent.common.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+
+import jakarta.servlet.FilterChain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Timed run of the per-request logging path: {@link RequestLoggingFilter}, {@link RequestContext},
+ * MDC and the {@link AccessLog} enqueue, measured against the same request through a bare chain.
+ * The bounds are loose so that slow CI machines pass; the measured figures are logged.
+ */
+@Slf4j
+class RequestLoggingOverheadTest {
+
+  private static final int WARMUP = 50_000;
+  private static final int ITERATIONS = 200_000;
+  private static final String QUERY = "page=2&size=20&access_token=secret&station=7";
+
+  @TempDir Path directory;
+
+  @Test
+  @DisplayName("Should add little per-request cost when successful requests are not logged")
+  void shouldMeasureFilterWithoutAccessLogFile() throws Exception {
+    // Given - the default setup: no structured file, successful requests below the log level
+    AccessLog accessLog = accessLog("");
+
+    // When
+    double overhead = overheadNanos(new RequestLoggingFilter(accessLog));
+
+    // Then
+    log.info("Request logging overhead without access log file: {} ns/request", round(overhead));
+    assertThat(overhead).isLessThan(20_000.0);
+  }
+
+  @Test
+  @DisplayName("Should add little per-request cost when every request is queued for the file")
+  void shouldMeasureFilterWithAccessLogFile() throws Exception {
+    // Given - every request is enqueued and written by the drain thread
+    AccessLog accessLog = accessLog(directory.toString());
+    accessLog.start();
+
+    try {
+      // When
+      double overhead = overheadNanos(new RequestLoggingFilter(accessLog));
+
+      // Then
+      log.info("Request logging overhead with access log file: {} ns/request", round(overhead));
+      assertThat(overhead).isLessThan(20_000.0);
+    } finally {
+      accessLog.stop();
+    }
+  }
+
+  @Test
+  @DisplayName("Should mask a query string in microseconds on the drain thread")
+  void shouldMeasureQueryStringMasking() {
+    // Given
+    int sink = 0;
+    for (int i = 0; i < WARMUP; i++) {
+      sink += QueryStringMasker.mask(QUERY).length();
+    }
+
+    // When
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      sink += QueryStringMasker.mask(QUERY).length();
+    }
+    double perQuery = (double) (System.nanoTime() - start) / ITERATIONS;
+
+    // Then
+    log.info("Query string masking: {} ns/query", round(perQuery));
+    assertThat(sink).isPositive();
+    assertThat(perQuery).isLessThan(20_000.0);
+  }
+
+  /** Nanoseconds the filter adds to a request, over a chain that does nothing. */
+  private static double overheadNanos(RequestLoggingFilter filter) throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/stations/7");
+    request.setQueryString(QUERY);
+    request.addHeader(RequestLoggingFilter.REQUEST_ID_HEADER, "client-request-1");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    FilterChain chain = (servletRequest, servletResponse) -> {};
+    FilterChain filtered =
+        (servletRequest, servletResponse) -> filter.doFilter(request, response, chain);
+
+    run(request, response, chain, WARMUP);
+    run(request, response, filtered, WARMUP);
+    double baseline = run(request, response, chain, ITERATIONS);
+    double logged = run(request, response, filtered, ITERATIONS);
+    return Math.max(0.0, logged - baseline);
+  }
+
+  /** Mean nanoseconds per request; attributes are reset so that every request starts fresh. */
+  private static double run(
+      MockHttpServletRequest request,
+      MockHttpServletResponse response,
+      FilterChain chain,
+      int iterations)
+      throws Exception {
+    long start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      request.clearAttributes();
+      request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/stations/{id}");
+      chain.doFilter(request, response);
+    }
+    return (double) (System.nanoTime() - start) / iterations;
+  }
+
+  private static AccessLog accessLog(String directory) throws Exception {
+    return new AccessLog(
+        8192,
+        directory,
+        64 * 1024 * 1024,
+        3_600_000L,
+        86_400_000L,
+        1L << 30,
+        new SimpleMeterRegistry());
+  }
+
+  private static long round(double nanos) {
+    return Math.round(nanos);
+  }
+}
@@ -0,0 +1,47 @@
+package com.company.bikerent.common.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class GcraRateLimiterTest {
+
+  private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  @Test
+  @DisplayName("Should allow the burst, then one request per emission interval")
+  void shouldAllowBurstThenSteadyRate() {
+    // Given 60 per minute with a burst of 3
+    GcraRateLimiter limiter = new GcraRateLimiter(60, Duration.ofMinutes(1), 3);
+    long now = 0;
+
+    // When / Then
+    assertThat(limiter.tryAcquire("client", now).remaining()).isEqualTo(2);
+    assertThat(limiter.tryAcquire("client", now).remaining()).isEqualTo(1);
+    assertThat(limiter.tryAcquire("client", now).remaining()).isZero();
+    GcraRateLimiter.Decision rejected = limiter.tryAcquire("client", now);
+    assertThat(rejected.allowed()).isFalse();
+    assertThat(rejected.retryAfterNanos()).isEqualTo(SECOND);
+
+    assertThat(limiter.tryAcquire("client", now + SECOND).allowed()).isTrue();
+    assertThat(limiter.tryAcquire("client", now + SECOND).allowed()).isFalse();
+    assertThat(limiter.tryAcquire("other", now).allowed()).isTrue();
+  }
+
+  @Test
+  @DisplayName("Should forget clients whose allowance has recovered")
+  void shouldEvictIdleClients() {
+    GcraRateLimiter limiter = new GcraRateLimiter(60, Duration.ofMinutes(1), 3);
+    limiter.tryAcquire("client", 0);
+
+    limiter.evictIdle(SECOND / 2);
+    assertThat(limiter.size()).isEqualTo(1);
+
+    limiter.evictIdle(SECOND);
+    assertThat(limiter.size()).isZero();
+  }
+}
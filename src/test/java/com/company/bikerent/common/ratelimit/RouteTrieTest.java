@@ -0,0 +1,22 @@
+package com.company.bikerent.common.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class RouteTrieTest {
+
+  @Test
+  @DisplayName("Should resolve the longest matching prefix by whole segments")
+  void shouldMatchLongestPrefix() {
+    RouteTrie<String> routes =
+        new RouteTrie<String>().add("/api/v1", "general").add("/api/v1/auth/login", "auth");
+
+    assertThat(routes.match("/api/v1/auth/login")).isEqualTo("auth");
+    assertThat(routes.match("/api/v1/auth/login/")).isEqualTo("auth");
+    assertThat(routes.match("/api/v1/auth/loginx")).isEqualTo("general");
+    assertThat(routes.match("/api/v1/bicycles/7")).isEqualTo("general");
+    assertThat(routes.match("/actuator/health")).isNull();
+  }
+}
@@ -0,0 +1,106 @@
+package com.company.bikerent.common.timer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class HierarchicalTimerTest {
+
+  private HierarchicalTimer timer;
+
+  @BeforeEach
+  void setUp() {
+    timer = new HierarchicalTimer("test-timer", 10L, 8, 1);
+  }
+
+  @AfterEach
+  void tearDown() {
+    timer.close();
+  }
+
+  @Test
+  @DisplayName("Should fire tasks within and beyond the range of the lowest wheel")
+  void shouldFireTasksAcrossWheels() throws InterruptedException {
+    // Given
+    CountDownLatch latch = new CountDownLatch(3);
+    long start = System.nanoTime();
+
+    // When - 8 slots of 10ms: 30ms fits the first wheel, the others cascade
+    timer.schedule(30L, latch::countDown);
+    timer.schedule(200L, latch::countDown);
+    timer.schedule(900L, latch::countDown);
+
+    // Then
+    assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    assertThat(elapsedMs).isGreaterThanOrEqualTo(890L);
+    assertThat(timer.size()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should never fire a task before its delay has passed")
+  void shouldNeverFireEarly() throws InterruptedException {
+    // Given - delays off the 10ms tick grid, within and beyond the range of the first wheel
+    int tasks = 40;
+    CountDownLatch latch = new CountDownLatch(tasks);
+    AtomicLong minSlackNanos = new AtomicLong(Long.MAX_VALUE);
+
+    // When
+    for (int i = 0; i < tasks; i++) {
+      long delayNanos = TimeUnit.MILLISECONDS.toNanos(3L + 7L * i);
+      long scheduledAt = System.nanoTime();
+      timer.schedule(
+          TimeUnit.NANOSECONDS.toMillis(delayNanos),
+          () -> {
+            long slack = System.nanoTime() - scheduledAt - delayNanos;
+            minSlackNanos.accumulateAndGet(slack, Math::min);
+            latch.countDown();
+          });
+    }
+
+    // Then - the timer counts whole milliseconds, so allow for less than one
+    assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(minSlackNanos.get()).isGreaterThan(-TimeUnit.MILLISECONDS.toNanos(1));
+  }
+
+  @Test
+  @DisplayName("Should not fire cancelled tasks")
+  void shouldNotFireCancelledTask() throws InterruptedException {
+    // Given
+    AtomicBoolean fired = new AtomicBoolean();
+    CountDownLatch later = new CountDownLatch(1);
+    HierarchicalTimer.Timeout timeout = timer.schedule(50L, () -> fired.set(true));
+    timer.schedule(150L, later::countDown);
+
+    // When
+    boolean cancelled = timeout.cancel();
+
+    // Then
+    assertThat(cancelled).isTrue();
+    assertThat(timeout.isCancelled()).isTrue();
+    assertThat(later.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(fired).isFalse();
+    assertThat(timeout.cancel()).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should run tasks that are already due immediately")
+  void shouldRunDueTaskImmediately() throws InterruptedException {
+    // Given
+    CountDownLatch latch = new CountDownLatch(1);
+
+    // When
+    timer.schedule(0L, latch::countDown);
+
+    // Then
+    assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+  }
+}
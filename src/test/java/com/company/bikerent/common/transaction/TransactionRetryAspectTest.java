@@ -0,0 +1,210 @@
+package com.company.bikerent.common.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.company.bikerent.common.exception.ConcurrentModificationException;
+import com.company.bikerent.common.exception.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionRetryAspectTest {
+
+  private static final String METHOD = "TransactionRetryAspectTest.Target.update";
+
+  @Mock private PlatformTransactionManager transactionManager;
+
+  @Mock private JdbcTemplate jdbcTemplate;
+
+  @Mock private TransactionStatus transactionStatus;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private TransactionRetryAspect aspect;
+  private RetryableTransaction retryable;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    aspect =
+        new TransactionRetryAspect(
+            transactionManager, jdbcTemplate, meterRegistry, 2000L, 3, 1L, 2L);
+    retryable = Target.class.getMethod("update").getAnnotation(RetryableTransaction.class);
+
+    // Behaves like a real transaction manager as far as nested calls can tell
+    lenient()
+        .when(transactionManager.getTransaction(any()))
+        .thenAnswer(
+            invocation -> {
+              TransactionSynchronizationManager.setActualTransactionActive(true);
+              return transactionStatus;
+            });
+    lenient()
+        .doAnswer(
+            invocation -> {
+              TransactionSynchronizationManager.setActualTransactionActive(false);
+              return null;
+            })
+        .when(transactionManager)
+        .commit(transactionStatus);
+    lenient()
+        .doAnswer(
+            invocation -> {
+              TransactionSynchronizationManager.setActualTransactionActive(false);
+              return null;
+            })
+        .when(transactionManager)
+        .rollback(transactionStatus);
+  }
+
+  @AfterEach
+  void tearDown() {
+    TransactionSynchronizationManager.setActualTransactionActive(false);
+  }
+
+  @ParameterizedTest
+  @CsvSource({"40P01, deadlock", "40001, serialization", "55P03, lock_timeout"})
+  @DisplayName("Should roll back and run again after a lock conflict")
+  void shouldRetryConflict(String sqlState, String reason) throws Throwable {
+    // Given
+    ProceedingJoinPoint joinPoint = joinPoint();
+    when(joinPoint.proceed()).thenThrow(conflict(sqlState)).thenReturn("done");
+
+    // When
+    Object result = aspect.retry(joinPoint, retryable);
+
+    // Then
+    assertThat(result).isEqualTo("done");
+    verify(joinPoint, times(2)).proceed();
+    verify(transactionManager).rollback(transactionStatus);
+    verify(transactionManager).commit(transactionStatus);
+    verify(jdbcTemplate, times(2)).queryForObject(any(), eq(String.class), eq("2000ms"));
+    assertThat(retries("transaction.retries", reason)).isEqualTo(1.0);
+    assertThat(retries("transaction.retries.exhausted", reason)).isZero();
+  }
+
+  @Test
+  @DisplayName("Should give up with 409 once deadlocks outlast every attempt")
+  void shouldGiveUpOnRepeatedDeadlocks() throws Throwable {
+    // Given
+    ProceedingJoinPoint joinPoint = joinPoint();
+    when(joinPoint.proceed()).thenThrow(conflict("40P01"));
+
+    // When / Then
+    assertThatThrownBy(() -> aspect.retry(joinPoint, retryable))
+        .isInstanceOf(ConcurrentModificationException.class);
+    verify(joinPoint, times(3)).proceed();
+    verify(transactionManager, never()).commit(any());
+    assertThat(retries("transaction.retries", "deadlock")).isEqualTo(2.0);
+    assertThat(retries("transaction.retries.exhausted", "deadlock")).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("Should give up with 503 once lock timeouts outlast every attempt")
+  void shouldGiveUpOnRepeatedLockTimeouts() throws Throwable {
+    // Given
+    ProceedingJoinPoint joinPoint = joinPoint();
+    when(joinPoint.proceed()).thenThrow(conflict("55P03"));
+
+    // When / Then
+    assertThatThrownBy(() -> aspect.retry(joinPoint, retryable))
+        .isInstanceOfSatisfying(
+            ServiceUnavailableException.class,
+            ex -> assertThat(ex.getRetryAfterSeconds()).isPositive());
+    verify(joinPoint, times(3)).proceed();
+    assertThat(retries("transaction.retries.exhausted", "lock_timeout")).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("Should rethrow other failures without retrying")
+  void shouldNotRetryOtherFailures() throws Throwable {
+    // Given
+    ProceedingJoinPoint joinPoint = joinPoint();
+    IllegalStateException failure = new IllegalStateException("not a conflict");
+    when(joinPoint.proceed()).thenThrow(failure);
+
+    // When / Then
+    assertThatThrownBy(() -> aspect.retry(joinPoint, retryable)).isSameAs(failure);
+    verify(joinPoint).proceed();
+    verify(transactionManager).rollback(transactionStatus);
+  }
+
+  @Test
+  @DisplayName("Should retry only the outermost call when retryable calls are nested")
+  void shouldNotMultiplyRetriesWhenNested() throws Throwable {
+    // Given - the inner call deadlocks every time it runs
+    ProceedingJoinPoint inner = joinPoint();
+    when(inner.proceed()).thenThrow(conflict("40P01"));
+    ProceedingJoinPoint outer = joinPoint();
+    AtomicInteger outerRuns = new AtomicInteger();
+    when(outer.proceed())
+        .thenAnswer(
+            invocation -> {
+              outerRuns.incrementAndGet();
+              return aspect.retry(inner, retryable);
+            });
+
+    // When / Then
+    assertThatThrownBy(() -> aspect.retry(outer, retryable))
+        .isInstanceOf(ConcurrentModificationException.class);
+    assertThat(outerRuns).hasValue(3);
+    verify(inner, times(3)).proceed();
+    verify(transactionManager, times(3)).getTransaction(any());
+    assertThat(retries("transaction.retries", "deadlock")).isEqualTo(2.0);
+  }
+
+  private ProceedingJoinPoint joinPoint() throws Exception {
+    MethodSignature signature = mock(MethodSignature.class);
+    lenient().when(signature.getMethod()).thenReturn(Target.class.getMethod("update"));
+    ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+    lenient().when(joinPoint.getSignature()).thenReturn(signature);
+    lenient().when(joinPoint.getTarget()).thenReturn(new Target());
+    return joinPoint;
+  }
+
+  private double retries(String name, String reason) {
+    Counter counter = meterRegistry.find(name).tags("method", METHOD, "reason", reason).counter();
+    return counter == null ? 0.0 : counter.count();
+  }
+
+  /** A lock conflict as Spring translates it, with the driver's exception as the cause. */
+  private static CannotAcquireLockException conflict(String sqlState) {
+    return new CannotAcquireLockException(
+        "could not execute statement", new SQLException("conflict", sqlState));
+  }
+
+  static class Target {
+
+    @RetryableTransaction
+    public void update() {}
+  }
+}
@@ -0,0 +1,121 @@
+package com.company.bikerent.diagnostics.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import com.company.bikerent.diagnostics.dto.ConnectionReport.Leak;
+import com.company.bikerent.diagnostics.dto.ConnectionReport.Offender;
+
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ConnectionHoldTrackerTest {
+
+  private static final String TRANSACTION =
+      "com.company.bikerent.rental.service.RentalService.create";
+  private static final String METHOD = "RentalService.create";
+
+  private final MockClock clock = new MockClock();
+  private final SimpleMeterRegistry meterRegistry =
+      new SimpleMeterRegistry(SimpleConfig.DEFAULT, clock);
+
+  private ConnectionHoldTracker tracker;
+  private TransactionExecutionListener listener;
+  private TransactionExecution transaction;
+
+  @BeforeEach
+  void setUp() {
+    // Leaks past one second, stack sampled on every transaction
+    tracker = new ConnectionHoldTracker(meterRegistry, 1_000L, 1);
+    listener = tracker.listener("primary");
+    transaction = mock(TransactionExecution.class);
+    when(transaction.getTransactionName()).thenReturn(TRANSACTION);
+  }
+
+  @Test
+  @DisplayName("Should record hold and lock wait time of a transaction that ends in time")
+  void shouldRecordNormalHold() {
+    // Given
+    listener.afterBegin(transaction, null);
+    clock.add(200, TimeUnit.MILLISECONDS);
+    tracker.recordLockWait(TimeUnit.MILLISECONDS.toNanos(50));
+
+    // When
+    listener.afterCommit(transaction, null);
+    clock.add(5, TimeUnit.SECONDS);
+    tracker.detectLeaks();
+
+    // Then
+    Offender offender = tracker.topOffenders(10).get(0);
+    assertThat(offender.pool()).isEqualTo("primary");
+    assertThat(offender.method()).isEqualTo(METHOD);
+    assertThat(offender.transactions()).isEqualTo(1);
+    assertThat(offender.totalHoldMs()).isEqualTo(200.0);
+    assertThat(offender.lockingTransactions()).isEqualTo(1);
+    assertThat(offender.totalLockWaitMs()).isEqualTo(50.0);
+    assertThat(tracker.recentLeaks()).isEmpty();
+    assertThat(meterRegistry.counter("db.connection.leaks").count()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should report a transaction past the threshold once and still time it")
+  void shouldReportHoldOverThreshold() {
+    // Given
+    listener.afterBegin(transaction, null);
+    clock.add(999, TimeUnit.MILLISECONDS);
+    tracker.detectLeaks();
+    assertThat(tracker.recentLeaks()).isEmpty();
+
+    // When
+    clock.add(501, TimeUnit.MILLISECONDS);
+    tracker.detectLeaks();
+    clock.add(1, TimeUnit.SECONDS);
+    tracker.detectLeaks();
+    listener.afterRollback(transaction, null);
+
+    // Then
+    assertThat(tracker.recentLeaks()).hasSize(1);
+    Leak leak = tracker.recentLeaks().get(0);
+    assertThat(leak.method()).isEqualTo(METHOD);
+    assertThat(leak.heldMs()).isEqualTo(1_500L);
+    assertThat(leak.thread()).isEqualTo(Thread.currentThread().getName());
+    assertThat(leak.stack()).isNotEmpty();
+    assertThat(meterRegistry.counter("db.connection.leaks").count()).isEqualTo(1.0);
+    assertThat(tracker.topOffenders(10).get(0).totalHoldMs()).isEqualTo(2_500.0);
+  }
+
+  @Test
+  @DisplayName("Should report a transaction that never ends without recording a hold")
+  void shouldReportConnectionNeverClosed() {
+    // Given
+    TransactionExecution other = mock(TransactionExecution.class);
+    when(other.getTransactionName()).thenReturn(TRANSACTION);
+    listener.afterBegin(transaction, null);
+
+    // When - a later transaction on the same thread ends normally, the first one never does
+    clock.add(10, TimeUnit.MILLISECONDS);
+    listener.afterBegin(other, null);
+    clock.add(10, TimeUnit.MILLISECONDS);
+    listener.afterCommit(other, null);
+    clock.add(1, TimeUnit.MINUTES);
+    tracker.detectLeaks();
+
+    // Then
+    assertThat(tracker.recentLeaks())
+        .singleElement()
+        .satisfies(leak -> assertThat(leak.heldMs()).isEqualTo(60_020L));
+    Offender offender = tracker.topOffenders(10).get(0);
+    assertThat(offender.transactions()).isEqualTo(1);
+    assertThat(offender.totalHoldMs()).isEqualTo(10.0);
+  }
+}
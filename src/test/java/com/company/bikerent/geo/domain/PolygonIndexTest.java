@@ -0,0 +1,56 @@
+package com.company.bikerent.geo.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PolygonIndexTest {
+
+  private static final long MISSING = -1L;
+
+  @Test
+  @DisplayName("Should find the polygon containing a point, including concave ones")
+  void shouldFindContainingPolygon() {
+    // Given: a square and, next to it, an L-shaped zone
+    PolygonIndex index =
+        PolygonIndex.builder()
+            .add(1L, new double[] {0, 0, 1, 1}, new double[] {0, 1, 1, 0})
+            .add(2L, new double[] {0, 0, 1, 1, 0.5, 0.5}, new double[] {2, 4, 4, 3, 3, 2})
+            .build();
+
+    // Then
+    assertThat(index.find(0.5, 0.5, MISSING)).isEqualTo(1L);
+    assertThat(index.find(0.25, 2.5, MISSING)).isEqualTo(2L);
+    assertThat(index.find(0.75, 3.5, MISSING)).isEqualTo(2L);
+    // In the notch of the L, inside its bounding box
+    assertThat(index.find(0.75, 2.5, MISSING)).isEqualTo(MISSING);
+    assertThat(index.find(0.5, 1.5, MISSING)).isEqualTo(MISSING);
+    assertThat(index.find(5, 5, MISSING)).isEqualTo(MISSING);
+  }
+
+  @Test
+  @DisplayName("Should prefer the smallest of overlapping polygons")
+  void shouldPreferSmallestPolygon() {
+    // Given
+    PolygonIndex index =
+        PolygonIndex.builder()
+            .add(1L, new double[] {0, 0, 10, 10}, new double[] {0, 10, 10, 0})
+            .add(2L, new double[] {4, 4, 6, 6}, new double[] {4, 6, 6, 4})
+            .build();
+
+    // Then
+    assertThat(index.find(5, 5, MISSING)).isEqualTo(2L);
+    assertThat(index.find(1, 1, MISSING)).isEqualTo(1L);
+  }
+
+  @Test
+  @DisplayName("Should reject polygons with fewer than three vertices")
+  void shouldRejectDegeneratePolygons() {
+    assertThatThrownBy(
+            () -> PolygonIndex.builder().add(1L, new double[] {0, 1}, new double[] {0, 1}))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThat(PolygonIndex.EMPTY.find(0, 0, MISSING)).isEqualTo(MISSING);
+  }
+}
@@ -6,6 +6,8 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.util.Base64;
+
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,6 +17,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
 import com.company.bikerent.auth.dto.LoginRequest;
+import com.company.bikerent.auth.dto.RefreshTokenRequest;
 import com.company.bikerent.auth.dto.RegisterRequest;
 import com.company.bikerent.auth.dto.TokenResponse;
 import com.company.bikerent.user.domain.Role;
@@ -150,12 +153,100 @@ class AuthenticationIntegrationTest extends BaseIntegrationTest {
         .andExpect(jsonPath("$.debt").value(0));
   }
 
+  @Test
+  @DisplayName("Should rotate refresh token and reject reuse of the old one")
+  void shouldRotateRefreshTokenAndRejectReuse() throws Exception {
+    RegisterRequest registerRequest = new RegisterRequest("rotatetest", "password123");
+    MvcResult result =
+        mockMvc
+            .perform(
+                post("/api/v1/auth/register")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(registerRequest)))
+            .andExpect(status().isCreated())
+            .andReturn();
+    TokenResponse tokenResponse =
+        objectMapper.readValue(result.getResponse().getContentAsString(), TokenResponse.class);
+    String refreshRequest =
+        objectMapper.writeValueAsString(new RefreshTokenRequest(tokenResponse.refreshToken()));
+
+    MvcResult refreshed =
+        mockMvc
+            .perform(
+                post("/api/v1/auth/refresh")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(refreshRequest))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.username").value("rotatetest"))
+            .andReturn();
+    TokenResponse rotated =
+        objectMapper.readValue(refreshed.getResponse().getContentAsString(), TokenResponse.class);
+    assertThat(rotated.refreshToken()).isNotEqualTo(tokenResponse.refreshToken());
+
+    // The old token was revoked by the rotation
+    mockMvc
+        .perform(
+            post("/api/v1/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(refreshRequest))
+        .andExpect(status().isUnprocessableEntity());
+  }
+
   @Test
   @DisplayName("Should reject request without token")
   void shouldRejectRequestWithoutToken() throws Exception {
     mockMvc.perform(get("/api/v1/auth/info")).andExpect(status().isUnauthorized());
   }
 
+  @Test
+  @DisplayName("Should publish the key that signed the access token")
+  void shouldPublishSigningKey() throws Exception {
+    RegisterRequest registerRequest = new RegisterRequest("jwkstest", "password123");
+    MvcResult result =
+        mockMvc
+            .perform(
+                post("/api/v1/auth/register")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(registerRequest)))
+            .andExpect(status().isCreated())
+            .andReturn();
+    TokenResponse tokenResponse =
+        objectMapper.readValue(result.getResponse().getContentAsString(), TokenResponse.class);
+    String accessToken = tokenResponse.accessToken();
+    String header = accessToken.substring(0, accessToken.indexOf('.'));
+    String kid = objectMapper.readTree(Base64.getUrlDecoder().decode(header)).get("kid").asText();
+
+    mockMvc
+        .perform(get("/.well-known/jwks.json"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.keys[0].kid").value(kid))
+        .andExpect(jsonPath("$.keys[0].d").doesNotExist());
+  }
+
+  @Test
+  @DisplayName("Should keep the startup actuator from non-admin users")
+  void shouldForbidStartupActuatorToUsers() throws Exception {
+    RegisterRequest registerRequest = new RegisterRequest("startuptest", "password123");
+    MvcResult result =
+        mockMvc
+            .perform(
+                post("/api/v1/auth/register")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(registerRequest)))
+            .andExpect(status().isCreated())
+            .andReturn();
+    TokenResponse tokenResponse =
+        objectMapper.readValue(result.getResponse().getContentAsString(), TokenResponse.class);
+    String authorization = "Bearer " + tokenResponse.accessToken();
+
+    mockMvc
+        .perform(get("/actuator/startup").header("Authorization", authorization))
+        .andExpect(status().isForbidden());
+    mockMvc
+        .perform(post("/actuator/startup").header("Authorization", authorization))
+        .andExpect(status().isForbidden());
+  }
+
   @Test
   @DisplayName("Should validate registration request")
   void shouldValidateRegistrationRequest() throws Exception {
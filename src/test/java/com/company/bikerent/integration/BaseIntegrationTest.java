@@ -148,7 +148,7 @@ public abstract class BaseIntegrationTest {
   @BeforeEach
   void cleanDatabase() {
     jdbcTemplate.execute(
-        "TRUNCATE TABLE admin_requests, refresh_token, repair, rental, payment, bicycle, station, technician, users "
+        "TRUNCATE TABLE admin_requests, refresh_token, repair, reservation, rental, payment, bicycle, station, technician, users "
             + "RESTART IDENTITY CASCADE");
   }
 }
@@ -16,14 +16,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import com.company.bikerent.bicycle.domain.Bicycle;
 import com.company.bikerent.bicycle.domain.BicycleStatus;
 import com.company.bikerent.bicycle.domain.BicycleType;
-import com.company.bikerent.bicycle.mapper.BicycleMapper;
 import com.company.bikerent.bicycle.repository.BicycleRepository;
 import com.company.bikerent.common.exception.BusinessException;
 import com.company.bikerent.common.exception.EntityNotFoundException;
+import com.company.bikerent.maintenance.domain.MaintenanceScore;
 import com.company.bikerent.maintenance.domain.Repair;
 import com.company.bikerent.maintenance.domain.RepairStatus;
 import com.company.bikerent.maintenance.domain.Technician;
@@ -44,7 +45,9 @@ class RepairServiceTest {
 
   @Mock private RepairMapper repairMapper;
 
-  @Mock private BicycleMapper bicycleMapper;
+  @Mock private MaintenanceQueueService maintenanceQueueService;
+
+  @Mock private ApplicationEventPublisher eventPublisher;
 
   @InjectMocks private RepairService repairService;
 
@@ -181,6 +184,8 @@ class RepairServiceTest {
       RepairDto expectedDto =
           new RepairDto(1L, 1L, 1L, "Fix brakes", "COMPLETED", null, LocalDateTime.now());
 
+      when(repairRepository.findBicycleIdById(1L)).thenReturn(Optional.of(1L));
+      when(bicycleRepository.findByIdWithLock(1L)).thenReturn(Optional.of(testBicycle));
       when(repairRepository.findByIdWithLock(1L)).thenReturn(Optional.of(testRepair));
       when(repairRepository.save(any(Repair.class))).thenReturn(testRepair);
       when(repairMapper.toDto(any(Repair.class))).thenReturn(expectedDto);
@@ -199,6 +204,8 @@ class RepairServiceTest {
     void shouldThrowWhenRepairNotInProgress() {
       // Given
       testRepair.setStatus(RepairStatus.COMPLETED);
+      when(repairRepository.findBicycleIdById(1L)).thenReturn(Optional.of(1L));
+      when(bicycleRepository.findByIdWithLock(1L)).thenReturn(Optional.of(testBicycle));
       when(repairRepository.findByIdWithLock(1L)).thenReturn(Optional.of(testRepair));
 
       // When & Then
@@ -211,7 +218,7 @@ class RepairServiceTest {
     @DisplayName("Should throw exception when repair not found")
     void shouldThrowWhenRepairNotFound() {
       // Given
-      when(repairRepository.findByIdWithLock(999L)).thenReturn(Optional.empty());
+      when(repairRepository.findBicycleIdById(999L)).thenReturn(Optional.empty());
 
       // When & Then
       assertThatThrownBy(() -> repairService.complete(999L))
@@ -226,6 +233,8 @@ class RepairServiceTest {
       testBicycle.setStatus(BicycleStatus.UNAVAILABLE);
       testBicycle.setMileage(100L);
 
+      when(repairRepository.findBicycleIdById(1L)).thenReturn(Optional.of(1L));
+      when(bicycleRepository.findByIdWithLock(1L)).thenReturn(Optional.of(testBicycle));
       when(repairRepository.findByIdWithLock(1L)).thenReturn(Optional.of(testRepair));
       when(repairRepository.save(any(Repair.class))).thenReturn(testRepair);
       when(repairMapper.toDto(any(Repair.class)))
@@ -250,8 +259,11 @@ class RepairServiceTest {
       // Given
       testBicycle.setMileage(60L);
 
-      // When & Then
-      assertThat(testBicycle.needsService()).isTrue();
+      // When
+      double score = MaintenanceScore.of(testBicycle.getType(), testBicycle.getMileage(), 0, 0);
+
+      // Then
+      assertThat(score).isGreaterThanOrEqualTo(MaintenanceScore.DUE);
     }
 
     @Test
@@ -260,8 +272,11 @@ class RepairServiceTest {
       // Given
       testBicycle.setMileage(30L);
 
-      // When & Then
-      assertThat(testBicycle.needsService()).isFalse();
+      // When
+      double score = MaintenanceScore.of(testBicycle.getType(), testBicycle.getMileage(), 0, 0);
+
+      // Then
+      assertThat(score).isLessThan(MaintenanceScore.DUE);
     }
 
     @Test
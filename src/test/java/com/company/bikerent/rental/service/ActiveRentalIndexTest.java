@@ -0,0 +1,170 @@
+package com.company.bikerent.rental.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.company.bikerent.rental.event.RentalAbandonedEvent;
+import com.company.bikerent.rental.event.RentalCancelledEvent;
+import com.company.bikerent.rental.event.RentalCompletedEvent;
+import com.company.bikerent.rental.event.RentalStartedEvent;
+import com.company.bikerent.rental.repository.RentalRepository;
+import com.company.bikerent.rental.repository.RentalRepository.ActiveRentalEntry;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ActiveRentalIndexTest {
+
+  private RentalRepository rentalRepository;
+  private SimpleMeterRegistry registry;
+  private ActiveRentalIndex index;
+
+  @BeforeEach
+  void setUp() {
+    rentalRepository = mock(RentalRepository.class);
+    registry = new SimpleMeterRegistry();
+    index = new ActiveRentalIndex(rentalRepository, registry);
+  }
+
+  @Test
+  @DisplayName("Should treat every lookup as a possible hit until loaded")
+  void shouldReportPossibleHitsUntilLoaded() {
+    assertThat(index.mayBeRented(1L)).isTrue();
+    assertThat(index.mayHaveActiveRental(1L)).isTrue();
+
+    when(rentalRepository.findAllActive()).thenReturn(List.of());
+    index.load();
+
+    assertThat(index.mayBeRented(1L)).isFalse();
+    assertThat(index.mayHaveActiveRental(1L)).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should follow rentals through their lifecycle events")
+  void shouldFollowLifecycleEvents() {
+    // Given
+    when(rentalRepository.findAllActive()).thenReturn(List.of(new Entry(1L, 10L, 100L)));
+    index.load();
+
+    // When
+    index.onRentalStarted(new RentalStartedEvent(2L, 10L, 200L));
+    index.onRentalStarted(new RentalStartedEvent(3L, 30L, 300L));
+
+    // Then
+    assertThat(index.size()).isEqualTo(3);
+    assertThat(index.mayBeRented(200L)).isTrue();
+
+    index.onRentalCompleted(
+        new RentalCompletedEvent(1L, 10L, 100L, 3L, 5L, 42L, LocalDateTime.now()));
+    assertThat(index.mayBeRented(100L)).isFalse();
+    assertThat(index.mayHaveActiveRental(10L)).isTrue();
+
+    index.onRentalCancelled(new RentalCancelledEvent(2L, 10L, 200L));
+    assertThat(index.mayHaveActiveRental(10L)).isFalse();
+
+    index.onRentalAbandoned(
+        new RentalAbandonedEvent(3L, 30L, 300L, LocalDateTime.now().minusDays(2), 500.0));
+    assertThat(index.size()).isZero();
+    assertThat(index.mayHaveActiveRental(30L)).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should rebuild from the database when verification finds a difference")
+  void shouldRebuildOnMismatch() {
+    // Given
+    when(rentalRepository.findAllActive()).thenReturn(List.of(new Entry(1L, 10L, 100L)));
+    index.load();
+
+    // When
+    when(rentalRepository.findAllActive())
+        .thenReturn(List.of(new Entry(1L, 10L, 100L), new Entry(2L, 20L, 200L)));
+    index.verify();
+
+    // Then
+    assertThat(index.mayBeRented(200L)).isTrue();
+    assertThat(index.mayHaveActiveRental(20L)).isTrue();
+    assertThat(registry.get("rentals.active.index.mismatches").counter().count()).isEqualTo(1);
+
+    index.verify();
+    assertThat(registry.get("rentals.active.index.mismatches").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should read again when a rental starts while loading")
+  void shouldRetryLoadWhenRentalStartsDuringRead() {
+    // Given - the rental commits after the first read but before it is swapped in
+    when(rentalRepository.findAllActive())
+        .thenAnswer(
+            invocation -> {
+              index.onRentalStarted(new RentalStartedEvent(2L, 20L, 200L));
+              return List.of(new Entry(1L, 10L, 100L));
+            })
+        .thenReturn(List.of(new Entry(1L, 10L, 100L), new Entry(2L, 20L, 200L)));
+
+    // When
+    index.load();
+
+    // Then
+    verify(rentalRepository, times(2)).findAllActive();
+    assertThat(index.mayHaveActiveRental(20L)).isTrue();
+    assertThat(index.mayBeRented(200L)).isTrue();
+    assertThat(index.mayHaveActiveRental(30L)).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should keep answering maybe when every load races with events")
+  void shouldStayUnloadedWhileEveryReadRaces() {
+    // Given
+    AtomicLong nextRentalId = new AtomicLong(1L);
+    when(rentalRepository.findAllActive())
+        .thenAnswer(
+            invocation -> {
+              long rentalId = nextRentalId.getAndIncrement();
+              index.onRentalStarted(new RentalStartedEvent(rentalId, 10L, 100L + rentalId));
+              return List.of();
+            });
+
+    // When
+    index.load();
+
+    // Then
+    assertThat(index.mayHaveActiveRental(20L)).isTrue();
+    assertThat(index.mayBeRented(300L)).isTrue();
+
+    // When - the next verification loads without interference
+    when(rentalRepository.findAllActive()).thenReturn(List.of(new Entry(1L, 10L, 101L)));
+    index.verify();
+
+    // Then
+    assertThat(index.mayHaveActiveRental(20L)).isFalse();
+    assertThat(index.mayHaveActiveRental(10L)).isTrue();
+  }
+
+  private record Entry(Long id, Long userId, Long bicycleId) implements ActiveRentalEntry {
+
+    @Override
+    public Long getId() {
+      return id;
+    }
+
+    @Override
+    public Long getUserId() {
+      return userId;
+    }
+
+    @Override
+    public Long getBicycleId() {
+      return bicycleId;
+    }
+  }
+}
@@ -6,6 +6,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +17,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import com.company.bikerent.bicycle.domain.Bicycle;
 import com.company.bikerent.bicycle.domain.BicycleStatus;
@@ -23,6 +25,7 @@ import com.company.bikerent.bicycle.domain.BicycleType;
 import com.company.bikerent.bicycle.repository.BicycleRepository;
 import com.company.bikerent.common.exception.BusinessException;
 import com.company.bikerent.common.exception.EntityNotFoundException;
+import com.company.bikerent.geo.dto.CoordinatesDto;
 import com.company.bikerent.rental.domain.Rental;
 import com.company.bikerent.rental.domain.RentalStatus;
 import com.company.bikerent.rental.dto.CompleteRentalRequest;
@@ -31,7 +34,10 @@ import com.company.bikerent.rental.dto.RentalDto;
 import com.company.bikerent.rental.mapper.RentalMapper;
 import com.company.bikerent.rental.repository.RentalRepository;
 import com.company.bikerent.station.domain.Station;
+import com.company.bikerent.station.dto.NearbyStationDto;
 import com.company.bikerent.station.repository.StationRepository;
+import com.company.bikerent.station.service.ReturnZoneService;
+import com.company.bikerent.station.service.StationOccupancyMonitor;
 import com.company.bikerent.user.domain.Role;
 import com.company.bikerent.user.domain.User;
 import com.company.bikerent.user.repository.UserRepository;
@@ -49,6 +55,16 @@ class RentalServiceTest {
 
   @Mock private RentalMapper rentalMapper;
 
+  @Mock private ReservationService reservationService;
+
+  @Mock private ActiveRentalIndex activeRentalIndex;
+
+  @Mock private StationOccupancyMonitor stationOccupancyMonitor;
+
+  @Mock private ReturnZoneService returnZoneService;
+
+  @Mock private ApplicationEventPublisher eventPublisher;
+
   @InjectMocks private RentalService rentalService;
 
   private User testUser;
@@ -104,7 +120,7 @@ class RentalServiceTest {
       RentalDto expectedDto = new RentalDto(1L, 1L, 1L, 1L, null, "ACTIVE", null, null, 0.0);
 
       when(bicycleRepository.findByIdWithLock(1L)).thenReturn(Optional.of(testBicycle));
-      when(rentalRepository.existsByBicycleIdAndStatus(1L, RentalStatus.ACTIVE)).thenReturn(false);
+      when(activeRentalIndex.mayBeRented(1L)).thenReturn(false);
       when(userRepository.findByIdWithLock(1L)).thenReturn(Optional.of(testUser));
       when(stationRepository.findById(1L)).thenReturn(Optional.of(testStation));
       when(rentalRepository.save(any(Rental.class))).thenReturn(testRental);
@@ -139,6 +155,7 @@ class RentalServiceTest {
       // Given
       CreateRentalRequest request = new CreateRentalRequest(1L, 1L, 1L);
       when(bicycleRepository.findByIdWithLock(1L)).thenReturn(Optional.of(testBicycle));
+      when(activeRentalIndex.mayBeRented(1L)).thenReturn(true);
       when(rentalRepository.existsByBicycleIdAndStatus(1L, RentalStatus.ACTIVE)).thenReturn(true);
 
       // When & Then
@@ -155,7 +172,7 @@ class RentalServiceTest {
       CreateRentalRequest request = new CreateRentalRequest(1L, 1L, 1L);
 
       when(bicycleRepository.findByIdWithLock(1L)).thenReturn(Optional.of(testBicycle));
-      when(rentalRepository.existsByBicycleIdAndStatus(1L, RentalStatus.ACTIVE)).thenReturn(false);
+      when(activeRentalIndex.mayBeRented(1L)).thenReturn(false);
       when(userRepository.findByIdWithLock(1L)).thenReturn(Optional.of(testUser));
       when(stationRepository.findById(1L)).thenReturn(Optional.of(testStation));
 
@@ -173,7 +190,7 @@ class RentalServiceTest {
       CreateRentalRequest request = new CreateRentalRequest(1L, 1L, 1L);
 
       when(bicycleRepository.findByIdWithLock(1L)).thenReturn(Optional.of(testBicycle));
-      when(rentalRepository.existsByBicycleIdAndStatus(1L, RentalStatus.ACTIVE)).thenReturn(false);
+      when(activeRentalIndex.mayBeRented(1L)).thenReturn(false);
       when(userRepository.findByIdWithLock(1L)).thenReturn(Optional.of(testUser));
       when(stationRepository.findById(1L)).thenReturn(Optional.of(testStation));
 
@@ -200,8 +217,12 @@ class RentalServiceTest {
 
       RentalDto expectedDto = new RentalDto(1L, 1L, 1L, 1L, 2L, "ENDED", null, null, 180.0);
 
+      when(rentalRepository.findBicycleIdById(1L)).thenReturn(Optional.of(1L));
+      when(bicycleRepository.findByIdWithLock(1L)).thenReturn(Optional.of(testBicycle));
       when(rentalRepository.findByIdWithLock(1L)).thenReturn(Optional.of(testRental));
-      when(stationRepository.findById(2L)).thenReturn(Optional.of(endStation));
+      when(userRepository.findByIdWithLock(1L)).thenReturn(Optional.of(testUser));
+      when(stationRepository.findAllByIdWithLock(List.of(1L, 2L)))
+          .thenReturn(List.of(testStation, endStation));
       when(rentalRepository.save(any(Rental.class))).thenReturn(testRental);
       when(rentalMapper.toDto(any(Rental.class))).thenReturn(expectedDto);
 
@@ -215,6 +236,51 @@ class RentalServiceTest {
       verify(rentalRepository).save(testRental);
     }
 
+    @Test
+    @DisplayName("Should refuse a full end station and suggest nearby ones")
+    void shouldThrowWhenEndStationFull() {
+      // Given
+      testBicycle.setStatus(BicycleStatus.RENTED);
+      CompleteRentalRequest request = new CompleteRentalRequest(2L);
+      Station endStation = new Station();
+      endStation.setId(2L);
+      endStation.setCapacity(4);
+      endStation.setDockedBicycles(4L);
+      NearbyStationDto nearby = new NearbyStationDto(3L, "Nearby", 250L, 2L);
+
+      when(rentalRepository.findBicycleIdById(1L)).thenReturn(Optional.of(1L));
+      when(bicycleRepository.findByIdWithLock(1L)).thenReturn(Optional.of(testBicycle));
+      when(rentalRepository.findByIdWithLock(1L)).thenReturn(Optional.of(testRental));
+      when(userRepository.findByIdWithLock(1L)).thenReturn(Optional.of(testUser));
+      when(stationRepository.findAllByIdWithLock(List.of(1L, 2L)))
+          .thenReturn(List.of(testStation, endStation));
+      when(stationOccupancyMonitor.findNearbyWithFreeDock(eq(2L), anyInt()))
+          .thenReturn(List.of(nearby));
+
+      // When & Then
+      assertThatThrownBy(() -> rentalService.complete(1L, request))
+          .isInstanceOf(BusinessException.class)
+          .hasMessageContaining("no free dock")
+          .extracting(ex -> ((BusinessException) ex).getDetails().get("alternative_stations"))
+          .isEqualTo(List.of(nearby));
+      verify(rentalRepository, never()).save(any(Rental.class));
+    }
+
+    @Test
+    @DisplayName("Should refuse a location outside every return zone")
+    void shouldThrowWhenLocationOutsideReturnZones() {
+      // Given
+      CompleteRentalRequest request =
+          new CompleteRentalRequest(null, new CoordinatesDto(59.93f, 30.31f));
+      when(returnZoneService.findStationAt(59.93f, 30.31f)).thenReturn(Optional.empty());
+
+      // When & Then
+      assertThatThrownBy(() -> rentalService.complete(1L, request))
+          .isInstanceOf(BusinessException.class)
+          .hasMessageContaining("return zone");
+      verify(rentalRepository, never()).findByIdWithLock(any());
+    }
+
     @Test
     @DisplayName("Should throw exception when rental is not active")
     void shouldThrowWhenRentalNotActive() {
@@ -222,6 +288,8 @@ class RentalServiceTest {
       testRental.setStatus(RentalStatus.ENDED);
       CompleteRentalRequest request = new CompleteRentalRequest(2L);
 
+      when(rentalRepository.findBicycleIdById(1L)).thenReturn(Optional.of(1L));
+      when(bicycleRepository.findByIdWithLock(1L)).thenReturn(Optional.of(testBicycle));
       when(rentalRepository.findByIdWithLock(1L)).thenReturn(Optional.of(testRental));
 
       // When & Then
@@ -235,7 +303,7 @@ class RentalServiceTest {
     void shouldThrowWhenRentalNotFound() {
       // Given
       CompleteRentalRequest request = new CompleteRentalRequest(2L);
-      when(rentalRepository.findByIdWithLock(999L)).thenReturn(Optional.empty());
+      when(rentalRepository.findBicycleIdById(999L)).thenReturn(Optional.empty());
 
       // When & Then
       assertThatThrownBy(() -> rentalService.complete(999L, request))
@@ -255,6 +323,8 @@ class RentalServiceTest {
       testBicycle.setStatus(BicycleStatus.RENTED);
       RentalDto expectedDto = new RentalDto(1L, 1L, 1L, 1L, null, "CANCELLED", null, null, 0.0);
 
+      when(rentalRepository.findBicycleIdById(1L)).thenReturn(Optional.of(1L));
+      when(bicycleRepository.findByIdWithLock(1L)).thenReturn(Optional.of(testBicycle));
       when(rentalRepository.findByIdWithLock(1L)).thenReturn(Optional.of(testRental));
       when(rentalRepository.save(any(Rental.class))).thenReturn(testRental);
       when(rentalMapper.toDto(any(Rental.class))).thenReturn(expectedDto);
@@ -273,6 +343,8 @@ class RentalServiceTest {
     void shouldThrowWhenCancellingNonActiveRental() {
       // Given
       testRental.setStatus(RentalStatus.ENDED);
+      when(rentalRepository.findBicycleIdById(1L)).thenReturn(Optional.of(1L));
+      when(bicycleRepository.findByIdWithLock(1L)).thenReturn(Optional.of(testBicycle));
       when(rentalRepository.findByIdWithLock(1L)).thenReturn(Optional.of(testRental));
 
       // When & Then
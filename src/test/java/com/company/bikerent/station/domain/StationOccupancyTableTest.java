@@ -0,0 +1,88 @@
+package com.company.bikerent.station.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.company.bikerent.station.domain.StationOccupancyTable.Alert;
+import com.company.bikerent.station.domain.StationOccupancyTable.Level;
+import com.company.bikerent.station.domain.StationOccupancyTable.Nearby;
+
+class StationOccupancyTableTest {
+
+  private StationOccupancyTable table;
+
+  @BeforeEach
+  void setUp() {
+    table = new StationOccupancyTable(0.1, 0.9, 0.05);
+    // Forty docks, half taken: full from 36 docked until 34, empty from 4 available until 6
+    table.put(new StationOccupancyTable.Entry(1L, "Center", 59.93, 30.31, 40, 20, 20));
+  }
+
+  @Test
+  @DisplayName("Should alert once when a station fills up and once when it recovers")
+  void shouldAlertOnFullWithHysteresis() {
+    // When
+    Alert almost = table.apply(1L, 15, 15);
+    Alert full = table.apply(1L, 1, 1);
+    Alert stillFull = table.apply(1L, -1, -1);
+    Alert recovered = table.apply(1L, -1, -1);
+
+    // Then
+    assertThat(almost).isNull();
+    assertThat(full.level()).isEqualTo(Level.FULL);
+    assertThat(full.docked()).isEqualTo(36);
+    assertThat(stillFull).isNull();
+    assertThat(recovered.level()).isEqualTo(Level.NORMAL);
+  }
+
+  @Test
+  @DisplayName("Should alert when a station runs out of available bicycles")
+  void shouldAlertOnEmpty() {
+    // When: reservations keep the bicycles docked but unavailable
+    Alert empty = table.apply(1L, -16, 0);
+    Alert stillEmpty = table.apply(1L, 1, 0);
+    Alert recovered = table.apply(1L, 1, 0);
+
+    // Then
+    assertThat(empty.level()).isEqualTo(Level.EMPTY);
+    assertThat(stillEmpty).isNull();
+    assertThat(recovered.level()).isEqualTo(Level.NORMAL);
+  }
+
+  @Test
+  @DisplayName("Should never alert for stations without a capacity")
+  void shouldIgnoreUnlimitedStations() {
+    // When
+    Alert put = table.put(new StationOccupancyTable.Entry(2L, "Depot", 59.9, 30.3, null, 0, 0));
+
+    // Then
+    assertThat(put).isNull();
+    assertThat(table.apply(2L, 500, 500)).isNull();
+    assertThat(table.level(2L)).isEqualTo(Level.NORMAL);
+  }
+
+  @Test
+  @DisplayName("Should suggest the nearest stations with a free dock")
+  void shouldFindNearestWithFreeDock() {
+    // Given
+    table.put(new StationOccupancyTable.Entry(2L, "Near but full", 59.931, 30.31, 5, 5, 5));
+    table.put(new StationOccupancyTable.Entry(3L, "Near", 59.932, 30.31, 5, 1, 1));
+    table.put(new StationOccupancyTable.Entry(4L, "Far", 59.95, 30.31, null, 0, 0));
+    table.put(new StationOccupancyTable.Entry(5L, "Farthest", 60.5, 30.31, 10, 0, 0));
+
+    // When
+    var nearby = table.nearestWithFreeDock(1L, 2);
+
+    // Then
+    assertThat(nearby).extracting(Nearby::stationId).containsExactly(3L, 4L);
+    assertThat(nearby.get(0).freeDocks()).isEqualTo(4L);
+    assertThat(nearby.get(1).freeDocks()).isNull();
+    assertThat(table.remove(3L)).isTrue();
+    assertThat(table.nearestWithFreeDock(1L, 2))
+        .extracting(Nearby::stationId)
+        .containsExactly(4L, 5L);
+  }
+}
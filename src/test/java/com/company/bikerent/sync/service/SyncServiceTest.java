@@ -0,0 +1,185 @@
+package com.company.bikerent.sync.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.company.bikerent.bicycle.domain.Bicycle;
+import com.company.bikerent.bicycle.dto.BicycleDto;
+import com.company.bikerent.bicycle.mapper.BicycleMapper;
+import com.company.bikerent.bicycle.repository.BicycleRepository;
+import com.company.bikerent.rental.domain.Rental;
+import com.company.bikerent.rental.dto.RentalDto;
+import com.company.bikerent.rental.mapper.RentalMapper;
+import com.company.bikerent.rental.repository.RentalRepository;
+import com.company.bikerent.station.domain.Station;
+import com.company.bikerent.station.dto.StationDto;
+import com.company.bikerent.station.mapper.StationMapper;
+import com.company.bikerent.station.repository.StationRepository;
+import com.company.bikerent.sync.dto.SyncResponse;
+import com.company.bikerent.sync.repository.SyncRepository;
+import com.company.bikerent.user.domain.Role;
+import com.company.bikerent.user.domain.User;
+
+@ExtendWith(MockitoExtension.class)
+class SyncServiceTest {
+
+  private static final long CURRENT_TOKEN = 1_000L;
+
+  @Mock private SyncRepository syncRepository;
+
+  @Mock private StationRepository stationRepository;
+
+  @Mock private BicycleRepository bicycleRepository;
+
+  @Mock private RentalRepository rentalRepository;
+
+  @Mock private StationMapper stationMapper;
+
+  @Mock private BicycleMapper bicycleMapper;
+
+  @Mock private RentalMapper rentalMapper;
+
+  @Mock private SecurityContext securityContext;
+
+  @Mock private Authentication authentication;
+
+  @InjectMocks private SyncService syncService;
+
+  private Station station;
+  private Bicycle bicycle;
+  private Rental rental;
+
+  @BeforeEach
+  void setUp() {
+    User user = User.builder().id(1L).username("testuser").role(Role.USER).build();
+    lenient().when(securityContext.getAuthentication()).thenReturn(authentication);
+    lenient().when(authentication.getPrincipal()).thenReturn(user);
+    SecurityContextHolder.setContext(securityContext);
+
+    station = new Station();
+    station.setId(1L);
+    bicycle = new Bicycle();
+    bicycle.setId(2L);
+    rental = Rental.builder().id(3L).build();
+    lenient()
+        .when(stationMapper.toDto(station))
+        .thenReturn(new StationDto(1L, "Central", null, 1L, 1L, 10));
+    lenient()
+        .when(bicycleMapper.toDto(bicycle))
+        .thenReturn(new BicycleDto(2L, "Model", "ELECTRIC", "AVAILABLE", 1L, null, 0L));
+    lenient()
+        .when(rentalMapper.toDto(rental))
+        .thenReturn(new RentalDto(3L, 1L, 2L, 1L, null, "ACTIVE", null, null, null));
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  @DisplayName("Should return everything and no tombstones on the first sync")
+  void shouldReturnEverythingWithoutToken() {
+    // Given
+    when(syncRepository.currentToken()).thenReturn(CURRENT_TOKEN);
+    when(stationRepository.findChangedSince(0L)).thenReturn(List.of(station));
+    when(bicycleRepository.findChangedSince(0L)).thenReturn(List.of(bicycle));
+    when(rentalRepository.findChangedSince(1L, 0L)).thenReturn(List.of(rental));
+
+    // When
+    SyncResponse response = syncService.changesSince(null);
+
+    // Then
+    assertThat(response.token()).isEqualTo(Long.toString(CURRENT_TOKEN, 36));
+    assertThat(response.stations()).extracting(StationDto::id).containsExactly(1L);
+    assertThat(response.bicycles()).extracting(BicycleDto::id).containsExactly(2L);
+    assertThat(response.rentals()).extracting(RentalDto::id).containsExactly(3L);
+    assertThat(response.deletedStationIds()).isEmpty();
+    assertThat(response.deletedBicycleIds()).isEmpty();
+    verify(syncRepository, never()).findDeletedSince(anyString(), anyLong());
+  }
+
+  @Test
+  @DisplayName("Should return only rows changed since the token on an incremental sync")
+  void shouldReturnChangesSinceToken() {
+    // Given
+    long since = 900L;
+    when(syncRepository.currentToken()).thenReturn(CURRENT_TOKEN);
+    when(stationRepository.findChangedSince(since)).thenReturn(List.of());
+    when(bicycleRepository.findChangedSince(since)).thenReturn(List.of(bicycle));
+    when(rentalRepository.findChangedSince(1L, since)).thenReturn(List.of());
+    when(syncRepository.findDeletedSince("STATION", since)).thenReturn(List.of());
+    when(syncRepository.findDeletedSince("BICYCLE", since)).thenReturn(List.of());
+
+    // When
+    SyncResponse response = syncService.changesSince(Long.toString(since, 36));
+
+    // Then
+    assertThat(response.token()).isEqualTo(Long.toString(CURRENT_TOKEN, 36));
+    assertThat(response.stations()).isEmpty();
+    assertThat(response.bicycles()).extracting(BicycleDto::id).containsExactly(2L);
+    assertThat(response.rentals()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should report rows deleted since the token as tombstones")
+  void shouldReturnTombstones() {
+    // Given
+    long since = 900L;
+    when(syncRepository.currentToken()).thenReturn(CURRENT_TOKEN);
+    when(syncRepository.findDeletedSince("STATION", since)).thenReturn(List.of(7L));
+    when(syncRepository.findDeletedSince("BICYCLE", since)).thenReturn(List.of(8L, 9L));
+
+    // When
+    SyncResponse response = syncService.changesSince(Long.toString(since, 36));
+
+    // Then
+    assertThat(response.deletedStationIds()).containsExactly(7L);
+    assertThat(response.deletedBicycleIds()).containsExactly(8L, 9L);
+  }
+
+  @Test
+  @DisplayName("Should reject malformed and negative tokens")
+  void shouldRejectMalformedToken() {
+    // When / Then
+    assertThatThrownBy(() -> syncService.changesSince("not a token!"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("Invalid sync token");
+    assertThatThrownBy(() -> syncService.changesSince("-1"))
+        .isInstanceOf(IllegalArgumentException.class);
+    verify(stationRepository, never()).findChangedSince(anyLong());
+  }
+
+  @Test
+  @DisplayName("Should reject a token ahead of the database, e.g. after a restore")
+  void shouldRejectTokenFromTheFuture() {
+    // Given
+    when(syncRepository.currentToken()).thenReturn(CURRENT_TOKEN);
+
+    // When / Then
+    assertThatThrownBy(() -> syncService.changesSince(Long.toString(CURRENT_TOKEN + 1, 36)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("sync again without");
+    verify(stationRepository, never()).findChangedSince(anyLong());
+  }
+}
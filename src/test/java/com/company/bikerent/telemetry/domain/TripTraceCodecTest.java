@@ -0,0 +1,123 @@
+package com.company.bikerent.telemetry.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class TripTraceCodecTest {
+
+  /** Heap tuple of a trip_point row: header, line pointer and four columns. */
+  private static final int NAIVE_ROW_BYTES = 52;
+
+  private TracePoints trip;
+
+  @BeforeEach
+  void setUp() {
+    // One hour of 1 Hz fixes along a wavy path with GPS jitter
+    Random random = new Random(42);
+    trip = new TracePoints();
+    long timestamp = 1_700_000_000_000L;
+    double latitude = 59.93;
+    double longitude = 30.31;
+    for (int i = 0; i < 3600; i++) {
+      timestamp += 1000L;
+      latitude += 3e-5 + random.nextGaussian() * 2e-6;
+      longitude += 4e-5 * Math.sin(i / 200.0) + random.nextGaussian() * 2e-6;
+      trip.add(timestamp, latitude, longitude);
+    }
+  }
+
+  @Nested
+  @DisplayName("Lossless encoding")
+  class LosslessTests {
+
+    @Test
+    @DisplayName("Should round-trip timestamps exactly and coordinates to a micro-degree")
+    void shouldRoundTrip() {
+      // When
+      TracePoints decoded = TripTraceCodec.decode(TripTraceCodec.encode(trip, 0));
+
+      // Then
+      assertThat(decoded.size()).isEqualTo(trip.size());
+      for (int i = 0; i < trip.size(); i++) {
+        assertThat(decoded.timestampAt(i)).isEqualTo(trip.timestampAt(i));
+        assertThat(decoded.latitudeAt(i)).isCloseTo(trip.latitudeAt(i), within(1e-6));
+        assertThat(decoded.longitudeAt(i)).isCloseTo(trip.longitudeAt(i), within(1e-6));
+      }
+    }
+
+    @Test
+    @DisplayName("Should be more than 10x smaller than row-per-point storage")
+    void shouldBeCompact() {
+      // When
+      byte[] encoded = TripTraceCodec.encode(trip, 0);
+
+      // Then
+      assertThat(encoded.length * 10L).isLessThan((long) trip.size() * NAIVE_ROW_BYTES);
+    }
+
+    @Test
+    @DisplayName("Should encode an empty trace")
+    void shouldEncodeEmptyTrace() {
+      // When
+      byte[] encoded = TripTraceCodec.encode(new TracePoints(), 0);
+      TripTraceCodec.Reader reader = TripTraceCodec.reader(encoded);
+
+      // Then
+      assertThat(reader.size()).isZero();
+      assertThat(reader.next()).isFalse();
+    }
+  }
+
+  @Nested
+  @DisplayName("Simplification")
+  class SimplificationTests {
+
+    @Test
+    @DisplayName("Should keep endpoints and drop points within tolerance")
+    void shouldSimplify() {
+      // When
+      TracePoints simplified = TripTraceCodec.decode(TripTraceCodec.encode(trip, 2));
+
+      // Then
+      assertThat(simplified.size()).isBetween(2, trip.size() / 10);
+      assertThat(simplified.timestampAt(0)).isEqualTo(trip.timestampAt(0));
+      assertThat(simplified.timestampAt(simplified.size() - 1))
+          .isEqualTo(trip.timestampAt(trip.size() - 1));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown levels")
+    void shouldRejectUnknownLevel() {
+      assertThatThrownBy(
+              () -> TripTraceCodec.encode(trip, TripTraceCodec.maxSimplificationLevel() + 1))
+          .isInstanceOf(IllegalArgumentException.class);
+    }
+  }
+
+  @Test
+  @DisplayName("Should reject corrupt data")
+  void shouldRejectCorruptData() {
+    // Given
+    byte[] encoded = TripTraceCodec.encode(trip, 0);
+    byte[] truncated = Arrays.copyOf(encoded, encoded.length / 2);
+    TripTraceCodec.Reader reader = TripTraceCodec.reader(truncated);
+
+    // When / Then
+    assertThatThrownBy(
+            () -> {
+              while (reader.next()) {
+                // drain
+              }
+            })
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
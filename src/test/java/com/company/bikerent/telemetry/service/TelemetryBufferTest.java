@@ -0,0 +1,132 @@
+package com.company.bikerent.telemetry.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TelemetryBufferTest {
+
+  @Test
+  @DisplayName("Should reject points once full and accept them again after a drain")
+  void shouldRejectPointsWhenFull() {
+    // Given
+    TelemetryBuffer buffer = new TelemetryBuffer(4);
+    TelemetryBatch batch = new TelemetryBatch(8);
+    for (int i = 0; i < 4; i++) {
+      assertThat(buffer.offer(1L, i, 59.93f, 30.31f)).isTrue();
+    }
+
+    // When
+    boolean overflow = buffer.offer(1L, 4L, 59.93f, 30.31f);
+    int drained = buffer.drainTo(batch);
+
+    // Then
+    assertThat(overflow).isFalse();
+    assertThat(drained).isEqualTo(4);
+    assertThat(batch.timestamps).startsWith(0L, 1L, 2L, 3L);
+    assertThat(buffer.size()).isZero();
+    assertThat(buffer.offer(1L, 5L, 59.93f, 30.31f)).isTrue();
+  }
+
+  @Test
+  @DisplayName("Should keep points in order when positions wrap around the ring")
+  void shouldKeepOrderAcrossWraparound() {
+    // Given
+    TelemetryBuffer buffer = new TelemetryBuffer(4);
+    TelemetryBatch batch = new TelemetryBatch(2);
+    long next = 0;
+    long expected = 0;
+
+    // When - three points per round never line up with the four slots
+    for (int round = 0; round < 10; round++) {
+      for (int i = 0; i < 3; i++) {
+        assertThat(buffer.offer(round, next, round, -round)).isTrue();
+        next++;
+      }
+      while (buffer.drainTo(batch) > 0) {
+        // Then - a batch smaller than the buffer drains in several steps
+        for (int i = 0; i < batch.size(); i++) {
+          assertThat(batch.timestamps[i]).isEqualTo(expected++);
+          assertThat(batch.bicycleIds[i]).isEqualTo(round);
+          assertThat(batch.latitudes[i]).isEqualTo(round);
+          assertThat(batch.longitudes[i]).isEqualTo(-round);
+        }
+      }
+    }
+    assertThat(expected).isEqualTo(30);
+  }
+
+  @Test
+  @DisplayName("Should deliver every point exactly once while producers write concurrently")
+  void shouldDrainWhileProducersWrite() throws Exception {
+    // Given
+    int producers = 4;
+    int pointsPerProducer = 5_000;
+    TelemetryBuffer buffer = new TelemetryBuffer(64);
+    TelemetryBatch batch = new TelemetryBatch(16);
+    ExecutorService executor = Executors.newFixedThreadPool(producers);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> futures = new ArrayList<>();
+
+    try {
+      // When - each producer retries on a full buffer, so nothing is dropped
+      for (int p = 0; p < producers; p++) {
+        long bicycleId = p;
+        futures.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  for (long ts = 0; ts < pointsPerProducer; ts++) {
+                    while (!buffer.offer(bicycleId, ts, 0f, 0f)) {
+                      Thread.yield();
+                    }
+                  }
+                  return null;
+                }));
+      }
+      start.countDown();
+
+      long[] nextTimestamp = new long[producers];
+      int received = 0;
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+      while (received < producers * pointsPerProducer && System.nanoTime() < deadline) {
+        buffer.drainTo(batch);
+        for (int i = 0; i < batch.size(); i++) {
+          int producer = (int) batch.bicycleIds[i];
+          // Then - points of one producer arrive in the order they were written
+          assertThat(batch.timestamps[i]).isEqualTo(nextTimestamp[producer]++);
+        }
+        received += batch.size();
+        if (batch.size() == 0) {
+          Thread.yield();
+        }
+      }
+      for (Future<?> future : futures) {
+        future.get(5, TimeUnit.SECONDS);
+      }
+
+      assertThat(received).isEqualTo(producers * pointsPerProducer);
+      assertThat(nextTimestamp).containsOnly(pointsPerProducer);
+      assertThat(buffer.drainTo(batch)).isZero();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  @DisplayName("Should require a power of two capacity")
+  void shouldRejectInvalidCapacity() {
+    assertThatThrownBy(() -> new TelemetryBuffer(6)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new TelemetryBuffer(1)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,189 @@
+package com.company.bikerent.telemetry.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.company.bikerent.geo.domain.GeoMath;
+import com.company.bikerent.rental.repository.RentalRepository;
+import com.company.bikerent.rental.repository.RentalRepository.BicycleRentalKey;
+import com.company.bikerent.telemetry.dto.TelemetryIngestResponse;
+import com.company.bikerent.telemetry.repository.TripPointWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+class TelemetryServiceTest {
+
+  private static final long BICYCLE_ID = 1L;
+  private static final long OTHER_BICYCLE_ID = 2L;
+  private static final long RENTAL_ID = 10L;
+  private static final long OTHER_RENTAL_ID = 20L;
+
+  @Mock private RentalRepository rentalRepository;
+
+  @Mock private TripPointWriter tripPointWriter;
+
+  @SuppressWarnings("unchecked")
+  private final ArgumentCaptor<Map<Long, Double>> distances = ArgumentCaptor.forClass(Map.class);
+
+  private TelemetryService telemetryService;
+  private long start;
+
+  @BeforeEach
+  void setUp() {
+    telemetryService =
+        new TelemetryService(
+            rentalRepository,
+            tripPointWriter,
+            new ObjectMapper(),
+            1024,
+            256,
+            100,
+            25.0,
+            3_600_000L);
+    start = System.currentTimeMillis() - 60_000L;
+    lenient()
+        .when(rentalRepository.findActiveRentalsByBicycleIds(anyCollection()))
+        .thenReturn(List.of(key(BICYCLE_ID, RENTAL_ID), key(OTHER_BICYCLE_ID, OTHER_RENTAL_ID)));
+  }
+
+  @Test
+  @DisplayName("Should sum the distance travelled per rental")
+  void shouldSumDistancePerRental() throws IOException {
+    // Given - about 111m every 10 seconds, well below the speed limit
+    String body =
+        point(BICYCLE_ID, start, 59.930, 30.310)
+            + point(OTHER_BICYCLE_ID, start, 59.950, 30.300)
+            + point(BICYCLE_ID, start + 10_000L, 59.931, 30.310)
+            + point(OTHER_BICYCLE_ID, start + 10_000L, 59.950, 30.301)
+            + point(BICYCLE_ID, start + 20_000L, 59.932, 30.310)
+            + point(3L, start, 59.940, 30.320);
+
+    // When
+    TelemetryIngestResponse response = ingest(body);
+    telemetryService.flush();
+
+    // Then - the bicycle without an active rental is not stored
+    assertThat(response.accepted()).isEqualTo(6);
+    verify(tripPointWriter).write(any(), any(), any(), any(), eq(5), distances.capture());
+    assertThat(distances.getValue()).containsOnlyKeys(RENTAL_ID, OTHER_RENTAL_ID);
+    assertThat(distances.getValue().get(RENTAL_ID))
+        .isCloseTo(
+            distance(59.930, 30.310, 59.931, 30.310) + distance(59.931, 30.310, 59.932, 30.310),
+            within(1e-6));
+    assertThat(distances.getValue().get(OTHER_RENTAL_ID))
+        .isCloseTo(distance(59.950, 30.300, 59.950, 30.301), within(1e-6));
+  }
+
+  @Test
+  @DisplayName("Should not count out-of-order and duplicate points towards the distance")
+  void shouldIgnoreOutOfOrderAndDuplicatePoints() throws IOException {
+    // Given
+    String body =
+        point(BICYCLE_ID, start, 59.930, 30.310)
+            + point(BICYCLE_ID, start + 20_000L, 59.932, 30.310)
+            + point(BICYCLE_ID, start + 10_000L, 59.931, 30.310)
+            + point(BICYCLE_ID, start + 20_000L, 59.932, 30.310)
+            + point(BICYCLE_ID, start + 30_000L, 59.933, 30.310);
+
+    // When
+    ingest(body);
+    telemetryService.flush();
+
+    // Then - every point is kept for the trace, only the forward path is measured
+    verify(tripPointWriter).write(any(), any(), any(), any(), eq(5), distances.capture());
+    assertThat(distances.getValue().get(RENTAL_ID))
+        .isCloseTo(
+            distance(59.930, 30.310, 59.932, 30.310) + distance(59.932, 30.310, 59.933, 30.310),
+            within(1e-6));
+  }
+
+  @Test
+  @DisplayName("Should continue a track across flushes and skip implausible jumps")
+  void shouldContinueTrackAcrossFlushes() throws IOException {
+    // Given
+    ingest(point(BICYCLE_ID, start, 59.930, 30.310));
+    telemetryService.flush();
+
+    // When - 10 km in 10 seconds is GPS noise, the next fix is measured from the jump
+    ingest(
+        point(BICYCLE_ID, start + 10_000L, 60.020, 30.310)
+            + point(BICYCLE_ID, start + 20_000L, 60.021, 30.310));
+    telemetryService.flush();
+
+    // Then
+    verify(tripPointWriter).write(any(), any(), any(), any(), eq(1), distances.capture());
+    assertThat(distances.getValue()).isEmpty();
+    verify(tripPointWriter).write(any(), any(), any(), any(), eq(2), distances.capture());
+    assertThat(distances.getValue().get(RENTAL_ID))
+        .isCloseTo(distance(60.020, 30.310, 60.021, 30.310), within(1e-6));
+  }
+
+  @Test
+  @DisplayName("Should reject points outside the accepted time window")
+  void shouldRejectStalePoints() throws IOException {
+    // Given
+    long now = System.currentTimeMillis();
+    String body =
+        point(BICYCLE_ID, now - 2 * 86_400_000L, 59.930, 30.310)
+            + point(BICYCLE_ID, now + 3_600_000L, 59.930, 30.310);
+
+    // When
+    TelemetryIngestResponse response = ingest(body);
+    telemetryService.flush();
+
+    // Then
+    assertThat(response.accepted()).isZero();
+    assertThat(response.rejected()).isEqualTo(2);
+    verify(tripPointWriter, never()).write(any(), any(), any(), any(), anyInt(), any());
+  }
+
+  private TelemetryIngestResponse ingest(String body) throws IOException {
+    return telemetryService.ingestNdjson(
+        new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  /** Expected distance between points as stored, in single precision. */
+  private static double distance(double lat1, double lon1, double lat2, double lon2) {
+    return GeoMath.haversineMeters((float) lat1, (float) lon1, (float) lat2, (float) lon2);
+  }
+
+  private static String point(long bicycleId, long timestampMs, double lat, double lon) {
+    return String.format(
+        "{\"bicycle\":%d,\"ts\":%d,\"lat\":%s,\"lon\":%s}%n", bicycleId, timestampMs, lat, lon);
+  }
+
+  private static BicycleRentalKey key(long bicycleId, long rentalId) {
+    return new BicycleRentalKey() {
+      @Override
+      public Long getBicycleId() {
+        return bicycleId;
+      }
+
+      @Override
+      public Long getId() {
+        return rentalId;
+      }
+    };
+  }
+}
@@ -0,0 +1,120 @@
+package com.company.bikerent.telemetry.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.company.bikerent.common.exception.EntityNotFoundException;
+import com.company.bikerent.rental.repository.RentalRepository;
+import com.company.bikerent.telemetry.domain.TracePoints;
+import com.company.bikerent.telemetry.repository.TripTraceRepository;
+import com.company.bikerent.user.domain.Role;
+import com.company.bikerent.user.domain.User;
+
+@ExtendWith(MockitoExtension.class)
+class TripTraceServiceTest {
+
+  private static final Long RENTAL_ID = 10L;
+  private static final Long OWNER_ID = 1L;
+  private static final byte[] SEALED = {1, 2, 3};
+
+  @Mock private TripTraceRepository tripTraceRepository;
+
+  @Mock private RentalRepository rentalRepository;
+
+  @Mock private SecurityContext securityContext;
+
+  @Mock private Authentication authentication;
+
+  @InjectMocks private TripTraceService tripTraceService;
+
+  @BeforeEach
+  void setUp() {
+    lenient().when(securityContext.getAuthentication()).thenReturn(authentication);
+    SecurityContextHolder.setContext(securityContext);
+    lenient().when(tripTraceRepository.findTrace(RENTAL_ID)).thenReturn(Optional.of(SEALED));
+    lenient().when(tripTraceRepository.findPoints(RENTAL_ID)).thenReturn(new TracePoints());
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  @DisplayName("Should return the trace to the rider of the rental")
+  void shouldReturnTraceToOwner() {
+    // Given
+    signIn(OWNER_ID, Role.USER);
+    when(rentalRepository.findUserIdById(RENTAL_ID)).thenReturn(Optional.of(OWNER_ID));
+
+    // When
+    byte[] trace = tripTraceService.findTrace(RENTAL_ID);
+
+    // Then
+    assertThat(trace).isEqualTo(SEALED);
+  }
+
+  @Test
+  @DisplayName("Should return the trace of any rental to an admin")
+  void shouldReturnTraceToAdmin() {
+    // Given
+    signIn(2L, Role.ADMIN);
+    when(rentalRepository.findUserIdById(RENTAL_ID)).thenReturn(Optional.of(OWNER_ID));
+
+    // When
+    byte[] trace = tripTraceService.findTrace(RENTAL_ID);
+
+    // Then
+    assertThat(trace).isEqualTo(SEALED);
+  }
+
+  @Test
+  @DisplayName("Should deny the trace of another user's rental")
+  void shouldDenyTraceToOtherUser() {
+    // Given
+    signIn(2L, Role.TECH);
+    when(rentalRepository.findUserIdById(RENTAL_ID)).thenReturn(Optional.of(OWNER_ID));
+
+    // When / Then
+    assertThatThrownBy(() -> tripTraceService.findTrace(RENTAL_ID))
+        .isInstanceOf(AccessDeniedException.class);
+    verify(tripTraceRepository, never()).findTrace(anyLong());
+    verify(tripTraceRepository, never()).findPoints(anyLong());
+  }
+
+  @Test
+  @DisplayName("Should throw when the rental does not exist")
+  void shouldThrowWhenRentalNotFound() {
+    // Given
+    when(rentalRepository.findUserIdById(RENTAL_ID)).thenReturn(Optional.empty());
+
+    // When / Then
+    assertThatThrownBy(() -> tripTraceService.findTrace(RENTAL_ID))
+        .isInstanceOf(EntityNotFoundException.class);
+  }
+
+  private void signIn(Long userId, Role role) {
+    User user = User.builder().id(userId).username("user" + userId).role(role).build();
+    when(authentication.getPrincipal()).thenReturn(user);
+  }
+}